@@ -0,0 +1,496 @@
+package org.skyve.domain;
+
+import java.io.Serializable;
+import java.lang.reflect.Array;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.commons.beanutils.DynaBean;
+import org.apache.commons.beanutils.DynaClass;
+import org.apache.commons.beanutils.DynaProperty;
+import org.skyve.impl.bind.BindUtil;
+import org.skyve.impl.domain.AbstractBean;
+import org.skyve.persistence.DocumentQuery;
+
+/**
+ * A compact row of projected query results.
+ * <p/>
+ * All rows from a query share a {@link Layout} of projection alias to array index and hold their values in an array,
+ * rather than each row holding its own map of aliases to values as a {@link MapBean} does.
+ * Like a MapBean, properties that are not projected are delegated to the "this" projection (if projected),
+ * and the row is a DynaBean so that it binds through BindUtil and commons beanutils.
+ * Setting a property that isn't projected and can't be delegated adds it to the row.
+ * <p/>
+ * A ProjectedBean is not a MapBean as a MapBean is a LazyDynaMap, which allocates its own DynaClass and map per row.
+ * Code that handles projected query results should use them as a Bean (or DynaBean) and not cast them to MapBean.
+ */
+public class ProjectedBean implements Bean, DynaBean, DynaClass {
+	private static final long serialVersionUID = 8231795735398151532L;
+
+	/**
+	 * The alias to array index layout shared by the rows of a query.
+	 */
+	public static final class Layout implements Serializable {
+		private static final long serialVersionUID = -4937440232541823862L;
+
+		private final String bizModule;
+		private final String bizDocument;
+		private final String[] aliases;
+		private final Map<String, Integer> indices;
+		private final int thisIndex;
+
+		/**
+		 * @param bizModule	The module of the driving document.
+		 * @param bizDocument	The driving document.
+		 * @param aliases	The (unsanitised) projection aliases in the order of the result values.
+		 */
+		public Layout(String bizModule, String bizDocument, String[] aliases) {
+			this.bizModule = bizModule;
+			this.bizDocument = bizDocument;
+			this.aliases = aliases;
+			indices = new HashMap<>(aliases.length * 2);
+			for (int i = 0, l = aliases.length; i < l; i++) {
+				indices.put(aliases[i], Integer.valueOf(i));
+			}
+			Integer index = indices.get(DocumentQuery.THIS_ALIAS);
+			thisIndex = (index == null) ? -1 : index.intValue();
+		}
+
+		private int indexOf(String propertyName) {
+			Integer result = indices.get(propertyName);
+			return (result == null) ? -1 : result.intValue();
+		}
+	}
+
+	private final Layout layout;
+	private final Object[] values;
+	// properties set that are not in the layout - rarely used so only created when needed
+	private Map<String, Object> extras;
+
+	/**
+	 * @param layout	The layout shared by the rows of the query.
+	 * @param values	The values in layout order - this array is used by the bean, not copied.
+	 */
+	public ProjectedBean(Layout layout, Object[] values) {
+		if (values.length != layout.aliases.length) {
+			throw new IllegalArgumentException("There are " + values.length + " values for " + layout.aliases.length + " projections");
+		}
+		this.layout = layout;
+		this.values = values;
+	}
+
+	@Override
+	public String getBizId() {
+		// Cannot cast the actual value to a string as in the summary line its the count (a long value)
+		Object result = get(Bean.DOCUMENT_ID);
+		return (result == null) ? null : result.toString();
+	}
+
+	@Override
+	public String getBizModule() {
+		return (String) get(Bean.MODULE_KEY);
+	}
+
+	@Override
+	public String getBizDocument() {
+		return (String) get(Bean.DOCUMENT_KEY);
+	}
+
+	@Override
+	public String getBizCustomer() {
+		return (String) get(Bean.CUSTOMER_NAME);
+	}
+
+	@Override
+	public void setBizCustomer(String bizCustomer) {
+		set(Bean.CUSTOMER_NAME, bizCustomer);
+	}
+
+	@Override
+	public String getBizDataGroupId() {
+		return (String) get(Bean.DATA_GROUP_ID);
+	}
+
+	@Override
+	public void setBizDataGroupId(String bizDataGroupId) {
+		set(Bean.DATA_GROUP_ID, bizDataGroupId);
+	}
+
+	@Override
+	public String getBizUserId() {
+		return (String) get(Bean.USER_ID);
+	}
+
+	@Override
+	public void setBizUserId(String bizUserId) {
+		set(Bean.USER_ID, bizUserId);
+	}
+
+	@Override
+	public String getBizKey() {
+		return (String) get(Bean.BIZ_KEY);
+	}
+
+	@Override
+	public boolean evaluateCondition(String conditionName) {
+		return false;
+	}
+
+	@Override
+	public Map<String, Object> originalValues() {
+		Bean bean = thisBean();
+		if (bean == null) {
+			return new TreeMap<>();
+		}
+
+		return bean.originalValues();
+	}
+
+	@Override
+	public boolean isChanged() {
+		Bean bean = thisBean();
+		if (bean == null) {
+			return false;
+		}
+
+		return bean.isChanged();
+	}
+
+	@Override
+	public boolean isNotChanged() {
+		return (! isChanged());
+	}
+
+	@Override
+	public boolean isPersisted() {
+		return false;
+	}
+
+	@Override
+	public boolean isNotPersisted() {
+		return true;
+	}
+
+	@Override
+	public boolean isCreated() {
+		return true;
+	}
+
+	@Override
+	public boolean isNotCreated() {
+		return false;
+	}
+
+	/**
+	 * @return	true if the property is projected or has been set on this row.
+	 */
+	public boolean isProperty(String propertyName) {
+		return Bean.MODULE_KEY.equals(propertyName) ||
+				Bean.DOCUMENT_KEY.equals(propertyName) ||
+				(layout.indexOf(propertyName) >= 0) ||
+				((extras != null) && extras.containsKey(propertyName));
+	}
+
+	/**
+	 * @return	A new map of the projected (and set) property values of this row.
+	 */
+	public Map<String, Object> toMap() {
+		Map<String, Object> result = new TreeMap<>();
+		for (int i = 0, l = values.length; i < l; i++) {
+			result.put(layout.aliases[i], values[i]);
+		}
+		if (extras != null) {
+			result.putAll(extras);
+		}
+		result.put(Bean.MODULE_KEY, getBizModule());
+		result.put(Bean.DOCUMENT_KEY, getBizDocument());
+		return result;
+	}
+
+	private Bean thisBean() {
+		return (layout.thisIndex < 0) ? null : (Bean) values[layout.thisIndex];
+	}
+
+	@Override
+	public Object get(String propertyName) {
+		Object result = null;
+		Bean bean = thisBean();
+
+		// Ensure "bizModule" returns the polymorphic value if appropriate
+		if (Bean.MODULE_KEY.equals(propertyName)) {
+			result = (bean == null) ? layout.bizModule : bean.getBizModule();
+		}
+		// Ensure "bizDocument" returns the polymorphic value if appropriate
+		else if (Bean.DOCUMENT_KEY.equals(propertyName)) {
+			result = (bean == null) ? layout.bizDocument : bean.getBizDocument();
+		}
+		else {
+			int index = layout.indexOf(propertyName);
+			if (index >= 0) {
+				result = values[index];
+			}
+			else if ((extras != null) && extras.containsKey(propertyName)) {
+				result = extras.get(propertyName);
+			}
+			else {
+				if (bean == null) {
+					throw new IllegalArgumentException("Property name does not exist - " + propertyName);
+				}
+				try {
+					result = BindUtil.get(bean, propertyName);
+				}
+				catch (Exception e) {
+					throw new IllegalArgumentException("Property name does not exist - " + propertyName, e);
+				}
+			}
+		}
+
+		return result;
+	}
+
+	@Override
+	public Object get(String propertyName, int index) {
+		Object result = null;
+
+		if (isProperty(propertyName)) {
+			Object value = get(propertyName);
+			if (value instanceof List<?>) {
+				result = ((List<?>) value).get(index);
+			}
+			else if ((value != null) && value.getClass().isArray()) {
+				result = Array.get(value, index);
+			}
+			else {
+				throw new IllegalArgumentException("Non-indexed property for '" + propertyName + "[" + index + "]'");
+			}
+		}
+		else {
+			Object bean = thisBean();
+			if (bean == null) {
+				throw new IllegalArgumentException("Property name does not exist - " + propertyName);
+			}
+			try {
+				result = BindUtil.get(bean, new StringBuilder(32).append(propertyName).append('[').append(index).append(']').toString());
+			}
+			catch (Exception e) {
+				throw new IllegalArgumentException("Property name does not exist - " + propertyName, e);
+			}
+		}
+
+		return result;
+	}
+
+	@Override
+	public Object get(String propertyName, String key) {
+		Object result = null;
+
+		if (isProperty(propertyName)) {
+			Object value = get(propertyName);
+			if (value instanceof Map<?, ?>) {
+				result = ((Map<?, ?>) value).get(key);
+			}
+			else {
+				throw new IllegalArgumentException("Non-mapped property for '" + propertyName + "(" + key + ")'");
+			}
+		}
+		else {
+			Object bean = thisBean();
+			if (bean == null) {
+				throw new IllegalArgumentException("Property name does not exist - " + propertyName);
+			}
+			try {
+				result = BindUtil.get(bean, new StringBuilder(32).append(propertyName).append('(').append(key).append(')').toString());
+			}
+			catch (Exception e) {
+				throw new IllegalArgumentException("Property name does not exist - " + propertyName, e);
+			}
+		}
+
+		return result;
+	}
+
+	@Override
+	public void set(String propertyName, Object value) {
+		int index = layout.indexOf(propertyName);
+		if (index >= 0) {
+			values[index] = value;
+		}
+		else if ((extras != null) && extras.containsKey(propertyName)) {
+			extras.put(propertyName, value);
+		}
+		else {
+			Object bean = thisBean();
+			if (bean == null) {
+				if (extras == null) {
+					extras = new TreeMap<>();
+				}
+				extras.put(propertyName, value);
+			}
+			else {
+				try {
+					BindUtil.set(bean, propertyName, value);
+				}
+				catch (Exception e) {
+					throw new IllegalArgumentException("Property name does not exist - " + propertyName, e);
+				}
+			}
+		}
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public void set(String propertyName, int index, Object value) {
+		if (isProperty(propertyName)) {
+			Object property = get(propertyName);
+			if (property instanceof List<?>) {
+				((List<Object>) property).set(index, value);
+			}
+			else if ((property != null) && property.getClass().isArray()) {
+				Array.set(property, index, value);
+			}
+			else {
+				throw new IllegalArgumentException("Non-indexed property for '" + propertyName + "[" + index + "]'");
+			}
+		}
+		else {
+			Object bean = thisBean();
+			if (bean == null) {
+				throw new IllegalArgumentException("Property name does not exist - " + propertyName);
+			}
+			try {
+				BindUtil.set(bean,
+								new StringBuilder(32).append(propertyName).append('[').append(index).append(']').toString(),
+								value);
+			}
+			catch (Exception e) {
+				throw new IllegalArgumentException("Property name does not exist - " + propertyName, e);
+			}
+		}
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public void set(String propertyName, String key, Object value) {
+		if (isProperty(propertyName)) {
+			Object property = get(propertyName);
+			if (property instanceof Map<?, ?>) {
+				((Map<String, Object>) property).put(key, value);
+			}
+			else {
+				throw new IllegalArgumentException("Non-mapped property for '" + propertyName + "(" + key + ")'");
+			}
+		}
+		else {
+			Object bean = thisBean();
+			if (bean == null) {
+				throw new IllegalArgumentException("Property name does not exist - " + propertyName);
+			}
+			try {
+				BindUtil.set(bean,
+								new StringBuilder(32).append(propertyName).append('(').append(key).append(')').toString(),
+								value);
+			}
+			catch (Exception e) {
+				throw new IllegalArgumentException("Property name does not exist - " + propertyName, e);
+			}
+		}
+	}
+
+	@Override
+	public boolean contains(String propertyName, String key) {
+		Object value = isProperty(propertyName) ? get(propertyName) : null;
+		return (value instanceof Map<?, ?>) && ((Map<?, ?>) value).containsKey(key);
+	}
+
+	@Override
+	public void remove(String propertyName, String key) {
+		Object value = isProperty(propertyName) ? get(propertyName) : null;
+		if (value instanceof Map<?, ?>) {
+			((Map<?, ?>) value).remove(key);
+		}
+	}
+
+	/**
+	 * Each row is its own DynaClass, as with a LazyDynaMap, so that the property types reflect the row's values.
+	 */
+	@Override
+	public DynaClass getDynaClass() {
+		return this;
+	}
+
+	@Override
+	public String getName() {
+		return layout.bizModule + '.' + layout.bizDocument;
+	}
+
+	@Override
+	public DynaProperty getDynaProperty(String propertyName) {
+		if (! isProperty(propertyName)) {
+			return null;
+		}
+		Object value = get(propertyName);
+		return new DynaProperty(propertyName, (value == null) ? Object.class : value.getClass());
+	}
+
+	@Override
+	public DynaProperty[] getDynaProperties() {
+		Map<String, Object> map = toMap();
+		DynaProperty[] result = new DynaProperty[map.size()];
+		int i = 0;
+		for (Map.Entry<String, Object> entry : map.entrySet()) {
+			Object value = entry.getValue();
+			result[i++] = new DynaProperty(entry.getKey(), (value == null) ? Object.class : value.getClass());
+		}
+		return result;
+	}
+
+	@Override
+	public DynaBean newInstance() {
+		return new ProjectedBean(layout, new Object[values.length]);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder result = new StringBuilder(128);
+
+		for (Map.Entry<String, Object> entry : toMap().entrySet()) {
+			result.append(entry.getKey()).append(" = ");
+			result.append(entry.getValue()).append(' ');
+		}
+
+		return result.toString();
+	}
+
+	/**
+	 * Compare this bean to another by bizId.
+	 */
+	@Override
+	public int compareTo(Bean other) {
+		return AbstractBean.compareTo(this, other);
+	}
+
+	/**
+	 * Determine equality by bizId.
+	 */
+	@Override
+	public boolean equals(Object other) {
+		if (other instanceof ProjectedBean) {
+			String thisBizId = this.getBizId();
+			String otherBizId = ((ProjectedBean) other).getBizId();
+			return (thisBizId != null) && thisBizId.equals(otherBizId);
+		}
+		return false;
+	}
+
+	@Override
+	public int hashCode() {
+		int result = 0;
+		String bizId = this.getBizId();
+		if (bizId != null) {
+			result = bizId.hashCode();
+		}
+		return result;
+	}
+}
@@ -2,6 +2,12 @@ package org.skyve.domain.types.converters;
 
 import org.skyve.metadata.model.Attribute.AttributeType;
 
+/**
+ * Converts values to and from their display representation.
+ * Converter instances are shared across threads so implementations must be thread-safe.
+ * Use {@link org.skyve.CORE#getDateFormat(String)} and {@link org.skyve.CORE#getDecimalFormat(String)}
+ * which supply per-thread format instances rather than holding formats in fields.
+ */
 public interface Converter<T> {
 	/**
 	 * 
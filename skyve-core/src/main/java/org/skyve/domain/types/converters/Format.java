@@ -19,7 +19,8 @@ public class Format<T> {
 	// L - letter
 	private String mask;
 	private TextCase textCase;
-	private String maskFormatterMask;
+	// Lazily calculated and published once - see getMaskFormatter()
+	private volatile String maskFormatterMask;
 	
 	public Format(String mask, TextCase textCase) {
 		this.mask = mask;
@@ -92,31 +93,35 @@ public class Format<T> {
 	 * 
 	 */
 	private MaskFormatter getMaskFormatter() throws ParseException {
-		if (maskFormatterMask == null) {
+		String result = maskFormatterMask;
+		if (result == null) {
 			if (mask == null) {
-				maskFormatterMask = "*";
+				result = "*";
 			}
 			else {
-				maskFormatterMask = mask.replace("U", "'U");
-				maskFormatterMask = maskFormatterMask.replace("?", "'?");
-				maskFormatterMask = maskFormatterMask.replace("*", "'*");
-				maskFormatterMask = maskFormatterMask.replace("H", "'H");
+				result = mask.replace("U", "'U");
+				result = result.replace("?", "'?");
+				result = result.replace("*", "'*");
+				result = result.replace("H", "'H");
 				
 				if (textCase == null) {
-					maskFormatterMask = maskFormatterMask.replace('L', '?'); // my spec has 'L', MaskFormatter is '?' for letter
+					result = result.replace('L', '?'); // my spec has 'L', MaskFormatter is '?' for letter
 				}
 				else if (TextCase.upper.equals(textCase)) {
-					maskFormatterMask = maskFormatterMask.replace('L', 'U'); // my spec has 'L', MaskFormatter for upper letter is 'U'
+					result = result.replace('L', 'U'); // my spec has 'L', MaskFormatter for upper letter is 'U'
 				}
 				else if (TextCase.capital.equals(textCase)) {
 					// MaskFormatter upper case is 'U', so replace first 'L', 'L' means lower case so leave them alone
-					maskFormatterMask = maskFormatterMask.replaceFirst("L", "U");
+					result = result.replaceFirst("L", "U");
 				}
 				// no need to cater for lower as 'L' means lower letter anyway
 			}
+			// Only assign the fully calculated mask so that concurrent callers never see a partial value
+			maskFormatterMask = result;
 		}
 		
-		MaskFormatter formatter = new MaskFormatter(maskFormatterMask);
+		// MaskFormatter is not thread-safe so create one per call
+		MaskFormatter formatter = new MaskFormatter(result);
 		formatter.setAllowsInvalid(false);
 		formatter.setValueContainsLiteralCharacters(true);
 		return formatter;
@@ -19,6 +19,7 @@ import org.skyve.domain.ChildBean;
 import org.skyve.domain.HierarchicalBean;
 import org.skyve.domain.MapBean;
 import org.skyve.domain.PersistentBean;
+import org.skyve.domain.ProjectedBean;
 import org.skyve.domain.messages.DomainException;
 import org.skyve.domain.messages.Message;
 import org.skyve.domain.messages.SkyveException;
@@ -72,6 +73,7 @@ import com.vividsolutions.jts.io.WKTWriter;
 public final class BindUtil {
 	private static final String DEFAULT_DISPLAY_DATE_FORMAT = "dd/MM/yyyy";
 	private static final DeproxyingPropertyUtilsBean PROPERTY_UTILS = new DeproxyingPropertyUtilsBean();
+	private static final PropertyAccessorCache ACCESSORS = new PropertyAccessorCache(PROPERTY_UTILS);
 	
 	public static String formatMessage(Customer customer, String message, Bean... beans) {
 		StringBuilder result = new StringBuilder(message);
@@ -365,19 +367,20 @@ public final class BindUtil {
 	}
 
 	/**
-	 * This method is synchronized as {@link Converter#fromDisplayValue(Object)} requires synchronization. 
 	 * Explicit type coercion using the <code>converter</code> if supplied, or by java language coercion.
+	 * This method is not synchronized as {@link Converter} implementations are thread-safe - 
+	 * they use per-thread formats from {@link ThreadSafeFactory}.
 	 * 
 	 * @param attribute Used for type conversion. Can be <code>null</code>.
 	 * @param type
 	 * @param displayValue
 	 * @return
 	 */
-	public static synchronized Object fromString(Customer customer,
-													Converter<?> converter,
-													Class<?> type,
-													String stringValue,
-													boolean fromSerializedFormat) {
+	public static Object fromString(Customer customer,
+										Converter<?> converter,
+										Class<?> type,
+										String stringValue,
+										boolean fromSerializedFormat) {
 		Object result = null;
 
 		try {
@@ -484,17 +487,18 @@ public final class BindUtil {
 	}
 
 	/**
-	 * This method is synchronized as {@link Converter#toDisplayValue(Object)} requires synchronization.
+	 * This method is not synchronized as {@link Converter} implementations are thread-safe - 
+	 * they use per-thread formats from {@link ThreadSafeFactory}.
 	 * 
 	 * @param converter Can be <code>null</code>.
 	 * @param object
 	 * @return
 	 */
 	@SuppressWarnings("unchecked")
-	private static synchronized String toDisplay(Customer customer, 
-													@SuppressWarnings("rawtypes") Converter converter, 
-													List<DomainValue> domainValues, 
-													Object value) {
+	private static String toDisplay(Customer customer, 
+										@SuppressWarnings("rawtypes") Converter converter, 
+										List<DomainValue> domainValues, 
+										Object value) {
 		String result = "";
 		try {
 			if (value == null) {
@@ -639,6 +643,9 @@ public final class BindUtil {
 						if (bean instanceof MapBean) {
 							realBean = (Bean) ((MapBean) bean).get(DocumentQuery.THIS_ALIAS);
 						}
+						else if (bean instanceof ProjectedBean) {
+							realBean = (Bean) ((ProjectedBean) bean).get(DocumentQuery.THIS_ALIAS);
+						}
 						
 						int lastDotIndex = binding.lastIndexOf('.');
 						if (lastDotIndex >= 0) {
@@ -876,16 +883,18 @@ public final class BindUtil {
 		if (bean instanceof MapBean) {
 			return ((MapBean) bean).get(fullyQualifiedPropertyName);
 		}
+		if (bean instanceof ProjectedBean) {
+			return ((ProjectedBean) bean).get(fullyQualifiedPropertyName);
+		}
 
 		Object result = null;
 		Object currentBean = bean;
-		StringTokenizer tokenizer = new StringTokenizer(fullyQualifiedPropertyName, ".");
-		while (tokenizer.hasMoreTokens()) {
-			String simplePropertyName = tokenizer.nextToken();
+		for (PropertyAccessorCache.Segment segment : ACCESSORS.parse(fullyQualifiedPropertyName)) {
 			try {
-				result = PROPERTY_UTILS.getProperty(currentBean, simplePropertyName);
+				result = ACCESSORS.get(currentBean, segment);
 			}
 			catch (Exception e) {
+				String simplePropertyName = segment.text;
 				UtilImpl.LOGGER.severe("Could not BindUtil.get(" + bean + ", " + fullyQualifiedPropertyName + ")!");
 				UtilImpl.LOGGER.severe("The subsequent stack trace relates to obtaining bean property " + simplePropertyName + " from " + currentBean);
 				UtilImpl.LOGGER.severe("If the stack trace contains something like \"Unknown property '" + simplePropertyName + 
@@ -918,9 +927,8 @@ public final class BindUtil {
 		}
 		else {
 			Object currentMap = map;
-			StringTokenizer tokenizer = new StringTokenizer(binding, ".");
-			while (tokenizer.hasMoreTokens()) {
-				String simpleKey = tokenizer.nextToken();
+			for (PropertyAccessorCache.Segment segment : ACCESSORS.parse(binding)) {
+				String simpleKey = segment.text;
 				if (currentMap instanceof Map<?, ?>) {
 					result = ((Map<String, Object>) currentMap).get(simpleKey);
 				}
@@ -963,12 +971,7 @@ public final class BindUtil {
 				// if we are setting a String value to a non-string property then
 				// use an appropriate constructor or static valueOf()
 				if (String.class.equals(valueToSet.getClass()) && (! String.class.equals(propertyType))) {
-					try {
-						valueToSet = propertyType.getConstructor(valueToSet.getClass()).newInstance(valueToSet);
-					}
-					catch (@SuppressWarnings("unused") NoSuchMethodException e) {
-						valueToSet = propertyType.getMethod("valueOf", String.class).invoke(null, valueToSet);
-					}
+					valueToSet = ACCESSORS.fromString(propertyType, (String) valueToSet);
 				}
 	
 				// Convert the value to String if required
@@ -976,7 +979,7 @@ public final class BindUtil {
 					valueToSet = valueToSet.toString();
 				} // if (we have a String property)
 			}
-			PROPERTY_UTILS.setProperty(bean, fullyQualifiedPropertyName, valueToSet);
+			ACCESSORS.set(bean, fullyQualifiedPropertyName, valueToSet);
 		}
 		catch (Exception e) {
 			if (e instanceof SkyveException) {
@@ -989,13 +992,21 @@ public final class BindUtil {
 
 	public static Class<?> getPropertyType(Object bean, String propertyName) {
 		try {
-			return PROPERTY_UTILS.getPropertyType(bean, propertyName);
+			return ACCESSORS.getPropertyType(bean, propertyName);
 		}
 		catch (Exception e) {
 			throw new MetaDataException(e);
 		}
 	}
 
+	/**
+	 * Clear the cached bindings and compiled property accessors used by get() and set().
+	 * This is called when the repository metadata is evicted as domain classes may be reloaded.
+	 */
+	public static void evictCachedAccessors() {
+		ACCESSORS.clear();
+	}
+
 	public static boolean isWriteable(Object bean, String propertyName) {
 		try {
 			return (PROPERTY_UTILS.getWriteMethod(PROPERTY_UTILS.getPropertyDescriptor(bean, propertyName)) != null);
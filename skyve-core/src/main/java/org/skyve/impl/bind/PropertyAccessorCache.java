@@ -0,0 +1,327 @@
+package org.skyve.impl.bind;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.beanutils.DynaBean;
+import org.apache.commons.beanutils.PropertyUtilsBean;
+import org.skyve.impl.util.UtilImpl;
+
+/**
+ * Caches parsed bindings and compiled property accessors for {@link BindUtil}.
+ * <p/>
+ * Bindings are split into their simple (and possibly indexed) components once.
+ * Getters and setters are resolved once per bean class and property name into method handles
+ * so that subsequent gets and sets do not tokenize or introspect.
+ * Anything that cannot be compiled - mapped properties, maps, dyna beans - falls back to PropertyUtils.
+ * <p/>
+ * The cache is cleared when the repository metadata is evicted.
+ */
+final class PropertyAccessorCache {
+	/**
+	 * Indexed bindings can be unbounded (eg "collection[1234].name") so stop the cache growing indefinitely.
+	 */
+	private static final int MAX_BINDINGS = 10000;
+
+	private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+	private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+	private static final MethodType FROM_STRING_TYPE = MethodType.methodType(Object.class, String.class);
+
+	/**
+	 * A simple binding component - eg "name" or "collection[2]"
+	 */
+	static final class Segment {
+		final String text;
+		final String name;
+		final int index;
+		final boolean compilable;
+
+		Segment(String text) {
+			this.text = text;
+			int openBracketIndex = text.indexOf('[');
+			int index = -1;
+			String name = text;
+			boolean compilable = (text.indexOf('(') < 0);
+			if (compilable && (openBracketIndex > 0) && text.endsWith("]")) {
+				try {
+					index = Integer.parseInt(text.substring(openBracketIndex + 1, text.length() - 1));
+					name = text.substring(0, openBracketIndex);
+				}
+				catch (@SuppressWarnings("unused") NumberFormatException e) {
+					compilable = false;
+				}
+			}
+			else if (openBracketIndex >= 0) {
+				compilable = false;
+			}
+			this.name = name;
+			this.index = index;
+			this.compilable = compilable;
+		}
+	}
+
+	/**
+	 * A compiled bean property.
+	 */
+	private static final class Accessor {
+		private Class<?> type;
+		private MethodHandle getter;
+		private MethodHandle setter;
+	}
+
+	/**
+	 * Marks a property that cannot be compiled so it isn't introspected again.
+	 */
+	private static final Accessor NO_ACCESSOR = new Accessor();
+
+	private final PropertyUtilsBean propertyUtils;
+	private final ConcurrentHashMap<String, Segment[]> bindings = new ConcurrentHashMap<>();
+	private final ConcurrentHashMap<Class<?>, ConcurrentHashMap<String, Accessor>> accessors = new ConcurrentHashMap<>();
+	private final ConcurrentHashMap<Class<?>, MethodHandle> fromStrings = new ConcurrentHashMap<>();
+
+	PropertyAccessorCache(PropertyUtilsBean propertyUtils) {
+		this.propertyUtils = propertyUtils;
+	}
+
+	/**
+	 * Split a binding on '.' into its cached components.
+	 * Empty components are ignored - the same as a StringTokenizer would.
+	 */
+	Segment[] parse(String binding) {
+		Segment[] result = bindings.get(binding);
+		if (result == null) {
+			List<Segment> segments = new ArrayList<>(4);
+			int start = 0;
+			int length = binding.length();
+			while (start < length) {
+				int end = binding.indexOf('.', start);
+				if (end < 0) {
+					end = length;
+				}
+				if (end > start) {
+					segments.add(new Segment(binding.substring(start, end)));
+				}
+				start = end + 1;
+			}
+			result = segments.toArray(new Segment[segments.size()]);
+
+			if (bindings.size() >= MAX_BINDINGS) {
+				bindings.clear();
+			}
+			bindings.put(binding, result);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Get the value of a single binding component.
+	 */
+	Object get(Object bean, Segment segment) throws Exception {
+		Object deproxiedBean = UtilImpl.deproxy(bean);
+		Accessor accessor = segment.compilable ? accessor(deproxiedBean, segment.name) : NO_ACCESSOR;
+		MethodHandle getter = accessor.getter;
+		if (getter == null) {
+			return propertyUtils.getProperty(bean, segment.text);
+		}
+
+		Object result = invokeGetter(getter, deproxiedBean);
+		if (segment.index >= 0) {
+			if (result instanceof List<?>) {
+				result = ((List<?>) result).get(segment.index);
+			}
+			else if ((result != null) && result.getClass().isArray()) {
+				result = Array.get(result, segment.index);
+			}
+			else {
+				return propertyUtils.getProperty(bean, segment.text);
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * Get the type of a simple or compound binding.
+	 */
+	Class<?> getPropertyType(Object bean, String binding) throws Exception {
+		Segment[] segments = parse(binding);
+		Object owner = owner(bean, segments);
+		if (owner != null) {
+			Segment last = segments[segments.length - 1];
+			if (last.compilable && (last.index < 0)) {
+				Accessor accessor = accessor(UtilImpl.deproxy(owner), last.name);
+				if (accessor != NO_ACCESSOR) {
+					return accessor.type;
+				}
+			}
+		}
+
+		return propertyUtils.getPropertyType(bean, binding);
+	}
+
+	/**
+	 * Set the value of a simple or compound binding.
+	 */
+	void set(Object bean, String binding, Object value) throws Exception {
+		Segment[] segments = parse(binding);
+		Object owner = owner(bean, segments);
+		if (owner != null) {
+			Segment last = segments[segments.length - 1];
+			if (last.compilable && (last.index < 0)) {
+				Object deproxiedOwner = UtilImpl.deproxy(owner);
+				MethodHandle setter = accessor(deproxiedOwner, last.name).setter;
+				if (setter != null) {
+					invokeSetter(setter, deproxiedOwner, UtilImpl.deproxy(value));
+					return;
+				}
+			}
+		}
+
+		propertyUtils.setProperty(bean, binding, value);
+	}
+
+	/**
+	 * Convert a String to the given type using a constructor that takes a String or a static valueOf(String).
+	 */
+	Object fromString(Class<?> type, String value) throws Exception {
+		MethodHandle fromString = fromStrings.get(type);
+		if (fromString == null) {
+			MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+			try {
+				fromString = lookup.unreflectConstructor(type.getConstructor(String.class));
+			}
+			catch (@SuppressWarnings("unused") NoSuchMethodException e) {
+				fromString = lookup.unreflect(type.getMethod("valueOf", String.class));
+			}
+			fromString = fromString.asType(FROM_STRING_TYPE);
+			fromStrings.put(type, fromString);
+		}
+
+		try {
+			return fromString.invokeExact(value);
+		}
+		catch (Exception e) {
+			throw e;
+		}
+		catch (Error e) {
+			throw e;
+		}
+		catch (Throwable t) {
+			throw new IllegalStateException(t);
+		}
+	}
+
+	void clear() {
+		bindings.clear();
+		accessors.clear();
+		fromStrings.clear();
+	}
+
+	/**
+	 * Resolve the bean that owns the last binding component.
+	 *
+	 * @return	The owning bean or null if an intermediate value is null or the owner cannot be resolved by the cache.
+	 */
+	private Object owner(Object bean, Segment[] segments) throws Exception {
+		if ((bean == null) || (segments.length == 0)) {
+			return null;
+		}
+		Object result = bean;
+		for (int i = 0, l = segments.length - 1; i < l; i++) {
+			result = get(result, segments[i]);
+			if (result == null) {
+				return null;
+			}
+		}
+		return result;
+	}
+
+	private Accessor accessor(Object bean, String propertyName) {
+		if ((bean == null) || (bean instanceof Map<?, ?>) || (bean instanceof DynaBean)) {
+			return NO_ACCESSOR;
+		}
+
+		Class<?> type = bean.getClass();
+		ConcurrentHashMap<String, Accessor> classAccessors = accessors.get(type);
+		if (classAccessors == null) {
+			classAccessors = new ConcurrentHashMap<>();
+			ConcurrentHashMap<String, Accessor> existing = accessors.putIfAbsent(type, classAccessors);
+			if (existing != null) {
+				classAccessors = existing;
+			}
+		}
+
+		Accessor result = classAccessors.get(propertyName);
+		if (result == null) {
+			result = compile(bean, propertyName);
+			classAccessors.put(propertyName, result);
+		}
+
+		return result;
+	}
+
+	private Accessor compile(Object bean, String propertyName) {
+		try {
+			PropertyDescriptor descriptor = propertyUtils.getPropertyDescriptor(bean, propertyName);
+			if ((descriptor == null) || (descriptor.getPropertyType() == null)) {
+				return NO_ACCESSOR;
+			}
+
+			Accessor result = new Accessor();
+			result.type = descriptor.getPropertyType();
+			MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+			Method method = propertyUtils.getReadMethod(descriptor);
+			if (method != null) {
+				result.getter = lookup.unreflect(method).asType(GETTER_TYPE);
+			}
+			method = propertyUtils.getWriteMethod(descriptor);
+			if (method != null) {
+				result.setter = lookup.unreflect(method).asType(SETTER_TYPE);
+			}
+			return result;
+		}
+		catch (@SuppressWarnings("unused") Exception e) {
+			// leave it to PropertyUtils to report the problem
+			return NO_ACCESSOR;
+		}
+	}
+
+	private static Object invokeGetter(MethodHandle getter, Object bean) throws Exception {
+		try {
+			return getter.invokeExact(bean);
+		}
+		catch (Exception e) {
+			throw e;
+		}
+		catch (Error e) {
+			throw e;
+		}
+		catch (Throwable t) {
+			throw new IllegalStateException(t);
+		}
+	}
+
+	private static void invokeSetter(MethodHandle setter, Object bean, Object value) throws Exception {
+		try {
+			setter.invokeExact(bean, value);
+		}
+		catch (Exception e) {
+			throw e;
+		}
+		catch (Error e) {
+			throw e;
+		}
+		catch (Throwable t) {
+			throw new IllegalStateException(t);
+		}
+	}
+}
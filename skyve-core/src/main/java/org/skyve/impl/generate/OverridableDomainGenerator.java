@@ -53,6 +53,7 @@ import org.skyve.metadata.model.Attribute;
 import org.skyve.metadata.model.Attribute.AttributeType;
 import org.skyve.metadata.model.Extends;
 import org.skyve.metadata.model.Persistent;
+import org.skyve.metadata.model.Persistent.CacheUsage;
 import org.skyve.metadata.model.Persistent.ExtensionStrategy;
 import org.skyve.metadata.model.document.Association;
 import org.skyve.metadata.model.document.Association.AssociationType;
@@ -850,6 +851,12 @@ public final class OverridableDomainGenerator extends DomainGenerator {
 			if ((baseDocumentName != null) && ExtensionStrategy.joined.equals(strategy)) {
 				fw.append(indent).append("\t\t<key column=\"bizId\" />\n");
 			} else if (baseDocumentName == null) {
+				// second level cache must be defined first and only on the root class
+				CacheUsage cache = persistent.getCache();
+				if (cache != null) {
+					fw.append(indent).append("\t\t<cache usage=\"").append(cache.toHibernateUsage()).append("\" />\n");
+				}
+
 				// map inherited properties
 				fw.append(indent).append("\t\t<id name=\"bizId\" length=\"36\" />\n");
 
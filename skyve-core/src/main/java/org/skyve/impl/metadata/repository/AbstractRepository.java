@@ -8,9 +8,11 @@ import java.util.TreeMap;
 import org.apache.deltaspike.core.api.provider.BeanProvider;
 import org.skyve.domain.Bean;
 import org.skyve.domain.types.Enumeration;
+import org.skyve.impl.bind.BindUtil;
 import org.skyve.impl.metadata.customer.CustomerImpl;
 import org.skyve.impl.metadata.user.UserImpl;
 import org.skyve.impl.persistence.AbstractPersistence;
+import org.skyve.impl.persistence.PagedQueryCache;
 import org.skyve.impl.util.UtilImpl;
 import org.skyve.metadata.MetaData;
 import org.skyve.metadata.MetaDataException;
@@ -93,6 +95,9 @@ public abstract class AbstractRepository implements Repository {
 		persistence.setUser(user);
 		
 		classes.clear();
+		BindUtil.evictCachedAccessors();
+		// cached list counts and page boundaries may be for queries that have changed
+		PagedQueryCache.clear();
 	}
 
 	// class maps
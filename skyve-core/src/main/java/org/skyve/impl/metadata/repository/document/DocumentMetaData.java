@@ -67,6 +67,7 @@ import org.skyve.metadata.model.Attribute.AttributeType;
 import org.skyve.metadata.model.Attribute.UsageType;
 import org.skyve.metadata.model.Extends;
 import org.skyve.metadata.model.Persistent;
+import org.skyve.metadata.model.Persistent.ExtensionStrategy;
 import org.skyve.metadata.model.document.Association;
 import org.skyve.metadata.model.document.Collection;
 import org.skyve.metadata.model.document.Collection.CollectionType;
@@ -356,6 +357,16 @@ public class DocumentMetaData extends NamedMetaData implements PersistentMetaDat
 			if ((bizKeyCode == null) && (bizKeyExpression == null)) {
 				throw new MetaDataException(metaDataName + " : The document [bizKey] requires either some code or an expression defined.");
 			}
+			if (resultPersistent.getCache() != null) {
+				if (resultPersistent.getName() == null) {
+					throw new MetaDataException(metaDataName + " : The document [persistent.cache] CANNOT be defined for a mapped document");
+				}
+				ExtensionStrategy strategy = resultPersistent.getStrategy();
+				if (ExtensionStrategy.single.equals(strategy) || ExtensionStrategy.joined.equals(strategy)) {
+					throw new MetaDataException(metaDataName + " : The document [persistent.cache] CANNOT be defined for a " + 
+													strategy + " extension - define it on the base document");
+				}
+			}
 		}
 		
 		if (bizKeyCode != null) {
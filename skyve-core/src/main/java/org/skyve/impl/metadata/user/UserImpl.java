@@ -407,6 +407,29 @@ public class UserImpl implements User {
 		return result;
 	}
 
+	/**
+	 * The scope at which each document with read permission can be read.
+	 * Documents without a permission, such as child documents, are not included.
+	 * 
+	 * @return module.document -> scope, or null if the user can read all beans.
+	 */
+	public Map<String, DocumentPermissionScope> getDocumentReadScopes() {
+		if (roleNames.contains(SUPER_ROLE)) {
+			return null;
+		}
+		
+		Map<String, DocumentPermissionScope> result = new TreeMap<>();
+		for (Entry<String, DocumentPermission> entry : documentPermissions.entrySet()) {
+			DocumentPermission permission = entry.getValue();
+			DocumentPermissionScope scope = permission.getScope();
+			if (permission.canRead() && (! DocumentPermissionScope.none.equals(scope))) {
+				result.put(entry.getKey(), scope);
+			}
+		}
+		
+		return result;
+	}
+
 	/**
 	 * Determine if we can read the document bean given the document scope etc. 
 	 * NB. Cannot select the bean from bizhub data store in this method, coz it may be transient.
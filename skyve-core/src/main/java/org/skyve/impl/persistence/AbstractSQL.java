@@ -1,5 +1,6 @@
 package org.skyve.impl.persistence;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
@@ -26,6 +27,13 @@ public abstract class AbstractSQL extends AbstractQuery implements SQL {
 
 	private Map<String, AttributeType> parametersTypes = new TreeMap<>();
 
+	// parameter values and types for each batch entry
+	private List<Map<String, Object>> batchParameters = new ArrayList<>();
+	private List<Map<String, AttributeType>> batchParametersTypes = new ArrayList<>();
+	// parameter values and types whilst iterating a batch
+	private Map<String, Object> unbatchedParameters = null;
+	private Map<String, AttributeType> unbatchedParametersTypes = null;
+
 	public AbstractSQL(String query) {
 		this.query = query;
 	}
@@ -112,6 +120,63 @@ public abstract class AbstractSQL extends AbstractQuery implements SQL {
 		return this;
 	}
 	
+	@Override
+	public SQL addBatch() {
+		batchParameters.add(new TreeMap<>(parameters));
+		batchParametersTypes.add(new TreeMap<>(parametersTypes));
+		return this;
+	}
+	
+	/**
+	 * Execute each batch entry in turn.
+	 * Implementations that can send the batch to the database in one round trip should override this.
+	 */
+	@Override
+	public int[] executeBatch() {
+		int[] result = new int[getBatchSize()];
+		try {
+			for (int i = 0, l = result.length; i < l; i++) {
+				selectBatch(i);
+				result[i] = execute();
+			}
+		}
+		finally {
+			endBatch();
+		}
+		return result;
+	}
+	
+	protected final int getBatchSize() {
+		return batchParameters.size();
+	}
+	
+	/**
+	 * Make the parameter values and types of a batch entry the current ones.
+	 * Call {@link #endBatch()} when finished with the batch.
+	 */
+	protected final void selectBatch(int index) {
+		if (unbatchedParameters == null) {
+			unbatchedParameters = parameters;
+			unbatchedParametersTypes = parametersTypes;
+		}
+		parameters = batchParameters.get(index);
+		parametersTypes = batchParametersTypes.get(index);
+	}
+	
+	/**
+	 * Clear the batch and restore the parameter values and types put before the batch was executed.
+	 */
+	protected final void endBatch() {
+		if (unbatchedParameters != null) {
+			parameters = unbatchedParameters;
+			parametersTypes = unbatchedParametersTypes;
+			unbatchedParameters = null;
+			unbatchedParametersTypes = null;
+		}
+		batchParameters.clear();
+		batchParametersTypes.clear();
+	}
+	
 	public final AttributeType getParameterType(String name) {
 		return parametersTypes.get(name);
 	}
@@ -0,0 +1,190 @@
+package org.skyve.impl.persistence;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.skyve.metadata.user.User;
+
+/**
+ * Caches the total row counts (summary rows) and the keyset page boundaries used when paging list models.
+ * <p/>
+ * Entries are keyed on the query string, its parameters and the user's scope (customer, data group and user)
+ * and are stamped with the generation of the driving document at the time they were cached.
+ * The generation is bumped once a transaction that inserted, updated or deleted a document through persistence
+ * has committed, so an entry is stale as soon as the change to the driving document is visible.
+ * Changes made outside of persistence, in other documents joined into the query or on another server
+ * are not seen, so entries also expire after a time to live.
+ * <p/>
+ * Estimated counts disregard the generation and only expire with the time to live.
+ */
+public final class PagedQueryCache {
+	/**
+	 * Stop the cache growing indefinitely with all the different filter and paging combinations.
+	 */
+	private static final int MAX_ENTRIES = 10000;
+
+	/**
+	 * Page boundaries are only valid whilst the generation is unchanged but don't keep them forever.
+	 */
+	private static final long BOUNDARY_TIME_TO_LIVE_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+	private static final class Entry {
+		private final Object value;
+		private final long generation;
+		private final long created = System.currentTimeMillis();
+
+		private Entry(Object value, long generation) {
+			this.value = value;
+			this.generation = generation;
+		}
+	}
+
+	// module.document -> generation
+	private static final ConcurrentHashMap<String, AtomicLong> GENERATIONS = new ConcurrentHashMap<>();
+	// key -> summary row values
+	private static final ConcurrentHashMap<String, Entry> SUMMARIES = new ConcurrentHashMap<>();
+	// key + start row -> sort values of the previous row
+	private static final ConcurrentHashMap<String, Entry> BOUNDARIES = new ConcurrentHashMap<>();
+
+	private PagedQueryCache() {
+		// nothing to see here
+	}
+
+	/**
+	 * Construct a cache key for a query.
+	 *
+	 * @param user	The user running the query - determines the scope of the rows returned.
+	 * @param query	The query.
+	 * @return	The key.
+	 */
+	public static String key(User user, AbstractQuery query) {
+		StringBuilder result = new StringBuilder(256);
+		result.append(user.getCustomerName()).append('|');
+		result.append(user.getDataGroupId()).append('|');
+		result.append(user.getId()).append('|');
+		result.append(query.toQueryString());
+		for (String parameterName : query.getParameterNames()) {
+			result.append('|').append(parameterName).append('=').append(query.getParameter(parameterName));
+		}
+		return result.toString();
+	}
+
+	/**
+	 * Mark the rows of a document as changed.
+	 */
+	public static void documentChanged(String moduleName, String documentName) {
+		AtomicLong generation = GENERATIONS.get(generationKey(moduleName, documentName));
+		if (generation != null) {
+			generation.incrementAndGet();
+		}
+	}
+
+	/**
+	 * Get the generation of a document - it changes whenever the document is inserted, updated or deleted through persistence.
+	 * This lets other caches of query results tell when they are stale.
+	 */
+	public static long getGeneration(String moduleName, String documentName) {
+		return generation(moduleName, documentName).get();
+	}
+
+	/**
+	 * Get a cached summary row.
+	 *
+	 * @return	A copy of the summary row values or null if not cached or stale.
+	 */
+	public static Map<String, Object> getSummary(String key,
+													String moduleName,
+													String documentName,
+													int timeToLiveSeconds,
+													boolean estimated) {
+		Entry entry = SUMMARIES.get(key);
+		if (valid(entry,
+					moduleName,
+					documentName,
+					TimeUnit.SECONDS.toMillis(timeToLiveSeconds),
+					estimated)) {
+			@SuppressWarnings("unchecked")
+			Map<String, Object> values = (Map<String, Object>) entry.value;
+			return new TreeMap<>(values);
+		}
+		return null;
+	}
+
+	public static void putSummary(String key, String moduleName, String documentName, Map<String, Object> values) {
+		put(SUMMARIES, key, new TreeMap<>(values), moduleName, documentName);
+	}
+
+	/**
+	 * Get the sort values of the row before the given start row.
+	 *
+	 * @return	The sort values or null if not cached or stale.
+	 */
+	public static Object[] getBoundary(String key, int startRow, String moduleName, String documentName) {
+		Entry entry = BOUNDARIES.get(boundaryKey(key, startRow));
+		if (valid(entry, moduleName, documentName, BOUNDARY_TIME_TO_LIVE_MILLIS, false)) {
+			return ((Object[]) entry.value).clone();
+		}
+		return null;
+	}
+
+	public static void putBoundary(String key, int startRow, String moduleName, String documentName, Object[] values) {
+		put(BOUNDARIES, boundaryKey(key, startRow), values.clone(), moduleName, documentName);
+	}
+
+	/**
+	 * Forget all cached counts and boundaries - called when the metadata is evicted.
+	 */
+	public static void clear() {
+		SUMMARIES.clear();
+		BOUNDARIES.clear();
+	}
+
+	private static void put(ConcurrentHashMap<String, Entry> entries,
+								String key,
+								Object value,
+								String moduleName,
+								String documentName) {
+		if (entries.size() >= MAX_ENTRIES) {
+			entries.clear();
+		}
+		entries.put(key, new Entry(value, generation(moduleName, documentName).get()));
+	}
+
+	private static boolean valid(Entry entry,
+									String moduleName,
+									String documentName,
+									long timeToLiveMillis,
+									boolean ignoreGeneration) {
+		if (entry == null) {
+			return false;
+		}
+		if ((System.currentTimeMillis() - entry.created) > timeToLiveMillis) {
+			return false;
+		}
+		return ignoreGeneration || (entry.generation == generation(moduleName, documentName).get());
+	}
+
+	private static AtomicLong generation(String moduleName, String documentName) {
+		String generationKey = generationKey(moduleName, documentName);
+		AtomicLong result = GENERATIONS.get(generationKey);
+		if (result == null) {
+			result = new AtomicLong();
+			AtomicLong existing = GENERATIONS.putIfAbsent(generationKey, result);
+			if (existing != null) {
+				result = existing;
+			}
+		}
+		return result;
+	}
+
+	private static String generationKey(String moduleName, String documentName) {
+		return new StringBuilder(64).append(moduleName).append('.').append(documentName).toString();
+	}
+
+	private static String boundaryKey(String key, int startRow) {
+		return new StringBuilder(key.length() + 12).append(startRow).append('@').append(key).toString();
+	}
+}
@@ -67,6 +67,10 @@ public class UtilImpl {
 	// The cron expression to use to fire off the content garbage collection
 	// Defaults to run at 7 past the hour every hour.
 	public static String CONTENT_GC_CRON = "0 7 0/1 1/1 * ? *";
+	// The number of content items checked against the database in each garbage collection query (keep under the database's IN list limit)
+	public static int CONTENT_GC_BATCH_SIZE = 500;
+	// The pause between garbage collection batches to limit the load on the system
+	public static long CONTENT_GC_BATCH_PAUSE_MILLIS = 100L;
 
 	// Should the attachments be stored on the file system or inline.
 	public static boolean CONTENT_FILE_STORAGE = true;
@@ -74,6 +78,12 @@ public class UtilImpl {
 	// The arguments to send to the TCP server when running the content management in server mode.
 	public static String CONTENT_SERVER_ARGS = null;
 
+	// Should bean content be written to the content outbox on commit and indexed in the background.
+	public static boolean CONTENT_ASYNC_INDEXING = false;
+
+	// The maximum number of content outbox rows to index in one batch.
+	public static int CONTENT_INDEX_BATCH_SIZE = 500;
+
 	// The number of threads that are allowed to serve thumb nails at once.
 	// Too many threads can cause out of memory errors.
 	// You can calculate this as concurrentThreads * memory usage determined by targetSize below
@@ -123,6 +133,7 @@ public class UtilImpl {
 	public static String SKYVE_REPOSITORY_CLASS = null;
 	public static String SKYVE_PERSISTENCE_CLASS = null;
 	public static String SKYVE_CONTENT_MANAGER_CLASS = null;
+	public static String SKYVE_CONVERSATION_STORE_CLASS = null;
 
 	// The directory used for temp files for file uploads etc
 	public static final String TEMP_DIRECTORY = System.getProperty("java.io.tmpdir");
@@ -133,12 +144,55 @@ public class UtilImpl {
 	public static int MAX_CONVERSATIONS_IN_MEMORY = 1000;
 	public static int CONVERSATION_EVICTION_TIME_MINUTES = 60;
 
+	// For list model paging
+	public static boolean LIST_KEYSET_PAGINATION = false;
+	public static int LIST_COUNT_CACHE_TIME_TO_LIVE_SECONDS = 0;
+	public static boolean LIST_ESTIMATED_COUNT = false;
+	// For in memory list model filtering
+	public static int LIST_PARALLEL_FILTER_THRESHOLD = 0;
+
+	// For caching compiled reports
+	public static int REPORT_CACHE_SIZE = 100;
+	public static List<String> REPORT_PRE_WARM = null;
+	// For filling large list reports - the number of pages to keep in memory before swapping to disk (0 = never swap)
+	public static int REPORT_VIRTUALIZER_MAX_PAGES = 50;
+
+	// The number of map tiles of query results to keep in memory (0 = no caching)
+	public static int MAP_TILE_CACHE_SIZE = 1000;
+	// Number of seconds to cache map tiles for
+	public static int MAP_TILE_CACHE_TIME_TO_LIVE_SECONDS = 60;
+
 	// For database
 	public static Map<String, DataStore> DATA_STORES = new TreeMap<>();
 	public static DataStore DATA_STORE = null;
+	// For pooling connections to data stores defined with a driver and url
+	public static int DATA_STORE_POOL_MAX_SIZE = 10;
+	public static int DATA_STORE_POOL_MAX_WAIT_SECONDS = 30;
+	public static int DATA_STORE_POOL_LEAK_DETECTION_SECONDS = 0;
+
+	// For backups - the number of tables to dump in parallel straight into the zip (0 = dump to a folder and zip it afterwards)
+	public static int BACKUP_THREADS = 0;
+	// The JDBC fetch size used when dumping tables in parallel
+	public static int BACKUP_FETCH_SIZE = 1000;
+	// For restores - the number of tables to restore in parallel in each phase
+	public static int RESTORE_THREADS = 1;
+	// The number of rows inserted in each JDBC batch
+	public static int RESTORE_BATCH_SIZE = 100;
+	// The number of rows restored between commits - an interrupted restore resumes from the last commit
+	public static int RESTORE_COMMIT_INTERVAL = 10000;
+	// The number of threads putting restored content into the content manager
+	public static int RESTORE_CONTENT_THREADS = 2;
+	// For bean reindexing - the number of threads reindexing in place while search stays up (0 = truncate and reindex each document in turn)
+	public static int REINDEX_THREADS = 0;
+	// The number of beans put in each bulk content request when reindexing in parallel
+	public static int REINDEX_BULK_SIZE = 500;
 	public static boolean DDL_SYNC = true;
 	public static String CATALOG = null;
 	public static String SCHEMA = null;
+	// For caching documents with a persistent cache attribute in the hibernate second level cache
+	public static boolean HIBERNATE_SECOND_LEVEL_CACHE = false;
+	// For caching the results of queries driven by cached documents (requires the second level cache)
+	public static boolean HIBERNATE_QUERY_CACHE = false;
 	
 	// For E-Mail
 	public static String SMTP = null;
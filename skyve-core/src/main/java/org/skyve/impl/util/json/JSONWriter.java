@@ -4,17 +4,22 @@ import java.beans.BeanInfo;
 import java.beans.IntrospectionException;
 import java.beans.Introspector;
 import java.beans.PropertyDescriptor;
+import java.io.IOException;
+import java.io.Writer;
 import java.lang.reflect.Array;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.text.CharacterIterator;
 import java.text.StringCharacterIterator;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.Stack;
 
 import org.skyve.domain.Bean;
 import org.skyve.domain.ChildBean;
@@ -36,9 +41,19 @@ import com.vividsolutions.jts.io.WKTWriter;
 
 // TODO Clean up exception handling in JSON stuff
 public class JSONWriter {
+	/**
+	 * When streaming, the buffer is written out once it reaches this many characters.
+	 */
+	private static final int STREAMING_BUFFER_SIZE = 8192;
+	
 	private StringBuilder buf = new StringBuilder();
-	private Stack<Object> calls = new Stack<>();
+	// The values currently being written - identity based so that cycles are detected without calling equals()
+	private Set<Object> calls = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
 	private Customer customer;
+	// The writer to stream to, or null if building a String
+	private Writer out;
+	// The first error encountered writing to out, reported once the value has been traversed
+	private IOException outException;
 
 	public JSONWriter(Customer customer) {
 		this.customer = customer;
@@ -46,10 +61,40 @@ public class JSONWriter {
 
 	public String write(Object object, Set<String> propertyNames) {
 		buf.setLength(0);
+		calls.clear();
 		value(object, propertyNames, true);
 		return buf.toString();
 	}
 
+	/**
+	 * Stream the JSON to the given writer with bounded buffering.
+	 * The writer is flushed but not closed.
+	 * 
+	 * @param object	The object to write.
+	 * @param propertyNames	Needed for marshalling the result of executing a Query.
+	 * @param writer	The writer to stream to.
+	 * @throws IOException	If the writer could not be written to.
+	 */
+	public void write(Object object, Set<String> propertyNames, Writer writer)
+	throws IOException {
+		buf.setLength(0);
+		calls.clear();
+		out = writer;
+		outException = null;
+		try {
+			value(object, propertyNames, true);
+			flush();
+			if (outException != null) {
+				throw outException;
+			}
+			writer.flush();
+		}
+		finally {
+			out = null;
+			buf.setLength(0);
+		}
+	}
+
 	public static String write(long n) {
 		return String.valueOf(n);
 	}
@@ -67,37 +112,46 @@ public class JSONWriter {
 	}
 
 	private void value(Object object, Set<String> propertyNames, boolean topLevel) {
-		if (object == null || cyclic(object)) {
+		if (object == null) {
+			add("null");
+		}
+		else if (object instanceof Class<?>) {
+			Class<?> type = (Class<?>) object;
+			string(type.getName());
+		}
+		else if (object instanceof Boolean) {
+			bool(((Boolean) object).booleanValue());
+		}
+		else if (object instanceof Number) {
+			add(object);
+		}
+		else if (object instanceof Date) {
+			string(object.toString());
+		}
+		else if (object instanceof String) {
+			string(object);
+		}
+		else if (object instanceof Character) {
+			string(object);
+		}
+		else if (object instanceof Enumeration) {
+			string(((Enumeration) object).toCode());
+		}
+		else if (object instanceof Enum<?>) {
+			string(object);
+		}
+		else if (object instanceof OptimisticLock) {
+			string(((OptimisticLock) object).toString());
+		}
+		else if (object instanceof Geometry) {
+			string(new WKTWriter().write((Geometry) object));
+		}
+		// Only values that can contain other values need to be checked for cycles
+		else if (! calls.add(object)) {
 			add("null");
 		}
 		else {
-			calls.push(object);
-			if (object instanceof Class<?>) {
-				Class<?> type = (Class<?>) object;
-				string(type.getName());
-			}
-			else if (object instanceof Boolean) {
-				bool(((Boolean) object).booleanValue());
-			}
-			else if (object instanceof Number) {
-				add(object);
-			}
-			else if (object instanceof Date) {
-				string(object.toString());
-			}
-			else if (object instanceof String) {
-				string(object);
-			}
-			else if (object instanceof Character) {
-				string(object);
-			}
-			else if (object instanceof Enumeration) {
-				string(((Enumeration) object).toCode());
-			}
-			else if (object instanceof Enum<?>) {
-				string(object);
-			}
-			else if (object instanceof Map<?, ?>) {
+			if (object instanceof Map<?, ?>) {
 				map((Map<?, ?>) object, propertyNames, false);
 			}
 			else if (object.getClass().isArray()) {
@@ -119,62 +173,80 @@ public class JSONWriter {
 					document((Bean) object, propertyNames, false);
 				}
 			}
-			else if (object instanceof OptimisticLock) {
-				string(((OptimisticLock) object).toString());
-			}
-			else if (object instanceof Geometry) {
-				string(new WKTWriter().write((Geometry) object));
-			}
 			else {
 				bean(object, propertyNames, false);
 			}
-			calls.pop();
+			calls.remove(object);
 		}
 	}
 
-	private boolean cyclic(Object object) {
-		return calls.contains(object);
+	/**
+	 * A readable property of a java bean.
+	 */
+	private static final class BeanProperty {
+		private String name;
+		private Method accessor;
+		
+		private BeanProperty(String name, Method accessor) {
+			this.name = name;
+			this.accessor = accessor;
+		}
 	}
-
+	
+	/**
+	 * The readable properties to write for a java bean class, introspected once per class.
+	 */
+	private static final ClassValue<List<BeanProperty>> BEAN_PROPERTIES = new ClassValue<List<BeanProperty>>() {
+		@Override
+		protected List<BeanProperty> computeValue(Class<?> type) {
+			List<BeanProperty> result = new ArrayList<>();
+			try {
+				BeanInfo info = Introspector.getBeanInfo(type);
+				for (PropertyDescriptor prop : info.getPropertyDescriptors()) {
+					String name = prop.getName();
+					Method accessor = prop.getReadMethod();
+					Method mutator = prop.getWriteMethod();
+					if ((accessor != null) && // has read access
+							// not the hierarchical bean's children property
+							(! (HierarchicalBean.class.isAssignableFrom(type) && "children".equals(name))) &&
+							((mutator != null) || // has write access
+								// errorMessage property in ErrorMessage
+								"errorMessage".equals(name) ||
+								// or is a collection, iterator or iterable
+								Collection.class.isAssignableFrom(prop.getPropertyType()) ||
+								Iterator.class.equals(prop.getPropertyType()) || 
+								Iterable.class.equals(prop.getPropertyType()))) {
+						if (! accessor.isAccessible()) {
+							accessor.setAccessible(true);
+						}
+						result.add(new BeanProperty(name, accessor));
+					}
+				}
+			}
+			catch (IntrospectionException ie) {
+				ie.printStackTrace();
+			}
+			return Collections.unmodifiableList(result);
+		}
+	};
+	
 	private void bean(Object object, Set<String> propertyNames, boolean topLevel) {
 		boolean firstProperty = true;
 
 		add("{");
-		BeanInfo info;
 		if (propertyNames == null) {
 			add("class", object.getClass(), propertyNames, topLevel);
 			firstProperty = false;
 		}
 
 		try {
-			Class<?> type = object.getClass();
-			info = Introspector.getBeanInfo(type);
-			PropertyDescriptor[] props = info.getPropertyDescriptors();
-			for (int i = 0; i < props.length; ++i) {
-				PropertyDescriptor prop = props[i];
-				String name = prop.getName();
-				Method accessor = prop.getReadMethod();
-				Method mutator = prop.getWriteMethod();
-				if ((accessor != null) && // has read access
-						// not the hierarchical bean's children property
-						(! (HierarchicalBean.class.isAssignableFrom(type) && "children".equals(name))) &&
-						((mutator != null) || // has write access
-							// errorMessage property in ErrorMessage
-							"errorMessage".equals(name) ||
-							// or is a collection, iterator or iterable
-							Collection.class.isAssignableFrom(prop.getPropertyType()) ||
-							Iterator.class.equals(prop.getPropertyType()) || 
-							Iterable.class.equals(prop.getPropertyType()))) {
-					if (! accessor.isAccessible()) {
-						accessor.setAccessible(true);
-					}
-					Object value = accessor.invoke(object, (Object[]) null);
-					if (! firstProperty) {
-						add(',');
-					}
-					add(name, value, propertyNames, topLevel);
-					firstProperty = false;
+			for (BeanProperty property : BEAN_PROPERTIES.get(object.getClass())) {
+				Object value = property.accessor.invoke(object, (Object[]) null);
+				if (! firstProperty) {
+					add(',');
 				}
+				add(property.name, value, propertyNames, topLevel);
+				firstProperty = false;
 			}
 		}
 		catch (IllegalAccessException iae) {
@@ -184,9 +256,6 @@ public class JSONWriter {
 			ite.getCause().printStackTrace();
 			ite.printStackTrace();
 		}
-		catch (IntrospectionException ie) {
-			ie.printStackTrace();
-		}
 		add("}");
 	}
 
@@ -364,10 +433,41 @@ public class JSONWriter {
 
 	private void add(Object obj) {
 		buf.append(obj);
+		if (out != null) {
+			flushIfFull();
+		}
 	}
 
 	private void add(char c) {
 		buf.append(c);
+		if (out != null) {
+			flushIfFull();
+		}
+	}
+
+	private void flushIfFull() {
+		if (buf.length() >= STREAMING_BUFFER_SIZE) {
+			flush();
+		}
+	}
+	
+	/**
+	 * Write the buffer to out.
+	 * IOExceptions are not thrown from here as the document and bean traversal swallows exceptions,
+	 * so remember the first one and throw it once the traversal is complete.
+	 */
+	private void flush() {
+		if ((out != null) && (buf.length() > 0)) {
+			if (outException == null) {
+				try {
+					out.append(buf);
+				}
+				catch (IOException e) {
+					outException = e;
+				}
+			}
+			buf.setLength(0);
+		}
 	}
 
 	static char[] hex = "0123456789ABCDEF".toCharArray();
@@ -10,7 +10,7 @@ import org.skyve.impl.util.XMLMetaData;
 
 @XmlRootElement(namespace = XMLMetaData.DOCUMENT_NAMESPACE)
 @XmlType(namespace = XMLMetaData.DOCUMENT_NAMESPACE, 
-			propOrder = {"schema", "catalog", "strategy", "discriminator"}) 
+			propOrder = {"schema", "catalog", "strategy", "discriminator", "cache"}) 
 public class Persistent extends NamedMetaData {
 	private static final long serialVersionUID = -6359398747055206964L;
 
@@ -21,10 +21,33 @@ public class Persistent extends NamedMetaData {
 		mapped
 	}
 	
+	/**
+	 * The hibernate second level cache concurrency strategy used for a cached document.
+	 * Use readOnly for reference data that is never updated, nonstrictReadWrite for data that is rarely updated
+	 * and readWrite for data that is updated but read far more often.
+	 */
+	@XmlType(namespace = XMLMetaData.DOCUMENT_NAMESPACE)
+	public static enum CacheUsage {
+		readOnly("read-only"),
+		nonstrictReadWrite("nonstrict-read-write"),
+		readWrite("read-write");
+		
+		private String hibernateUsage;
+		
+		private CacheUsage(String hibernateUsage) {
+			this.hibernateUsage = hibernateUsage;
+		}
+		
+		public String toHibernateUsage() {
+			return hibernateUsage;
+		}
+	}
+	
     private String schema;
     private String catalog;
 	private ExtensionStrategy strategy;
 	private String discriminator;
+	private CacheUsage cache;
 
     public String getSchema() {
         return schema;
@@ -62,6 +85,15 @@ public class Persistent extends NamedMetaData {
 		this.discriminator = UtilImpl.processStringValue(discriminator);
 	}
 
+	public CacheUsage getCache() {
+		return cache;
+	}
+
+	@XmlAttribute
+	public void setCache(CacheUsage cache) {
+		this.cache = cache;
+	}
+
     public String getPersistentIdentifier() {
     	String name = getName();
 
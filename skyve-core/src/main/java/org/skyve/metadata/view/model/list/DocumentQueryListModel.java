@@ -1,5 +1,7 @@
 package org.skyve.metadata.view.model.list;
 
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -10,11 +12,16 @@ import org.skyve.CORE;
 import org.skyve.domain.Bean;
 import org.skyve.domain.MapBean;
 import org.skyve.domain.PersistentBean;
+import org.skyve.domain.ProjectedBean;
 import org.skyve.impl.bind.BindUtil;
 import org.skyve.impl.persistence.AbstractDocumentQuery;
+import org.skyve.impl.persistence.PagedQueryCache;
+import org.skyve.impl.util.UtilImpl;
 import org.skyve.web.SortParameter;
 import org.skyve.metadata.SortDirection;
 import org.skyve.metadata.customer.Customer;
+import org.skyve.metadata.model.Attribute;
+import org.skyve.metadata.model.Attribute.AttributeType;
 import org.skyve.metadata.model.document.Association;
 import org.skyve.metadata.model.document.Document;
 import org.skyve.metadata.module.Module;
@@ -22,6 +29,7 @@ import org.skyve.metadata.module.query.MetaDataQueryDefinition;
 import org.skyve.metadata.module.query.MetaDataQueryProjectedColumn;
 import org.skyve.metadata.module.query.MetaDataQueryColumn;
 import org.skyve.persistence.AutoClosingIterable;
+import org.skyve.persistence.DocumentFilter;
 import org.skyve.persistence.DocumentQuery;
 import org.skyve.persistence.DocumentQuery.AggregateFunction;
 import org.skyve.persistence.Persistence;
@@ -31,6 +39,20 @@ import org.skyve.util.Binder.TargetMetaData;
 public class DocumentQueryListModel <T extends Bean> extends ListModel<T> {
 	private static final long serialVersionUID = 8905939302545321358L;
 
+	// Attribute types that can be compared in a keyset pagination seek
+	private static final Set<AttributeType> KEYSET_TYPES = EnumSet.of(AttributeType.text,
+																		AttributeType.id,
+																		AttributeType.colour,
+																		AttributeType.date,
+																		AttributeType.time,
+																		AttributeType.dateTime,
+																		AttributeType.timestamp,
+																		AttributeType.integer,
+																		AttributeType.longInteger,
+																		AttributeType.decimal2,
+																		AttributeType.decimal5,
+																		AttributeType.decimal10);
+
 	private String description;
 	
 	private Customer customer;
@@ -38,6 +60,37 @@ public class DocumentQueryListModel <T extends Bean> extends ListModel<T> {
 	private Document drivingDocument;
 	private MetaDataQueryDefinition query;
 
+	// Use keyset pagination to seek to subsequent pages when the ordering allows
+	private boolean keysetPagination = UtilImpl.LIST_KEYSET_PAGINATION;
+	// Cache total row counts for this many seconds (0 = no caching)
+	private int countCacheTimeToLiveSeconds = UtilImpl.LIST_COUNT_CACHE_TIME_TO_LIVE_SECONDS;
+	// Allow cached counts to be used after the driving document has changed (until they expire)
+	private boolean estimatedCount = UtilImpl.LIST_ESTIMATED_COUNT;
+
+	public boolean isKeysetPagination() {
+		return keysetPagination;
+	}
+
+	public void setKeysetPagination(boolean keysetPagination) {
+		this.keysetPagination = keysetPagination;
+	}
+
+	public int getCountCacheTimeToLiveSeconds() {
+		return countCacheTimeToLiveSeconds;
+	}
+
+	public void setCountCacheTimeToLiveSeconds(int countCacheTimeToLiveSeconds) {
+		this.countCacheTimeToLiveSeconds = countCacheTimeToLiveSeconds;
+	}
+
+	public boolean isEstimatedCount() {
+		return estimatedCount;
+	}
+
+	public void setEstimatedCount(boolean estimatedCount) {
+		this.estimatedCount = estimatedCount;
+	}
+
 	public void setQuery(MetaDataQueryDefinition query) {
 		customer = CORE.getUser().getCustomer();
 		this.query = query;
@@ -133,7 +186,8 @@ public class DocumentQueryListModel <T extends Bean> extends ListModel<T> {
 	public Page fetch() throws Exception {
 		establishQueries();
 		
-		if (getSummary() == null) {
+		AggregateFunction summary = getSummary();
+		if (summary == null) {
 			AbstractDocumentQuery internalSummaryQuery = (AbstractDocumentQuery) summaryQuery;
 			internalSummaryQuery.clearProjections();
 			internalSummaryQuery.clearOrderings();
@@ -143,14 +197,6 @@ public class DocumentQueryListModel <T extends Bean> extends ListModel<T> {
 		summaryQuery.addAggregateProjection(AggregateFunction.Count, Bean.DOCUMENT_ID, Bean.DOCUMENT_ID);
 		summaryQuery.addAggregateProjection(AggregateFunction.Min, PersistentBean.FLAG_COMMENT_NAME, PersistentBean.FLAG_COMMENT_NAME);
 		
-		// Only page if this isn't an aggregate query
-		if (! query.isAggregate()) {
-			int startRow = getStartRow();
-			int endRow = getEndRow();
-			detailQuery.setFirstResult(startRow);
-			detailQuery.setMaxResults(endRow - startRow);
-		}
-		
 		SortParameter[] sorts = getSortParameters();
 		if (sorts != null) {
 			for (SortParameter sort : sorts) {
@@ -166,14 +212,86 @@ public class DocumentQueryListModel <T extends Bean> extends ListModel<T> {
 			}
 		}
 		
+		String moduleName = module.getName();
+		String documentName = drivingDocument.getName();
+		int startRow = getStartRow();
+		int endRow = getEndRow();
+		LinkedHashMap<String, SortDirection> keys = null;
+		String detailKey = null;
+
+		// Only page if this isn't an aggregate query
+		if (! query.isAggregate()) {
+			detailQuery.setFirstResult(startRow);
+			detailQuery.setMaxResults(endRow - startRow);
+
+			if (keysetPagination) {
+				keys = keysetOrdering();
+				if (keys != null) {
+					// Make the ordering unique so that the page boundaries are unambiguous
+					for (String binding : keys.keySet()) {
+						detailQuery.insertBoundOrdering(binding, keys.get(binding));
+					}
+					detailKey = PagedQueryCache.key(CORE.getUser(), (AbstractDocumentQuery) detailQuery);
+					if (startRow > 0) {
+						Object[] boundary = PagedQueryCache.getBoundary(detailKey, startRow, moduleName, documentName);
+						if (boundary != null) {
+							seek(keys, boundary);
+							detailQuery.setFirstResult(0);
+						}
+					}
+				}
+			}
+		}
+		
 		Page result = new Page();
 		List<Bean> rows = detailQuery.projectedResults();
+		int rowCount = rows.size();
+		if ((detailKey != null) && (rowCount > 0)) {
+			Object[] boundary = boundary(keys, rows.get(rowCount - 1));
+			if (boundary != null) {
+				PagedQueryCache.putBoundary(detailKey, startRow + rowCount, moduleName, documentName, boundary);
+			}
+		}
+
 		Bean summaryBean = null;
 		if (query.isAggregate()) {
 			Map<String, Object> properties = new TreeMap<>();
-			properties.put(Bean.DOCUMENT_ID, Long.valueOf(rows.size()));
+			properties.put(Bean.DOCUMENT_ID, Long.valueOf(rowCount));
+			properties.put(PersistentBean.FLAG_COMMENT_NAME, null);
+			summaryBean = new MapBean(moduleName, documentName, properties);
+		}
+		// A partial page means we have all the rows after the start row so there is no need to count them
+		else if ((summary == null) && (rowCount < (endRow - startRow)) && ((rowCount > 0) || (startRow == 0))) {
+			Map<String, Object> properties = new TreeMap<>();
+			properties.put(Bean.DOCUMENT_ID, Long.valueOf((long) startRow + rowCount));
 			properties.put(PersistentBean.FLAG_COMMENT_NAME, null);
-			summaryBean = new MapBean(module.getName(), drivingDocument.getName(), properties);
+			summaryBean = new MapBean(moduleName, documentName, properties);
+		}
+		else if (countCacheTimeToLiveSeconds > 0) {
+			String summaryKey = PagedQueryCache.key(CORE.getUser(), (AbstractDocumentQuery) summaryQuery);
+			Map<String, Object> properties = PagedQueryCache.getSummary(summaryKey,
+																			moduleName,
+																			documentName,
+																			countCacheTimeToLiveSeconds,
+																			estimatedCount);
+			if (properties == null) {
+				summaryBean = summaryQuery.projectedResult();
+				if (summaryBean instanceof MapBean) {
+					PagedQueryCache.putSummary(summaryKey, moduleName, documentName, ((MapBean) summaryBean).getMap());
+				}
+				else if (summaryBean instanceof ProjectedBean) {
+					PagedQueryCache.putSummary(summaryKey, moduleName, documentName, ((ProjectedBean) summaryBean).toMap());
+				}
+			}
+			else {
+				// An estimate can be stale so ensure it covers the rows we have fetched
+				Number count = (Number) properties.get(Bean.DOCUMENT_ID);
+				long minimumCount = (long) startRow + rowCount;
+				if ((count == null) || (count.longValue() < minimumCount)) {
+					properties.put(Bean.DOCUMENT_ID, Long.valueOf(minimumCount));
+				}
+				summaryBean = new MapBean(moduleName, documentName, properties);
+			}
 		}
 		else {
 			summaryBean = summaryQuery.projectedResult();
@@ -185,6 +303,103 @@ public class DocumentQueryListModel <T extends Bean> extends ListModel<T> {
 		return result;
 	}
 
+	/**
+	 * Determine the ordering to use for keyset pagination - the sort columns followed by bizId.
+	 * Only bindings to mandatory scalar attributes of the driving document can be used
+	 * as comparisons with nulls cannot be seeked consistently across databases.
+	 * 
+	 * @return	binding -> direction, or null if keyset pagination cannot be used.
+	 */
+	private LinkedHashMap<String, SortDirection> keysetOrdering() {
+		LinkedHashMap<String, SortDirection> result = new LinkedHashMap<>();
+		SortParameter[] sorts = getSortParameters();
+		if ((sorts != null) && (sorts.length > 0)) {
+			for (SortParameter sort : sorts) {
+				if (! addKeysetOrdering(result, sort.getBy(), sort.getDirection())) {
+					return null;
+				}
+			}
+		}
+		else {
+			for (MetaDataQueryColumn column : columns) {
+				SortDirection direction = column.getSortOrder();
+				if ((direction != null) && (! addKeysetOrdering(result, column.getBinding(), direction))) {
+					return null;
+				}
+			}
+		}
+		if (! result.containsKey(Bean.DOCUMENT_ID)) {
+			result.put(Bean.DOCUMENT_ID, SortDirection.ascending);
+		}
+		
+		return result;
+	}
+	
+	private boolean addKeysetOrdering(Map<String, SortDirection> ordering, String binding, SortDirection direction) {
+		if ((binding == null) || (projections.get(binding) != null) || (binding.indexOf('.') >= 0)) {
+			return false;
+		}
+		if (! (Bean.DOCUMENT_ID.equals(binding) || Bean.BIZ_KEY.equals(binding))) {
+			Attribute attribute = drivingDocument.getAttribute(binding);
+			if ((attribute == null) || 
+					(! attribute.isPersistent()) ||
+					(! attribute.isRequired()) ||
+					(! KEYSET_TYPES.contains(attribute.getAttributeType()))) {
+				return false;
+			}
+		}
+		if (! ordering.containsKey(binding)) {
+			ordering.put(binding, (direction == null) ? SortDirection.ascending : direction);
+		}
+		return true;
+	}
+	
+	/**
+	 * Restrict the detail query to the rows after the boundary values - 
+	 * (k1 > v1) OR (k1 = v1 AND k2 > v2) OR ...
+	 */
+	private void seek(LinkedHashMap<String, SortDirection> keys, Object[] boundary) {
+		DocumentFilter seek = detailQuery.newDocumentFilter();
+		String[] bindings = keys.keySet().toArray(new String[keys.size()]);
+		for (int i = 0, l = bindings.length; i < l; i++) {
+			DocumentFilter term = detailQuery.newDocumentFilter();
+			for (int j = 0; j < i; j++) {
+				term.addEquals(bindings[j], boundary[j]);
+			}
+			if (SortDirection.descending.equals(keys.get(bindings[i]))) {
+				term.addLessThan(bindings[i], boundary[i]);
+			}
+			else {
+				term.addGreaterThan(bindings[i], boundary[i]);
+			}
+			seek.addOr(term);
+		}
+		detailQuery.getFilter().addAnd(seek);
+	}
+	
+	/**
+	 * Get the ordering values of a row.
+	 * 
+	 * @return	The values or null if any are unavailable.
+	 */
+	private static Object[] boundary(LinkedHashMap<String, SortDirection> keys, Bean row) {
+		Object[] result = new Object[keys.size()];
+		int i = 0;
+		for (String binding : keys.keySet()) {
+			try {
+				result[i] = BindUtil.get(row, binding);
+			}
+			catch (@SuppressWarnings("unused") Exception e) {
+				return null;
+			}
+			if (result[i] == null) {
+				return null;
+			}
+			i++;
+		}
+		return result;
+	}
+
 	@Override
 	public AutoClosingIterable<Bean> iterate() throws Exception {
 		establishQueries();
@@ -3,75 +3,243 @@ package org.skyve.metadata.view.model.list;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
 
-import org.apache.commons.collections.CollectionUtils;
-import org.apache.commons.collections.Predicate;
-import org.apache.commons.collections.PredicateUtils;
 import org.skyve.domain.Bean;
 import org.skyve.domain.types.Decimal;
+import org.skyve.impl.util.UtilImpl;
 import org.skyve.util.Binder;
 
 import com.vividsolutions.jts.geom.Geometry;
 
+/**
+ * Filters a list of beans in memory.
+ * <p/>
+ * Each criteria added is a typed condition with its operands prepared up front.
+ * When filtering, the conditions are combined into a tree of short-circuiting and/or nodes and
+ * each row is evaluated against the tree once.
+ * Rows whose binding cannot be resolved or whose value is of the wrong type do not match.
+ * <p/>
+ * Lists with at least {@link #getParallelThreshold()} rows are evaluated in parallel.
+ * This should only be enabled for rows that can be read from any thread -
+ * ie not beans that may lazily load from the persistence session.
+ */
 public class InMemoryFilter implements Filter {
-	private List<Predicate> predicates = new ArrayList<>();
-	
-	private abstract static class MyPredicate<T extends Object> implements Predicate {
+	private List<Condition> conditions = new ArrayList<>();
+	private int parallelThreshold = UtilImpl.LIST_PARALLEL_FILTER_THRESHOLD;
+
+	/**
+	 * A node in the compiled filter tree.
+	 */
+	private abstract static class Condition {
+		abstract boolean evaluate(Bean bean);
+	}
+
+	/**
+	 * Short-circuits on the first condition that doesn't match.
+	 * An empty and matches everything.
+	 */
+	private static final class AndCondition extends Condition {
+		private Condition[] conditions;
+
+		AndCondition(List<Condition> conditions) {
+			this.conditions = conditions.toArray(new Condition[conditions.size()]);
+		}
+
+		@Override
+		boolean evaluate(Bean bean) {
+			for (Condition condition : conditions) {
+				if (! condition.evaluate(bean)) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		@Override
+		public String toString() {
+			return join(" and ", conditions);
+		}
+	}
+
+	/**
+	 * Short-circuits on the first condition that matches.
+	 */
+	private static final class OrCondition extends Condition {
+		private Condition[] conditions;
+
+		OrCondition(Condition... conditions) {
+			this.conditions = conditions;
+		}
+
+		@Override
+		boolean evaluate(Bean bean) {
+			for (Condition condition : conditions) {
+				if (condition.evaluate(bean)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		@Override
+		public String toString() {
+			return join(" or ", conditions);
+		}
+	}
+
+	/**
+	 * Tests the value of a binding.
+	 */
+	private abstract static class BindingCondition extends Condition {
 		private String binding;
 		private String operatorDescription;
-		private T value;
-		private T start;
-		private T end;
-		MyPredicate(String binding, String operatorDescription, T value, T start, T end) {
+		private String operandDescription;
+
+		BindingCondition(String binding, String operatorDescription, Object operand) {
+			this.binding = binding;
+			this.operatorDescription = operatorDescription;
+			operandDescription = (operand == null) ? null : operand.toString();
+		}
+
+		BindingCondition(String binding, String operatorDescription, Object start, Object end) {
 			this.binding = binding;
 			this.operatorDescription = operatorDescription;
-			this.value = value;
-			this.start = start;
-			this.end = end;
+			operandDescription = start + " and " + end;
 		}
-		
-		@SuppressWarnings("hiding")
-		abstract boolean evaluate(Object bean, String binding, T value, T start, T end) throws Exception;
-		
+
+		abstract boolean test(Object beanValue);
+
 		@Override
-		public final boolean evaluate(Object object) {
+		final boolean evaluate(Bean bean) {
 			try {
-				return evaluate(object, binding, value, start, end);
+				return test(Binder.get(bean, binding));
 			}
 			catch (@SuppressWarnings("unused") Exception e) {
 				return false;
 			}
 		}
-		
+
 		@Override
 		public String toString() {
 			StringBuilder result = new StringBuilder(128);
 
 			result.append(binding).append(' ').append(operatorDescription);
-			if (value != null) {
-				result.append(' ').append(value);
-			}
-			else if ((start != null) || (end != null)) {
-				result.append(' ').append(start).append(" and ").append(end);
+			if (operandDescription != null) {
+				result.append(' ').append(operandDescription);
 			}
 
 			return result.toString();
 		}
 	}
-	
+
+	/**
+	 * Compares the value of a binding with an operand of the given type.
+	 */
+	private static final class ComparisonCondition extends BindingCondition {
+		private Class<?> type;
+		private Comparable<Object> operand;
+		private boolean less;
+		private boolean equal;
+		private boolean greater;
+
+		@SuppressWarnings("unchecked")
+		ComparisonCondition(String binding,
+								String operatorDescription,
+								Class<?> type,
+								Comparable<?> operand,
+								boolean less,
+								boolean equal,
+								boolean greater) {
+			super(binding, operatorDescription, operand);
+			this.type = type;
+			this.operand = (Comparable<Object>) operand;
+			this.less = less;
+			this.equal = equal;
+			this.greater = greater;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		boolean test(Object beanValue) {
+			if (! type.isInstance(beanValue)) {
+				return false;
+			}
+			int comparison = ((Comparable<Object>) beanValue).compareTo(operand);
+			return (comparison < 0) ? less : ((comparison == 0) ? equal : greater);
+		}
+	}
+
+	/**
+	 * Tests that the value of a binding is between 2 operands (inclusive) of the given type.
+	 */
+	private static final class BetweenCondition extends BindingCondition {
+		private Class<?> type;
+		private Comparable<Object> start;
+		private Comparable<Object> end;
+
+		@SuppressWarnings("unchecked")
+		BetweenCondition(String binding, Class<?> type, Comparable<?> start, Comparable<?> end) {
+			super(binding, "between", start, end);
+			this.type = type;
+			this.start = (Comparable<Object>) start;
+			this.end = (Comparable<Object>) end;
+		}
+
+		@Override
+		boolean test(Object beanValue) {
+			return type.isInstance(beanValue) && (start.compareTo(beanValue) <= 0) && (end.compareTo(beanValue) >= 0);
+		}
+	}
+
+	/**
+	 * Tests equality of the value of a binding with an operand,
+	 * optionally converting the bean value to the operand's type first.
+	 */
+	private static final class EqualsCondition extends BindingCondition {
+		private Object operand;
+		private Class<?> convertTo;
+		private boolean negate;
+
+		EqualsCondition(String binding, Object operand, Class<?> convertTo, boolean negate) {
+			super(binding, negate ? "!=" : "=", operand);
+			this.operand = operand;
+			this.convertTo = convertTo;
+			this.negate = negate;
+		}
+
+		@Override
+		boolean test(Object beanValue) {
+			Object value = (convertTo == null) ? beanValue : Binder.convert(convertTo, beanValue);
+			return negate ^ operand.equals(value);
+		}
+	}
+
+	/**
+	 * Evaluate rows in parallel when there are at least this many (0 = never).
+	 */
+	public int getParallelThreshold() {
+		return parallelThreshold;
+	}
+
+	public void setParallelThreshold(int parallelThreshold) {
+		this.parallelThreshold = parallelThreshold;
+	}
+
 	@Override
 	public void addAnd(Filter filter) {
-		predicates.add(PredicateUtils.allPredicate(((InMemoryFilter) filter).predicates));
+		conditions.add(((InMemoryFilter) filter).compile());
 	}
 
 	@Override
 	public void addOr(Filter filter) {
-		// make a new predicate with the existing predicates and'd, unless there is only 1
+		// make a new condition with the existing conditions and'd, unless there is only 1
 		// ie make 2 arguments and or them together
-		Predicate predicate1 = PredicateUtils.allPredicate(predicates);
-		Predicate predicate2 = PredicateUtils.allPredicate(((InMemoryFilter) filter).predicates);
-		predicates.clear();
-		predicates.add(PredicateUtils.orPredicate(predicate1, predicate2));
+		Condition condition1 = compile();
+		Condition condition2 = ((InMemoryFilter) filter).compile();
+		conditions.clear();
+		conditions.add(new OrCondition(condition1, condition2));
 	}
 
 	@Override
@@ -80,688 +248,469 @@ public class InMemoryFilter implements Filter {
 	}
 
 	@Override
-	public void addNull(final String binding) {
-		predicates.add(new MyPredicate<Object>(binding, "is null", null, null, null) {
+	public void addNull(String binding) {
+		conditions.add(new BindingCondition(binding, "is null", null) {
 			@Override
-			@SuppressWarnings("hiding")
-			boolean evaluate(Object bean, String binding, Object value, Object start, Object end) throws Exception {
-				return (Binder.get(bean, binding) == null);
+			boolean test(Object beanValue) {
+				return (beanValue == null);
 			}
 		});
 	}
 
 	@Override
 	public void addNotNull(String binding) {
-		predicates.add(new MyPredicate<Object>(binding, "is not null", null, null, null) {
+		conditions.add(new BindingCondition(binding, "is not null", null) {
 			@Override
-			@SuppressWarnings("hiding")
-			boolean evaluate(Object bean, String binding, Object value, Object start, Object end) throws Exception {
-				return (Binder.get(bean, binding) != null);
+			boolean test(Object beanValue) {
+				return (beanValue != null);
 			}
 		});
 	}
 
 	@Override
-	public void addEquals(String binding, final String value) {
-		predicates.add(new MyPredicate<String>(binding, "=", value, null, null) {
-			@Override
-			@SuppressWarnings("hiding")
-			boolean evaluate(Object bean, String binding, String value, String start, String end) throws Exception {
-				return (value.equals(Binder.get(bean, binding)));
-			}
-		});
+	public void addEquals(String binding, String value) {
+		conditions.add(new EqualsCondition(binding, value, null, false));
 	}
 
 	@Override
 	public void addEquals(String binding, Date value) {
-		predicates.add(new MyPredicate<Date>(binding, "=", value, null, null) {
-			@Override
-			@SuppressWarnings("hiding")
-			boolean evaluate(Object bean, String binding, Date value, Date start, Date end) throws Exception {
-				return (value.equals(Binder.get(bean, binding)));
-			}
-		});
+		conditions.add(new EqualsCondition(binding, value, null, false));
 	}
 
 	@Override
 	public void addEquals(String binding, Integer value) {
-		predicates.add(new MyPredicate<Integer>(binding, "=", value, null, null) {
-			@Override
-			@SuppressWarnings("hiding")
-			boolean evaluate(Object bean, String binding, Integer value, Integer start, Integer end) throws Exception {
-				return (value.equals(Binder.get(bean, binding)));
-			}
-		});
+		conditions.add(new EqualsCondition(binding, value, null, false));
 	}
 
 	@Override
 	public void addEquals(String binding, Long value) {
-		predicates.add(new MyPredicate<Long>(binding, "=", value, null, null) {
-			@Override
-			@SuppressWarnings("hiding")
-			boolean evaluate(Object bean, String binding, Long value, Long start, Long end) throws Exception {
-				return (value.equals(Binder.get(bean, binding)));
-			}
-		});
+		conditions.add(new EqualsCondition(binding, value, null, false));
 	}
 
 	@Override
 	public void addEquals(String binding, Decimal value) {
-		predicates.add(new MyPredicate<Decimal>(binding, "=", value, null, null) {
-			@Override
-			@SuppressWarnings("hiding")
-			boolean evaluate(Object bean, String binding, Decimal value, Decimal start, Decimal end) throws Exception {
-				return (value.equals(Binder.get(bean, binding)));
-			}
-		});
+		conditions.add(new EqualsCondition(binding, value, null, false));
 	}
 
 	@Override
 	public void addEquals(String binding, Boolean value) {
-		predicates.add(new MyPredicate<Boolean>(binding, "=", value, null, null) {
-			@Override
-			@SuppressWarnings("hiding")
-			boolean evaluate(Object bean, String binding, Boolean value, Boolean start, Boolean end) throws Exception {
-				return (value.equals(Binder.get(bean, binding)));
-			}
-		});
+		conditions.add(new EqualsCondition(binding, value, null, false));
 	}
 
 	@Override
 	public void addEquals(String binding, Enum<?> value) {
-		predicates.add(new MyPredicate<Enum<?>>(binding, "=", value, null, null) {
-			@Override
-			@SuppressWarnings("hiding")
-			boolean evaluate(Object bean, String binding, Enum<?> value, Enum<?> start, Enum<?> end) throws Exception {
-				return (value.equals(Binder.convert(value.getClass(), Binder.get(bean, binding))));
-			}
-		});
+		conditions.add(new EqualsCondition(binding, value, value.getClass(), false));
 	}
 
 	@Override
 	public void addEquals(String binding, Geometry value) {
-		predicates.add(new MyPredicate<Geometry>(binding, "=", value, null, null) {
-			@Override
-			@SuppressWarnings("hiding")
-			boolean evaluate(Object bean, String binding, Geometry value, Geometry start, Geometry end) throws Exception {
-				return (value.equals(Binder.convert(Geometry.class, Binder.get(bean, binding))));
-			}
-		});
+		conditions.add(new EqualsCondition(binding, value, Geometry.class, false));
 	}
 
 	@Override
 	public void addNotEquals(String binding, String value) {
-		predicates.add(new MyPredicate<String>(binding, "!=", value, null, null) {
-			@Override
-			@SuppressWarnings("hiding")
-			boolean evaluate(Object bean, String binding, String value, String start, String end) throws Exception {
-				return (! value.equals(Binder.get(bean, binding)));
-			}
-		});
+		conditions.add(new EqualsCondition(binding, value, null, true));
 	}
 
 	@Override
 	public void addNotEquals(String binding, Date value) {
-		predicates.add(new MyPredicate<Date>(binding, "!=", value, null, null) {
-			@Override
-			@SuppressWarnings("hiding")
-			boolean evaluate(Object bean, String binding, Date value, Date start, Date end) throws Exception {
-				return (! value.equals(Binder.get(bean, binding)));
-			}
-		});
+		conditions.add(new EqualsCondition(binding, value, null, true));
 	}
 
 	@Override
 	public void addNotEquals(String binding, Integer value) {
-		predicates.add(new MyPredicate<Integer>(binding, "!=", value, null, null) {
-			@Override
-			@SuppressWarnings("hiding")
-			boolean evaluate(Object bean, String binding, Integer value, Integer start, Integer end) throws Exception {
-				return (! value.equals(Binder.get(bean, binding)));
-			}
-		});
+		conditions.add(new EqualsCondition(binding, value, null, true));
 	}
 
 	@Override
 	public void addNotEquals(String binding, Long value) {
-		predicates.add(new MyPredicate<Long>(binding, "!=", value, null, null) {
-			@Override
-			@SuppressWarnings("hiding")
-			boolean evaluate(Object bean, String binding, Long value, Long start, Long end) throws Exception {
-				return (! value.equals(Binder.get(bean, binding)));
-			}
-		});
+		conditions.add(new EqualsCondition(binding, value, null, true));
 	}
 
 	@Override
 	public void addNotEquals(String binding, Decimal value) {
-		predicates.add(new MyPredicate<Decimal>(binding, "!=", value, null, null) {
-			@Override
-			@SuppressWarnings("hiding")
-			boolean evaluate(Object bean, String binding, Decimal value, Decimal start, Decimal end) throws Exception {
-				return (! value.equals(Binder.get(bean, binding)));
-			}
-		});
+		conditions.add(new EqualsCondition(binding, value, null, true));
 	}
 
 	@Override
 	public void addNotEquals(String binding, Boolean value) {
-		predicates.add(new MyPredicate<Boolean>(binding, "!=", value, null, null) {
-			@Override
-			@SuppressWarnings("hiding")
-			boolean evaluate(Object bean, String binding, Boolean value, Boolean start, Boolean end) throws Exception {
-				return (! value.equals(Binder.get(bean, binding)));
-			}
-		});
+		conditions.add(new EqualsCondition(binding, value, null, true));
 	}
 
 	@Override
 	public void addNotEquals(String binding, Enum<?> value) {
-		predicates.add(new MyPredicate<Enum<?>>(binding, "!=", value, null, null) {
-			@Override
-			@SuppressWarnings("hiding")
-			boolean evaluate(Object bean, String binding, Enum<?> value, Enum<?> start, Enum<?> end) throws Exception {
-				return (! value.equals(Binder.convert(value.getClass(), Binder.get(bean, binding))));
-			}
-		});
+		conditions.add(new EqualsCondition(binding, value, value.getClass(), true));
 	}
 
 	@Override
 	public void addNotEquals(String binding, Geometry value) {
-		predicates.add(new MyPredicate<Geometry>(binding, "!=", value, null, null) {
-			@Override
-			@SuppressWarnings("hiding")
-			boolean evaluate(Object bean, String binding, Geometry value, Geometry start, Geometry end) throws Exception {
-				return (! value.equals(Binder.convert(Geometry.class, Binder.get(bean, binding))));
-			}
-		});
+		conditions.add(new EqualsCondition(binding, value, Geometry.class, true));
 	}
 
 	@Override
-	public void addEqualsIgnoreCase(String binding, String value) {
-		predicates.add(new MyPredicate<String>(binding, "equalsIgnoreCase", value, null, null) {
+	public void addEqualsIgnoreCase(String binding, final String value) {
+		conditions.add(new BindingCondition(binding, "equalsIgnoreCase", value) {
 			@Override
-			@SuppressWarnings("hiding")
-			boolean evaluate(Object bean, String binding, String value, String start, String end) throws Exception {
-				return (value.equalsIgnoreCase((String) Binder.get(bean, binding)));
+			boolean test(Object beanValue) {
+				return (beanValue instanceof String) && value.equalsIgnoreCase((String) beanValue);
 			}
 		});
 	}
 
 	@Override
-	public void addNotEqualsIgnoreCase(String binding, String value) {
-		predicates.add(new MyPredicate<String>(binding, "! equalsIgnoreCase", value, null, null) {
+	public void addNotEqualsIgnoreCase(String binding, final String value) {
+		conditions.add(new BindingCondition(binding, "! equalsIgnoreCase", value) {
 			@Override
-			@SuppressWarnings("hiding")
-			boolean evaluate(Object bean, String binding, String value, String start, String end) throws Exception {
-				return (! value.equalsIgnoreCase((String) Binder.get(bean, binding)));
+			boolean test(Object beanValue) {
+				return (beanValue == null) || ((beanValue instanceof String) && (! value.equalsIgnoreCase((String) beanValue)));
 			}
 		});
 	}
 
 	@Override
 	public void addContains(String binding, String value) {
-		predicates.add(new MyPredicate<String>(binding, "contains", value, null, null) {
+		final String upperValue = value.toUpperCase();
+		conditions.add(new BindingCondition(binding, "contains", value) {
 			@Override
-			@SuppressWarnings("hiding")
-			boolean evaluate(Object bean, String binding, String value, String start, String end) throws Exception {
-				String beanValue = (String) Binder.get(bean, binding);
-				return ((beanValue != null) && beanValue.toUpperCase().contains(value.toUpperCase()));
+			boolean test(Object beanValue) {
+				return (beanValue instanceof String) && ((String) beanValue).toUpperCase().contains(upperValue);
 			}
 		});
 	}
 
 	@Override
 	public void addNotContains(String binding, String value) {
-		predicates.add(new MyPredicate<String>(binding, "! contains", value, null, null) {
+		final String upperValue = value.toUpperCase();
+		conditions.add(new BindingCondition(binding, "! contains", value) {
 			@Override
-			@SuppressWarnings("hiding")
-			boolean evaluate(Object bean, String binding, String value, String start, String end) throws Exception {
-				String beanValue = (String) Binder.get(bean, binding);
-				return ((beanValue == null) || (! beanValue.toUpperCase().contains(value.toUpperCase())));
+			boolean test(Object beanValue) {
+				return (beanValue == null) || ((beanValue instanceof String) && (! ((String) beanValue).toUpperCase().contains(upperValue)));
 			}
 		});
 	}
 
 	@Override
 	public void addStartsWith(String binding, String value) {
-		predicates.add(new MyPredicate<String>(binding, "startsWith", value, null, null) {
+		final String upperValue = value.toUpperCase();
+		conditions.add(new BindingCondition(binding, "startsWith", value) {
 			@Override
-			@SuppressWarnings("hiding")
-			boolean evaluate(Object bean, String binding, String value, String start, String end) throws Exception {
-				String beanValue = (String) Binder.get(bean, binding);
-				return ((beanValue != null) && beanValue.toUpperCase().startsWith(value.toUpperCase()));
+			boolean test(Object beanValue) {
+				return (beanValue instanceof String) && ((String) beanValue).toUpperCase().startsWith(upperValue);
 			}
 		});
 	}
 
 	@Override
 	public void addNotStartsWith(String binding, String value) {
-		predicates.add(new MyPredicate<String>(binding, "! startsWith", value, null, null) {
+		final String upperValue = value.toUpperCase();
+		conditions.add(new BindingCondition(binding, "! startsWith", value) {
 			@Override
-			@SuppressWarnings("hiding")
-			boolean evaluate(Object bean, String binding, String value, String start, String end) throws Exception {
-				String beanValue = (String) Binder.get(bean, binding);
-				return ((beanValue == null) || (! beanValue.toUpperCase().startsWith(value.toUpperCase())));
+			boolean test(Object beanValue) {
+				return (beanValue == null) || ((beanValue instanceof String) && (! ((String) beanValue).toUpperCase().startsWith(upperValue)));
 			}
 		});
 	}
 
 	@Override
 	public void addEndsWith(String binding, String value) {
-		predicates.add(new MyPredicate<String>(binding, "endsWith", value, null, null) {
+		final String upperValue = value.toUpperCase();
+		conditions.add(new BindingCondition(binding, "endsWith", value) {
 			@Override
-			@SuppressWarnings("hiding")
-			boolean evaluate(Object bean, String binding, String value, String start, String end) throws Exception {
-				String beanValue = (String) Binder.get(bean, binding);
-				return ((beanValue != null) && beanValue.toUpperCase().endsWith(value.toUpperCase()));
+			boolean test(Object beanValue) {
+				return (beanValue instanceof String) && ((String) beanValue).toUpperCase().endsWith(upperValue);
 			}
 		});
 	}
 
 	@Override
 	public void addNotEndsWith(String binding, String value) {
-		predicates.add(new MyPredicate<String>(binding, "! endsWith", value, null, null) {
+		final String upperValue = value.toUpperCase();
+		conditions.add(new BindingCondition(binding, "! endsWith", value) {
 			@Override
-			@SuppressWarnings("hiding")
-			boolean evaluate(Object bean, String binding, String value, String start, String end) throws Exception {
-				String beanValue = (String) Binder.get(bean, binding);
-				return ((beanValue == null) || (! beanValue.toUpperCase().endsWith(value.toUpperCase())));
+			boolean test(Object beanValue) {
+				return (beanValue == null) || ((beanValue instanceof String) && (! ((String) beanValue).toUpperCase().endsWith(upperValue)));
 			}
 		});
 	}
 
 	@Override
 	public void addGreaterThan(String binding, String value) {
-		predicates.add(new MyPredicate<String>(binding, ">", value, null, null) {
-			@Override
-			@SuppressWarnings("hiding")
-			boolean evaluate(Object bean, String binding, String value, String start, String end) throws Exception {
-				String beanValue = (String) Binder.get(bean, binding);
-				return ((beanValue != null) && beanValue.compareTo(value) > 0);
-			}
-		});
+		conditions.add(new ComparisonCondition(binding, ">", String.class, value, false, false, true));
 	}
 
 	@Override
 	public void addGreaterThan(String binding, Date value) {
-		predicates.add(new MyPredicate<Date>(binding, ">", value, null, null) {
-			@Override
-			@SuppressWarnings("hiding")
-			boolean evaluate(Object bean, String binding, Date value, Date start, Date end) throws Exception {
-				Date beanValue = (Date) Binder.get(bean, binding);
-				return ((beanValue != null) && beanValue.compareTo(value) > 0);
-			}
-		});
+		conditions.add(new ComparisonCondition(binding, ">", Date.class, value, false, false, true));
 	}
 
 	@Override
 	public void addGreaterThan(String binding, Integer value) {
-		predicates.add(new MyPredicate<Integer>(binding,  ">", value, null, null) {
-			@Override
-			@SuppressWarnings("hiding")
-			boolean evaluate(Object bean, String binding, Integer value, Integer start, Integer end) throws Exception {
-				Integer beanValue = (Integer) Binder.get(bean, binding);
-				return ((beanValue != null) && beanValue.compareTo(value) > 0);
-			}
-		});
+		conditions.add(new ComparisonCondition(binding, ">", Integer.class, value, false, false, true));
 	}
 
 	@Override
 	public void addGreaterThan(String binding, Long value) {
-		predicates.add(new MyPredicate<Long>(binding,  ">", value, null, null) {
-			@Override
-			@SuppressWarnings("hiding")
-			boolean evaluate(Object bean, String binding, Long value, Long start, Long end) throws Exception {
-				Long beanValue = (Long) Binder.get(bean, binding);
-				return ((beanValue != null) && beanValue.compareTo(value) > 0);
-			}
-		});
+		conditions.add(new ComparisonCondition(binding, ">", Long.class, value, false, false, true));
 	}
 
 	@Override
 	public void addGreaterThan(String binding, Decimal value) {
-		predicates.add(new MyPredicate<Decimal>(binding,  ">", value, null, null) {
-			@Override
-			@SuppressWarnings("hiding")
-			boolean evaluate(Object bean, String binding, Decimal value, Decimal start, Decimal end) throws Exception {
-				Decimal beanValue = (Decimal) Binder.get(bean, binding);
-				return ((beanValue != null) && beanValue.compareTo(value) > 0);
-			}
-		});
+		conditions.add(new ComparisonCondition(binding, ">", Decimal.class, value, false, false, true));
 	}
 
 	@Override
 	public void addGreaterThanOrEqualTo(String binding, String value) {
-		predicates.add(new MyPredicate<String>(binding,  ">=", value, null, null) {
-			@Override
-			@SuppressWarnings("hiding")
-			boolean evaluate(Object bean, String binding, String value, String start, String end) throws Exception {
-				String beanValue = (String) Binder.get(bean, binding);
-				return ((beanValue != null) && beanValue.compareTo(value) >= 0);
-			}
-		});
+		conditions.add(new ComparisonCondition(binding, ">=", String.class, value, false, true, true));
 	}
 
 	@Override
 	public void addGreaterThanOrEqualTo(String binding, Date value) {
-		predicates.add(new MyPredicate<Date>(binding, ">=", value, null, null) {
-			@Override
-			@SuppressWarnings("hiding")
-			boolean evaluate(Object bean, String binding, Date value, Date start, Date end) throws Exception {
-				Date beanValue = (Date) Binder.get(bean, binding);
-				return ((beanValue != null) && beanValue.compareTo(value) >= 0);
-			}
-		});
+		conditions.add(new ComparisonCondition(binding, ">=", Date.class, value, false, true, true));
 	}
 
 	@Override
 	public void addGreaterThanOrEqualTo(String binding, Integer value) {
-		predicates.add(new MyPredicate<Integer>(binding, ">=", value, null, null) {
-			@Override
-			@SuppressWarnings("hiding")
-			boolean evaluate(Object bean, String binding, Integer value, Integer start, Integer end) throws Exception {
-				Integer beanValue = (Integer) Binder.get(bean, binding);
-				return ((beanValue != null) && beanValue.compareTo(value) >= 0);
-			}
-		});
+		conditions.add(new ComparisonCondition(binding, ">=", Integer.class, value, false, true, true));
 	}
 
 	@Override
 	public void addGreaterThanOrEqualTo(String binding, Long value) {
-		predicates.add(new MyPredicate<Long>(binding, ">=", value, null, null) {
-			@Override
-			@SuppressWarnings("hiding")
-			boolean evaluate(Object bean, String binding, Long value, Long start, Long end) throws Exception {
-				Long beanValue = (Long) Binder.get(bean, binding);
-				return ((beanValue != null) && beanValue.compareTo(value) >= 0);
-			}
-		});
+		conditions.add(new ComparisonCondition(binding, ">=", Long.class, value, false, true, true));
 	}
 
 	@Override
 	public void addGreaterThanOrEqualTo(String binding, Decimal value) {
-		predicates.add(new MyPredicate<Decimal>(binding, ">=", value, null, null) {
-			@Override
-			@SuppressWarnings("hiding")
-			boolean evaluate(Object bean, String binding, Decimal value, Decimal start, Decimal end) throws Exception {
-				Decimal beanValue = (Decimal) Binder.get(bean, binding);
-				return ((beanValue != null) && beanValue.compareTo(value) >= 0);
-			}
-		});
+		conditions.add(new ComparisonCondition(binding, ">=", Decimal.class, value, false, true, true));
 	}
 
 	@Override
 	public void addLessThan(String binding, String value) {
-		predicates.add(new MyPredicate<String>(binding, "<", value, null, null) {
-			@Override
-			@SuppressWarnings("hiding")
-			boolean evaluate(Object bean, String binding, String value, String start, String end) throws Exception {
-				String beanValue = (String) Binder.get(bean, binding);
-				return ((beanValue != null) && beanValue.compareTo(value) < 0);
-			}
-		});
+		conditions.add(new ComparisonCondition(binding, "<", String.class, value, true, false, false));
 	}
 
 	@Override
 	public void addLessThan(String binding, Date value) {
-		predicates.add(new MyPredicate<Date>(binding, "<", value, null, null) {
-			@Override
-			@SuppressWarnings("hiding")
-			boolean evaluate(Object bean, String binding, Date value, Date start, Date end) throws Exception {
-				Date beanValue = (Date) Binder.get(bean, binding);
-				return ((beanValue != null) && beanValue.compareTo(value) < 0);
-			}
-		});
+		conditions.add(new ComparisonCondition(binding, "<", Date.class, value, true, false, false));
 	}
 
 	@Override
 	public void addLessThan(String binding, Integer value) {
-		predicates.add(new MyPredicate<Integer>(binding, "<", value, null, null) {
-			@Override
-			@SuppressWarnings("hiding")
-			boolean evaluate(Object bean, String binding, Integer value, Integer start, Integer end) throws Exception {
-				Integer beanValue = (Integer) Binder.get(bean, binding);
-				return ((beanValue != null) && beanValue.compareTo(value) < 0);
-			}
-		});
+		conditions.add(new ComparisonCondition(binding, "<", Integer.class, value, true, false, false));
 	}
 
 	@Override
 	public void addLessThan(String binding, Long value) {
-		predicates.add(new MyPredicate<Long>(binding, "<", value, null, null) {
-			@Override
-			@SuppressWarnings("hiding")
-			boolean evaluate(Object bean, String binding, Long value, Long start, Long end) throws Exception {
-				Long beanValue = (Long) Binder.get(bean, binding);
-				return ((beanValue != null) && beanValue.compareTo(value) < 0);
-			}
-		});
+		conditions.add(new ComparisonCondition(binding, "<", Long.class, value, true, false, false));
 	}
 
 	@Override
 	public void addLessThan(String binding, Decimal value) {
-		predicates.add(new MyPredicate<Decimal>(binding, "<", value, null, null) {
-			@Override
-			@SuppressWarnings("hiding")
-			boolean evaluate(Object bean, String binding, Decimal value, Decimal start, Decimal end) throws Exception {
-				Decimal beanValue = (Decimal) Binder.get(bean, binding);
-				return ((beanValue != null) && beanValue.compareTo(value) < 0);
-			}
-		});
+		conditions.add(new ComparisonCondition(binding, "<", Decimal.class, value, true, false, false));
 	}
 
 	@Override
 	public void addLessThanOrEqualTo(String binding, String value) {
-		predicates.add(new MyPredicate<String>(binding, "<=", value, null, null) {
-			@Override
-			@SuppressWarnings("hiding")
-			boolean evaluate(Object bean, String binding, String value, String start, String end) throws Exception {
-				String beanValue = (String) Binder.get(bean, binding);
-				return ((beanValue != null) && beanValue.compareTo(value) <= 0);
-			}
-		});
+		conditions.add(new ComparisonCondition(binding, "<=", String.class, value, true, true, false));
 	}
 
 	@Override
 	public void addLessThanOrEqualTo(String binding, Date value) {
-		predicates.add(new MyPredicate<Date>(binding, "<=", value, null, null) {
-			@Override
-			@SuppressWarnings("hiding")
-			boolean evaluate(Object bean, String binding, Date value, Date start, Date end) throws Exception {
-				Date beanValue = (Date) Binder.get(bean, binding);
-				return ((beanValue != null) && beanValue.compareTo(value) <= 0);
-			}
-		});
+		conditions.add(new ComparisonCondition(binding, "<=", Date.class, value, true, true, false));
 	}
 
 	@Override
 	public void addLessThanOrEqualTo(String binding, Integer value) {
-		predicates.add(new MyPredicate<Integer>(binding, "<=", value, null, null) {
-			@Override
-			@SuppressWarnings("hiding")
-			boolean evaluate(Object bean, String binding, Integer value, Integer start, Integer end) throws Exception {
-				Integer beanValue = (Integer) Binder.get(bean, binding);
-				return ((beanValue != null) && beanValue.compareTo(value) <= 0);
-			}
-		});
+		conditions.add(new ComparisonCondition(binding, "<=", Integer.class, value, true, true, false));
 	}
 
 	@Override
 	public void addLessThanOrEqualTo(String binding, Long value) {
-		predicates.add(new MyPredicate<Long>(binding, "<=", value, null, null) {
-			@Override
-			@SuppressWarnings("hiding")
-			boolean evaluate(Object bean, String binding, Long value, Long start, Long end) throws Exception {
-				Long beanValue = (Long) Binder.get(bean, binding);
-				return ((beanValue != null) && beanValue.compareTo(value) <= 0);
-			}
-		});
+		conditions.add(new ComparisonCondition(binding, "<=", Long.class, value, true, true, false));
 	}
 
 	@Override
 	public void addLessThanOrEqualTo(String binding, Decimal value) {
-		predicates.add(new MyPredicate<Decimal>(binding, "<=", value, null, null) {
-			@Override
-			@SuppressWarnings("hiding")
-			boolean evaluate(Object bean, String binding, Decimal value, Decimal start, Decimal end) throws Exception {
-				Decimal beanValue = (Decimal) Binder.get(bean, binding);
-				return ((beanValue != null) && beanValue.compareTo(value) <= 0);
-			}
-		});
+		conditions.add(new ComparisonCondition(binding, "<=", Decimal.class, value, true, true, false));
 	}
 
+	/**
+	 * Case insensitive - the bounds and the bean value are all upper-cased before comparing, 
+	 * as they always have been for this filter.
+	 * Null bean values do not match.
+	 */
 	@Override
 	public void addBetween(String binding, String start, String end) {
-		predicates.add(new MyPredicate<String>(binding, "between", null, start, end) {
+		final String upperStart = start.toUpperCase();
+		final String upperEnd = end.toUpperCase();
+		conditions.add(new BindingCondition(binding, "between", start, end) {
 			@Override
-			@SuppressWarnings("hiding")
-			boolean evaluate(Object bean, String binding, String value, String start, String end) throws Exception {
-				String beanValue = (String) Binder.get(bean, binding);
-				beanValue = beanValue.toUpperCase();
-				return ((beanValue != null) && (start.toUpperCase().compareTo(beanValue) <= 0) && (end.toUpperCase().compareTo(beanValue) >= 0));
+			boolean test(Object beanValue) {
+				if (! (beanValue instanceof String)) {
+					return false;
+				}
+				String upperValue = ((String) beanValue).toUpperCase();
+				return (upperStart.compareTo(upperValue) <= 0) && (upperEnd.compareTo(upperValue) >= 0);
 			}
 		});
 	}
 
 	@Override
 	public void addBetween(String binding, Date start, Date end) {
-		predicates.add(new MyPredicate<Date>(binding, "between", null, start, end) {
-			@Override
-			@SuppressWarnings("hiding")
-			boolean evaluate(Object bean, String binding, Date value, Date start, Date end) throws Exception {
-				Date beanValue = (Date) Binder.get(bean, binding);
-				return ((beanValue != null) && (start.compareTo(beanValue) <= 0) && (end.compareTo(beanValue) >= 0));
-			}
-		});
+		conditions.add(new BetweenCondition(binding, Date.class, start, end));
 	}
 
 	@Override
 	public void addBetween(String binding, Integer start, Integer end) {
-		predicates.add(new MyPredicate<Integer>(binding, "between", null, start, end) {
-			@Override
-			@SuppressWarnings("hiding")
-			boolean evaluate(Object bean, String binding, Integer value, Integer start, Integer end) throws Exception {
-				Integer beanValue = (Integer) Binder.get(bean, binding);
-				return ((beanValue != null) && (start.compareTo(beanValue) <= 0) && (end.compareTo(beanValue) >= 0));
-			}
-		});
+		conditions.add(new BetweenCondition(binding, Integer.class, start, end));
 	}
 
 	@Override
 	public void addBetween(String binding, Long start, Long end) {
-		predicates.add(new MyPredicate<Long>(binding, "between", null, start, end) {
-			@Override
-			@SuppressWarnings("hiding")
-			boolean evaluate(Object bean, String binding, Long value, Long start, Long end) throws Exception {
-				Long beanValue = (Long) Binder.get(bean, binding);
-				return ((beanValue != null) && (start.compareTo(beanValue) <= 0) && (end.compareTo(beanValue) >= 0));
-			}
-		});
+		conditions.add(new BetweenCondition(binding, Long.class, start, end));
 	}
 
 	@Override
 	public void addBetween(String binding, Decimal start, Decimal end) {
-		predicates.add(new MyPredicate<Decimal>(binding, "between", null, start, end) {
-			@Override
-			@SuppressWarnings("hiding")
-			boolean evaluate(Object bean, String binding, Decimal value, Decimal start, Decimal end) throws Exception {
-				Decimal beanValue = (Decimal) Binder.get(bean, binding);
-				return ((beanValue != null) && (start.compareTo(beanValue) <= 0) && (end.compareTo(beanValue) >= 0));
-			}
-		});
+		conditions.add(new BetweenCondition(binding, Decimal.class, start, end));
 	}
 
 	@Override
-	public void addWithin(String binding, Geometry value) {
-		predicates.add(new MyPredicate<Geometry>(binding, "within", null, null, null) {
+	public void addWithin(String binding, final Geometry value) {
+		conditions.add(new BindingCondition(binding, "within", value) {
 			@Override
-			@SuppressWarnings("hiding")
-			boolean evaluate(Object bean, String binding, Geometry value, Geometry start, Geometry end) throws Exception {
-				Geometry beanValue = (Geometry) Binder.get(bean, binding);
-				return ((beanValue != null) && beanValue.within(value));
+			boolean test(Object beanValue) {
+				return (beanValue instanceof Geometry) && ((Geometry) beanValue).within(value);
 			}
 		});
 	}
 
 	@Override
-	public void addContains(String binding, Geometry value) {
-		predicates.add(new MyPredicate<Geometry>(binding, "contains", null, null, null) {
+	public void addContains(String binding, final Geometry value) {
+		conditions.add(new BindingCondition(binding, "contains", value) {
 			@Override
-			@SuppressWarnings("hiding")
-			boolean evaluate(Object bean, String binding, Geometry value, Geometry start, Geometry end) throws Exception {
-				Geometry beanValue = (Geometry) Binder.get(bean, binding);
-				return ((beanValue != null) && beanValue.contains(value));
+			boolean test(Object beanValue) {
+				return (beanValue instanceof Geometry) && ((Geometry) beanValue).contains(value);
 			}
 		});
 	}
 
 	@Override
-	public void addCrosses(String binding, Geometry value) {
-		predicates.add(new MyPredicate<Geometry>(binding, "crosses", null, null, null) {
+	public void addCrosses(String binding, final Geometry value) {
+		conditions.add(new BindingCondition(binding, "crosses", value) {
 			@Override
-			@SuppressWarnings("hiding")
-			boolean evaluate(Object bean, String binding, Geometry value, Geometry start, Geometry end) throws Exception {
-				Geometry beanValue = (Geometry) Binder.get(bean, binding);
-				return ((beanValue != null) && beanValue.crosses(value));
+			boolean test(Object beanValue) {
+				return (beanValue instanceof Geometry) && ((Geometry) beanValue).crosses(value);
 			}
 		});
 	}
 
 	@Override
-	public void addDisjoint(String binding, Geometry value) {
-		predicates.add(new MyPredicate<Geometry>(binding, "disjoint", null, null, null) {
+	public void addDisjoint(String binding, final Geometry value) {
+		conditions.add(new BindingCondition(binding, "disjoint", value) {
 			@Override
-			@SuppressWarnings("hiding")
-			boolean evaluate(Object bean, String binding, Geometry value, Geometry start, Geometry end) throws Exception {
-				Geometry beanValue = (Geometry) Binder.get(bean, binding);
-				return ((beanValue != null) && beanValue.disjoint(value));
+			boolean test(Object beanValue) {
+				return (beanValue instanceof Geometry) && ((Geometry) beanValue).disjoint(value);
 			}
 		});
 	}
 
 	@Override
-	public void addIntersects(String binding, Geometry value) {
-		predicates.add(new MyPredicate<Geometry>(binding, "intersects", null, null, null) {
+	public void addIntersects(String binding, final Geometry value) {
+		conditions.add(new BindingCondition(binding, "intersects", value) {
 			@Override
-			@SuppressWarnings("hiding")
-			boolean evaluate(Object bean, String binding, Geometry value, Geometry start, Geometry end) throws Exception {
-				Geometry beanValue = (Geometry) Binder.get(bean, binding);
-				return ((beanValue != null) && beanValue.intersects(value));
+			boolean test(Object beanValue) {
+				return (beanValue instanceof Geometry) && ((Geometry) beanValue).intersects(value);
 			}
 		});
 	}
 
 	@Override
-	public void addOverlaps(String binding, Geometry value) {
-		predicates.add(new MyPredicate<Geometry>(binding, "overlaps", null, null, null) {
+	public void addOverlaps(String binding, final Geometry value) {
+		conditions.add(new BindingCondition(binding, "overlaps", value) {
 			@Override
-			@SuppressWarnings("hiding")
-			boolean evaluate(Object bean, String binding, Geometry value, Geometry start, Geometry end) throws Exception {
-				Geometry beanValue = (Geometry) Binder.get(bean, binding);
-				return ((beanValue != null) && beanValue.overlaps(value));
+			boolean test(Object beanValue) {
+				return (beanValue instanceof Geometry) && ((Geometry) beanValue).overlaps(value);
 			}
 		});
 	}
 
 	@Override
-	public void addTouches(String binding, Geometry value) {
-		predicates.add(new MyPredicate<Geometry>(binding, "touches", null, null, null) {
+	public void addTouches(String binding, final Geometry value) {
+		conditions.add(new BindingCondition(binding, "touches", value) {
 			@Override
-			@SuppressWarnings("hiding")
-			boolean evaluate(Object bean, String binding, Geometry value, Geometry start, Geometry end) throws Exception {
-				Geometry beanValue = (Geometry) Binder.get(bean, binding);
-				return ((beanValue != null) && beanValue.touches(value));
+			boolean test(Object beanValue) {
+				return (beanValue instanceof Geometry) && ((Geometry) beanValue).touches(value);
 			}
 		});
 	}
 
 	@Override
 	public boolean isEmpty() {
-		return predicates.isEmpty();
+		return conditions.isEmpty();
 	}
-	
-	public void filter(List<Bean> rows) {
-		CollectionUtils.filter(rows, PredicateUtils.allPredicate(predicates));
+
+	/**
+	 * Remove the rows that do not match the filter.
+	 * The matching rows retain their order.
+	 */
+	public void filter(final List<Bean> rows) {
+		if (conditions.isEmpty()) {
+			return;
+		}
+
+		final Condition condition = compile();
+		int size = rows.size();
+		List<Bean> result = new ArrayList<>(size);
+		if ((parallelThreshold > 0) && (size >= parallelThreshold)) {
+			final boolean[] matches = new boolean[size];
+			IntStream.range(0, size).parallel().forEach(new IntConsumer() {
+				@Override
+				public void accept(int index) {
+					matches[index] = condition.evaluate(rows.get(index));
+				}
+			});
+			for (int i = 0; i < size; i++) {
+				if (matches[i]) {
+					result.add(rows.get(i));
+				}
+			}
+		}
+		else {
+			for (Bean row : rows) {
+				if (condition.evaluate(row)) {
+					result.add(row);
+				}
+			}
+		}
+
+		// Only touch the list if something was filtered out
+		if (result.size() < size) {
+			rows.clear();
+			rows.addAll(result);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return compile().toString();
+	}
+
+	private Condition compile() {
+		if (conditions.size() == 1) {
+			return conditions.get(0);
+		}
+		return new AndCondition(conditions);
+	}
+
+	private static String join(String operator, Condition[] conditions) {
+		StringBuilder result = new StringBuilder(128);
+		result.append('(');
+		for (int i = 0, l = conditions.length; i < l; i++) {
+			if (i > 0) {
+				result.append(operator);
+			}
+			result.append(conditions[i]);
+		}
+		return result.append(')').toString();
 	}
 }
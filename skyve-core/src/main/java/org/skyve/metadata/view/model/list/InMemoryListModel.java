@@ -1,9 +1,14 @@
 package org.skyve.metadata.view.model.list;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.TreeSet;
@@ -13,6 +18,7 @@ import org.skyve.domain.Bean;
 import org.skyve.domain.MapBean;
 import org.skyve.domain.PersistentBean;
 import org.skyve.impl.metadata.model.document.CollectionImpl.OrderingImpl;
+import org.skyve.impl.util.NullTolerantComparator;
 import org.skyve.web.SortParameter;
 import org.skyve.metadata.SortDirection;
 import org.skyve.metadata.customer.Customer;
@@ -29,6 +35,9 @@ import org.skyve.util.Binder.TargetMetaData;
 public abstract class InMemoryListModel<T extends Bean> extends ListModel<T> {
 	private static final long serialVersionUID = -4488883647065013017L;
 
+	@SuppressWarnings("rawtypes")
+	private static final Comparator NULL_TOLERANT_COMPARATOR = new NullTolerantComparator();
+
 	private Customer customer;
 	private Module module;
 	private Document drivingDocument;
@@ -136,97 +145,169 @@ public abstract class InMemoryListModel<T extends Bean> extends ListModel<T> {
 		}
 	}
 	
-	private Bean summarize() throws Exception {
-		Map<String, Object> summaryData = new TreeMap<>();
-
-		AggregateFunction summary = getSummary();
-		// This needs to be the ID to satisfy the client data source definitions
-		summaryData.put(Bean.DOCUMENT_ID, Long.valueOf(rows.size()));
-		summaryData.put(PersistentBean.FLAG_COMMENT_NAME, "");
-
-		if (AggregateFunction.Count.equals(summary)) {
-			for (Bean row : rows) {
-				for (MetaDataQueryColumn column : getColumns()) {
-					String binding = column.getBinding();
-					Object value = Binder.get(row, binding);
-					if (value != null) {
-						Long count = (Long) summaryData.get(binding);
-						count = (count == null) ? Long.valueOf(1) : Long.valueOf(count.longValue() + 1);
-						summaryData.put(binding, count);
-					}
-				}
-			}
-		}
-		else if (AggregateFunction.Min.equals(summary)) {
-			minOrMax(summaryData, false);
+	/**
+	 * Extract a page of sorted rows without sorting all of the rows.
+	 * The sort values are read once per row and only the first endRow rows are kept 
+	 * in a bounded heap as the rows are traversed, so the cost is O(n log endRow).
+	 * Rows that sort equally remain in their original order.
+	 * 
+	 * @param rows	The (filtered) rows - this list is not altered.
+	 * @param sorts	The sort parameters - can be null.
+	 * @param startRow	The first row of the page (inclusive).
+	 * @param endRow	The last row of the page (exclusive) - must be <= rows.size().
+	 * @return	A new list containing the page of rows.
+	 */
+	static List<Bean> page(List<Bean> rows, SortParameter[] sorts, int startRow, int endRow) {
+		if ((sorts == null) || (sorts.length == 0)) {
+			return new ArrayList<>(rows.subList(startRow, endRow));
 		}
-		else if (AggregateFunction.Max.equals(summary)) {
-			minOrMax(summaryData, true);
+		
+		final int sortCount = sorts.length;
+		final boolean[] descending = new boolean[sortCount];
+		for (int j = 0; j < sortCount; j++) {
+			descending[j] = SortDirection.descending.equals(sorts[j].getDirection());
 		}
-		else if (AggregateFunction.Sum.equals(summary)) {
-			sum(summaryData);
+		final Object[][] keys = new Object[rows.size()][];
+		int i = 0;
+		for (Bean row : rows) {
+			Object[] key = new Object[sortCount];
+			for (int j = 0; j < sortCount; j++) {
+				key[j] = Binder.get(row, sorts[j].getBy());
+			}
+			keys[i++] = key;
 		}
-		else if (AggregateFunction.Avg.equals(summary)) {
-			sum(summaryData);
+		
+		Comparator<Integer> comparator = new Comparator<Integer>() {
+			@Override
+			@SuppressWarnings("unchecked")
+			public int compare(Integer i1, Integer i2) {
+				Object[] key1 = keys[i1.intValue()];
+				Object[] key2 = keys[i2.intValue()];
+				for (int j = 0; j < sortCount; j++) {
+					int result = NULL_TOLERANT_COMPARATOR.compare(key1[j], key2[j]);
+					if (result != 0) {
+						return descending[j] ? -result : result;
+					}
+				}
+				return i1.compareTo(i2);
+			}
+		};
 
-			// Now compute the average
-			for (MetaDataQueryColumn column : getColumns()) {
-				String binding = column.getBinding();
-				Number sum = (Number) summaryData.get(binding);
-				if (sum != null) {
-					// round to 5dp
-					summaryData.put(binding, Double.valueOf(Math.round(sum.doubleValue() / rows.size() * 100000d) / 100000d));
+		Integer[] indices = null;
+		if (endRow < keys.length) {
+			// Keep the first endRow rows in a heap with the greatest row at the head
+			PriorityQueue<Integer> heap = new PriorityQueue<>(endRow + 1, Collections.reverseOrder(comparator));
+			for (i = 0; i < keys.length; i++) {
+				Integer index = Integer.valueOf(i);
+				if (heap.size() < endRow) {
+					heap.add(index);
 				}
+				else if (comparator.compare(index, heap.peek()) < 0) {
+					heap.poll();
+					heap.add(index);
+				}
+			}
+			indices = heap.toArray(new Integer[heap.size()]);
+		}
+		else {
+			indices = new Integer[keys.length];
+			for (i = 0; i < keys.length; i++) {
+				indices[i] = Integer.valueOf(i);
 			}
 		}
+		Arrays.sort(indices, comparator);
 		
-		return new MapBean(module.getName(), drivingDocument.getName(), summaryData);
+		List<Bean> result = new ArrayList<>(endRow - startRow);
+		for (i = startRow; i < endRow; i++) {
+			result.add(rows.get(indices[i].intValue()));
+		}
+		return result;
 	}
 	
-	private void minOrMax(Map<String, Object> summaryData, boolean max) throws Exception {
+	/**
+	 * Compute the summary row in a single pass over the rows.
+	 */
+	private Bean summarize() {
+		Map<String, Object> summaryData = new TreeMap<>();
+
+		AggregateFunction summary = getSummary();
+		int rowCount = rows.size();
+		// This needs to be the ID to satisfy the client data source definitions
+		summaryData.put(Bean.DOCUMENT_ID, Long.valueOf(rowCount));
+		summaryData.put(PersistentBean.FLAG_COMMENT_NAME, "");
+
+		if (summary == null) {
+			return new MapBean(module.getName(), drivingDocument.getName(), summaryData);
+		}
+		
+		Set<String> uniqueBindings = new LinkedHashSet<>();
+		for (MetaDataQueryColumn column : getColumns()) {
+			String binding = column.getBinding();
+			if (binding != null) {
+				uniqueBindings.add(binding);
+			}
+		}
+		String[] bindings = uniqueBindings.toArray(new String[uniqueBindings.size()]);
+		int bindingCount = bindings.length;
+		
+		boolean count = AggregateFunction.Count.equals(summary);
+		boolean min = AggregateFunction.Min.equals(summary);
+		boolean max = AggregateFunction.Max.equals(summary);
+		long[] counts = new long[bindingCount];
+		double[] sums = new double[bindingCount];
+		Object[] minOrMaxs = new Object[bindingCount];
 		for (Bean row : rows) {
-			for (MetaDataQueryColumn column : getColumns()) {
-				String binding = column.getBinding();
-				@SuppressWarnings("unchecked")
-				Comparable<Object> value = (Comparable<Object>) Binder.get(row, binding);
-				if (value != null) {
-					@SuppressWarnings("unchecked")
-					Comparable<Object> minOrMax = (Comparable<Object>) summaryData.get(binding);
-					if (minOrMax == null) {
-						summaryData.put(binding, value);
-					}
-					else if (max && (value.compareTo(minOrMax) > 0)) {
-						summaryData.put(binding, value);
+			for (int i = 0; i < bindingCount; i++) {
+				Object value = Binder.get(row, bindings[i]);
+				if (count) {
+					if (value != null) {
+						counts[i]++;
 					}
-					else if ((! max) && (value.compareTo(minOrMax) < 0)) {
-						summaryData.put(binding, value);
+				}
+				else if (min || max) {
+					if (value != null) {
+						@SuppressWarnings("unchecked")
+						Comparable<Object> minOrMax = (Comparable<Object>) minOrMaxs[i];
+						if ((minOrMax == null) ||
+								(max && (minOrMax.compareTo(value) < 0)) ||
+								(min && (minOrMax.compareTo(value) > 0))) {
+							minOrMaxs[i] = value;
+						}
+						counts[i]++;
 					}
 				}
-			}
-		}
-	}
-	
-	private void sum(Map<String, Object> summaryData) throws Exception {
-		for (Bean row : rows) {
-			for (MetaDataQueryColumn column : getColumns()) {
-				String binding = column.getBinding();
-				Object value = Binder.get(row, binding);
-				if (value instanceof Number) {
-					double number = ((Number) value).doubleValue();
-					Number sum = (Number) summaryData.get(binding);
-					sum = (sum == null) ? Double.valueOf(number) : Double.valueOf(sum.doubleValue() + number);
-					summaryData.put(binding, sum);
+				// Sum or Avg
+				else if (value instanceof Number) {
+					sums[i] += ((Number) value).doubleValue();
+					counts[i]++;
 				}
 			}
 		}
-		// Round to 5dp
-		for (MetaDataQueryColumn column : getColumns()) {
-			String binding = column.getBinding();
-			Object value = Binder.get(summaryData, binding);
-			if (value instanceof Number) {
-				summaryData.put(binding, Double.valueOf(Math.round(((Number) value).doubleValue() * 100000d) / 100000d));
+
+		boolean avg = AggregateFunction.Avg.equals(summary);
+		for (int i = 0; i < bindingCount; i++) {
+			if (counts[i] > 0) {
+				String binding = bindings[i];
+				if (count) {
+					summaryData.put(binding, Long.valueOf(counts[i]));
+				}
+				else if (min || max) {
+					summaryData.put(binding, minOrMaxs[i]);
+				}
+				else {
+					// round to 5dp
+					double sum = Math.round(sums[i] * 100000d) / 100000d;
+					if (avg) {
+						summaryData.put(binding, Double.valueOf(Math.round(sum / rowCount * 100000d) / 100000d));
+					}
+					else {
+						summaryData.put(binding, Double.valueOf(sum));
+					}
+				}
 			}
 		}
+		
+		return new MapBean(module.getName(), drivingDocument.getName(), summaryData);
 	}
 	
 	@Override
@@ -236,7 +317,9 @@ public abstract class InMemoryListModel<T extends Bean> extends ListModel<T> {
 			rows = new ArrayList<>(0);
 		}
 		
-		filterAndSort();
+		if (filter != null) {
+			filter.filter(rows);
+		}
 		
 		int startRow = getStartRow();
 		int endRow = getEndRow();
@@ -250,9 +333,7 @@ public abstract class InMemoryListModel<T extends Bean> extends ListModel<T> {
 		// (maybe a criteria has constrained the set such that a page we were at doesn't exist any more)
 		// then just send back an empty result set.
 		if (startRow < totalRows) {
-			// NB This next bit gets destructive on the list
-			rows.retainAll(rows.subList(startRow, Math.min(endRow + 1, totalRows)));
-			result.setRows(rows);
+			result.setRows(page(rows, getSortParameters(), startRow, Math.min(endRow + 1, totalRows)));
 		}
 		else {
 			result.setRows(new ArrayList<Bean>(0));
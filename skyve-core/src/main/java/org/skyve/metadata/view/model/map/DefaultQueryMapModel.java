@@ -8,6 +8,7 @@ import org.skyve.metadata.module.query.MetaDataQueryDefinition;
 import org.skyve.persistence.DocumentQuery;
 
 import com.vividsolutions.jts.geom.Envelope;
+import com.vividsolutions.jts.geom.GeometryFactory;
 
 public class DefaultQueryMapModel<T extends Bean> extends DefaultMapModel<T> {
 	/**
@@ -15,19 +16,29 @@ public class DefaultQueryMapModel<T extends Bean> extends DefaultMapModel<T> {
 	 */
 	private static final long serialVersionUID = 5182580858481923068L;
 
+	private static final Envelope WORLD = new Envelope(-180, 180, -90, 90);
+
 	private MetaDataQueryDefinition query;
-	private DocumentQuery documentQuery; // from query
 
 	public DefaultQueryMapModel(MetaDataQueryDefinition query) {
 		this.query = query;
 	}
 
+	public MetaDataQueryDefinition getQuery() {
+		return query;
+	}
+
+	/**
+	 * The map extents are pushed into the query as an intersects filter on the geometry binding
+	 * so that only the geometries in view are selected from the database.
+	 */
 	@Override
 	public MapResult getResult(Envelope mapExtents) throws Exception {
-		if (documentQuery == null) {
-			documentQuery = query.constructDocumentQuery(null, null);
+		DocumentQuery documentQuery = query.constructDocumentQuery(null, null);
+		if (! mapExtents.covers(WORLD)) {
+			documentQuery.getFilter().addIntersects(getGeometryBinding(), new GeometryFactory().toGeometry(mapExtents));
 		}
-		
+
 		List<MapItem> items = new ArrayList<>(256);
 		for (Bean bean : documentQuery.projectedIterable()) {
 			addItem(bean, items, mapExtents);
@@ -28,4 +28,16 @@ public interface SQL extends BeanQuery, ScalarQuery, TupleQuery, DMLQuery {
 	public SQL putParameter(String name, Boolean value);
 	public SQL putParameter(String name, Enumeration value);
 	public SQL putParameter(String name, Object value, AttributeType type);
+
+	/**
+	 * Add the current parameter values as an entry in a batch to be run by {@link #executeBatch()}.
+	 */
+	public SQL addBatch();
+
+	/**
+	 * Execute this DML once for each batch entry added with {@link #addBatch()} and clear the batch.
+	 * 
+	 * @return	The number of rows affected by each batch entry.
+	 */
+	public int[] executeBatch();
 }
@@ -53,8 +53,8 @@ public class Binder {
 	}
 
 	/**
-	 * This method is synchronized as {@link Converter#fromDisplayValue(Object)} requires synchronization. 
 	 * Explicit type coercion using the <code>converter</code> if supplied, or by java language coercion.
+	 * This method is thread-safe and can be called concurrently.
 	 * 
 	 * @param attribute Used for type conversion. Can be <code>null</code>.
 	 * @param type
@@ -1,5 +1,7 @@
 package org.skyve.util;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.Set;
 
 import org.skyve.impl.util.json.JSONReader;
@@ -21,6 +23,22 @@ public class JSON {
 		return writer.write(beanOrBeans, propertyNames);
 	}
 
+	/**
+	 * Stream JSON to a writer without building the whole JSON string in memory.
+	 * The writer is flushed but not closed.
+	 * 
+	 * @param customer
+	 * @param beanOrBeans Either a Bean or List<Bean> or a Java Bean
+	 * @param propertyNames Needed for marshalling the result of executing a Query.
+	 * @param writer The writer to stream the JSON to.
+	 * @throws IOException If the writer could not be written to.
+	 */
+	public static final void marshall(Customer customer, Object beanOrBeans, Set<String> propertyNames, Writer writer)
+	throws IOException {
+		JSONWriter jsonWriter = new JSONWriter(customer);
+		jsonWriter.write(beanOrBeans, propertyNames, writer);
+	}
+
 	/**
 	 * Consume JSON.
 	 * 
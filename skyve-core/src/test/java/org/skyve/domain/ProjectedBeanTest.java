@@ -0,0 +1,127 @@
+package org.skyve.domain;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.Assume;
+import org.junit.Test;
+import org.skyve.impl.bind.BindUtil;
+
+public class ProjectedBeanTest {
+	private static final int ROWS = 10000;
+	private static final ProjectedBean.Layout LAYOUT = new ProjectedBean.Layout("test",
+																					"Test",
+																					new String[] {Bean.DOCUMENT_ID,
+																									"name",
+																									"contact.name"});
+
+	@Test
+	@SuppressWarnings("static-method")
+	public void testRowsShareLayout() {
+		ProjectedBean first = new ProjectedBean(LAYOUT, new Object[] {"1", "first", "contact 1"});
+		ProjectedBean second = new ProjectedBean(LAYOUT, new Object[] {"2", "second", null});
+
+		assertThat(first.getBizId(), is("1"));
+		assertThat(first.getBizModule(), is("test"));
+		assertThat(first.getBizDocument(), is("Test"));
+		assertThat(BindUtil.get(first, "name"), is("first"));
+		assertThat(BindUtil.get(first, "contact.name"), is("contact 1"));
+		assertThat(BindUtil.get(second, "name"), is("second"));
+		assertThat(BindUtil.get(second, "contact.name"), is(nullValue()));
+	}
+
+	@Test
+	@SuppressWarnings("static-method")
+	public void testSetProjectedAndExtraProperties() {
+		ProjectedBean bean = new ProjectedBean(LAYOUT, new Object[] {"1", "first", null});
+
+		BindUtil.set(bean, "name", "changed");
+		bean.set(PersistentBean.TAGGED_NAME, Boolean.TRUE);
+
+		assertThat(bean.get("name"), is("changed"));
+		assertThat(bean.isProperty(PersistentBean.TAGGED_NAME), is(Boolean.TRUE));
+		assertThat(bean.get(PersistentBean.TAGGED_NAME), is(Boolean.TRUE));
+		assertThat(bean.isProperty("missing"), is(Boolean.FALSE));
+	}
+
+	@Test
+	@SuppressWarnings("static-method")
+	public void testToMap() {
+		ProjectedBean bean = new ProjectedBean(LAYOUT, new Object[] {"1", "first", "contact 1"});
+
+		Map<String, Object> map = bean.toMap();
+
+		assertThat(map.get(Bean.DOCUMENT_ID), is("1"));
+		assertThat(map.get("contact.name"), is("contact 1"));
+		assertThat(map.get(Bean.MODULE_KEY), is("test"));
+		assertThat(map.get(Bean.DOCUMENT_KEY), is("Test"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	@SuppressWarnings({"static-method", "unused"})
+	public void testValuesMustMatchLayout() {
+		new ProjectedBean(LAYOUT, new Object[] {"1"});
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	@SuppressWarnings("static-method")
+	public void testUnknownPropertyWithoutThis() {
+		new ProjectedBean(LAYOUT, new Object[] {"1", "first", null}).get("missing");
+	}
+
+	@Test
+	@SuppressWarnings("static-method")
+	public void testAllocatesLessThanMapBeans() {
+		java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		Assume.assumeTrue(threads instanceof com.sun.management.ThreadMXBean);
+		com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+		Assume.assumeTrue(allocations.isThreadAllocatedMemorySupported() && allocations.isThreadAllocatedMemoryEnabled());
+		long threadId = Thread.currentThread().getId();
+
+		// warm up both so class loading isn't counted
+		mapBeans(ROWS);
+		projectedBeans(ROWS);
+
+		// perform the method under test
+		long start = allocations.getThreadAllocatedBytes(threadId);
+		Bean[] mapBeans = mapBeans(ROWS);
+		long mapBeanBytes = allocations.getThreadAllocatedBytes(threadId) - start;
+		start = allocations.getThreadAllocatedBytes(threadId);
+		Bean[] projectedBeans = projectedBeans(ROWS);
+		long projectedBeanBytes = allocations.getThreadAllocatedBytes(threadId) - start;
+
+		// verify the result
+		assertThat(Integer.valueOf(mapBeans.length), is(Integer.valueOf(projectedBeans.length)));
+		assertThat(Long.valueOf(projectedBeanBytes), is(lessThan(Long.valueOf(mapBeanBytes / 4))));
+	}
+
+	/**
+	 * Build rows as MapBeans, as projected queries did before ProjectedBean.
+	 */
+	private static Bean[] mapBeans(int rows) {
+		Bean[] result = new Bean[rows];
+		for (int i = 0; i < rows; i++) {
+			Object[] values = new Object[] {"1", "first", "contact 1"};
+			Map<String, Object> properties = new TreeMap<>();
+			properties.put(Bean.DOCUMENT_ID, values[0]);
+			properties.put("name", values[1]);
+			properties.put("contact.name", values[2]);
+			result[i] = new MapBean("test", "Test", properties);
+		}
+		return result;
+	}
+
+	private static Bean[] projectedBeans(int rows) {
+		Bean[] result = new Bean[rows];
+		for (int i = 0; i < rows; i++) {
+			result[i] = new ProjectedBean(LAYOUT, new Object[] {"1", "first", "contact 1"});
+		}
+		return result;
+	}
+}
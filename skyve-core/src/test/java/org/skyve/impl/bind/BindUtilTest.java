@@ -1,11 +1,89 @@
 package org.skyve.impl.bind;
 
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.Assert.assertThat;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import org.junit.Test;
+import org.skyve.domain.types.DateOnly;
+import org.skyve.domain.types.Decimal2;
+import org.skyve.domain.types.converters.date.DD_MM_YYYY;
+import org.skyve.domain.types.converters.decimal.currency.Decimal2DollarsAndCents;
 
 public class BindUtilTest {
+	public static class TestBean {
+		private String name;
+		private Integer count;
+		private TestBean child;
+		private List<TestBean> children = new ArrayList<>();
+
+		public String getName() {
+			return name;
+		}
+		public void setName(String name) {
+			this.name = name;
+		}
+		public Integer getCount() {
+			return count;
+		}
+		public void setCount(Integer count) {
+			this.count = count;
+		}
+		public TestBean getChild() {
+			return child;
+		}
+		public void setChild(TestBean child) {
+			this.child = child;
+		}
+		public List<TestBean> getChildren() {
+			return children;
+		}
+	}
+
+	@Test
+	@SuppressWarnings("static-method")
+	public void testGetCompoundAndIndexedBindings() {
+		// setup the test data
+		TestBean bean = new TestBean();
+		bean.setChild(new TestBean());
+		bean.getChild().setName("child");
+		TestBean element = new TestBean();
+		element.setName("element");
+		bean.getChildren().add(new TestBean());
+		bean.getChildren().add(element);
+
+		// call the method under test and verify the result
+		assertThat(BindUtil.get(bean, "child.name"), is((Object) "child"));
+		assertThat(BindUtil.get(bean, "children[1].name"), is((Object) "element"));
+		assertThat(BindUtil.get(bean, "children[0].child.name"), is(nullValue()));
+		// ensure cached bindings give the same answer
+		assertThat(BindUtil.get(bean, "child.name"), is((Object) "child"));
+	}
+
+	@Test
+	@SuppressWarnings("static-method")
+	public void testSetCompoundBindingConvertsStrings() {
+		// setup the test data
+		TestBean bean = new TestBean();
+		bean.setChild(new TestBean());
+
+		// call the method under test
+		BindUtil.set(bean, "child.count", "12");
+		BindUtil.set(bean, "name", "");
+
+		// verify the result
+		assertThat(bean.getChild().getCount(), is(Integer.valueOf(12)));
+		assertThat(bean.getName(), is(nullValue()));
+		assertThat(BindUtil.getPropertyType(bean, "child.count"), is((Object) Integer.class));
+	}
+
 
 	@Test
 	@SuppressWarnings("static-method")
@@ -127,4 +205,51 @@ public class BindUtilTest {
 		// verify the result
 		assertThat(result, is("DOB"));
 	}
+
+	/**
+	 * fromString() is not synchronized so ensure concurrent conversions don't corrupt each other.
+	 */
+	@Test
+	@SuppressWarnings("static-method")
+	public void testFromStringConcurrently() throws Exception {
+		// setup the test data
+		final DD_MM_YYYY dateConverter = new DD_MM_YYYY();
+		final Decimal2DollarsAndCents decimalConverter = new Decimal2DollarsAndCents();
+		int threads = 8;
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		List<Future<Boolean>> results = new ArrayList<>(threads);
+
+		// call the method under test
+		try {
+			for (int t = 0; t < threads; t++) {
+				final int day = t + 1;
+				results.add(pool.submit(new Callable<Boolean>() {
+					@Override
+					public Boolean call() throws Exception {
+						String date = String.format("%02d/01/2019", Integer.valueOf(day));
+						String decimal = day + ",000.50";
+						for (int i = 0; i < 1000; i++) {
+							DateOnly dateValue = (DateOnly) BindUtil.fromString(null, dateConverter, DateOnly.class, date, false);
+							if (! date.equals(dateConverter.toDisplayValue(dateValue))) {
+								return Boolean.FALSE;
+							}
+							Decimal2 decimalValue = (Decimal2) BindUtil.fromString(null, decimalConverter, Decimal2.class, decimal, false);
+							if (! decimal.equals(decimalConverter.toDisplayValue(decimalValue))) {
+								return Boolean.FALSE;
+							}
+						}
+						return Boolean.TRUE;
+					}
+				}));
+			}
+
+			// verify the result
+			for (Future<Boolean> result : results) {
+				assertThat(result.get(), is(Boolean.TRUE));
+			}
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
 }
@@ -0,0 +1,43 @@
+package org.skyve.impl.persistence;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.Test;
+
+public class PagedQueryCacheTest {
+	@Test
+	@SuppressWarnings("static-method")
+	public void testSummaryIsStaleWhenDocumentChanges() {
+		// setup the test data
+		Map<String, Object> summary = new TreeMap<>();
+		summary.put("bizId", Long.valueOf(42));
+		PagedQueryCache.putSummary("testSummary", "test", "Changed", summary);
+		assertThat(PagedQueryCache.getSummary("testSummary", "test", "Changed", 60, false).get("bizId"), is((Object) Long.valueOf(42)));
+
+		// call the method under test
+		PagedQueryCache.documentChanged("test", "Changed");
+
+		// verify the result
+		assertThat(PagedQueryCache.getSummary("testSummary", "test", "Changed", 60, false), is(nullValue()));
+		assertThat(PagedQueryCache.getSummary("testSummary", "test", "Changed", 60, true).get("bizId"), is((Object) Long.valueOf(42)));
+	}
+
+	@Test
+	@SuppressWarnings("static-method")
+	public void testBoundaryIsKeyedOnStartRow() {
+		// setup the test data
+		Object[] boundary = new Object[] {"Smith", "1234"};
+
+		// call the method under test
+		PagedQueryCache.putBoundary("testBoundary", 50, "test", "Boundary", boundary);
+
+		// verify the result
+		assertThat(PagedQueryCache.getBoundary("testBoundary", 50, "test", "Boundary"), is(boundary));
+		assertThat(PagedQueryCache.getBoundary("testBoundary", 100, "test", "Boundary"), is(nullValue()));
+	}
+}
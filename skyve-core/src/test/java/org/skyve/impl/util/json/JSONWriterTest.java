@@ -0,0 +1,104 @@
+package org.skyve.impl.util.json;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.junit.Test;
+
+public class JSONWriterTest {
+	@Test
+	@SuppressWarnings("static-method")
+	public void testStreamingWriteMatchesStringWrite() throws Exception {
+		// setup the test data - enough rows to exceed the streaming buffer several times
+		List<Map<String, Object>> rows = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			Map<String, Object> row = new TreeMap<>();
+			row.put("id", Integer.valueOf(i));
+			row.put("name", "Row \"" + i + "\"\n");
+			rows.add(row);
+		}
+		String expected = new JSONWriter(null).write(rows, null);
+
+		// call the method under test
+		StringWriter result = new StringWriter();
+		new JSONWriter(null).write(rows, null, result);
+
+		// verify the result
+		assertThat(result.toString(), is(expected));
+	}
+
+	@Test
+	@SuppressWarnings("static-method")
+	public void testCyclicValueIsWrittenAsNull() {
+		// setup the test data
+		Map<String, Object> parent = new TreeMap<>();
+		List<Object> children = new ArrayList<>();
+		children.add(parent);
+		parent.put("children", children);
+
+		// call the method under test
+		String result = new JSONWriter(null).write(parent, null);
+
+		// verify the result
+		assertThat(result, is("{\"children\":[null]}"));
+	}
+
+	@Test
+	@SuppressWarnings("static-method")
+	public void testEqualSiblingsAreNotTreatedAsCycles() {
+		// setup the test data
+		List<Object> row = new ArrayList<>();
+		row.add(new ArrayList<>());
+		row.add(new ArrayList<>());
+
+		// call the method under test
+		String result = new JSONWriter(null).write(row, null);
+
+		// verify the result
+		assertThat(result, is("[[],[]]"));
+	}
+
+	public static class TestJavaBean {
+		private String name = "test";
+		private List<String> tags = new ArrayList<>();
+
+		public String getName() {
+			return name;
+		}
+		public void setName(String name) {
+			this.name = name;
+		}
+		public List<String> getTags() {
+			return tags;
+		}
+		public String getReadOnly() {
+			return "not written";
+		}
+	}
+
+	@Test
+	@SuppressWarnings("static-method")
+	public void testJavaBeanWritesWriteableAndCollectionProperties() {
+		// setup the test data
+		TestJavaBean bean = new TestJavaBean();
+		bean.getTags().add("a");
+		Set<String> propertyNames = new TreeSet<>();
+		propertyNames.add("name");
+
+		// call the method under test - twice to use the cached properties
+		JSONWriter writer = new JSONWriter(null);
+		writer.write(bean, propertyNames);
+		String result = writer.write(bean, propertyNames);
+
+		// verify the result
+		assertThat(result, is("{\"name\":\"test\",\"tags\":[\"a\"]}"));
+	}
+}
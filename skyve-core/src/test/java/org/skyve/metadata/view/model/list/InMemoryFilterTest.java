@@ -0,0 +1,103 @@
+package org.skyve.metadata.view.model.list;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.Test;
+import org.skyve.domain.Bean;
+import org.skyve.domain.MapBean;
+
+public class InMemoryFilterTest {
+	private static List<Bean> rows(int size) {
+		List<Bean> result = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			Map<String, Object> properties = new TreeMap<>();
+			properties.put(Bean.DOCUMENT_ID, String.valueOf(i));
+			properties.put("name", ((i % 10) == 0) ? null : "Name" + i);
+			properties.put("amount", Integer.valueOf(i % 100));
+			result.add(new MapBean("test", "Test", properties));
+		}
+		return result;
+	}
+
+	@Test
+	@SuppressWarnings("static-method")
+	public void testAndOrConditions() {
+		// setup the test data
+		List<Bean> rows = rows(1000);
+		InMemoryFilter filter = new InMemoryFilter();
+		filter.addBetween("amount", Integer.valueOf(10), Integer.valueOf(19));
+		InMemoryFilter or = new InMemoryFilter();
+		or.addStartsWith("name", "name99");
+		filter.addOr(or);
+		filter.addNotNull("name");
+
+		// call the method under test
+		filter.filter(rows);
+
+		// verify the result - 9 non-null names in each of the 10 blocks of amounts 10 to 19
+		// plus names 99 and 991 to 999
+		assertThat(Integer.valueOf(rows.size()), is(Integer.valueOf(90 + 10)));
+		assertThat(rows.get(0).getBizId(), is("11"));
+	}
+
+	@Test
+	@SuppressWarnings("static-method")
+	public void testWrongTypeDoesNotMatch() {
+		// setup the test data
+		List<Bean> rows = rows(100);
+		InMemoryFilter filter = new InMemoryFilter();
+		filter.addGreaterThan("name", Integer.valueOf(0));
+
+		// call the method under test
+		filter.filter(rows);
+
+		// verify the result
+		assertThat(Integer.valueOf(rows.size()), is(Integer.valueOf(0)));
+	}
+
+	@Test
+	@SuppressWarnings("static-method")
+	public void testStringBetweenIsCaseInsensitive() {
+		// setup the test data
+		List<Bean> rows = rows(100);
+		InMemoryFilter filter = new InMemoryFilter();
+		filter.addBetween("name", "name10", "NAME12");
+
+		// call the method under test
+		filter.filter(rows);
+
+		// verify the result - Name11 and Name12 match whatever the case of the bounds, Name10 is null
+		assertThat(Integer.valueOf(rows.size()), is(Integer.valueOf(2)));
+		assertThat(rows.get(0).getBizId(), is("11"));
+		assertThat(rows.get(1).getBizId(), is("12"));
+	}
+
+	@Test
+	@SuppressWarnings("static-method")
+	public void testParallelFilterMatchesSerialFilter() {
+		// setup the test data
+		List<Bean> serialRows = rows(100000);
+		List<Bean> parallelRows = new ArrayList<>(serialRows);
+		InMemoryFilter serial = new InMemoryFilter();
+		serial.setParallelThreshold(0);
+		serial.addContains("name", "7");
+		serial.addLessThan("amount", Integer.valueOf(50));
+		InMemoryFilter parallel = new InMemoryFilter();
+		parallel.setParallelThreshold(1000);
+		parallel.addContains("name", "7");
+		parallel.addLessThan("amount", Integer.valueOf(50));
+
+		// call the method under test
+		serial.filter(serialRows);
+		parallel.filter(parallelRows);
+
+		// verify the result
+		assertThat(parallelRows, is(serialRows));
+	}
+}
@@ -0,0 +1,101 @@
+package org.skyve.metadata.view.model.list;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.Test;
+import org.skyve.domain.Bean;
+import org.skyve.domain.MapBean;
+import org.skyve.impl.metadata.model.document.CollectionImpl.OrderingImpl;
+import org.skyve.metadata.SortDirection;
+import org.skyve.util.Binder;
+import org.skyve.web.SortParameter;
+
+public class InMemoryListModelTest {
+	private static final class TestSortParameter implements SortParameter {
+		private String by;
+		private SortDirection direction;
+
+		TestSortParameter(String by, SortDirection direction) {
+			this.by = by;
+			this.direction = direction;
+		}
+
+		@Override
+		public String getBy() {
+			return by;
+		}
+
+		@Override
+		public void setBy(String by) {
+			this.by = by;
+		}
+
+		@Override
+		public SortDirection getDirection() {
+			return direction;
+		}
+
+		@Override
+		public void setDirection(SortDirection direction) {
+			this.direction = direction;
+		}
+	}
+
+	@Test
+	@SuppressWarnings("static-method")
+	public void testPageMatchesFullSortFor100kRows() {
+		// setup the test data - lots of duplicate and null names to exercise the stable ordering
+		Random random = new Random(1234);
+		List<Bean> rows = new ArrayList<>(100000);
+		for (int i = 0; i < 100000; i++) {
+			Map<String, Object> properties = new TreeMap<>();
+			properties.put(Bean.DOCUMENT_ID, String.valueOf(i));
+			int name = random.nextInt(1000);
+			properties.put("name", (name == 0) ? null : "Name" + name);
+			properties.put("amount", Integer.valueOf(random.nextInt(100)));
+			rows.add(new MapBean("test", "Test", properties));
+		}
+		SortParameter[] sorts = new SortParameter[] {new TestSortParameter("name", SortDirection.ascending),
+														new TestSortParameter("amount", SortDirection.descending)};
+		List<Bean> sorted = new ArrayList<>(rows);
+		Binder.sortCollectionByOrdering(sorted,
+											new OrderingImpl("name", SortDirection.ascending),
+											new OrderingImpl("amount", SortDirection.descending));
+
+		// call the method under test
+		List<Bean> first = InMemoryListModel.page(rows, sorts, 0, 75);
+		List<Bean> deep = InMemoryListModel.page(rows, sorts, 50000, 50075);
+		List<Bean> last = InMemoryListModel.page(rows, sorts, 99950, 100000);
+
+		// verify the result
+		assertThat(first, is(sorted.subList(0, 75)));
+		assertThat(deep, is(sorted.subList(50000, 50075)));
+		assertThat(last, is(sorted.subList(99950, 100000)));
+		assertThat(rows.get(0).getBizId(), is("0"));
+	}
+
+	@Test
+	@SuppressWarnings("static-method")
+	public void testPageWithoutSortsIsASubList() {
+		// setup the test data
+		List<Bean> rows = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			Map<String, Object> properties = new TreeMap<>();
+			properties.put(Bean.DOCUMENT_ID, String.valueOf(i));
+			rows.add(new MapBean("test", "Test", properties));
+		}
+
+		// call the method under test
+		List<Bean> result = InMemoryListModel.page(rows, null, 3, 6);
+
+		// verify the result
+		assertThat(result, is(rows.subList(3, 6)));
+	}
+}
@@ -0,0 +1,245 @@
+package modules.admin.domain;
+
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.bind.annotation.XmlTransient;
+import javax.xml.bind.annotation.XmlType;
+import org.skyve.CORE;
+import org.skyve.domain.messages.DomainException;
+import org.skyve.impl.domain.AbstractPersistentBean;
+
+/**
+ * Content Outbox
+ * <br/>
+ * Bean content changes waiting to be applied to the content index.
+		Rows are inserted in the same transaction as the change and removed once they are indexed.
+ * 
+ * @stereotype "persistent"
+ */
+@XmlType
+@XmlRootElement
+public class ContentOutbox extends AbstractPersistentBean {
+	/**
+	 * For Serialization
+	 * @hidden
+	 */
+	private static final long serialVersionUID = 1L;
+
+	/** @hidden */
+	public static final String MODULE_NAME = "admin";
+	/** @hidden */
+	public static final String DOCUMENT_NAME = "ContentOutbox";
+
+	/** @hidden */
+	public static final String contentModuleNamePropertyName = "contentModuleName";
+	/** @hidden */
+	public static final String contentDocumentNamePropertyName = "contentDocumentName";
+	/** @hidden */
+	public static final String contentBizIdPropertyName = "contentBizId";
+	/** @hidden */
+	public static final String removeContentPropertyName = "removeContent";
+	/** @hidden */
+	public static final String sequenceNumberPropertyName = "sequenceNumber";
+	/** @hidden */
+	public static final String insertSequencePropertyName = "insertSequence";
+	/** @hidden */
+	public static final String propertiesPropertyName = "properties";
+
+	/**
+	 * Module
+	 **/
+	private String contentModuleName;
+	/**
+	 * Document
+	 **/
+	private String contentDocumentName;
+	/**
+	 * BizId
+	 **/
+	private String contentBizId;
+	/**
+	 * Remove Content
+	 **/
+	private Boolean removeContent;
+	/**
+	 * Sequence Number
+	 **/
+	private Long sequenceNumber;
+	/**
+	 * Insert Sequence
+	 **/
+	private Long insertSequence;
+	/**
+	 * Properties
+	 **/
+	private String properties;
+
+	@Override
+	@XmlTransient
+	public String getBizModule() {
+		return ContentOutbox.MODULE_NAME;
+	}
+
+	@Override
+	@XmlTransient
+	public String getBizDocument() {
+		return ContentOutbox.DOCUMENT_NAME;
+	}
+
+	public static ContentOutbox newInstance() {
+		try {
+			return CORE.getUser().getCustomer().getModule(MODULE_NAME).getDocument(CORE.getUser().getCustomer(), DOCUMENT_NAME).newInstance(CORE.getUser());
+		}
+		catch (RuntimeException e) {
+			throw e;
+		}
+		catch (Exception e) {
+			throw new DomainException(e);
+		}
+	}
+
+	@Override
+	@XmlTransient
+	public String getBizKey() {
+		try {
+			return org.skyve.util.Binder.formatMessage(org.skyve.CORE.getUser().getCustomer(),
+														"{contentModuleName}.{contentDocumentName} {contentBizId}",
+														this);
+		}
+		catch (Exception e) {
+			return "Unknown";
+		}
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		return ((o instanceof ContentOutbox) && 
+					this.getBizId().equals(((ContentOutbox) o).getBizId()));
+	}
+
+	/**
+	 * {@link #contentModuleName} accessor.
+	 * @return	The value.
+	 **/
+	public String getContentModuleName() {
+		return contentModuleName;
+	}
+
+	/**
+	 * {@link #contentModuleName} mutator.
+	 * @param contentModuleName	The new value.
+	 **/
+	@XmlElement
+	public void setContentModuleName(String contentModuleName) {
+		preset(contentModuleNamePropertyName, contentModuleName);
+		this.contentModuleName = contentModuleName;
+	}
+
+	/**
+	 * {@link #contentDocumentName} accessor.
+	 * @return	The value.
+	 **/
+	public String getContentDocumentName() {
+		return contentDocumentName;
+	}
+
+	/**
+	 * {@link #contentDocumentName} mutator.
+	 * @param contentDocumentName	The new value.
+	 **/
+	@XmlElement
+	public void setContentDocumentName(String contentDocumentName) {
+		preset(contentDocumentNamePropertyName, contentDocumentName);
+		this.contentDocumentName = contentDocumentName;
+	}
+
+	/**
+	 * {@link #contentBizId} accessor.
+	 * @return	The value.
+	 **/
+	public String getContentBizId() {
+		return contentBizId;
+	}
+
+	/**
+	 * {@link #contentBizId} mutator.
+	 * @param contentBizId	The new value.
+	 **/
+	@XmlElement
+	public void setContentBizId(String contentBizId) {
+		preset(contentBizIdPropertyName, contentBizId);
+		this.contentBizId = contentBizId;
+	}
+
+	/**
+	 * {@link #removeContent} accessor.
+	 * @return	The value.
+	 **/
+	public Boolean getRemoveContent() {
+		return removeContent;
+	}
+
+	/**
+	 * {@link #removeContent} mutator.
+	 * @param removeContent	The new value.
+	 **/
+	@XmlElement
+	public void setRemoveContent(Boolean removeContent) {
+		preset(removeContentPropertyName, removeContent);
+		this.removeContent = removeContent;
+	}
+
+	/**
+	 * {@link #sequenceNumber} accessor.
+	 * @return	The value.
+	 **/
+	public Long getSequenceNumber() {
+		return sequenceNumber;
+	}
+
+	/**
+	 * {@link #sequenceNumber} mutator.
+	 * @param sequenceNumber	The new value.
+	 **/
+	@XmlElement
+	public void setSequenceNumber(Long sequenceNumber) {
+		preset(sequenceNumberPropertyName, sequenceNumber);
+		this.sequenceNumber = sequenceNumber;
+	}
+
+	/**
+	 * {@link #insertSequence} accessor.
+	 * @return	The value.
+	 **/
+	public Long getInsertSequence() {
+		return insertSequence;
+	}
+
+	/**
+	 * {@link #insertSequence} mutator.
+	 * @param insertSequence	The new value.
+	 **/
+	@XmlElement
+	public void setInsertSequence(Long insertSequence) {
+		preset(insertSequencePropertyName, insertSequence);
+		this.insertSequence = insertSequence;
+	}
+
+	/**
+	 * {@link #properties} accessor.
+	 * @return	The value.
+	 **/
+	public String getProperties() {
+		return properties;
+	}
+
+	/**
+	 * {@link #properties} mutator.
+	 * @param properties	The new value.
+	 **/
+	@XmlElement
+	public void setProperties(String properties) {
+		preset(propertiesPropertyName, properties);
+		this.properties = properties;
+	}
+}
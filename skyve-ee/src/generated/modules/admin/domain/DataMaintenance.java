@@ -120,7 +120,8 @@ public class DataMaintenance extends AbstractPersistentBean {
 		dropTablesUsingBackupDropsqlRecreateTablesFromMetadata("dropUsingBackupAndCreateUsingMetadata", "Drop tables using backup drop.sql & recreate tables from metadata"),
 		createTablesFromBackup("createUsingBackup", "Create tables from backup"),
 		createTablesFromMetadata("createUsingMetadata", "Create tables from metadata"),
-		deleteExistingTableDataUsingMetadata("deleteData", "Delete existing table data using metadata");
+		deleteExistingTableDataUsingMetadata("deleteData", "Delete existing table data using metadata"),
+		resumeAnInterruptedRestore("resume", "Resume an interrupted restore");
 
 		private String code;
 		private String description;
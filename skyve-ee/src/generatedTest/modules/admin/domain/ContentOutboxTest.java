@@ -0,0 +1,19 @@
+package modules.admin.domain;
+
+import org.skyve.util.DataBuilder;
+import org.skyve.util.test.SkyveFixture.FixtureType;
+import util.AbstractDomainTest;
+
+/**
+ * Generated - local changes will be overwritten.
+ * Extend {@link AbstractDomainTest} to create your own tests for this document.
+ */
+public class ContentOutboxTest extends AbstractDomainTest<ContentOutbox> {
+
+	@Override
+	protected ContentOutbox getBean() throws Exception {
+		return new DataBuilder()
+			.fixture(FixtureType.crud)
+			.build(ContentOutbox.MODULE_NAME, ContentOutbox.DOCUMENT_NAME);
+	}
+}
\ No newline at end of file
@@ -290,6 +290,11 @@ isc.BizMap.addMethods({
 /* TODO reinstate
 			this._map.controls[google.maps.ControlPosition.TOP].push(control);
 */
+			// fetch the features in view whenever the map is panned or zoomed
+			var me = this;
+			google.maps.event.addListener(this._map, 'idle', function() {
+				me._refresh(false, true);
+			});
 			this._refresh(true, false);
 			this.delayCall('_addForm', null, 1000);
 		}
@@ -374,15 +379,13 @@ isc.BizMap.addMethods({
 		
 		var wkt = new Wkt.Wkt();
 		var url = isc.BizUtil.URL_PREFIX + 'map?';
-/*
-		// set the map bounds
-		var bounds = wkt.write(this._map.getBounds());
-		alert(bounds)
-		var nw = new google.maps.LatLng(
-        	    this._map.getBounds().getNorthEast().lat(),
-        	    this._map.getBounds().getSouthWest().lng()
-        	);
-*/
+		// set the map bounds and zoom level once the map has been fitted to all the features
+		var bounds = fit ? null : this._map.getBounds();
+		if (bounds) {
+			var sw = bounds.getSouthWest();
+			var ne = bounds.getNorthEast();
+			url += '_b=' + sw.lng() + ',' + sw.lat() + ',' + ne.lng() + ',' + ne.lat() + '&_z=' + this._map.getZoom() + '&';
+		}
 		if (this._view) {
 			if (this._modelName) {
 				var instance = this._view.gather(false);
@@ -542,6 +545,12 @@ isc.BizMap.addMethods({
 						        	}
 						        });
 					        }
+					        else if (item.bizId.indexOf('cluster_') === 0) { // zoom in on a cluster of points
+						        google.maps.event.addListener(overlay, 'click', function(event) {
+						        	me._map.setCenter(event.latLng);
+						        	me._map.setZoom(me._map.getZoom() + 2);
+						        });
+					        }
 						}
 				        
 //				        if (Wkt.isArray(overlay)) { // Distinguish multigeometries (Arrays) from objects
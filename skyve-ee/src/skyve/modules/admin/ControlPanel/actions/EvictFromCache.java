@@ -1,6 +1,7 @@
 package modules.admin.ControlPanel.actions;
 
 import org.skyve.CORE;
+import org.skyve.impl.jasperreports.ReportCache;
 import org.skyve.metadata.controller.ServerSideAction;
 import org.skyve.metadata.controller.ServerSideActionResult;
 import org.skyve.web.WebContext;
@@ -18,6 +19,7 @@ public class EvictFromCache implements ServerSideAction<ControlPanelExtension> {
 
 		try {
 			CORE.getRepository().evictCachedMetaData(null);
+			ReportCache.clear();
 		}
 		catch (Exception e) {
 			bean.trapException(e);
@@ -92,6 +92,7 @@ public class DataMaintenanceBizlet extends Bizlet<DataMaintenance> {
 				result.add(RestorePreProcess.createTablesFromMetadata.toDomainValue());
 			}
 			result.add(RestorePreProcess.deleteExistingTableDataUsingMetadata.toDomainValue());
+			result.add(RestorePreProcess.resumeAnInterruptedRestore.toDomainValue());
 		}
 
 		return result;
@@ -128,6 +129,9 @@ public class DataMaintenanceBizlet extends Bizlet<DataMaintenance> {
 					case dropTablesUsingMetadataRecreateTablesFromMetadata:
 						instructionHint="Use this option when you know the backup is from the same version of the application. You have a large amount of data that you want to delete and the quickest way is drop and recreate the schema.";
 						break;
+					case resumeAnInterruptedRestore:
+						instructionHint="Use this option when a restore of this backup failed or was cancelled part way through. The tables are not processed again and the restore carries on from the last rows committed.";
+						break;
 					default:
 						break;
 				}
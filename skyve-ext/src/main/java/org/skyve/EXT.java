@@ -3,18 +3,12 @@ package org.skyve;
 import java.io.ByteArrayOutputStream;
 import java.io.OutputStream;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
-import java.util.Properties;
-import java.util.Set;
 
-import javax.naming.InitialContext;
 import javax.naming.NamingException;
-import javax.sql.DataSource;
-import javax.websocket.Session;
 
 import org.apache.poi.ss.usermodel.Workbook;
 import org.skyve.bizport.BizPortSheet;
@@ -33,6 +27,7 @@ import org.skyve.impl.bizport.POISheet;
 import org.skyve.impl.bizport.POIWorkbook;
 import org.skyve.impl.bizport.StandardGenerator;
 import org.skyve.impl.content.AbstractContentManager;
+import org.skyve.impl.dataaccess.sql.DataStoreConnectionPool;
 import org.skyve.impl.dataaccess.sql.SQLDataAccessImpl;
 import org.skyve.impl.security.SkyveLegacyPasswordEncoder;
 import org.skyve.impl.util.MailUtil;
@@ -41,6 +36,7 @@ import org.skyve.impl.util.ReportUtil;
 import org.skyve.impl.util.SQLMetaDataUtil;
 import org.skyve.impl.util.TagUtil;
 import org.skyve.impl.util.UtilImpl;
+import org.skyve.impl.web.PushHub;
 import org.skyve.job.JobDescription;
 import org.skyve.job.JobScheduler;
 import org.skyve.metadata.customer.Customer;
@@ -167,22 +163,8 @@ public class EXT {
 	 * Push a message to connected client user interfaces.
 	 */
 	public static void push(PushMessage message) {
-		// Note Sessions are thread-safe
-		Set<String> userIds = message.getUserIds();
-		boolean broadcast = userIds.isEmpty();
-		for (Session session : PushMessage.SESSIONS) {
-			if (session.isOpen()) {
-				if (broadcast) {
-					session.getAsyncRemote().sendText(JSON.marshall(null, message.getItems(), null));
-				}
-				else {
-					Object userId = session.getUserProperties().get("user");
-					if ((userId == null) || userIds.contains(userId)) {
-						session.getAsyncRemote().sendText(JSON.marshall(null, message.getItems(), null));
-					}
-				}
-			}
-		}
+		// marshall once and let the hub fan out to the sessions of the users
+		PushHub.push(message.getUserIds(), JSON.marshall(null, message.getItems(), null));
 	}
 	
 	/**
@@ -491,6 +473,7 @@ public class EXT {
 	 * Skyve uses a container provided JNDI data source or driver/url/user/pass combinationfor connections. 
 	 * All servlet and Java EE App stacks can provision this service. 
 	 * The connection pool used by skyve is configured in each web app in the json config.
+	 * JNDI lookups are cached and driver/url data stores are pooled by Skyve - see dataStorePool in the json config.
 	 * This method should be used sparingly. For SQL queries,
 	 * {@link org.skyve.persistence.Persistence} can be used in conjunction with
 	 * {@link org.skyve.persistence.SQL}.
@@ -501,31 +484,20 @@ public class EXT {
 	public static Connection getDataStoreConnection(DataStore dataStore) throws IllegalStateException {
 		Connection result = null;
 		try {
-			String jndiDataSourceName = dataStore.getJndiDataSourceName();
-			if (jndiDataSourceName == null) {
-				Class.forName(dataStore.getJdbcDriverClassName());
-				Properties connectionProps = new Properties();
-				String value = dataStore.getUserName();
-				if (value != null) {
-					connectionProps.put("user", value);
-				}
-				value = dataStore.getPassword();
-				if (value != null) {
-					connectionProps.put("password", value);
-				}
-				result = DriverManager.getConnection(dataStore.getJdbcUrl(), connectionProps);
-			}
-			else {
-				InitialContext ctx = new InitialContext();
-				DataSource ds = (DataSource) ctx.lookup(jndiDataSourceName);
-				result = ds.getConnection();
-			}
-
+			result = DataStoreConnectionPool.getConnection(dataStore);
 			if (result != null) {
 				result.setAutoCommit(false);
 			}
 		}
 		catch (SQLException e) {
+			if (result != null) { // give the connection back
+				try {
+					result.close();
+				}
+				catch (@SuppressWarnings("unused") SQLException e1) {
+					// nothing to do here
+				}
+			}
 			throw new IllegalStateException("Could not get a database connection", e);
 		}
 		catch (NamingException e) {
@@ -8,6 +8,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InvalidObjectException;
 import java.io.ObjectStreamException;
+import java.nio.file.Path;
 import java.util.Date;
 
 import org.apache.commons.io.FilenameUtils;
@@ -23,6 +24,7 @@ public class AttachmentContent extends Content {
 	private String contentType;
 	protected Date lastModified;
 	private transient File file;
+	private transient InputStream stream;
 	private byte[] bytes;
 
 	private AttachmentContent(String bizCustomer, 
@@ -197,6 +199,54 @@ public class AttachmentContent extends Content {
 		this.file = file;
 	}
 
+	/**
+	 * Content read from a stream.
+	 * The stream can only be read once and is closed by the content manager when the content is put.
+	 */
+	public AttachmentContent(String bizCustomer, 
+								String bizModule, 
+								String bizDocument, 
+								String bizDataGroupId, 
+								String bizUserId,
+								String bizId,
+								String attributeName,
+								String fileName,
+								MimeType mimeType,
+								InputStream stream) {
+		this(bizCustomer,
+				bizModule,
+				bizDocument,
+				bizDataGroupId,
+				bizUserId,
+				bizId,
+				attributeName,
+				fileName,
+				(mimeType == null) ? null : mimeType.toString());
+		this.stream = stream;
+	}
+
+	public AttachmentContent(String bizCustomer, 
+								String bizModule, 
+								String bizDocument, 
+								String bizDataGroupId, 
+								String bizUserId,
+								String bizId,
+								String attributeName,
+								String fileName,
+								MimeType mimeType,
+								Path path) {
+		this(bizCustomer,
+				bizModule,
+				bizDocument,
+				bizDataGroupId,
+				bizUserId,
+				bizId,
+				attributeName,
+				fileName,
+				mimeType,
+				path.toFile());
+	}
+
 	public final String getAttributeName() {
 		return attributeName;
 	}
@@ -235,9 +285,19 @@ public class AttachmentContent extends Content {
 
 	/**
 	 * NB This must be closed by the caller.
+	 * Content constructed from a stream returns that stream the first time only.
+	 * Once put, the content manager re-points streamed content at its bytes or stored file so it can be read again.
 	 */
 	public final InputStream getContentStream() {
 		if (file == null) {
+			if (stream != null) {
+				InputStream result = stream;
+				stream = null;
+				return result;
+			}
+			if (bytes == null) {
+				throw new IllegalStateException("The content stream for " + fileName + " has already been read");
+			}
 			return new ByteArrayInputStream(bytes);
 		}
 		
@@ -249,6 +309,41 @@ public class AttachmentContent extends Content {
 		}
 	}
 	
+	/**
+	 * The file holding the content.
+	 * 
+	 * @return	The path or null if the content is held in memory or is a stream.
+	 */
+	public final Path getContentPath() {
+		return (file == null) ? null : file.toPath();
+	}
+	
+	/**
+	 * Re-point the content at a file holding it, so that streamed content can be read again once it has been stored.
+	 * 
+	 * @param path	The file holding the content.
+	 */
+	public final void setContentPath(Path path) {
+		file = path.toFile();
+		stream = null;
+		bytes = null;
+	}
+	
+	/**
+	 * The size of the content in bytes.
+	 * 
+	 * @return	The size or -1 if the content is a stream that has not been read.
+	 */
+	public final long getContentSize() {
+		if (file != null) {
+			return file.length();
+		}
+		if (bytes != null) {
+			return bytes.length;
+		}
+		return -1L;
+	}
+	
 	public final byte[] getContentBytes() throws IOException {
 		if (bytes == null) {
 			bytes = FileUtil.getFileBytes(getContentStream());
@@ -264,7 +359,7 @@ public class AttachmentContent extends Content {
 	 * @throws ObjectStreamException
 	 */
 	private Object writeReplace() throws ObjectStreamException {
-		if (file != null) {
+		if ((file != null) || (stream != null)) {
 			try {
 				getContentBytes();
 				file = null;
@@ -17,6 +17,15 @@ public class BeanContent extends Content {
 				bean.getBizId());
 	}
 
+	public BeanContent(String bizCustomer,
+						String bizModule,
+						String bizDocument,
+						String bizDataGroupId,
+						String bizUserId,
+						String bizId) {
+		super(bizCustomer, bizModule, bizDocument, bizDataGroupId, bizUserId, bizId);
+	}
+
 	private Map<String, String> properties = new TreeMap<>();
 
 	public Map<String, String> getProperties() {
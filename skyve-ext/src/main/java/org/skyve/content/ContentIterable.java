@@ -5,6 +5,12 @@ import java.util.Iterator;
 public interface ContentIterable extends Iterable<SearchResult> {
 	public interface ContentIterator extends Iterator<SearchResult> {
 		public long getTotalHits();
+
+		/**
+		 * The key of the last content returned by {@link #next()}, to resume the iteration with
+		 * {@link ContentManager#all(String)}.
+		 */
+		public String getLastKey();
 	}
 
 	@Override
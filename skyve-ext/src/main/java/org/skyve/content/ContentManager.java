@@ -1,5 +1,7 @@
 package org.skyve.content;
 
+import java.util.Date;
+
 public interface ContentManager extends AutoCloseable {
 	public void put(BeanContent content) throws Exception;
 	public void put(AttachmentContent content) throws Exception;
@@ -8,8 +10,35 @@ public interface ContentManager extends AutoCloseable {
 	public void remove(BeanContent content) throws Exception;
 	public void remove(String contentId) throws Exception;
 	public SearchResults google(String search, int maxResults) throws Exception;
+	/**
+	 * Search for a page of content the current user can read.
+	 * 
+	 * @param search	The search string.
+	 * @param start	The index of the first result to return.
+	 * @param maxResults	The maximum number of results to return.
+	 * @return	The page of results and the total number of results.
+	 */
+	public SearchResults google(String search, int start, int maxResults) throws Exception;
 	public void truncate(String customerName) throws Exception;
 	public void truncateAttachments(String customerName) throws Exception;
 	public void truncateBeans(String customerName) throws Exception;
+	/**
+	 * Remove a customer's bean content that was last indexed before a given time.
+	 * This sweeps away the beans that were not reindexed once a reindex has put all the current beans.
+	 * 
+	 * @param customerName	The customer.
+	 * @param indexedBefore	Bean content indexed before this time is removed.
+	 * @throws Exception
+	 */
+	public void truncateBeans(String customerName, Date indexedBefore) throws Exception;
 	public ContentIterable all() throws Exception;
+	/**
+	 * Iterate over all content in a stable order, starting after the content with the given key.
+	 * This resumes an iteration that was interrupted.
+	 * 
+	 * @param afterKey	The {@link ContentIterable.ContentIterator#getLastKey()} of the last content processed
+	 * 					or null to start from the beginning.
+	 * @throws Exception
+	 */
+	public ContentIterable all(String afterKey) throws Exception;
 }
@@ -9,6 +9,7 @@ public final class SearchResults implements Serializable {
 
 	private String searchTimeInSecs;
 	private String suggestion;
+	private long totalResults;
 
 	private List<SearchResult> results = new ArrayList<>();
 
@@ -28,6 +29,17 @@ public final class SearchResults implements Serializable {
 		this.suggestion = suggestion;
 	}
 
+	/**
+	 * The total number of results that match the search, of which the results are a page.
+	 */
+	public long getTotalResults() {
+		return totalResults;
+	}
+
+	public void setTotalResults(long totalResults) {
+		this.totalResults = totalResults;
+	}
+
 	public List<SearchResult> getResults() {
 		return results;
 	}
@@ -1,8 +1,10 @@
 package org.skyve.impl.backup;
 
+import java.io.BufferedOutputStream;
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
 import java.io.FileWriter;
 import java.math.BigDecimal;
 import java.nio.file.Paths;
@@ -13,10 +15,13 @@ import java.sql.SQLException;
 import java.sql.Statement;
 import java.sql.Time;
 import java.sql.Timestamp;
+import java.util.Calendar;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 import org.hibernate.engine.spi.SessionImplementor;
 import org.skyve.EXT;
@@ -86,6 +91,12 @@ public class BackupJob extends CancellableJob {
 		p.generateDDL(new File(backupDir, "drop.sql").getAbsolutePath(), 
 						new File(backupDir, "create.sql").getAbsolutePath(),
 						null);
+
+		if (UtilImpl.BACKUP_THREADS > 0) {
+			streamingBackup(tables, p, customerName, directory);
+			return;
+		}
+
 		boolean problem = false; // indicates if the backup had a problem
 		try {
 			try (FileWriter problemsTxt = new FileWriter(new File(backupDir, "problems.txt"))) {
@@ -94,6 +105,10 @@ public class BackupJob extends CancellableJob {
 						connection.setAutoCommit(false);
 			
 						try (ContentManager cm = EXT.newContentManager()) {
+							@SuppressWarnings("resource")
+							SessionImplementor sessionImpl = (p instanceof AbstractHibernatePersistence) ?
+																(SessionImplementor) ((AbstractHibernatePersistence) p).getSession() :
+																null;
 							for (Table table : tables) {
 								StringBuilder sql = new StringBuilder(128);
 								try (Statement statement = connection.createStatement()) {
@@ -121,187 +136,53 @@ public class BackupJob extends CancellableJob {
 				
 													for (String name : table.fields.keySet()) {
 														AttributeType attributeType = table.fields.get(name);
-														Object value = null;
-				
-														if (AttributeType.association.equals(attributeType) ||
-																AttributeType.colour.equals(attributeType) ||
-																AttributeType.memo.equals(attributeType) ||
-																AttributeType.markup.equals(attributeType) ||
-																AttributeType.text.equals(attributeType) ||
-																AttributeType.enumeration.equals(attributeType) ||
-																AttributeType.id.equals(attributeType)) {
-															value = resultSet.getString(name);
-															if (resultSet.wasNull()) {
-																value = "";
-															}
-															if ("".equals(value)) {
-																// bizId is mandatory
-																if (name.equalsIgnoreCase(Bean.DOCUMENT_ID)) {
-																	throw new IllegalStateException(table.name + " is missing a " + Bean.DOCUMENT_ID + " value.");
-																}
-																// bizLock is mandatory
-																if (name.equalsIgnoreCase(PersistentBean.LOCK_NAME)) {
-																	throw new IllegalStateException(table.name + " with " + 
-																										Bean.DOCUMENT_ID + " = " + values.get(Bean.DOCUMENT_ID) +
-																										" is missing a " + PersistentBean.LOCK_NAME + " value.");
-																}
-																// bizKey is mandatory
-																if (name.equalsIgnoreCase(Bean.BIZ_KEY)) {
-																	throw new IllegalStateException(table.name + " with " + 
-																										Bean.DOCUMENT_ID + " = " + values.get(Bean.DOCUMENT_ID) +
-																										" is missing a " + Bean.BIZ_KEY + " value.");
-																}
-																// bizCustomer is mandatory
-																if (name.equalsIgnoreCase(Bean.CUSTOMER_NAME)) {
-																	throw new IllegalStateException(table.name + " with " + 
-																										Bean.DOCUMENT_ID + " = " + values.get(Bean.DOCUMENT_ID) +
-																										" is missing a " + Bean.CUSTOMER_NAME + " value.");
+														Object value = readValue(resultSet, table, name, attributeType, values, sessionImpl, BackupUtil.GMT);
+														if (AttributeType.content.equals(attributeType) && (! "".equals(value))) {
+															String stringValue = (String) value;
+															AttachmentContent content = null;
+															try {
+																content = cm.get(stringValue);
+																if (content == null) {
+																	problem = true;
+																	problems.write(String.format("Table [%s] with [%s] = %s is missing content for attribute [%s] = %s",
+																									table.name,
+																									Bean.DOCUMENT_ID,
+																									values.get(Bean.DOCUMENT_ID),
+																									name,
+																									stringValue));
+																	// See if the content file exists 
+																	final File contentDirectory = Paths.get(UtilImpl.CONTENT_DIRECTORY, AbstractContentManager.FILE_STORE_NAME).toFile();
+																	final StringBuilder contentAbsolutePath = new StringBuilder(contentDirectory.getAbsolutePath()).append(File.separator);
+																	AbstractContentManager.appendBalancedFolderPathFromContentId(stringValue, contentAbsolutePath, false);
+																	final File contentFile = Paths.get(contentAbsolutePath.toString()).toFile();
+																	if (contentFile.exists()) {
+																		problems.write(" but the matching file was found for this missing content at ");
+																		problems.write(contentFile.getAbsolutePath());
+																	}
+																	problems.newLine();
 																}
-																// bizUserId is mandatory
-																if (name.equalsIgnoreCase(Bean.USER_ID)) {
-																	throw new IllegalStateException(table.name + " with " + 
-																										Bean.DOCUMENT_ID + " = " + values.get(Bean.DOCUMENT_ID) +
-																										" is missing a " + Bean.USER_ID + " value.");
+																else {
+																	StringBuilder contentPath = new StringBuilder(256);
+																	contentPath.append(directory.getAbsolutePath()).append('/').append(AbstractContentManager.FILE_STORE_NAME).append('/');
+																	ElasticContentManager.writeContentFiles(contentPath, content, content.getContentBytes());
 																}
 															}
-														}
-														else if (AttributeType.geometry.equals(attributeType)) {
-															@SuppressWarnings("resource")
-															SessionImplementor sessionImpl = (SessionImplementor) ((AbstractHibernatePersistence) p).getSession();
-															Geometry geometry = AbstractHibernatePersistence.getDialect().getGeometryType().nullSafeGet(resultSet, name, sessionImpl);
-															if (geometry == null) {
-																value = "";
-															}
-															else {
-																value = new WKTWriter().write(geometry);
-															}
-														}
-														else if (AttributeType.bool.equals(attributeType)) {
-															boolean booleanValue = resultSet.getBoolean(name);
-															if (resultSet.wasNull()) {
-																value = "";
-															}
-															else {
-																value = Boolean.valueOf(booleanValue);
-															}
-														}
-														else if (AttributeType.date.equals(attributeType)) {
-															Date date = resultSet.getDate(name, BackupUtil.GMT);
-															if (resultSet.wasNull()) {
-																value = "";
-															}
-															else {
-																value = new Long(date.getTime());
-															}
-														}
-														else if (AttributeType.time.equals(attributeType)) {
-															Time time = resultSet.getTime(name, BackupUtil.GMT);
-															if (resultSet.wasNull()) {
-																value = "";
-															}
-															else {
-																value = new Long(time.getTime());
-															}
-														}
-														else if (AttributeType.dateTime.equals(attributeType) ||
-																	AttributeType.timestamp.equals(attributeType)) {
-															Timestamp timestamp = resultSet.getTimestamp(name, BackupUtil.GMT);
-															if (resultSet.wasNull()) {
-																value = "";
-															}
-															else {
-																value = new Long(timestamp.getTime());
-															}
-														}
-														else if (AttributeType.decimal2.equals(attributeType) ||
-																	AttributeType.decimal5.equals(attributeType) ||
-																	AttributeType.decimal10.equals(attributeType)) {
-															BigDecimal bigDecimal = resultSet.getBigDecimal(name);
-															if (resultSet.wasNull()) {
-																value = "";
-															}
-															else {
-																value = bigDecimal;
-															}
-														}
-														else if (AttributeType.integer.equals(attributeType)) {
-															int intValue = resultSet.getInt(name);
-															if (resultSet.wasNull()) {
-																value = "";
-															}
-															else {
-																value = new Integer(intValue);
-															}
-															// bizVersion is mandatory
-															if ("".equals(value) && 
-																	name.equalsIgnoreCase(PersistentBean.VERSION_NAME)) {
-																throw new IllegalStateException(table.name + " with " + 
-																									Bean.DOCUMENT_ID + " = " + values.get(Bean.DOCUMENT_ID) +
-																									" is missing a " + PersistentBean.VERSION_NAME + " value.");
-															}
-			
-														}
-														else if (AttributeType.longInteger.equals(attributeType)) {
-															long longValue = resultSet.getLong(name);
-															if (resultSet.wasNull()) {
-																value = "";
-															}
-															else {
-																value = new Long(longValue);
-															}
-														}
-														else if (AttributeType.content.equals(attributeType)) {
-															String stringValue = resultSet.getString(name);
-															if (resultSet.wasNull()) {
-																value = "";
-															}
-															else {
-																value = stringValue;
-																AttachmentContent content = null;
-																try {
-																	content = cm.get(stringValue);
-																	if (content == null) {
-																		problem = true;
-																		problems.write(String.format("Table [%s] with [%s] = %s is missing content for attribute [%s] = %s",
-																										table.name,
-																										Bean.DOCUMENT_ID,
-																										values.get(Bean.DOCUMENT_ID),
-																										name,
-																										stringValue));
-																		// See if the content file exists 
-																		final File contentDirectory = Paths.get(UtilImpl.CONTENT_DIRECTORY, AbstractContentManager.FILE_STORE_NAME).toFile();
-																		final StringBuilder contentAbsolutePath = new StringBuilder(contentDirectory.getAbsolutePath()).append(File.separator);
-																		AbstractContentManager.appendBalancedFolderPathFromContentId(stringValue, contentAbsolutePath, false);
-																		final File contentFile = Paths.get(contentAbsolutePath.toString()).toFile();
-																		if (contentFile.exists()) {
-																			problems.write(" but the matching file was found for this missing content at ");
-																			problems.write(contentFile.getAbsolutePath());
-																		}
-																		problems.newLine();
-																	}
-																	else {
-																		StringBuilder contentPath = new StringBuilder(256);
-																		contentPath.append(directory.getAbsolutePath()).append('/').append(AbstractContentManager.FILE_STORE_NAME).append('/');
-																		ElasticContentManager.writeContentFiles(contentPath, content, content.getContentBytes());
-																	}
+															catch (Exception e) {
+																if (e instanceof FileNotFoundException) {
+																	problems.write(String.format("Table [%s] with [%s] = %s is missing a file in the content store for attribute [%s] = %s",
+																									table.name,
+																									Bean.DOCUMENT_ID,
+																									values.get(Bean.DOCUMENT_ID),
+																									name,
+																									stringValue));
+																	problems.newLine();
 																}
-																catch (Exception e) {
-																	if (e instanceof FileNotFoundException) {
-																		problems.write(String.format("Table [%s] with [%s] = %s is missing a file in the content store for attribute [%s] = %s",
-																										table.name,
-																										Bean.DOCUMENT_ID,
-																										values.get(Bean.DOCUMENT_ID),
-																										name,
-																										stringValue));
-																		problems.newLine();
-																	}
-																	else {
-																		throw e;
-																	}
+																else {
+																	throw e;
 																}
 															}
 														}
-				
+			
 														values.put(name, value);
 													}
 				
@@ -367,4 +248,234 @@ public class BackupJob extends CancellableJob {
 			}
 		}
 	}
+
+	/**
+	 * Back up the tables and content straight into the zip in parallel.
+	 * The files already in the backup directory (DDL etc) are added to the zip first.
+	 */
+	private void streamingBackup(Collection<Table> tables, AbstractPersistence p, String customerName, File directory)
+	throws Exception {
+		List<String> log = getLog();
+		String trace = null;
+
+		StreamingBackup backup = new StreamingBackup(this, customerName, p.getUser());
+		File zip = new File(directory.getParentFile(), directory.getName() + ".zip");
+		boolean problem = false; // indicates if the backup had a problem
+		try {
+			try (ZipOutputStream zos = new ZipOutputStream(new BufferedOutputStream(new FileOutputStream(zip)))) {
+				try {
+					for (File file : directory.listFiles()) {
+						FileUtil.addToZip(directory, file, zos);
+					}
+					backup.backup(tables, zos);
+				}
+				// log the exception in problems.txt on the way out
+				catch (Exception e) {
+					backup.problem("A problem backing up was encountered : " + e.getLocalizedMessage());
+					throw e;
+				}
+				finally {
+					zos.putNextEntry(new ZipEntry("problems.txt"));
+					String newLine = System.lineSeparator();
+					for (String line : backup.getProblems()) {
+						zos.write(line.getBytes());
+						zos.write(newLine.getBytes());
+					}
+					zos.closeEntry();
+				}
+			}
+			problem = backup.isProblem();
+		}
+		catch (Exception e) {
+			problem = true;
+			trace = "A problem backing up was encountered : " + e.getLocalizedMessage();
+			log.add(trace);
+			Util.LOGGER.info(trace);
+			throw e;
+		}
+		finally {
+			try {
+				if (problem) {
+					File problemZip = new File(directory.getParentFile(), directory.getName() + "_PROBLEMS.zip");
+					if (zip.renameTo(problemZip)) {
+						zip = problemZip;
+					}
+				}
+				trace = "Compressed backup to " + zip.getAbsolutePath();
+				log.add(trace);
+				Util.LOGGER.info(trace);
+				backupZip = zip;
+			}
+			finally {
+				FileUtil.delete(directory);
+				trace = "Deleted backup folder " + directory.getAbsolutePath();
+				log.add(trace);
+				Util.LOGGER.info(trace);
+				setPercentComplete(100);
+				EXT.push(new PushMessage().user().growl(MessageSeverity.info, "Backup Completed" + (problem ? " with problems" : "")));
+			}
+		}
+	}
+
+	/**
+	 * Read a column value in the form it is written to the backup CSV.
+	 * Null values are returned as "".
+	 * Content values are returned as the content ID - the caller is responsible for backing up the content.
+	 * 
+	 * @param rs	The result set positioned on the row.
+	 * @param table	The table being backed up.
+	 * @param name	The column name.
+	 * @param attributeType	The type of the column.
+	 * @param values	The values read so far for the row - used for error messages.
+	 * @param sessionImpl	Used to read geometry values.
+	 * @param gmt	The GMT calendar to read temporal values with - calendars are not thread-safe.
+	 * @return	The value.
+	 */
+	static Object readValue(ResultSet rs,
+								Table table,
+								String name,
+								AttributeType attributeType,
+								Map<String, Object> values,
+								SessionImplementor sessionImpl,
+								Calendar gmt)
+	throws Exception {
+		Object value = null;
+
+		if (AttributeType.association.equals(attributeType) ||
+				AttributeType.colour.equals(attributeType) ||
+				AttributeType.memo.equals(attributeType) ||
+				AttributeType.markup.equals(attributeType) ||
+				AttributeType.text.equals(attributeType) ||
+				AttributeType.enumeration.equals(attributeType) ||
+				AttributeType.id.equals(attributeType)) {
+			value = rs.getString(name);
+			if (rs.wasNull()) {
+				value = "";
+			}
+			if ("".equals(value)) {
+				// bizId is mandatory
+				if (name.equalsIgnoreCase(Bean.DOCUMENT_ID)) {
+					throw new IllegalStateException(table.name + " is missing a " + Bean.DOCUMENT_ID + " value.");
+				}
+				// bizLock is mandatory
+				if (name.equalsIgnoreCase(PersistentBean.LOCK_NAME)) {
+					throw new IllegalStateException(table.name + " with " + 
+														Bean.DOCUMENT_ID + " = " + values.get(Bean.DOCUMENT_ID) +
+														" is missing a " + PersistentBean.LOCK_NAME + " value.");
+				}
+				// bizKey is mandatory
+				if (name.equalsIgnoreCase(Bean.BIZ_KEY)) {
+					throw new IllegalStateException(table.name + " with " + 
+														Bean.DOCUMENT_ID + " = " + values.get(Bean.DOCUMENT_ID) +
+														" is missing a " + Bean.BIZ_KEY + " value.");
+				}
+				// bizCustomer is mandatory
+				if (name.equalsIgnoreCase(Bean.CUSTOMER_NAME)) {
+					throw new IllegalStateException(table.name + " with " + 
+														Bean.DOCUMENT_ID + " = " + values.get(Bean.DOCUMENT_ID) +
+														" is missing a " + Bean.CUSTOMER_NAME + " value.");
+				}
+				// bizUserId is mandatory
+				if (name.equalsIgnoreCase(Bean.USER_ID)) {
+					throw new IllegalStateException(table.name + " with " + 
+														Bean.DOCUMENT_ID + " = " + values.get(Bean.DOCUMENT_ID) +
+														" is missing a " + Bean.USER_ID + " value.");
+				}
+			}
+		}
+		else if (AttributeType.geometry.equals(attributeType)) {
+			Geometry geometry = AbstractHibernatePersistence.getDialect().getGeometryType().nullSafeGet(rs, name, sessionImpl);
+			if (geometry == null) {
+				value = "";
+			}
+			else {
+				value = new WKTWriter().write(geometry);
+			}
+		}
+		else if (AttributeType.bool.equals(attributeType)) {
+			boolean booleanValue = rs.getBoolean(name);
+			if (rs.wasNull()) {
+				value = "";
+			}
+			else {
+				value = Boolean.valueOf(booleanValue);
+			}
+		}
+		else if (AttributeType.date.equals(attributeType)) {
+			Date date = rs.getDate(name, gmt);
+			if (rs.wasNull()) {
+				value = "";
+			}
+			else {
+				value = new Long(date.getTime());
+			}
+		}
+		else if (AttributeType.time.equals(attributeType)) {
+			Time time = rs.getTime(name, gmt);
+			if (rs.wasNull()) {
+				value = "";
+			}
+			else {
+				value = new Long(time.getTime());
+			}
+		}
+		else if (AttributeType.dateTime.equals(attributeType) ||
+					AttributeType.timestamp.equals(attributeType)) {
+			Timestamp timestamp = rs.getTimestamp(name, gmt);
+			if (rs.wasNull()) {
+				value = "";
+			}
+			else {
+				value = new Long(timestamp.getTime());
+			}
+		}
+		else if (AttributeType.decimal2.equals(attributeType) ||
+					AttributeType.decimal5.equals(attributeType) ||
+					AttributeType.decimal10.equals(attributeType)) {
+			BigDecimal bigDecimal = rs.getBigDecimal(name);
+			if (rs.wasNull()) {
+				value = "";
+			}
+			else {
+				value = bigDecimal;
+			}
+		}
+		else if (AttributeType.integer.equals(attributeType)) {
+			int intValue = rs.getInt(name);
+			if (rs.wasNull()) {
+				value = "";
+			}
+			else {
+				value = new Integer(intValue);
+			}
+			// bizVersion is mandatory
+			if ("".equals(value) && 
+					name.equalsIgnoreCase(PersistentBean.VERSION_NAME)) {
+				throw new IllegalStateException(table.name + " with " + 
+													Bean.DOCUMENT_ID + " = " + values.get(Bean.DOCUMENT_ID) +
+													" is missing a " + PersistentBean.VERSION_NAME + " value.");
+			}
+
+		}
+		else if (AttributeType.longInteger.equals(attributeType)) {
+			long longValue = rs.getLong(name);
+			if (rs.wasNull()) {
+				value = "";
+			}
+			else {
+				value = new Long(longValue);
+			}
+		}
+		else if (AttributeType.content.equals(attributeType)) {
+			String stringValue = rs.getString(name);
+			if (rs.wasNull()) {
+				value = "";
+			}
+			else {
+				value = stringValue;
+			}
+		}
+
+		return value;
+	}
 }
@@ -1,15 +1,27 @@
 package org.skyve.impl.backup;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.skyve.EXT;
+import org.skyve.content.BeanContent;
 import org.skyve.content.ContentManager;
+import org.skyve.domain.Bean;
 import org.skyve.domain.PersistentBean;
+import org.skyve.impl.content.AbstractContentManager;
+import org.skyve.impl.metadata.customer.CustomerImpl;
 import org.skyve.impl.metadata.model.document.field.Field;
 import org.skyve.impl.metadata.model.document.field.Field.IndexType;
 import org.skyve.impl.metadata.model.document.field.Memo;
 import org.skyve.impl.persistence.AbstractPersistence;
+import org.skyve.impl.persistence.hibernate.AbstractHibernatePersistence;
 import org.skyve.impl.util.UtilImpl;
 import org.skyve.job.CancellableJob;
 import org.skyve.metadata.customer.Customer;
@@ -18,14 +30,53 @@ import org.skyve.metadata.model.Persistent;
 import org.skyve.metadata.model.document.Document;
 import org.skyve.metadata.module.Module;
 import org.skyve.metadata.module.Module.DocumentRef;
+import org.skyve.metadata.user.User;
 import org.skyve.persistence.AutoClosingIterable;
+import org.skyve.persistence.DocumentFilter;
 import org.skyve.persistence.DocumentQuery;
 
+/**
+ * Reindex the text indexed fields of all beans for the current customer.
+ * <p/>
+ * When UtilImpl.REINDEX_THREADS is 0 the customer's bean content is truncated and each document is reindexed in turn.
+ * Otherwise the bean content is overwritten in place by threads reindexing partitions of each document,
+ * and once all beans are reindexed, the bean content that was not touched (ie deleted beans) is swept away.
+ * Text search remains available for the whole reindex.
+ * The parallel reindex needs a content manager that can sweep bean content by the time it was indexed,
+ * otherwise the serial reindex is used.
+ */
 public class ReindexBeansJob extends CancellableJob {
 	private static final long serialVersionUID = 3902304459915888093L;
 
+	/**
+	 * bizIds are UUIDs so the first hex digit partitions a document's beans into 16 roughly equal ranges.
+	 */
+	private static final String[] PARTITION_BOUNDS = {"0", "1", "2", "3", "4", "5", "6", "7",
+														"8", "9", "a", "b", "c", "d", "e", "f"};
+
 	@Override
 	public void execute() throws Exception {
+		if ((UtilImpl.REINDEX_THREADS > 0) && canTruncateBeansIndexedBefore()) {
+			parallelReindex();
+		}
+		else {
+			reindex();
+		}
+	}
+	
+	private boolean canTruncateBeansIndexedBefore() throws Exception {
+		try (ContentManager cm = EXT.newContentManager()) {
+			if ((cm instanceof AbstractContentManager) && ((AbstractContentManager) cm).canTruncateBeansIndexedBefore()) {
+				return true;
+			}
+			String trace = cm.getClass().getSimpleName() + " can not remove bean content by the time it was indexed - reindexing serially";
+			getLog().add(trace);
+			UtilImpl.LOGGER.warning(trace);
+			return false;
+		}
+	}
+	
+	private void reindex() throws Exception {
 		AbstractPersistence persistence = AbstractPersistence.get();
 		Customer customer = persistence.getUser().getCustomer();
 		List<String> log = getLog();
@@ -91,6 +142,173 @@ public class ReindexBeansJob extends CancellableJob {
 		setPercentComplete(100);
 	}
 	
+	private void parallelReindex() throws Exception {
+		AbstractPersistence persistence = AbstractPersistence.get();
+		User user = persistence.getUser();
+		Customer customer = user.getCustomer();
+		String customerName = customer.getName();
+		List<String> log = getLog();
+		String trace;
+
+		// Content indexed from here on is current - anything indexed before the start is swept once all beans are reindexed
+		Date start = new Date();
+		
+		List<Document> documents = new ArrayList<>();
+		for (Module module : customer.getModules()) {
+			String moduleName = module.getName();
+			Map<String, DocumentRef> refs = module.getDocumentRefs();
+			for (String documentName : refs.keySet()) {
+				DocumentRef ref = refs.get(documentName);
+				// is the document defined in this module?
+				if (moduleName.equals(ref.getOwningModuleName())) {
+					Document document = module.getDocument(customer, documentName);
+					if (needsIndexing(document)) {
+						documents.add(document);
+					}
+					else {
+						trace = String.format("Skipping document %s.%s", moduleName, documentName);
+						log.add(trace);
+						UtilImpl.LOGGER.info(trace);
+					}
+				}
+			}
+		}
+
+		ExecutorService pool = Executors.newFixedThreadPool(UtilImpl.REINDEX_THREADS);
+		try {
+			List<Future<Integer>> futures = new ArrayList<>(documents.size() * PARTITION_BOUNDS.length);
+			for (Document document : documents) {
+				for (int i = 0, l = PARTITION_BOUNDS.length; i < l; i++) {
+					final int partition = i;
+					futures.add(pool.submit(new Callable<Integer>() {
+						@Override
+						public Integer call() throws Exception {
+							return Integer.valueOf(reindexPartition(user, document, partition));
+						}
+					}));
+				}
+			}
+			
+			float i = 0, l = futures.size();
+			for (Future<Integer> future : futures) {
+				// get() throws any exception from the partition
+				future.get();
+				i++;
+				setPercentComplete((int) (i / l * 99f));
+			}
+		}
+		finally {
+			pool.shutdownNow();
+		}
+
+		if (isCancelled()) {
+			trace = "Reindex beans cancelled - stale bean content was not removed";
+			log.add(trace);
+			UtilImpl.LOGGER.info(trace);
+			return;
+		}
+		
+		try (ContentManager cm = EXT.newContentManager()) {
+			trace = "Remove bean content not reindexed";
+			log.add(trace);
+			UtilImpl.LOGGER.info(trace);
+			cm.truncateBeans(customerName, start);
+		}
+
+		trace = "Reindex beans complete";
+		log.add(trace);
+		UtilImpl.LOGGER.info(trace);
+		setPercentComplete(100);
+	}
+
+	/**
+	 * Reindex the beans of a document with bizIds in a partition.
+	 * Only the biz attributes and the text indexed fields are projected and the content is put in bulk.
+	 * Projected rows are labelled with the queried document, so a document that is extended is restricted to its
+	 * own rows - the derived documents' rows are reindexed with their own documents.
+	 * 
+	 * @param user	The user to run as in this thread.
+	 * @param document	The document to reindex.
+	 * @param partition	The index into PARTITION_BOUNDS.
+	 * @return	The number of beans reindexed.
+	 */
+	private int reindexPartition(User user, Document document, int partition) throws Exception {
+		if (isCancelled()) {
+			return 0;
+		}
+		
+		int result = 0;
+		AbstractPersistence persistence = AbstractPersistence.get();
+		persistence.setUser(user);
+		try {
+			persistence.begin();
+			
+			DocumentQuery query = persistence.newDocumentQuery(document);
+			query.addBoundProjection(Bean.DOCUMENT_ID);
+			query.addBoundProjection(Bean.CUSTOMER_NAME);
+			query.addBoundProjection(Bean.DATA_GROUP_ID);
+			query.addBoundProjection(Bean.USER_ID);
+			for (Attribute attribute : document.getAllAttributes()) {
+				if ((attribute instanceof Field) && attribute.isPersistent()) {
+					IndexType index = ((Field) attribute).getIndex();
+					if (IndexType.textual.equals(index) || IndexType.both.equals(index)) {
+						query.addBoundProjection(attribute.getName());
+					}
+				}
+			}
+			DocumentFilter filter = query.getFilter();
+			if (partition > 0) {
+				filter.addGreaterThanOrEqualTo(Bean.DOCUMENT_ID, PARTITION_BOUNDS[partition]);
+			}
+			if (partition < (PARTITION_BOUNDS.length - 1)) {
+				filter.addLessThan(Bean.DOCUMENT_ID, PARTITION_BOUNDS[partition + 1]);
+			}
+			if (! ((CustomerImpl) user.getCustomer()).getDerivedDocuments(document).isEmpty()) {
+				filter.addExpression(String.format("%s.class = %s",
+													DocumentQuery.THIS_ALIAS,
+													persistence.getDocumentEntityName(document.getOwningModuleName(), document.getName())));
+			}
+			
+			AbstractHibernatePersistence hibernate = (AbstractHibernatePersistence) persistence;
+			try (ContentManager cm = EXT.newContentManager()) {
+				AbstractContentManager acm = (AbstractContentManager) cm;
+				List<BeanContent> puts = new ArrayList<>(UtilImpl.REINDEX_BULK_SIZE);
+				try (AutoClosingIterable<Bean> it = query.projectedIterable()) {
+					for (Bean bean : it) {
+						if (isCancelled()) {
+							break;
+						}
+						// Beans with nothing to index are swept at the end as their content is not touched
+						BeanContent content = hibernate.newBeanContent(bean);
+						if (! content.getProperties().isEmpty()) {
+							puts.add(content);
+							if (puts.size() >= UtilImpl.REINDEX_BULK_SIZE) {
+								acm.apply(puts, Collections.emptyList());
+								puts.clear();
+							}
+						}
+						result++;
+					}
+				}
+				if (! puts.isEmpty()) {
+					acm.apply(puts, Collections.emptyList());
+				}
+			}
+		}
+		finally {
+			persistence.commit(true);
+		}
+
+		String trace = String.format("Reindexed %d beans of document %s.%s partition %s",
+										Integer.valueOf(result),
+										document.getOwningModuleName(),
+										document.getName(),
+										PARTITION_BOUNDS[partition]);
+		getLog().add(trace);
+		UtilImpl.LOGGER.info(trace);
+		return result;
+	}
+	
 	private static boolean needsIndexing(Document document) {
 		Persistent persistent = document.getPersistent();
 		if ((persistent != null) && (persistent.getName() != null)) { // is persistent
@@ -0,0 +1,90 @@
+package org.skyve.impl.backup;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+
+/**
+ * Records the progress of a restore so that an interrupted restore can be resumed from its last committed batch.
+ * <p/>
+ * The checkpoint is a properties file next to the backup zip holding the pre-process options of the restore
+ * and, for each table in each restore phase, the number of CSV rows committed or "done".
+ * It is rewritten after every commit and deleted once the restore completes.
+ */
+final class RestoreCheckpoint {
+	private static final String DONE = "done";
+	private static final String OPTION_PREFIX = "option.";
+
+	private final File file;
+	private final Properties properties = new Properties();
+
+	RestoreCheckpoint(File file) throws IOException {
+		this.file = file;
+		if (file.exists()) {
+			try (InputStream is = new FileInputStream(file)) {
+				properties.load(is);
+			}
+		}
+	}
+
+	boolean exists() {
+		return file.exists();
+	}
+
+	synchronized boolean getOption(String name) {
+		return Boolean.parseBoolean(properties.getProperty(OPTION_PREFIX + name));
+	}
+
+	synchronized void setOption(String name, boolean value) throws IOException {
+		properties.setProperty(OPTION_PREFIX + name, String.valueOf(value));
+		save();
+	}
+
+	/**
+	 * @param phase	The restore phase.
+	 * @param tableName	The table.
+	 * @return	The number of CSV rows of the table committed in the phase, or -1 if the table is done.
+	 */
+	synchronized long getCommitted(String phase, String tableName) {
+		String value = properties.getProperty(phase + '.' + tableName);
+		if (value == null) {
+			return 0L;
+		}
+		if (DONE.equals(value)) {
+			return -1L;
+		}
+		return Long.parseLong(value);
+	}
+
+	synchronized void committed(String phase, String tableName, long rows) throws IOException {
+		properties.setProperty(phase + '.' + tableName, String.valueOf(rows));
+		save();
+	}
+
+	synchronized void done(String phase, String tableName) throws IOException {
+		properties.setProperty(phase + '.' + tableName, DONE);
+		save();
+	}
+
+	synchronized void delete() {
+		properties.clear();
+		file.delete();
+	}
+
+	/**
+	 * Write to a temp file and move it into place so a crash can't leave a half written checkpoint.
+	 */
+	private void save() throws IOException {
+		File temp = new File(file.getPath() + ".tmp");
+		try (OutputStream os = new FileOutputStream(temp)) {
+			properties.store(os, "Restore checkpoint");
+		}
+		Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+	}
+}
@@ -0,0 +1,154 @@
+package org.skyve.impl.backup;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.skyve.EXT;
+import org.skyve.content.AttachmentContent;
+import org.skyve.content.ContentManager;
+import org.skyve.impl.util.UtilImpl;
+
+/**
+ * Puts restored content into the content manager on its own pool of threads
+ * so that restoring table rows does not wait on content storage and indexing.
+ * <p/>
+ * Each thread has its own content manager. The queue of content is bounded so the table restores
+ * can't get too far ahead. The content queued by each table is counted so that a table can wait for its
+ * content to be stored before committing its rows.
+ */
+final class RestoreContentIndexer implements AutoCloseable {
+	private static final long POLL_MILLIS = 500L;
+	private static final int QUEUED_CONTENT_PER_THREAD = 100;
+
+	private static final class Item {
+		private final AttachmentContent content;
+		private final boolean textIndex;
+		private final AtomicInteger pending;
+
+		private Item(AttachmentContent content, boolean textIndex, AtomicInteger pending) {
+			this.content = content;
+			this.textIndex = textIndex;
+			this.pending = pending;
+		}
+	}
+
+	/**
+	 * Tells a content thread to finish.
+	 */
+	private static final Item STOP = new Item(null, false, null);
+
+	private final int threads;
+	private final BlockingQueue<Item> queue;
+	private final ExecutorService pool;
+	private volatile Exception failure;
+
+	RestoreContentIndexer() {
+		threads = Math.max(1, UtilImpl.RESTORE_CONTENT_THREADS);
+		queue = new ArrayBlockingQueue<>(threads * QUEUED_CONTENT_PER_THREAD);
+		pool = Executors.newFixedThreadPool(threads);
+		for (int i = 0; i < threads; i++) {
+			pool.execute(new Runnable() {
+				@Override
+				public void run() {
+					index();
+				}
+			});
+		}
+	}
+
+	/**
+	 * Queue some content to be put.
+	 *
+	 * @param content	The content.
+	 * @param textIndex	Whether to text index the content.
+	 * @param pending	The count of content pending for the table.
+	 */
+	void put(AttachmentContent content, boolean textIndex, AtomicInteger pending) throws Exception {
+		pending.incrementAndGet();
+		Item item = new Item(content, textIndex, pending);
+		while (! queue.offer(item, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+			throwFailure();
+		}
+	}
+
+	/**
+	 * Wait for the content pending for a table to be put.
+	 *
+	 * @param pending	The count of content pending for the table.
+	 */
+	void await(AtomicInteger pending) throws Exception {
+		synchronized (pending) {
+			while (pending.get() > 0) {
+				throwFailure();
+				pending.wait(POLL_MILLIS);
+			}
+		}
+		throwFailure();
+	}
+
+	/**
+	 * Put the remaining content and stop the threads.
+	 */
+	@Override
+	public void close() throws Exception {
+		try {
+			// stop waiting if there is a failure as the threads may have stopped
+			for (int i = 0; (i < threads) && (failure == null); i++) {
+				while ((failure == null) && (! queue.offer(STOP, POLL_MILLIS, TimeUnit.MILLISECONDS))) {
+					// keep trying to queue the stop
+				}
+			}
+			pool.shutdown();
+			while ((failure == null) && (! pool.awaitTermination(POLL_MILLIS, TimeUnit.MILLISECONDS))) {
+				// keep waiting for the content to be put
+			}
+		}
+		finally {
+			pool.shutdownNow();
+		}
+		throwFailure();
+	}
+
+	private void throwFailure() throws Exception {
+		if (failure != null) {
+			throw failure;
+		}
+	}
+
+	private void index() {
+		try (ContentManager cm = EXT.newContentManager()) {
+			while (true) {
+				Item item = queue.take();
+				if (item == STOP) {
+					break;
+				}
+				try {
+					if (failure == null) {
+						cm.put(item.content, item.textIndex);
+					}
+				}
+				catch (Exception e) {
+					UtilImpl.LOGGER.severe("Could not restore content " + item.content.getContentId() + " - " + e.getLocalizedMessage());
+					failure = e;
+				}
+				finally {
+					if (item.pending.decrementAndGet() == 0) {
+						synchronized (item.pending) {
+							item.pending.notifyAll();
+						}
+					}
+				}
+			}
+		}
+		catch (@SuppressWarnings("unused") InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		catch (Exception e) {
+			failure = e;
+		}
+	}
+}
@@ -3,20 +3,34 @@ package org.skyve.impl.backup;
 import java.io.File;
 import java.io.FileReader;
 import java.math.BigDecimal;
+import java.sql.BatchUpdateException;
 import java.sql.Connection;
 import java.sql.Date;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.sql.Time;
 import java.sql.Timestamp;
 import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Calendar;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.skyve.CORE;
 import org.skyve.EXT;
 import org.skyve.content.AttachmentContent;
 import org.skyve.content.ContentManager;
 import org.skyve.domain.Bean;
+import org.skyve.domain.PersistentBean;
 import org.skyve.domain.messages.DomainException;
 import org.skyve.domain.messages.MessageSeverity;
 import org.skyve.impl.backup.RestoreOptions.ContentOption;
@@ -42,6 +56,19 @@ import com.vividsolutions.jts.io.WKTReader;
 public class RestoreJob extends CancellableJob {
 	private static final long serialVersionUID = -4076693395300706664L;
 
+	// restore phases recorded in the checkpoint
+	private static final String DATA_PHASE = "data";
+	private static final String EXTENSION_PHASE = "extension";
+	private static final String FOREIGN_KEY_PHASE = "foreignKey";
+	private static final String JOIN_PHASE = "join";
+
+	// pre-process options recorded in the checkpoint
+	private static final String CREATE_USING_BACKUP_OPTION = "createUsingBackup";
+	private static final String DDL_SYNC_OPTION = "ddlSync";
+
+	// set to stop the other tables being restored in a phase when one fails
+	private transient volatile boolean stopped = false;
+
 	@Override
 	public void execute() throws Exception {
 		Bean bean = getBean();
@@ -49,7 +76,13 @@ public class RestoreJob extends CancellableJob {
 			getLog().add("Kick off the job with the appropriate options from the Data Maintenance page.");
 			return;
 		}
-		restore((RestoreOptions) bean);
+		try {
+			restore((RestoreOptions) bean);
+		}
+		finally {
+			// The data is restored directly through JDBC so nothing hibernate has cached is current
+			CORE.getPersistence().evictAllCached();
+		}
 	}
 
 	private void restore(RestoreOptions options)
@@ -71,78 +104,99 @@ public class RestoreJob extends CancellableJob {
 			return;
 		}
 		
-		EXT.push(new PushMessage().growl(MessageSeverity.info, "System Restore in progress - system unavailable until restore is complete."));
-		
 		String extractDirName = selectedBackupName.substring(0, selectedBackupName.length() - 4);
 		File extractDir = new File(backup.getParentFile(), extractDirName);
-		trace = String.format("Extract %s to %s", backup.getAbsolutePath(), extractDir.getAbsolutePath());
-		log.add(trace);
-		Util.LOGGER.info(trace);
-		if (extractDir.exists()) {
-			trace = String.format("    %s already exists - delete it.", extractDir.getAbsolutePath());
-			log.add(trace);
-			Util.LOGGER.info(trace);
-			FileUtil.delete(extractDir);
-			trace = String.format("    %s deleted.", extractDir.getAbsolutePath());
+		PreProcess restorePreProcess = options.getPreProcess();
+		boolean resume = PreProcess.resume.equals(restorePreProcess);
+		RestoreCheckpoint checkpoint = new RestoreCheckpoint(new File(backup.getParentFile(), extractDirName + ".restore"));
+		if (resume) {
+			if (! checkpoint.exists()) {
+				trace = "There is no interrupted restore of " + backup.getAbsolutePath() + " to resume.";
+				log.add(trace);
+				Util.LOGGER.warning(trace);
+				return;
+			}
+		}
+		else {
+			checkpoint.delete();
+		}
+
+		EXT.push(new PushMessage().growl(MessageSeverity.info, "System Restore in progress - system unavailable until restore is complete."));
+		
+		if (resume && extractDir.exists()) {
+			trace = String.format("Resume restore using %s", extractDir.getAbsolutePath());
 			log.add(trace);
 			Util.LOGGER.info(trace);
 		}
-		FileUtil.extractZipArchive(backup, extractDir);
-		trace = String.format("Extracted %s to %s", backup.getAbsolutePath(), extractDir.getAbsolutePath());
-		log.add(trace);
-		Util.LOGGER.info(trace);
+		else {
+			extract(backup, extractDir);
+		}
 		setPercentComplete(50);
 		
-		PreProcess restorePreProcess = options.getPreProcess();
 		ContentOption contrentRestoreOption =  options.getContentOption();
 		
-		boolean truncateDatabase = PreProcess.deleteData.equals(restorePreProcess);
-		if (truncateDatabase) {
-			trace = "Truncate " + ((UtilImpl.SCHEMA == null) ? "default" : UtilImpl.SCHEMA) + " schema";
-			log.add(trace);
-			Util.LOGGER.info(trace);
-		}
-		Truncate.truncate(UtilImpl.SCHEMA, truncateDatabase, true);
-
 		boolean createUsingBackup = false;
 		boolean ddlSync = false;
-		if (PreProcess.createUsingBackup.equals(restorePreProcess)) {
-			createUsingBackup = true;
-			DDL.create(new File(extractDir, "create.sql"), true);
-			ddlSync = true;
-		}
-		else if (PreProcess.createUsingMetadata.equals(restorePreProcess)) {
-			DDL.create(null, true);
-			ddlSync = true;
-		}
-		else if (PreProcess.dropUsingBackupAndCreateUsingBackup.equals(restorePreProcess)) {
-			createUsingBackup = true;
-			DDL.drop(new File(extractDir, "drop.sql"), true);
-			DDL.create(new File(extractDir, "create.sql"), true);
-			ddlSync = true;
-		}
-		else if (PreProcess.dropUsingBackupAndCreateUsingMetadata.equals(restorePreProcess)) {
-			DDL.drop(new File(extractDir, "drop.sql"), true);
-			DDL.create(null, true);
-			ddlSync = true;
-		}
-		else if (PreProcess.dropUsingMetadataAndCreateUsingBackup.equals(restorePreProcess)) {
-			createUsingBackup = true;
-			DDL.drop(null, true);
-			DDL.create(new File(extractDir, "create.sql"), true);
-			ddlSync = true;
-		}
-		else if (PreProcess.dropUsingMetadataAndCreateUsingMetadata.equals(restorePreProcess)) {
-			DDL.drop(null, true);
-			DDL.create(null, true);
-			ddlSync = true;
+		if (resume) {
+			createUsingBackup = checkpoint.getOption(CREATE_USING_BACKUP_OPTION);
+			ddlSync = checkpoint.getOption(DDL_SYNC_OPTION);
+		}
+		else {
+			boolean truncateDatabase = PreProcess.deleteData.equals(restorePreProcess);
+			if (truncateDatabase) {
+				trace = "Truncate " + ((UtilImpl.SCHEMA == null) ? "default" : UtilImpl.SCHEMA) + " schema";
+				log.add(trace);
+				Util.LOGGER.info(trace);
+			}
+			Truncate.truncate(UtilImpl.SCHEMA, truncateDatabase, true);
+	
+			if (PreProcess.createUsingBackup.equals(restorePreProcess)) {
+				createUsingBackup = true;
+				DDL.create(new File(extractDir, "create.sql"), true);
+				ddlSync = true;
+			}
+			else if (PreProcess.createUsingMetadata.equals(restorePreProcess)) {
+				DDL.create(null, true);
+				ddlSync = true;
+			}
+			else if (PreProcess.dropUsingBackupAndCreateUsingBackup.equals(restorePreProcess)) {
+				createUsingBackup = true;
+				DDL.drop(new File(extractDir, "drop.sql"), true);
+				DDL.create(new File(extractDir, "create.sql"), true);
+				ddlSync = true;
+			}
+			else if (PreProcess.dropUsingBackupAndCreateUsingMetadata.equals(restorePreProcess)) {
+				DDL.drop(new File(extractDir, "drop.sql"), true);
+				DDL.create(null, true);
+				ddlSync = true;
+			}
+			else if (PreProcess.dropUsingMetadataAndCreateUsingBackup.equals(restorePreProcess)) {
+				createUsingBackup = true;
+				DDL.drop(null, true);
+				DDL.create(new File(extractDir, "create.sql"), true);
+				ddlSync = true;
+			}
+			else if (PreProcess.dropUsingMetadataAndCreateUsingMetadata.equals(restorePreProcess)) {
+				DDL.drop(null, true);
+				DDL.create(null, true);
+				ddlSync = true;
+			}
+			// remember how the restore was pre-processed in case it needs to be resumed
+			checkpoint.setOption(CREATE_USING_BACKUP_OPTION, createUsingBackup);
+			checkpoint.setOption(DDL_SYNC_OPTION, ddlSync);
 		}
 
 		trace = "Restore " + extractDirName;
 		log.add(trace);
 		Util.LOGGER.info(trace);
 		IndexingOption indexingOption = options.getIndexingOption();
-		restore(extractDirName, createUsingBackup, contrentRestoreOption, indexingOption);
+		restore(extractDirName, createUsingBackup, contrentRestoreOption, indexingOption, checkpoint);
+		if (isCancelled()) {
+			trace = "Restore cancelled - resume it with the Resume pre-process";
+			log.add(trace);
+			Util.LOGGER.info(trace);
+			return;
+		}
 		if (ddlSync) {
 			trace = "DDL Sync";
 			log.add(trace);
@@ -155,6 +209,7 @@ public class RestoreJob extends CancellableJob {
 			Util.LOGGER.info(trace);
 			execute(new ReindexBeansJob());
 		}
+		checkpoint.delete();
 		trace = "Delete extracted folder " + extractDir.getAbsolutePath();
 		log.add(trace);
 		Util.LOGGER.info(trace);
@@ -167,10 +222,31 @@ public class RestoreJob extends CancellableJob {
 		EXT.push(new PushMessage().growl(MessageSeverity.info, "System Restore complete."));
 	}
 	
+	private void extract(File backup, File extractDir) throws Exception {
+		Collection<String> log = getLog();
+		String trace = String.format("Extract %s to %s", backup.getAbsolutePath(), extractDir.getAbsolutePath());
+		log.add(trace);
+		Util.LOGGER.info(trace);
+		if (extractDir.exists()) {
+			trace = String.format("    %s already exists - delete it.", extractDir.getAbsolutePath());
+			log.add(trace);
+			Util.LOGGER.info(trace);
+			FileUtil.delete(extractDir);
+			trace = String.format("    %s deleted.", extractDir.getAbsolutePath());
+			log.add(trace);
+			Util.LOGGER.info(trace);
+		}
+		FileUtil.extractZipArchive(backup, extractDir);
+		trace = String.format("Extracted %s to %s", backup.getAbsolutePath(), extractDir.getAbsolutePath());
+		log.add(trace);
+		Util.LOGGER.info(trace);
+	}
+
 	private void restore(String extractDirName,
 							boolean createUsingBackup,
 							ContentOption contentRestoreOption,
-							IndexingOption indexingOption)
+							IndexingOption indexingOption,
+							RestoreCheckpoint checkpoint)
 	throws Exception {
 		String customerName = CORE.getUser().getCustomerName();
 		
@@ -186,20 +262,18 @@ public class RestoreJob extends CancellableJob {
 										BackupUtil.readTables(new File(backupDirectory, "tables.txt")) :
 										BackupUtil.getTables();
 
-		try (Connection connection = EXT.getDataStoreConnection()) {
-			connection.setAutoCommit(false);
-
+		try (RestoreContentIndexer indexer = new RestoreContentIndexer()) {
 			// restore normal tables
-			restoreData(backupDirectory, tables, connection, false, false, contentRestoreOption, indexingOption);
+			restorePhase(DATA_PHASE, backupDirectory, tables, checkpoint, indexer, contentRestoreOption, indexingOption);
 			setPercentComplete(25);
 			// restore extension join tables
-			restoreData(backupDirectory, tables, connection, false, true, contentRestoreOption, indexingOption);
+			restorePhase(EXTENSION_PHASE, backupDirectory, tables, checkpoint, indexer, contentRestoreOption, indexingOption);
 			setPercentComplete(50);
 			// link foreign keys
-			restoreForeignKeys(backupDirectory, tables, connection);
+			restorePhase(FOREIGN_KEY_PHASE, backupDirectory, tables, checkpoint, indexer, contentRestoreOption, indexingOption);
 			setPercentComplete(75);
 			// restore collection join tables
-			restoreData(backupDirectory, tables, connection, true, false, contentRestoreOption, indexingOption);
+			restorePhase(JOIN_PHASE, backupDirectory, tables, checkpoint, indexer, contentRestoreOption, indexingOption);
 			setPercentComplete(100);
 		}
 	}
@@ -209,268 +283,402 @@ public class RestoreJob extends CancellableJob {
 //	validate by updating bizLock and rolling back
 //	check commit points
 
-	private void restoreData(File backupDirectory,
+	/**
+	 * Restore the tables of a phase.
+	 * The tables in a phase don't depend on each other - foreign keys are only linked once all the rows are in -
+	 * so they are restored in parallel on UtilImpl.RESTORE_THREADS connections.
+	 */
+	private void restorePhase(final String phase,
+								final File backupDirectory,
 								Collection<Table> tables,
-								Connection connection,
-								boolean joinTables,
-								boolean extensionTables,
-								ContentOption contentRestoreOption,
-								IndexingOption indexingOption) 
+								final RestoreCheckpoint checkpoint,
+								final RestoreContentIndexer indexer,
+								final ContentOption contentRestoreOption,
+								final IndexingOption indexingOption)
 	throws Exception {
-		try (ContentManager cm = EXT.newContentManager()) {
-			for (Table table : tables) {
-				if (table instanceof JoinTable) {
-					if (! joinTables) {
-						continue;
-					}
+		List<Table> phaseTables = new ArrayList<>(tables.size());
+		for (Table table : tables) {
+			if (table instanceof JoinTable) {
+				if (JOIN_PHASE.equals(phase)) {
+					phaseTables.add(table);
 				}
-				else {
-					if (joinTables) {
-						continue;
-					}
-					if (BackupUtil.hasBizCustomer(table)) {
-						if (extensionTables) {
-							continue;
+			}
+			else if (FOREIGN_KEY_PHASE.equals(phase)) {
+				phaseTables.add(table);
+			}
+			else if (DATA_PHASE.equals(phase)) {
+				if (BackupUtil.hasBizCustomer(table)) {
+					phaseTables.add(table);
+				}
+			}
+			else if (EXTENSION_PHASE.equals(phase)) {
+				if (! BackupUtil.hasBizCustomer(table)) {
+					phaseTables.add(table);
+				}
+			}
+		}
+		if (phaseTables.isEmpty()) {
+			return;
+		}
+
+		ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, Math.min(UtilImpl.RESTORE_THREADS, phaseTables.size())));
+		boolean success = false;
+		try {
+			List<Future<?>> futures = new ArrayList<>(phaseTables.size());
+			for (final Table table : phaseTables) {
+				futures.add(pool.submit(new Callable<Void>() {
+					@Override
+					public Void call() throws Exception {
+						if (FOREIGN_KEY_PHASE.equals(phase)) {
+							restoreForeignKeys(backupDirectory, table, checkpoint);
 						}
-					}
-					else {
-						if (! extensionTables) {
-							continue;
+						else {
+							restoreData(phase, backupDirectory, table, checkpoint, indexer, contentRestoreOption, indexingOption);
 						}
+						return null;
 					}
-				}
-				Collection<String> log = getLog();
-				String trace = "    restore table " + table.name;
-				log.add(trace);
-				UtilImpl.LOGGER.info(trace);
-				File backupFile = new File(backupDirectory.getAbsolutePath() + File.separator + table.name + ".csv");
-				if (! backupFile.exists()) {
-					trace = "        ***** File " + backupFile.getAbsolutePath() + File.separator + table.name + ".csv does not exist";
-					log.add(trace);
-					System.err.println(trace);
-					continue;
-				}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+			success = true;
+		}
+		catch (ExecutionException e) {
+			Throwable t = e.getCause();
+			if (t instanceof Exception) {
+				throw (Exception) t;
+			}
+			throw e;
+		}
+		finally {
+			if (success) {
+				pool.shutdown();
+			}
+			else {
+				// stop the other tables in the phase
+				stopped = true;
+				pool.shutdownNow();
+			}
+		}
+	}
 
-				long rowCount = 0;
+	private void restoreData(String phase,
+								File backupDirectory,
+								Table table,
+								RestoreCheckpoint checkpoint,
+								RestoreContentIndexer indexer,
+								ContentOption contentRestoreOption,
+								IndexingOption indexingOption) 
+	throws Exception {
+		boolean joinTables = JOIN_PHASE.equals(phase);
+		Collection<String> log = getLog();
+		long committed = checkpoint.getCommitted(phase, table.name);
+		if (committed < 0) {
+			String trace = "    table " + table.name + " already restored";
+			log.add(trace);
+			UtilImpl.LOGGER.info(trace);
+			return;
+		}
+		String trace = "    restore table " + table.name + ((committed > 0) ? " from row " + (committed + 1) : "");
+		log.add(trace);
+		UtilImpl.LOGGER.info(trace);
+		File backupFile = new File(backupDirectory.getAbsolutePath() + File.separator + table.name + ".csv");
+		if (! backupFile.exists()) {
+			trace = "        ***** File " + backupFile.getAbsolutePath() + File.separator + table.name + ".csv does not exist";
+			log.add(trace);
+			System.err.println(trace);
+			return;
+		}
 
-				try (FileReader fr = new FileReader(backupFile)) {
-					try (CsvMapReader reader = new CsvMapReader(fr, CsvPreference.STANDARD_PREFERENCE)) {
-						String[] headers = reader.getHeader(true);
+		long rowCount = 0;
 
-						StringBuilder sql = new StringBuilder(128);
-						sql.append("insert into ").append(table.name).append(" (");
-						for (String header : headers) {
-							if (joinTables) {
+		// calendars are not thread-safe so each table has its own
+		Calendar gmt = Calendar.getInstance(TimeZone.getTimeZone("GMT"));
+		// content queued for this table that is yet to be put
+		AtomicInteger pendingContent = new AtomicInteger();
+		// content put for rows that are not committed yet - removed if the rows are rolled back
+		List<String> uncommittedContentIds = new ArrayList<>();
+		boolean complete = false;
+		try (Connection connection = EXT.getDataStoreConnection()) {
+			connection.setAutoCommit(false);
+
+			try (FileReader fr = new FileReader(backupFile)) {
+				try (CsvMapReader reader = new CsvMapReader(fr, CsvPreference.STANDARD_PREFERENCE)) {
+					String[] headers = reader.getHeader(true);
+
+					StringBuilder sql = new StringBuilder(128);
+					sql.append("insert into ").append(table.name).append(" (");
+					for (String header : headers) {
+						if (joinTables) {
+							sql.append(header).append(',');
+						}
+						else {
+							if (! header.endsWith("_id")) {
 								sql.append(header).append(',');
 							}
-							else {
-								if (! header.endsWith("_id")) {
-									sql.append(header).append(',');
-								}
-							}
 						}
-						sql.setLength(sql.length() - 1); // remove the last comma
-						sql.append(") values (");
-						for (String header : headers) {
-							if (joinTables) {
+					}
+					sql.setLength(sql.length() - 1); // remove the last comma
+					sql.append(") values (");
+					for (String header : headers) {
+						if (joinTables) {
+							sql.append("?,");
+						}
+						else {
+							if (! header.endsWith("_id")) {
 								sql.append("?,");
 							}
-							else {
-								if (! header.endsWith("_id")) {
-									sql.append("?,");
-								}
-							}
 						}
-						sql.setLength(sql.length() - 1); // remove the last comma
-						sql.append(')');
+					}
+					sql.setLength(sql.length() - 1); // remove the last comma
+					sql.append(')');
 
-						Map<String, String> values = null;
-						try (PreparedStatement statement = connection.prepareStatement(sql.toString())) {
-							while ((values = reader.read(headers)) != null) {
-								if (isCancelled()) {
-									return;
+					String[] keyColumns = keyColumns(table, headers);
+					// Rows are committed in file order so only check for existing rows until one is not there
+					boolean checkExisting = true;
+					Map<String, String> values = null;
+					try (PreparedStatement statement = connection.prepareStatement(sql.toString())) {
+						int batchCount = 0;
+						while ((values = reader.read(headers)) != null) {
+							if (isCancelled() || stopped) {
+								connection.rollback();
+								return;
+							}
+							rowCount++;
+							// skip the rows committed before the restore was interrupted
+							if (rowCount <= committed) {
+								continue;
+							}
+							// skip the rows committed after the last checkpoint was recorded
+							if (checkExisting) {
+								if (exists(connection, table, keyColumns, values)) {
+									committed = rowCount;
+									continue;
 								}
-								
-								statement.clearParameters();
+								checkExisting = false;
+							}
+							
+							statement.clearParameters();
 
-								int index = 1;
-								for (String header : headers) {
-									if ((! joinTables) && header.endsWith("_id")) {
-										continue;
-									}
-									String stringValue = values.get(header);
-									if ((stringValue == null) || (stringValue.length() == 0)) {
-										statement.setObject(index++, null);
-										continue;
-									}
+							int index = 1;
+							for (String header : headers) {
+								if ((! joinTables) && header.endsWith("_id")) {
+									continue;
+								}
+								String stringValue = values.get(header);
+								if ((stringValue == null) || (stringValue.length() == 0)) {
+									statement.setObject(index++, null);
+									continue;
+								}
 
-									AttributeType attributeType = table.fields.get(header);
+								AttributeType attributeType = table.fields.get(header);
 
-									// replace any 2 CR or LF combinations in the string with 1
-									// Super CSV place 2 ox0A into the string when it comes across a '\n'
-									// in a quoted string field value.
-									stringValue = stringValue.replaceAll("[\\n\\r]{2}", "\n");
+								// replace any 2 CR or LF combinations in the string with 1
+								// Super CSV place 2 ox0A into the string when it comes across a '\n'
+								// in a quoted string field value.
+								stringValue = stringValue.replaceAll("[\\n\\r]{2}", "\n");
 
-									// foreign keys
-									if (header.endsWith("_id")) {
-										statement.setString(index++, stringValue);
+								// foreign keys
+								if (header.endsWith("_id")) {
+									statement.setString(index++, stringValue);
+								}
+								else if (AttributeType.colour.equals(attributeType) ||
+											AttributeType.memo.equals(attributeType) ||
+											AttributeType.markup.equals(attributeType) ||
+											AttributeType.text.equals(attributeType) ||
+											AttributeType.enumeration.equals(attributeType) ||
+											AttributeType.id.equals(attributeType)) {
+									statement.setString(index++, stringValue);
+								}
+								else if (AttributeType.geometry.equals(attributeType)) {
+									Geometry geometry = new WKTReader().read(stringValue);
+									SkyveDialect dialect = AbstractHibernatePersistence.getDialect();
+									int geometrySqlType = dialect.getGeometrySqlType();
+									if (geometrySqlType == Types.ARRAY) {
+										statement.setBytes(index++, (byte[]) dialect.convertToPersistedValue(geometry));
 									}
-									else if (AttributeType.colour.equals(attributeType) ||
-												AttributeType.memo.equals(attributeType) ||
-												AttributeType.markup.equals(attributeType) ||
-												AttributeType.text.equals(attributeType) ||
-												AttributeType.enumeration.equals(attributeType) ||
-												AttributeType.id.equals(attributeType)) {
-										statement.setString(index++, stringValue);
+									else {
+										statement.setObject(index++, 
+																dialect.convertToPersistedValue(geometry), 
+																geometrySqlType);
 									}
-									else if (AttributeType.geometry.equals(attributeType)) {
-										Geometry geometry = new WKTReader().read(stringValue);
-										SkyveDialect dialect = AbstractHibernatePersistence.getDialect();
-										int geometrySqlType = dialect.getGeometrySqlType();
-										if (geometrySqlType == Types.ARRAY) {
-											statement.setBytes(index++, (byte[]) dialect.convertToPersistedValue(geometry));
-										}
-										else {
-											statement.setObject(index++, 
-																	dialect.convertToPersistedValue(geometry), 
-																	geometrySqlType);
+								}
+								else if (AttributeType.bool.equals(attributeType)) {
+									statement.setBoolean(index++, Boolean.parseBoolean(stringValue));
+								}
+								else if (AttributeType.date.equals(attributeType)) {
+									statement.setDate(index++, new Date(Long.parseLong(stringValue)), gmt);
+								}
+								else if (AttributeType.time.equals(attributeType)) {
+									statement.setTime(index++, new Time(Long.parseLong(stringValue)), gmt);
+								}
+								else if (AttributeType.dateTime.equals(attributeType) ||
+											AttributeType.timestamp.equals(attributeType)) {
+									statement.setTimestamp(index++, new Timestamp(Long.parseLong(stringValue)), gmt);
+								}
+								else if (AttributeType.decimal2.equals(attributeType) ||
+											AttributeType.decimal5.equals(attributeType) ||
+											AttributeType.decimal10.equals(attributeType)) {
+									statement.setBigDecimal(index++, new BigDecimal(stringValue));
+								}
+								else if (AttributeType.integer.equals(attributeType)) {
+									statement.setInt(index++, Integer.parseInt(stringValue));
+								}
+								else if (AttributeType.longInteger.equals(attributeType)) {
+									statement.setLong(index++, Long.parseLong(stringValue));
+								}
+								else if (AttributeType.content.equals(attributeType)) {
+									StringBuilder contentPath = new StringBuilder(128);
+									contentPath.append(backupDirectory.getAbsolutePath()).append('/');
+									contentPath.append(AbstractContentManager.FILE_STORE_NAME).append('/');
+							
+									AttachmentContent content = ElasticContentManager.getFromFileSystem(contentPath, stringValue);
+									if (content == null) {
+										trace = "        Could not find file associated with " + stringValue;
+										if (ContentOption.error.equals(contentRestoreOption)) {
+											log.add(trace);
+											Util.LOGGER.severe(trace);
+											throw new DomainException(trace);
 										}
-									}
-									else if (AttributeType.bool.equals(attributeType)) {
-										statement.setBoolean(index++, Boolean.parseBoolean(stringValue));
-									}
-									else if (AttributeType.date.equals(attributeType)) {
-										statement.setDate(index++, new Date(Long.parseLong(stringValue)), BackupUtil.GMT);
-									}
-									else if (AttributeType.time.equals(attributeType)) {
-										statement.setTime(index++, new Time(Long.parseLong(stringValue)), BackupUtil.GMT);
-									}
-									else if (AttributeType.dateTime.equals(attributeType) ||
-												AttributeType.timestamp.equals(attributeType)) {
-										statement.setTimestamp(index++, new Timestamp(Long.parseLong(stringValue)), BackupUtil.GMT);
-									}
-									else if (AttributeType.decimal2.equals(attributeType) ||
-												AttributeType.decimal5.equals(attributeType) ||
-												AttributeType.decimal10.equals(attributeType)) {
-										statement.setBigDecimal(index++, new BigDecimal(stringValue));
-									}
-									else if (AttributeType.integer.equals(attributeType)) {
-										statement.setInt(index++, Integer.parseInt(stringValue));
-									}
-									else if (AttributeType.longInteger.equals(attributeType)) {
-										statement.setLong(index++, Long.parseLong(stringValue));
-									}
-									else if (AttributeType.content.equals(attributeType)) {
-										StringBuilder contentPath = new StringBuilder(128);
-										contentPath.append(backupDirectory.getAbsolutePath()).append('/');
-										contentPath.append(AbstractContentManager.FILE_STORE_NAME).append('/');
-								
-										AttachmentContent content = ElasticContentManager.getFromFileSystem(contentPath, stringValue);
-										if (content == null) {
-											trace = "        Could not find file associated with " + stringValue;
-											if (ContentOption.error.equals(contentRestoreOption)) {
-												log.add(trace);
-												Util.LOGGER.severe(trace);
-												throw new DomainException(trace);
-											}
-											else if (ContentOption.clearOrphanedContentIds.equals(contentRestoreOption)) {
-												trace += " : Setting content to null";
-												log.add(trace);
-												Util.LOGGER.info(trace);
-												statement.setString(index++, null);
-											}
-											else {
-												trace += " : Setting content ID regardless";
-												log.add(trace);
-												Util.LOGGER.info(trace);
-												statement.setString(index++, stringValue);
-											}
+										else if (ContentOption.clearOrphanedContentIds.equals(contentRestoreOption)) {
+											trace += " : Setting content to null";
+											log.add(trace);
+											Util.LOGGER.info(trace);
+											statement.setString(index++, null);
 										}
 										else {
-											IndexType indexType = table.indexes.get(header);
-											boolean textIndex = (indexType == null) ||
-																	IndexType.textual.equals(indexType) ||
-																	IndexType.both.equals(indexType);
-											if (textIndex) {
-												textIndex = IndexingOption.both.equals(indexingOption) ||
-																IndexingOption.content.equals(indexingOption);
-											}
-											cm.put(content, textIndex);
-											statement.setString(index++, content.getContentId());
+											trace += " : Setting content ID regardless";
+											log.add(trace);
+											Util.LOGGER.info(trace);
+											statement.setString(index++, stringValue);
 										}
 									}
 									else {
-										throw new IllegalStateException("No value set for " + header);
+										IndexType indexType = table.indexes.get(header);
+										boolean textIndex = (indexType == null) ||
+																IndexType.textual.equals(indexType) ||
+																IndexType.both.equals(indexType);
+										if (textIndex) {
+											textIndex = IndexingOption.both.equals(indexingOption) ||
+															IndexingOption.content.equals(indexingOption);
+										}
+										indexer.put(content, textIndex, pendingContent);
+										uncommittedContentIds.add(content.getContentId());
+										statement.setString(index++, content.getContentId());
 									}
-								} // for (each header)
+								}
+								else {
+									throw new IllegalStateException("No value set for " + header);
+								}
+							} // for (each header)
 
-								statement.executeUpdate();
-								rowCount++;
-							} // while (each CSV line)
+							statement.addBatch();
+							batchCount++;
+							if (batchCount >= UtilImpl.RESTORE_BATCH_SIZE) {
+								statement.executeBatch();
+								batchCount = 0;
+							}
+							if ((rowCount - committed) >= UtilImpl.RESTORE_COMMIT_INTERVAL) {
+								if (batchCount > 0) {
+									statement.executeBatch();
+									batchCount = 0;
+								}
+								commit(connection, phase, table, rowCount, checkpoint, indexer, pendingContent, uncommittedContentIds);
+								committed = rowCount;
+							}
+						} // while (each CSV line)
 
-							connection.commit();
+						if (batchCount > 0) {
+							statement.executeBatch();
 						}
-						catch (Throwable t) {
-							trace = t.getLocalizedMessage();
-							log.add(trace);
-							Util.LOGGER.severe(trace);
-							trace = "AT LINE " + rowCount + " OF " + backupFile.getAbsolutePath();
-							log.add(trace);
-							Util.LOGGER.severe(trace);
-							trace = "CAUSED BY:- " + sql.toString();
-							log.add(trace);
-							Util.LOGGER.severe(trace);
-							
-							
-							StringBuilder sb = new StringBuilder(512);
-							sb.append("VALUES  :- ");
-							if (values == null) {
-								sb.append("NONE");
+						commit(connection, phase, table, rowCount, checkpoint, indexer, pendingContent, uncommittedContentIds);
+						checkpoint.done(phase, table.name);
+						complete = true;
+					}
+					catch (Throwable t) {
+						trace = t.getLocalizedMessage();
+						log.add(trace);
+						Util.LOGGER.severe(trace);
+						if (t instanceof BatchUpdateException) {
+							SQLException next = ((BatchUpdateException) t).getNextException();
+							if (next != null) {
+								trace = next.getLocalizedMessage();
+								log.add(trace);
+								Util.LOGGER.severe(trace);
 							}
-							else {
-								for (String header : values.keySet()) {
-									sb.append(header).append('=').append(values.get(header)).append(',');
-								}
-								sb.setLength(sb.length() - 1); // remove last comma
+						}
+						trace = "IN THE BATCH ENDING AT LINE " + rowCount + " OF " + backupFile.getAbsolutePath();
+						log.add(trace);
+						Util.LOGGER.severe(trace);
+						trace = "CAUSED BY:- " + sql.toString();
+						log.add(trace);
+						Util.LOGGER.severe(trace);
+						
+						
+						StringBuilder sb = new StringBuilder(512);
+						sb.append("VALUES  :- ");
+						if (values == null) {
+							sb.append("NONE");
+						}
+						else {
+							for (String header : values.keySet()) {
+								sb.append(header).append('=').append(values.get(header)).append(',');
 							}
-							trace = sb.toString();
-							log.add(trace);
-							Util.LOGGER.severe(trace);
-							
-							throw t;
+							sb.setLength(sb.length() - 1); // remove last comma
+						}
+						trace = sb.toString();
+						log.add(trace);
+						Util.LOGGER.severe(trace);
+						
+						try {
+							connection.rollback();
+						}
+						catch (SQLException e) {
+							Util.LOGGER.warning("Could not roll back " + table.name + " - " + e.getLocalizedMessage());
 						}
+						throw t;
 					}
 				}
-				trace = "    restored table " + table.name + " with " + rowCount + " rows.";
-				log.add(trace);
-				UtilImpl.LOGGER.info(trace);
-			} // for (each table)
+			}
 		}
+		finally {
+			if (! complete) {
+				removeUncommittedContent(table, indexer, pendingContent, uncommittedContentIds);
+			}
+		}
+		trace = "    restored table " + table.name + " with " + rowCount + " rows.";
+		log.add(trace);
+		UtilImpl.LOGGER.info(trace);
 	}
 
 	private void restoreForeignKeys(File backupDirectory, 
-										Collection<Table> tables, 
-										Connection connection)
+										Table table,
+										RestoreCheckpoint checkpoint)
 	throws Exception {
 		Collection<String> log = getLog();
-		String trace;
-		
-		for (Table table : tables) {
-			if (table instanceof JoinTable) {
-				continue;
-			}
-			trace = "    restore foreign keys for table " + table.name;
+		long committed = checkpoint.getCommitted(FOREIGN_KEY_PHASE, table.name);
+		if (committed < 0) {
+			String trace = "    foreign keys for table " + table.name + " already restored";
 			log.add(trace);
 			Util.LOGGER.info(trace);
-			File backupFile = new File(backupDirectory.getAbsolutePath() + File.separator + table.name + ".csv");
-			if (! backupFile.exists()) {
-				trace = "        ***** File " + backupFile.getAbsolutePath() + File.separator + " does not exist";
-				log.add(trace);
-				System.err.println(trace);
-				continue;
-			}
-			
-			long rowCount = 0;
+			return;
+		}
+		String trace = "    restore foreign keys for table " + table.name + ((committed > 0) ? " from row " + (committed + 1) : "");
+		log.add(trace);
+		Util.LOGGER.info(trace);
+		File backupFile = new File(backupDirectory.getAbsolutePath() + File.separator + table.name + ".csv");
+		if (! backupFile.exists()) {
+			trace = "        ***** File " + backupFile.getAbsolutePath() + File.separator + " does not exist";
+			log.add(trace);
+			System.err.println(trace);
+			return;
+		}
+		
+		long rowCount = 0;
+
+		try (Connection connection = EXT.getDataStoreConnection()) {
+			connection.setAutoCommit(false);
 
 			try (FileReader fr = new FileReader(backupFile)) {
 				try (CsvMapReader reader = new CsvMapReader(fr, CsvPreference.STANDARD_PREFERENCE)) {
@@ -496,11 +704,17 @@ public class RestoreJob extends CancellableJob {
 						sql.append(" where bizId = ?");
 						
 						try (PreparedStatement statement = connection.prepareStatement(sql.toString())) {
+							int batchCount = 0;
 							Map<String, String> values = null;
 							while ((values = reader.read(headers)) != null) {
-								if (isCancelled()) {
+								if (isCancelled() || stopped) {
 									return;
 								}
+								rowCount++;
+								// skip the rows committed before the restore was interrupted
+								if (rowCount <= committed) {
+									continue;
+								}
 								
 								statement.clearParameters();
 
@@ -521,18 +735,132 @@ public class RestoreJob extends CancellableJob {
 
 								// set the ID for the where clause
 								statement.setString(i, values.get(Bean.DOCUMENT_ID));
-								statement.executeUpdate();
-								rowCount++;
+								statement.addBatch();
+								batchCount++;
+								if (batchCount >= UtilImpl.RESTORE_BATCH_SIZE) {
+									statement.executeBatch();
+									batchCount = 0;
+								}
+								if ((rowCount - committed) >= UtilImpl.RESTORE_COMMIT_INTERVAL) {
+									if (batchCount > 0) {
+										statement.executeBatch();
+										batchCount = 0;
+									}
+									connection.commit();
+									checkpoint.committed(FOREIGN_KEY_PHASE, table.name, rowCount);
+									committed = rowCount;
+								}
 							} // while (each CSV line)
 
+							if (batchCount > 0) {
+								statement.executeBatch();
+							}
 							connection.commit();
 						}
 					}
+					checkpoint.done(FOREIGN_KEY_PHASE, table.name);
 				}
 			}
-			trace = "    restored foreign keys for table " + table.name + " with " + rowCount + " rows.";
-			log.add(trace);
-			UtilImpl.LOGGER.info(trace);
-		} // for (each table)
+		}
+		trace = "    restored foreign keys for table " + table.name + " with " + rowCount + " rows.";
+		log.add(trace);
+		UtilImpl.LOGGER.info(trace);
+	}
+
+	/**
+	 * Commit the rows restored so far once their content has been put and record the checkpoint.
+	 * If the restore stops after the commit but before the checkpoint is recorded, 
+	 * the rows already in the table are skipped when the restore is resumed.
+	 */
+	private static void commit(Connection connection,
+								String phase,
+								Table table,
+								long rowCount,
+								RestoreCheckpoint checkpoint,
+								RestoreContentIndexer indexer,
+								AtomicInteger pendingContent,
+								List<String> uncommittedContentIds)
+	throws Exception {
+		indexer.await(pendingContent);
+		connection.commit();
+		uncommittedContentIds.clear();
+		checkpoint.committed(phase, table.name, rowCount);
+	}
+
+	/**
+	 * The columns that identify a row - bizId or the owner, element and ordinal of a join table row.
+	 */
+	private static String[] keyColumns(Table table, String[] headers) {
+		if (! (table instanceof JoinTable)) {
+			return new String[] {Bean.DOCUMENT_ID};
+		}
+		List<String> result = new ArrayList<>(3);
+		for (String header : headers) {
+			if (PersistentBean.OWNER_COLUMN_NAME.equalsIgnoreCase(header) ||
+					PersistentBean.ELEMENT_COLUMN_NAME.equalsIgnoreCase(header) ||
+					Bean.ORDINAL_NAME.equalsIgnoreCase(header)) {
+				result.add(header);
+			}
+		}
+		return result.toArray(new String[result.size()]);
+	}
+
+	/**
+	 * Is the row from the backup already in the table.
+	 */
+	private static boolean exists(Connection connection, Table table, String[] keyColumns, Map<String, String> values)
+	throws SQLException {
+		StringBuilder sql = new StringBuilder(128);
+		sql.append("select 1 from ").append(table.name).append(" where ");
+		List<String> parameters = new ArrayList<>(keyColumns.length);
+		for (int i = 0; i < keyColumns.length; i++) {
+			String keyColumn = keyColumns[i];
+			String value = values.get(keyColumn);
+			if (i > 0) {
+				sql.append(" and ");
+			}
+			if ((value == null) || value.isEmpty()) {
+				sql.append(keyColumn).append(" is null");
+			}
+			else {
+				sql.append(keyColumn).append(" = ?");
+				parameters.add(value);
+			}
+		}
+		try (PreparedStatement statement = connection.prepareStatement(sql.toString())) {
+			for (int i = 0, l = parameters.size(); i < l; i++) {
+				statement.setString(i + 1, parameters.get(i));
+			}
+			try (ResultSet rs = statement.executeQuery()) {
+				return rs.next();
+			}
+		}
+	}
+
+	/**
+	 * Remove the content put for rows that were rolled back so it is not left orphaned.
+	 */
+	private static void removeUncommittedContent(Table table,
+													RestoreContentIndexer indexer,
+													AtomicInteger pendingContent,
+													List<String> uncommittedContentIds) {
+		if (uncommittedContentIds.isEmpty()) {
+			return;
+		}
+		try {
+			indexer.await(pendingContent);
+		}
+		catch (Exception e) {
+			// the content threads have stopped so remove what was put
+			UtilImpl.LOGGER.warning("Content for " + table.name + " was not all put - " + e.getLocalizedMessage());
+		}
+		try (ContentManager cm = EXT.newContentManager()) {
+			for (String contentId : uncommittedContentIds) {
+				cm.remove(contentId);
+			}
+		}
+		catch (Exception e) {
+			UtilImpl.LOGGER.warning("Could not remove the content for the rolled back rows of " + table.name + " - " + e.getLocalizedMessage());
+		}
 	}
 }
@@ -15,7 +15,8 @@ public interface RestoreOptions {
 		dropUsingBackupAndCreateUsingMetadata,
 		createUsingBackup,
 		createUsingMetadata,
-		deleteData;
+		deleteData,
+		resume;
 	}
 	
 	public static enum IndexingOption {
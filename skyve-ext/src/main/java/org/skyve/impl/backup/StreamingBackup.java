@@ -0,0 +1,490 @@
+package org.skyve.impl.backup;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.hibernate.engine.spi.SessionImplementor;
+import org.skyve.EXT;
+import org.skyve.content.AttachmentContent;
+import org.skyve.content.ContentManager;
+import org.skyve.domain.Bean;
+import org.skyve.impl.content.AbstractContentManager;
+import org.skyve.impl.content.elastic.ElasticContentManager;
+import org.skyve.impl.persistence.AbstractPersistence;
+import org.skyve.impl.persistence.hibernate.AbstractHibernatePersistence;
+import org.skyve.impl.util.UtilImpl;
+import org.skyve.metadata.model.Attribute.AttributeType;
+import org.skyve.metadata.user.User;
+import org.supercsv.io.CsvMapWriter;
+import org.supercsv.prefs.CsvPreference;
+
+/**
+ * Backs up tables and their content straight into the entries of the backup zip.
+ * <p/>
+ * Tables are dumped in parallel by UtilImpl.BACKUP_THREADS workers, each streaming rows from its own
+ * read-only connection with a large fetch size. A worker writes its table's CSV and then the table's content files
+ * as chunks into a small bounded queue. The job thread copies each table's chunks into the zip in turn, taking
+ * whichever table is ready first. Nothing is written to disk twice and a worker can only get a few chunks ahead of the zip.
+ * <p/>
+ * Each worker reads geometries with the hibernate session of its own persistence as sessions are not thread-safe.
+ * Content referenced by more than one row is only written to the zip once.
+ * <p/>
+ * The zip has the same entries as a backup folder zipped by {@link org.skyve.util.FileUtil#createZipArchive(File, File)}.
+ */
+final class StreamingBackup {
+	private static final int CHUNK_SIZE = 64 * 1024;
+	private static final int QUEUED_CHUNKS_PER_TABLE = 16;
+	private static final long POLL_MILLIS = 500L;
+
+	/**
+	 * Some bytes for the zip, optionally starting a new zip entry.
+	 */
+	private static final class Chunk {
+		private final String entryName;
+		private final byte[] bytes;
+		private final int length;
+
+		private Chunk(String entryName, byte[] bytes, int length) {
+			this.entryName = entryName;
+			this.bytes = bytes;
+			this.length = length;
+		}
+	}
+
+	/**
+	 * Marks the end of a table's chunks.
+	 */
+	private static final Chunk END = new Chunk(null, new byte[0], 0);
+
+	private final BackupJob job;
+	private final String customerName;
+	private final User user;
+
+	// tables that have started queueing chunks in the order they started
+	private final BlockingQueue<TableDump> ready = new LinkedBlockingQueue<>();
+	private final List<String> problems = Collections.synchronizedList(new ArrayList<String>());
+	// content IDs already written to the zip by any worker
+	private final Set<String> contentIds = ConcurrentHashMap.newKeySet();
+	private volatile boolean problem = false;
+	// set when the zip is no longer being written so workers stop
+	private volatile boolean stopped = false;
+
+	StreamingBackup(BackupJob job, String customerName, User user) {
+		this.job = job;
+		this.customerName = customerName;
+		this.user = user;
+	}
+
+	/**
+	 * Dump the tables and their content into the zip.
+	 * Returns early if the job is cancelled.
+	 *
+	 * @param tables	The tables to back up.
+	 * @param zos	The zip to write to.
+	 */
+	void backup(Collection<Table> tables, ZipOutputStream zos) throws Exception {
+		int total = tables.size();
+		if (total == 0) {
+			return;
+		}
+
+		ExecutorService workers = Executors.newFixedThreadPool(Math.min(UtilImpl.BACKUP_THREADS, total));
+		try {
+			for (Table table : tables) {
+				workers.execute(new TableDump(table));
+			}
+
+			int done = 0;
+			while ((done < total) && (! job.isCancelled())) {
+				TableDump dump = ready.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+				if ((dump != null) && copy(dump, zos)) {
+					done++;
+					String trace = "Backed up " + dump.table.name + " - " + dump.rows + " rows";
+					job.getLog().add(trace);
+					UtilImpl.LOGGER.info(trace);
+					job.setPercentComplete(done * 99 / total);
+				}
+			}
+		}
+		finally {
+			stopped = true;
+			workers.shutdownNow();
+		}
+	}
+
+	/**
+	 * @return	true if a problem was encountered with the data.
+	 */
+	boolean isProblem() {
+		return problem;
+	}
+
+	/**
+	 * Record a problem to be written to problems.txt.
+	 */
+	void problem(String line) {
+		problem = true;
+		problems.add(line);
+	}
+
+	/**
+	 * The lines to write to problems.txt.
+	 */
+	List<String> getProblems() {
+		synchronized (problems) {
+			return new ArrayList<>(problems);
+		}
+	}
+
+	/**
+	 * Copy a table's chunks into the zip.
+	 *
+	 * @return	true if the table was copied or false if the job was cancelled.
+	 */
+	private boolean copy(TableDump dump, ZipOutputStream zos) throws Exception {
+		boolean entryOpen = false;
+		while (true) {
+			Chunk chunk = dump.queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+			if (chunk == null) {
+				if (job.isCancelled()) {
+					return false;
+				}
+			}
+			else if (chunk == END) {
+				break;
+			}
+			else {
+				if (chunk.entryName != null) {
+					if (entryOpen) {
+						zos.closeEntry();
+					}
+					if (UtilImpl.COMMAND_TRACE) UtilImpl.LOGGER.info(String.format("Writing '%s' to zip file", chunk.entryName));
+					zos.putNextEntry(new ZipEntry(chunk.entryName));
+					entryOpen = true;
+				}
+				zos.write(chunk.bytes, 0, chunk.length);
+			}
+		}
+		if (entryOpen) {
+			zos.closeEntry();
+		}
+
+		if (dump.failure != null) {
+			throw dump.failure;
+		}
+		return true;
+	}
+
+	/**
+	 * Dumps a table as CSV and then its content into a queue of chunks.
+	 */
+	private final class TableDump extends OutputStream implements Runnable {
+		private final Table table;
+		private final BlockingQueue<Chunk> queue = new ArrayBlockingQueue<>(QUEUED_CHUNKS_PER_TABLE);
+		private volatile Exception failure;
+		private volatile long rows = 0;
+
+		private boolean started = false;
+		private String entryName;
+		private byte[] buffer = new byte[CHUNK_SIZE];
+		private int length = 0;
+
+		private TableDump(Table table) {
+			this.table = table;
+		}
+
+		@Override
+		public void run() {
+			try {
+				String trace = "Backup " + table.name;
+				job.getLog().add(trace);
+				UtilImpl.LOGGER.info(trace);
+
+				List<String[]> contentReferences = dumpTable();
+				if (contentReferences != null) {
+					dumpContent(contentReferences);
+					emit();
+				}
+			}
+			catch (Exception e) {
+				failure = e;
+			}
+			finally {
+				try {
+					put(END);
+				}
+				catch (@SuppressWarnings("unused") IOException e) {
+					// the zip is no longer being written
+				}
+			}
+		}
+
+		/**
+		 * Write the table CSV.
+		 *
+		 * @return	The content references in the table as {bizId, attribute name, content ID},
+		 * 			or null if the backup was stopped.
+		 */
+		private List<String[]> dumpTable() throws Exception {
+			List<String[]> result = new ArrayList<>();
+			StringBuilder sql = new StringBuilder(128);
+			sql.append("select * from ").append(table.name);
+			BackupUtil.secureSQL(sql, table, customerName);
+
+			// calendars and hibernate sessions are not thread-safe so each worker has its own
+			Calendar gmt = Calendar.getInstance(TimeZone.getTimeZone("GMT"));
+			AbstractPersistence persistence = AbstractPersistence.get();
+			persistence.setUser(user);
+			try (Connection connection = EXT.getDataStoreConnection()) {
+				@SuppressWarnings("resource")
+				SessionImplementor sessionImpl = (persistence instanceof AbstractHibernatePersistence) ?
+													(SessionImplementor) ((AbstractHibernatePersistence) persistence).getSession() :
+													null;
+				boolean readOnly = connection.isReadOnly();
+				boolean autoCommit = connection.getAutoCommit();
+				connection.setReadOnly(true);
+				// some drivers (eg postgres) only honour the fetch size within a transaction
+				connection.setAutoCommit(false);
+				try (Statement statement = connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+					statement.setFetchSize(UtilImpl.BACKUP_FETCH_SIZE);
+					try (ResultSet resultSet = statement.executeQuery(sql.toString())) {
+						startEntry(table.name + ".csv");
+						try (CsvMapWriter writer = new CsvMapWriter(new OutputStreamWriter(this), CsvPreference.STANDARD_PREFERENCE)) {
+							Map<String, Object> values = new TreeMap<>();
+							String[] headers = new String[table.fields.size()];
+							headers = table.fields.keySet().toArray(headers);
+
+							writer.writeHeader(headers);
+
+							while (resultSet.next()) {
+								if (stopped || job.isCancelled()) {
+									return null;
+								}
+								values.clear();
+
+								for (String name : table.fields.keySet()) {
+									AttributeType attributeType = table.fields.get(name);
+									Object value = BackupJob.readValue(resultSet, table, name, attributeType, values, sessionImpl, gmt);
+									if (AttributeType.content.equals(attributeType) && (! "".equals(value))) {
+										result.add(new String[] {String.valueOf(values.get(Bean.DOCUMENT_ID)), name, (String) value});
+									}
+									values.put(name, value);
+								}
+
+								writer.write(values, headers);
+								rows++;
+							}
+						}
+					}
+				}
+				// log the offending SQL statement
+				catch (SQLException e) {
+					String trace = "Failed SQL : " + sql.toString();
+					problem(trace);
+					job.getLog().add(trace);
+					UtilImpl.LOGGER.severe(trace);
+					throw e;
+				}
+				finally {
+					// put the connection back the way it was for whoever uses it next
+					connection.rollback();
+					connection.setAutoCommit(autoCommit);
+					connection.setReadOnly(readOnly);
+				}
+			}
+			finally {
+				persistence.commit(true);
+			}
+
+			return result;
+		}
+
+		/**
+		 * Write the content files referenced by the table in the content store layout.
+		 */
+		private void dumpContent(List<String[]> contentReferences) throws Exception {
+			if (contentReferences.isEmpty()) {
+				return;
+			}
+
+			try (ContentManager cm = EXT.newContentManager()) {
+				StringBuilder path = new StringBuilder(128);
+				for (String[] contentReference : contentReferences) {
+					if (stopped || job.isCancelled()) {
+						return;
+					}
+
+					String bizId = contentReference[0];
+					String attributeName = contentReference[1];
+					String contentId = contentReference[2];
+					// a zip can't have duplicate entries so only write content referenced by more than one row once
+					if (! contentIds.add(contentId)) {
+						continue;
+					}
+					try {
+						AttachmentContent content = cm.get(contentId);
+						if (content == null) {
+							StringBuilder line = new StringBuilder(256);
+							line.append(String.format("Table [%s] with [%s] = %s is missing content for attribute [%s] = %s",
+														table.name,
+														Bean.DOCUMENT_ID,
+														bizId,
+														attributeName,
+														contentId));
+							// See if the content file exists
+							final File contentDirectory = Paths.get(UtilImpl.CONTENT_DIRECTORY, AbstractContentManager.FILE_STORE_NAME).toFile();
+							final StringBuilder contentAbsolutePath = new StringBuilder(contentDirectory.getAbsolutePath()).append(File.separator);
+							AbstractContentManager.appendBalancedFolderPathFromContentId(contentId, contentAbsolutePath, false);
+							final File contentFile = Paths.get(contentAbsolutePath.toString()).toFile();
+							if (contentFile.exists()) {
+								line.append(" but the matching file was found for this missing content at ");
+								line.append(contentFile.getAbsolutePath());
+							}
+							problem(line.toString());
+						}
+						else {
+							path.setLength(0);
+							path.append(AbstractContentManager.FILE_STORE_NAME).append('/');
+							AbstractContentManager.appendBalancedFolderPathFromContentId(contentId, path, false);
+							int folderLength = path.length();
+
+							path.append(ElasticContentManager.CONTENT);
+							startEntry(path.toString());
+							try (InputStream is = content.getContentStream()) {
+								int read = 0;
+								while ((read = is.read(buffer, length, buffer.length - length)) >= 0) {
+									length += read;
+									if (length == buffer.length) {
+										emit();
+									}
+								}
+							}
+
+							path.setLength(folderLength);
+							path.append(ElasticContentManager.META_JSON);
+							startEntry(path.toString());
+							write(ElasticContentManager.marshallMeta(content).getBytes(StandardCharsets.UTF_8));
+						}
+					}
+					catch (@SuppressWarnings("unused") FileNotFoundException e) {
+						problem(String.format("Table [%s] with [%s] = %s is missing a file in the content store for attribute [%s] = %s",
+														table.name,
+														Bean.DOCUMENT_ID,
+														bizId,
+														attributeName,
+														contentId));
+					}
+				}
+			}
+		}
+
+		/**
+		 * Start a new zip entry - any bytes written so far belong to the previous entry.
+		 */
+		private void startEntry(String name) throws IOException {
+			emit();
+			entryName = name;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			buffer[length++] = (byte) b;
+			if (length == buffer.length) {
+				emit();
+			}
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			int offset = off;
+			int remaining = len;
+			while (remaining > 0) {
+				int count = Math.min(remaining, buffer.length - length);
+				System.arraycopy(b, offset, buffer, length, count);
+				length += count;
+				offset += count;
+				remaining -= count;
+				if (length == buffer.length) {
+					emit();
+				}
+			}
+		}
+
+		/**
+		 * Don't queue partial chunks when the CSV writer flushes.
+		 */
+		@Override
+		public void flush() {
+			// nothing to see here
+		}
+
+		/**
+		 * The CSV writer closes this when the table is written but the content is still to come.
+		 */
+		@Override
+		public void close() {
+			// nothing to see here
+		}
+
+		/**
+		 * Queue the buffered bytes as a chunk.
+		 */
+		private void emit() throws IOException {
+			if ((length > 0) || (entryName != null)) {
+				put(new Chunk(entryName, buffer, length));
+				buffer = new byte[CHUNK_SIZE];
+				length = 0;
+				entryName = null;
+			}
+		}
+
+		private void put(Chunk chunk) throws IOException {
+			if (! started) {
+				started = true;
+				ready.add(this);
+			}
+			try {
+				while (! queue.offer(chunk, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+					if (stopped || job.isCancelled()) {
+						throw new InterruptedIOException("Backup of " + table.name + " stopped");
+					}
+				}
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				InterruptedIOException ioe = new InterruptedIOException("Backup of " + table.name + " interrupted");
+				ioe.initCause(e);
+				throw ioe;
+			}
+		}
+	}
+}
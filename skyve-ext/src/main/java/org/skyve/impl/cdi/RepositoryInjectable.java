@@ -7,6 +7,7 @@ import javax.enterprise.inject.Alternative;
 
 import org.skyve.CORE;
 import org.skyve.domain.Bean;
+import org.skyve.impl.jasperreports.ReportCache;
 import org.skyve.impl.metadata.repository.router.Router;
 import org.skyve.metadata.controller.BizExportAction;
 import org.skyve.metadata.controller.BizImportAction;
@@ -35,6 +36,7 @@ public class RepositoryInjectable implements Repository, Serializable {
 	@Override
 	public void evictCachedMetaData(Customer customer) {
 		CORE.getRepository().evictCachedMetaData(customer);
+		ReportCache.clear();
 	}
 
 	@Override
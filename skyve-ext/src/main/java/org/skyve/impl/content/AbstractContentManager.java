@@ -1,6 +1,14 @@
 package org.skyve.impl.content;
 
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
 import org.skyve.content.AttachmentContent;
+import org.skyve.content.BeanContent;
+import org.skyve.content.ContentIterable;
+import org.skyve.content.SearchResult;
+import org.skyve.content.SearchResults;
 import org.skyve.content.ContentManager;
 import org.skyve.domain.messages.DomainException;
 import org.skyve.impl.metadata.user.SuperUser;
@@ -33,6 +41,71 @@ public abstract class AbstractContentManager implements ContentManager {
 	throws Exception {
 		put(attachment, true);
 	}
+
+	/**
+	 * Index and remove a batch of bean content.
+	 * Implementations should override this to send the batch in as few requests as possible.
+	 * 
+	 * @param puts	The bean content to index.
+	 * @param removes	The bean content to remove from the index.
+	 * @throws Exception	If any part of the batch could not be applied.
+	 */
+	public void apply(List<BeanContent> puts, List<BeanContent> removes)
+	throws Exception {
+		for (BeanContent content : puts) {
+			put(content);
+		}
+		for (BeanContent content : removes) {
+			remove(content);
+		}
+	}
+	
+	/**
+	 * Implementations that stamp bean content with the time it was indexed should override this
+	 * and {@link #canTruncateBeansIndexedBefore()}.
+	 */
+	@Override
+	public void truncateBeans(String customerName, Date indexedBefore)
+	throws Exception {
+		throw new UnsupportedOperationException(getClass().getSimpleName() + " can not remove bean content by the time it was indexed");
+	}
+
+	/**
+	 * Can this content manager {@link #truncateBeans(String, Date)}?
+	 * Callers should check this before doing work that relies on it.
+	 */
+	@SuppressWarnings("static-method")
+	public boolean canTruncateBeansIndexedBefore() {
+		return false;
+	}
+
+	/**
+	 * Implementations that can iterate their content in a stable order should override this.
+	 * Otherwise only a complete iteration is possible.
+	 */
+	@Override
+	public ContentIterable all(String afterKey)
+	throws Exception {
+		if (afterKey == null) {
+			return all();
+		}
+		throw new UnsupportedOperationException(getClass().getSimpleName() + " can not resume iterating its content");
+	}
+
+	/**
+	 * Page the results of {@link #google(String, int)}.
+	 * Implementations should override this to page in the search engine.
+	 * The total is the number of results found up to the end of the page.
+	 */
+	@Override
+	public SearchResults google(String search, int start, int maxResults)
+	throws Exception {
+		SearchResults result = google(search, start + maxResults);
+		List<SearchResult> results = result.getResults();
+		result.setTotalResults(results.size());
+		result.setResults(new ArrayList<>(results.subList(Math.min(start, results.size()), results.size())));
+		return result;
+	}
 	
 	/**
 	 * Append a balanced folder structure for storing a content file based on it's content ID.
@@ -0,0 +1,297 @@
+package org.skyve.impl.content;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongUnaryOperator;
+
+import org.hibernate.LockMode;
+import org.hibernate.LockOptions;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.pagination.LimitHandler;
+import org.hibernate.engine.spi.RowSelection;
+import org.skyve.content.BeanContent;
+import org.skyve.domain.Bean;
+import org.skyve.domain.PersistentBean;
+import org.skyve.domain.types.OptimisticLock;
+import org.skyve.impl.metadata.repository.AbstractRepository;
+import org.skyve.impl.persistence.hibernate.AbstractHibernatePersistence;
+import org.skyve.impl.util.UtilImpl;
+import org.skyve.metadata.user.User;
+import org.skyve.util.JSON;
+
+/**
+ * A transactional outbox of bean content changes.
+ * <p/>
+ * Instead of calling the content manager during flush, persistence collects the bean content changes
+ * made in a transaction and writes them to admin.ContentOutbox with the same connection just before commit.
+ * The changes are then only durable if the transaction commits.
+ * The {@link org.skyve.impl.job.ContentOutboxJob} drains the outbox and applies the changes
+ * to the content manager in batches, deleting the rows once they are applied.
+ * Changes are applied at least once - a failed batch is left in the outbox and retried.
+ * <p/>
+ * Only the order of changes to the same bean matters, as changes to different beans are independent.
+ * The database row lock serialises transactions that change the same bean, so its bizVersion
+ * increases in commit order, whichever node made the change.
+ * Each change is stamped with the bean's bizVersion, and a remove is stamped after any put as the bean is gone.
+ * <p/>
+ * Each row is also stamped with an insert sequence - the time it was written made unique in this JVM.
+ * Drainers claim the oldest batch of rows by insert sequence with a limited query, so only that batch is locked
+ * and every bean's changes are reached in turn however large the outbox is.
+ * The insert sequence is only roughly ordered across nodes, so it is not relied on for the order of a bean's changes.
+ * Instead, the latest version of each bean in a batch is applied and any older changes to the bean still in the
+ * outbox are deleted with the batch, so an older change can never be applied after a newer one.
+ */
+public final class BeanContentOutbox {
+	private static final String MODULE_NAME = "admin";
+	private static final String DOCUMENT_NAME = "ContentOutbox";
+
+	private static final String CONTENT_MODULE_NAME = "contentModuleName";
+	private static final String CONTENT_DOCUMENT_NAME = "contentDocumentName";
+	private static final String CONTENT_BIZ_ID = "contentBizId";
+	private static final String REMOVE_CONTENT = "removeContent";
+	private static final String SEQUENCE_NUMBER = "sequenceNumber";
+	private static final String INSERT_SEQUENCE = "insertSequence";
+	private static final String PROPERTIES = "properties";
+
+	/**
+	 * The sequence number of a remove - after any put of the same bean.
+	 */
+	private static final long REMOVE_SEQUENCE_NUMBER = Long.MAX_VALUE;
+
+	/**
+	 * The last insert sequence used in this JVM.
+	 */
+	private static final AtomicLong LAST_INSERT_SEQUENCE = new AtomicLong();
+
+	/**
+	 * A pending bean content change.
+	 */
+	private static final class Change {
+		private final BeanContent content;
+		private final boolean remove;
+		private final long sequenceNumber;
+
+		private Change(BeanContent content, boolean remove, long sequenceNumber) {
+			this.content = content;
+			this.remove = remove;
+			this.sequenceNumber = sequenceNumber;
+		}
+	}
+
+	private List<Change> changes = new ArrayList<>();
+
+	/**
+	 * Queue bean content to be indexed.
+	 * 
+	 * @param content	The content to index.
+	 * @param bizVersion	The version of the bean the content is for.
+	 */
+	public void put(BeanContent content, int bizVersion) {
+		changes.add(new Change(content, false, bizVersion));
+	}
+
+	/**
+	 * Queue bean content to be removed from the index.
+	 */
+	public void remove(BeanContent content) {
+		changes.add(new Change(content, true, REMOVE_SEQUENCE_NUMBER));
+	}
+
+	public boolean isEmpty() {
+		return changes.isEmpty();
+	}
+
+	/**
+	 * Forget any pending changes - the transaction was rolled back.
+	 */
+	public void clear() {
+		changes.clear();
+	}
+
+	/**
+	 * Write the pending changes to the outbox table in a single batch.
+	 *
+	 * @param connection	The connection of the current transaction.
+	 * @param user	The user making the changes.
+	 */
+	public void write(Connection connection, User user) throws SQLException {
+		if (changes.isEmpty()) {
+			return;
+		}
+
+		String lock = new OptimisticLock(user.getName(), new Date()).toString();
+		StringBuilder sql = new StringBuilder(256);
+		sql.append("insert into ").append(tableName());
+		sql.append(" (").append(Bean.DOCUMENT_ID).append(", ").append(PersistentBean.VERSION_NAME);
+		sql.append(", ").append(PersistentBean.LOCK_NAME).append(", ").append(Bean.BIZ_KEY);
+		sql.append(", ").append(Bean.CUSTOMER_NAME).append(", ").append(Bean.DATA_GROUP_ID).append(", ").append(Bean.USER_ID);
+		sql.append(", ").append(CONTENT_MODULE_NAME).append(", ").append(CONTENT_DOCUMENT_NAME).append(", ").append(CONTENT_BIZ_ID);
+		sql.append(", ").append(REMOVE_CONTENT).append(", ").append(SEQUENCE_NUMBER).append(", ").append(PROPERTIES);
+		sql.append(", ").append(INSERT_SEQUENCE);
+		sql.append(") values (?, 0, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+
+		try (PreparedStatement ps = connection.prepareStatement(sql.toString())) {
+			for (Change change : changes) {
+				BeanContent content = change.content;
+				ps.setString(1, UUID.randomUUID().toString());
+				ps.setString(2, lock);
+				ps.setString(3, new StringBuilder(128).append(content.getBizModule()).append('.')
+															.append(content.getBizDocument()).append(' ')
+															.append(content.getBizId()).toString());
+				ps.setString(4, content.getBizCustomer());
+				ps.setString(5, content.getBizDataGroupId());
+				ps.setString(6, content.getBizUserId());
+				ps.setString(7, content.getBizModule());
+				ps.setString(8, content.getBizDocument());
+				ps.setString(9, content.getBizId());
+				ps.setBoolean(10, change.remove);
+				ps.setLong(11, change.sequenceNumber);
+				ps.setString(12, change.remove ? null : JSON.marshall(null, content.getProperties(), null));
+				ps.setLong(13, nextInsertSequence());
+				ps.addBatch();
+			}
+			ps.executeBatch();
+		}
+		if (UtilImpl.CONTENT_TRACE) UtilImpl.LOGGER.info("BeanContentOutbox.write(): " + changes.size() + " changes");
+		changes.clear();
+	}
+
+	/**
+	 * @return	The current time in microseconds, or one more than the last insert sequence if that is later.
+	 */
+	private static long nextInsertSequence() {
+		final long now = System.currentTimeMillis() * 1000L;
+		return LAST_INSERT_SEQUENCE.updateAndGet(new LongUnaryOperator() {
+			@Override
+			public long applyAsLong(long last) {
+				return Math.max(now, last + 1L);
+			}
+		});
+	}
+
+	/**
+	 * Apply a batch of changes in the outbox to the content manager and remove them from the outbox.
+	 * Only the oldest batchSize rows by insert sequence are selected and locked,
+	 * so a drainer on another node waits until this batch is committed.
+	 * Multiple changes to the same bean in the batch are coalesced so only the latest version is applied,
+	 * and older changes to the applied beans that are outside of the batch are deleted too.
+	 * The caller is responsible for committing the connection.
+	 *
+	 * @param connection	The connection to use.
+	 * @param cm	The content manager to apply the changes to.
+	 * @param batchSize	The maximum number of outbox rows to process.
+	 * @return	The number of outbox rows processed.
+	 */
+	public static int drain(Connection connection, AbstractContentManager cm, int batchSize) throws Exception {
+		String tableName = tableName();
+		Dialect dialect = (Dialect) AbstractHibernatePersistence.getDialect();
+		LockOptions lock = new LockOptions(LockMode.PESSIMISTIC_WRITE);
+		StringBuilder sql = new StringBuilder(256);
+		sql.append("select ").append(Bean.DOCUMENT_ID).append(", ").append(Bean.CUSTOMER_NAME);
+		sql.append(", ").append(Bean.DATA_GROUP_ID).append(", ").append(Bean.USER_ID);
+		sql.append(", ").append(CONTENT_MODULE_NAME).append(", ").append(CONTENT_DOCUMENT_NAME).append(", ").append(CONTENT_BIZ_ID);
+		sql.append(", ").append(REMOVE_CONTENT).append(", ").append(PROPERTIES).append(", ").append(SEQUENCE_NUMBER);
+		sql.append(" from ").append(dialect.appendLockHint(lock, tableName));
+		sql.append(" order by ").append(INSERT_SEQUENCE);
+		// limit in the SQL so that only this batch is sorted and locked
+		RowSelection selection = new RowSelection();
+		selection.setMaxRows(batchSize);
+		LimitHandler limit = dialect.getLimitHandler();
+		String select = limit.processSql(sql.toString(), selection) + dialect.getForUpdateString(lock);
+
+		List<String> outboxIds = new ArrayList<>(batchSize);
+		// content bizId -> latest change
+		Map<String, Change> latest = new LinkedHashMap<>();
+		try (PreparedStatement ps = connection.prepareStatement(select)) {
+			int index = 1;
+			index += limit.bindLimitParametersAtStartOfQuery(selection, ps, index);
+			limit.bindLimitParametersAtEndOfQuery(selection, ps, index);
+			limit.setMaxRows(selection, ps);
+			ps.setFetchSize(batchSize);
+			try (ResultSet rs = ps.executeQuery()) {
+				while (rs.next()) {
+					outboxIds.add(rs.getString(1));
+					BeanContent content = new BeanContent(rs.getString(2),
+															rs.getString(5),
+															rs.getString(6),
+															rs.getString(3),
+															rs.getString(4),
+															rs.getString(7));
+					boolean remove = rs.getBoolean(8);
+					if (! remove) {
+						String properties = rs.getString(9);
+						if (properties != null) {
+							@SuppressWarnings("unchecked")
+							Map<String, Object> values = (Map<String, Object>) JSON.unmarshall(null, properties);
+							for (String name : values.keySet()) {
+								Object value = values.get(name);
+								content.getProperties().put(name, (value == null) ? null : value.toString());
+							}
+						}
+					}
+					long sequenceNumber = rs.getLong(10);
+					Change change = latest.get(content.getBizId());
+					if ((change == null) || (change.sequenceNumber < sequenceNumber)) {
+						latest.put(content.getBizId(), new Change(content, remove, sequenceNumber));
+					}
+				}
+			}
+		}
+
+		if (outboxIds.isEmpty()) {
+			return 0;
+		}
+
+		List<BeanContent> puts = new ArrayList<>(latest.size());
+		List<BeanContent> removes = new ArrayList<>();
+		for (Change change : latest.values()) {
+			if (change.remove) {
+				removes.add(change.content);
+			}
+			else {
+				puts.add(change.content);
+			}
+		}
+		cm.apply(puts, removes);
+
+		sql.setLength(0);
+		sql.append("delete from ").append(tableName).append(" where ").append(Bean.DOCUMENT_ID).append(" = ?");
+		try (PreparedStatement ps = connection.prepareStatement(sql.toString())) {
+			for (String outboxId : outboxIds) {
+				ps.setString(1, outboxId);
+				ps.addBatch();
+			}
+			ps.executeBatch();
+		}
+
+		// delete any older changes to the applied beans that were not in this batch
+		sql.setLength(0);
+		sql.append("delete from ").append(tableName).append(" where ").append(CONTENT_BIZ_ID).append(" = ? and ");
+		sql.append(SEQUENCE_NUMBER).append(" < ?");
+		try (PreparedStatement ps = connection.prepareStatement(sql.toString())) {
+			for (Change change : latest.values()) {
+				ps.setString(1, change.content.getBizId());
+				ps.setLong(2, change.sequenceNumber);
+				ps.addBatch();
+			}
+			ps.executeBatch();
+		}
+		if (UtilImpl.CONTENT_TRACE) UtilImpl.LOGGER.info("BeanContentOutbox.drain(): " + outboxIds.size() + " rows, " +
+															puts.size() + " puts, " + removes.size() + " removes");
+
+		return outboxIds.size();
+	}
+
+	private static String tableName() {
+		return AbstractRepository.get().getModule(null, MODULE_NAME).getDocument(null, DOCUMENT_NAME).getPersistent().getPersistentIdentifier();
+	}
+}
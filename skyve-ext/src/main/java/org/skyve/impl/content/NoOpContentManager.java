@@ -1,5 +1,7 @@
 package org.skyve.impl.content;
 
+import java.util.Date;
+
 import org.skyve.content.AttachmentContent;
 import org.skyve.content.BeanContent;
 import org.skyve.content.ContentIterable;
@@ -53,12 +55,28 @@ public class NoOpContentManager extends AbstractContentManager {
 		// no-op
 	}
 
+	@Override
+	public void truncateBeans(String customerName, Date indexedBefore) throws Exception {
+		// no-op
+	}
+
+	@Override
+	public boolean canTruncateBeansIndexedBefore() {
+		return true;
+	}
+
 	@Override
 	public ContentIterable all() throws Exception {
 		// no-op
 		return null;
 	}
 
+	@Override
+	public ContentIterable all(String afterKey) throws Exception {
+		// no-op
+		return null;
+	}
+
 	@Override
 	public void close() throws Exception {
 		// no-op
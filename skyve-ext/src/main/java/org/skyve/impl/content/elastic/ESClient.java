@@ -555,6 +555,30 @@ public class ESClient extends AbstractContentManager {
 		}
 	}
 
+	@Override
+	public boolean canTruncateBeansIndexedBefore() {
+		return true;
+	}
+
+	/**
+	 * Beans are stamped with the time they were last indexed so those not touched by a reindex can be deleted by query.
+	 */
+	@Override
+	public void truncateBeans(String customerName, Date indexedBefore) throws Exception {
+		if (UtilImpl.CONTENT_TRACE) UtilImpl.LOGGER.info("ESClient.truncateBeans(" + customerName + ", " + indexedBefore + ")");
+		client.prepareDeleteByQuery()
+			.setIndices(BEAN_INDEX_NAME)
+			.setTypes(BEAN_INDEX_TYPE)
+			.setQuery(QueryBuilders.boolQuery()
+						.must(QueryBuilders.termQuery(BEAN_CUSTOMER_NAME, customerName))
+						.must(QueryBuilders.rangeQuery(LAST_MODIFIED).lt(indexedBefore))).execute().actionGet();
+
+		FlushResponse flushResponse = client.admin().indices().prepareFlush(BEAN_INDEX_NAME).setWaitIfOngoing(true).execute().actionGet();
+		if (flushResponse.getFailedShards() > 0) {
+			throw new DomainException("Could not flush the Elastic beans index to disk");
+		}
+	}
+
 	@Override
 	public SearchResults google(String search, int maxResults)
 	throws Exception {
@@ -676,7 +700,12 @@ public class ESClient extends AbstractContentManager {
 	
 	@Override
 	public ContentIterable all() throws Exception {
-		return new ElasticContentIterable(client);
+		return new ElasticContentIterable(client, null);
+	}
+	
+	@Override
+	public ContentIterable all(String afterKey) throws Exception {
+		return new ElasticContentIterable(client, afterKey);
 	}
 
 	static List<String> complete(Client client, String query) {
@@ -6,32 +6,46 @@ import java.util.Iterator;
 import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.client.Client;
 import org.elasticsearch.common.unit.TimeValue;
+import org.elasticsearch.index.mapper.Uid;
 import org.elasticsearch.index.query.QueryBuilders;
 import org.elasticsearch.search.SearchHit;
 import org.elasticsearch.search.SearchHits;
+import org.elasticsearch.search.sort.SortOrder;
 import org.skyve.content.ContentIterable;
 import org.skyve.content.SearchResult;
 import org.skyve.impl.util.TimeUtil;
 import org.skyve.impl.util.UtilImpl;
 
+/**
+ * Scrolls all content sorted by its UID (type and content id) so that an interrupted iteration can be resumed
+ * after the UID of the last content processed.
+ */
 class ElasticContentIterable implements ContentIterable {
+	private static final String UID = "_uid";
+	
 	private Client client = null;
+	private String afterKey = null;
 
-	ElasticContentIterable(Client client) {
+	ElasticContentIterable(Client client, String afterKey) {
 		this.client = client;
+		this.afterKey = afterKey;
 	}
 	
 	class ESIterator implements ContentIterator {
 		private Iterator<SearchHit> i = null;
 		private long totalHits = 0;
 		private String scrollId = null;
+		private String lastKey = null;
 		
 		private ESIterator() {
 			@SuppressWarnings("synthetic-access")
 			SearchResponse response = client.prepareSearch()
 										.setIndices(ElasticContentManager.ATTACHMENT_INDEX_NAME, ElasticContentManager.BEAN_INDEX_NAME)
 										.setTypes(ElasticContentManager.ATTACHMENT_INDEX_TYPE, ElasticContentManager.BEAN_INDEX_TYPE)
-								        .setQuery(QueryBuilders.matchAllQuery())
+								        .setQuery((afterKey == null) ? 
+								        			QueryBuilders.matchAllQuery() : 
+								        			QueryBuilders.rangeQuery(UID).gt(afterKey))
+								        .addSort(UID, SortOrder.ASC)
 								        .setSize(1000)
 								        .setScroll(TimeValue.timeValueMinutes(2))
 										.addFields(ElasticContentManager.BEAN_CUSTOMER_NAME,
@@ -81,6 +95,7 @@ class ElasticContentIterable implements ContentIterable {
 		@Override
 		public SearchResult next() {
 			SearchHit searchHit = i.next();
+			lastKey = Uid.createUid(searchHit.getType(), searchHit.getId());
 
 			String bizCustomer = (String) ElasticContentManager.fieldValue(searchHit, ElasticContentManager.BEAN_CUSTOMER_NAME);
 			String bizModule = (String) ElasticContentManager.fieldValue(searchHit, ElasticContentManager.BEAN_MODULE_KEY);
@@ -133,6 +148,11 @@ class ElasticContentIterable implements ContentIterable {
 		public long getTotalHits() {
 			return totalHits;
 		}
+
+		@Override
+		public String getLastKey() {
+			return lastKey;
+		}
 	}
 
 	
@@ -1,16 +1,21 @@
 package org.skyve.impl.content.elastic;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.TreeMap;
+import java.util.TreeSet;
 import java.util.UUID;
 import java.util.logging.Level;
 
@@ -22,6 +27,8 @@ import org.apache.tika.metadata.MSOffice;
 import org.apache.tika.metadata.Metadata;
 import org.apache.tika.metadata.TikaCoreProperties;
 import org.elasticsearch.action.admin.indices.flush.FlushResponse;
+import org.elasticsearch.action.bulk.BulkRequestBuilder;
+import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.action.get.GetRequestBuilder;
 import org.elasticsearch.action.get.GetResponse;
 import org.elasticsearch.action.index.IndexResponse;
@@ -29,11 +36,11 @@ import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.action.search.SearchType;
 import org.elasticsearch.client.Client;
 import org.elasticsearch.common.Strings;
-import org.elasticsearch.common.io.stream.BytesStreamInput;
 import org.elasticsearch.common.text.Text;
 import org.elasticsearch.common.xcontent.XContentBuilder;
 import org.elasticsearch.common.xcontent.XContentFactory;
 import org.elasticsearch.index.get.GetField;
+import org.elasticsearch.index.query.BoolFilterBuilder;
 import org.elasticsearch.index.query.FilterBuilder;
 import org.elasticsearch.index.query.FilterBuilders;
 import org.elasticsearch.index.query.QueryBuilder;
@@ -54,8 +61,15 @@ import org.skyve.content.SearchResults;
 import org.skyve.domain.Bean;
 import org.skyve.domain.messages.DomainException;
 import org.skyve.impl.content.AbstractContentManager;
+import org.skyve.impl.metadata.user.UserImpl;
+import org.skyve.impl.persistence.AbstractPersistence;
 import org.skyve.impl.util.TimeUtil;
 import org.skyve.impl.util.UtilImpl;
+import org.skyve.metadata.customer.Customer;
+import org.skyve.metadata.model.document.Document;
+import org.skyve.metadata.module.Module;
+import org.skyve.metadata.user.DocumentPermissionScope;
+import org.skyve.metadata.user.User;
 import org.skyve.util.FileUtil;
 import org.skyve.util.JSON;
 
@@ -96,7 +110,7 @@ public class ElasticContentManager extends AbstractContentManager {
     static final String BEAN_DOCUMENT_ID = "bean." + Bean.DOCUMENT_ID;
     static final String BEAN_ATTRIBUTE_NAME = "bean.attribute";
 	
-    private static final String META_JSON = "meta.json";
+    public static final String META_JSON = "meta.json";
     
 	private static Node node = ElasticUtil.localNode();
 	private static final Tika TIKA = new Tika();
@@ -131,35 +145,7 @@ public class ElasticContentManager extends AbstractContentManager {
 	@Override
 	public void put(BeanContent content)
 	throws Exception {
-		try (XContentBuilder source = XContentFactory.jsonBuilder().startObject()) {
-			StringBuilder text = new StringBuilder(256);
-			Map<String, String> properties = content.getProperties();
-			for (String name : properties.keySet()) {
-				String value = properties.get(name);
-				if (value != null) {
-					if (text.length() > 0) {
-						text.append(' ');
-					}
-					text.append(value);
-				}
-			}
-			
-			// Add text to index
-			source.field(CONTENT, text);
-			
-			// Bean
-			source.startObject(BEAN)
-					.field(Bean.CUSTOMER_NAME, content.getBizCustomer())
-					.field(Bean.DATA_GROUP_ID, content.getBizDataGroupId())
-					.field(Bean.USER_ID, content.getBizUserId())
-					.field(Bean.MODULE_KEY, content.getBizModule())
-					.field(Bean.DOCUMENT_KEY, content.getBizDocument())
-					.field(Bean.DOCUMENT_ID, content.getBizId())
-					.endObject(); // Bean
-
-			// Last modified
-			source.field(LAST_MODIFIED, new Date());
-			
+		try (XContentBuilder source = beanSource(content)) {
 			if (UtilImpl.CONTENT_TRACE) UtilImpl.LOGGER.info("ElasticContentManager.put(): " + source.string());
 			client.prepareIndex(BEAN_INDEX_NAME, 
 									BEAN_INDEX_TYPE,
@@ -167,6 +153,71 @@ public class ElasticContentManager extends AbstractContentManager {
 		}
 	}
 	
+	/**
+	 * Send the batch in a single bulk request.
+	 */
+	@Override
+	public void apply(List<BeanContent> puts, List<BeanContent> removes)
+	throws Exception {
+		if (puts.isEmpty() && removes.isEmpty()) {
+			return;
+		}
+		
+		BulkRequestBuilder bulk = client.prepareBulk();
+		for (BeanContent content : puts) {
+			try (XContentBuilder source = beanSource(content)) {
+				bulk.add(client.prepareIndex(BEAN_INDEX_NAME, 
+												BEAN_INDEX_TYPE,
+												content.getBizId()).setSource(source));
+			}
+		}
+		for (BeanContent content : removes) {
+			bulk.add(client.prepareDelete(BEAN_INDEX_NAME,
+											BEAN_INDEX_TYPE,
+											content.getBizId()));
+		}
+		
+		if (UtilImpl.CONTENT_TRACE) UtilImpl.LOGGER.info("ElasticContentManager.apply(): " + puts.size() + " puts, " + removes.size() + " removes");
+		BulkResponse response = bulk.execute().actionGet();
+		if (response.hasFailures()) {
+			throw new DomainException("Could not apply bean content - " + response.buildFailureMessage());
+		}
+	}
+
+	private static XContentBuilder beanSource(BeanContent content)
+	throws IOException {
+		XContentBuilder source = XContentFactory.jsonBuilder().startObject();
+		StringBuilder text = new StringBuilder(256);
+		Map<String, String> properties = content.getProperties();
+		for (String name : properties.keySet()) {
+			String value = properties.get(name);
+			if (value != null) {
+				if (text.length() > 0) {
+					text.append(' ');
+				}
+				text.append(value);
+			}
+		}
+		
+		// Add text to index
+		source.field(CONTENT, text);
+		
+		// Bean
+		source.startObject(BEAN)
+				.field(Bean.CUSTOMER_NAME, content.getBizCustomer())
+				.field(Bean.DATA_GROUP_ID, content.getBizDataGroupId())
+				.field(Bean.USER_ID, content.getBizUserId())
+				.field(Bean.MODULE_KEY, content.getBizModule())
+				.field(Bean.DOCUMENT_KEY, content.getBizDocument())
+				.field(Bean.DOCUMENT_ID, content.getBizId())
+				.endObject(); // Bean
+
+		// Last modified
+		source.field(LAST_MODIFIED, new Date());
+		
+		return source;
+	}
+	
 	@Override
 	public void put(AttachmentContent attachment, boolean index)
 	throws Exception {
@@ -180,88 +231,93 @@ public class ElasticContentManager extends AbstractContentManager {
 
 	private void put(AttachmentContent attachment, boolean index, boolean store)
 	throws Exception {
-		try (XContentBuilder source = XContentFactory.jsonBuilder().startObject()) {
-		
-			byte[] content = attachment.getContentBytes();
+		// Streamed content can only be read once.
+		// When it is bound for the file store, spool it to a file that can be read for detection, parsing and storing
+		// and re-point the attachment at the stored file afterwards.
+		// Otherwise the bytes are needed anyway, so hold them on the attachment.
+		Path spool = null;
+		Path path = attachment.getContentPath();
+		long size = attachment.getContentSize();
+		if ((path == null) && (size < 0L)) {
+			if (store && UtilImpl.CONTENT_FILE_STORAGE) {
+				spool = Files.createTempFile(Paths.get(UtilImpl.CONTENT_DIRECTORY), "upload", null);
+				try (InputStream stream = attachment.getContentStream()) {
+					Files.copy(stream, spool, StandardCopyOption.REPLACE_EXISTING);
+				}
+				attachment.setContentPath(spool);
+				path = spool;
+				size = Files.size(spool);
+			}
+			else {
+				size = attachment.getContentBytes().length;
+			}
+		}
 
+		try (XContentBuilder source = XContentFactory.jsonBuilder().startObject()) {
 			// Sniff content type if necessary
 			String contentType = attachment.getContentType();
 			if (contentType == null) {
-				String fileName = attachment.getFileName();
-				if (fileName == null) {
-					contentType = TIKA.detect(content);
-				}
-				else {
-					contentType = TIKA.detect(content, fileName);
+				try (InputStream stream = openContent(attachment, path)) {
+					contentType = TIKA.detect(stream, attachment.getFileName());
 				}
 				attachment.setContentType(contentType);
 			}
 			
 			if (index) {
-				try (BytesStreamInput contentStream = new BytesStreamInput(content, false)) {
-					Metadata metadata = new Metadata();
-					String parsedContent = "";
-					try {
-						// Set the maximum length of strings returned by the parseToString method, -1 sets no limit
-						parsedContent = TIKA.parseToString(contentStream, metadata, 100000);
-					}
-					catch (TikaException e) {
-						UtilImpl.LOGGER.log(Level.SEVERE, 
-												"ElasticContentManager.put(): Attachment could not be parsed by TIKA and so has not been textually indexed",
-												e);
-					}
-					
-					// File
-					source.startObject(FILE)
-							.field(FILENAME, attachment.getFileName())
-							.field(LAST_MODIFIED, new Date())
-							.field(CONTENT_TYPE,
-									(contentType != null) ? 
-										contentType : 
-										metadata.get(HttpHeaders.CONTENT_TYPE));
-					if (metadata.get(HttpHeaders.CONTENT_LENGTH) != null) {
-						// We try to get CONTENT_LENGTH from Tika first
-						source.field(FILESIZE, metadata.get(HttpHeaders.CONTENT_LENGTH));
-					}
-					else {
-						// Otherwise, we use our byte[] length
-						source.field(FILESIZE, content.length);
-					}
-					source.endObject(); // File
-	
-					// Meta
-					String title = metadata.get(TikaCoreProperties.TITLE);
-					source.startObject(META)
-							.field(AUTHOR, metadata.get(MSOffice.AUTHOR))
-							.field(TITLE,
-									(title != null) ? title : attachment.getFileName())
-							.field(DATE, metadata.get(TikaCoreProperties.CREATED))
-							.array(KEYWORDS,
-									Strings.commaDelimitedListToStringArray(metadata.get(TikaCoreProperties.KEYWORDS)))
-							.endObject(); // Meta
-			
-					// Bean
-					source.startObject(BEAN)
-							.field(Bean.CUSTOMER_NAME, attachment.getBizCustomer())
-							.field(Bean.DATA_GROUP_ID, attachment.getBizDataGroupId())
-							.field(Bean.USER_ID, attachment.getBizUserId())
-							.field(Bean.MODULE_KEY, attachment.getBizModule())
-							.field(Bean.DOCUMENT_KEY, attachment.getBizDocument())
-							.field(Bean.DOCUMENT_ID, attachment.getBizId())
-							.field(ATTRIBUTE_NAME, attachment.getAttributeName())
-							.endObject(); // Bean
-		
-					// Doc content
-					source.field(CONTENT, parsedContent);
-			
-					// Doc as binary attachment, inlined
-					if (store && (! UtilImpl.CONTENT_FILE_STORAGE)) {
-						source.field(ATTACHMENT, new String(new Base64().encode(content)));
-					}
-					
-					// End of our document
-					source.endObject();
+				Metadata metadata = new Metadata();
+				String parsedContent = "";
+				try (InputStream stream = openContent(attachment, path)) {
+					// Set the maximum length of strings returned by the parseToString method, -1 sets no limit
+					parsedContent = TIKA.parseToString(stream, metadata, 100000);
+				}
+				catch (TikaException e) {
+					UtilImpl.LOGGER.log(Level.SEVERE, 
+											"ElasticContentManager.put(): Attachment could not be parsed by TIKA and so has not been textually indexed",
+											e);
+				}
+				
+				// File
+				source.startObject(FILE)
+						.field(FILENAME, attachment.getFileName())
+						.field(LAST_MODIFIED, new Date())
+						.field(CONTENT_TYPE,
+								(contentType != null) ? 
+									contentType : 
+									metadata.get(HttpHeaders.CONTENT_TYPE));
+				if (metadata.get(HttpHeaders.CONTENT_LENGTH) != null) {
+					// We try to get CONTENT_LENGTH from Tika first
+					source.field(FILESIZE, metadata.get(HttpHeaders.CONTENT_LENGTH));
 				}
+				else {
+					// Otherwise, we use our content size
+					source.field(FILESIZE, size);
+				}
+				source.endObject(); // File
+
+				// Meta
+				String title = metadata.get(TikaCoreProperties.TITLE);
+				source.startObject(META)
+						.field(AUTHOR, metadata.get(MSOffice.AUTHOR))
+						.field(TITLE,
+								(title != null) ? title : attachment.getFileName())
+						.field(DATE, metadata.get(TikaCoreProperties.CREATED))
+						.array(KEYWORDS,
+								Strings.commaDelimitedListToStringArray(metadata.get(TikaCoreProperties.KEYWORDS)))
+						.endObject(); // Meta
+		
+				// Bean
+				source.startObject(BEAN)
+						.field(Bean.CUSTOMER_NAME, attachment.getBizCustomer())
+						.field(Bean.DATA_GROUP_ID, attachment.getBizDataGroupId())
+						.field(Bean.USER_ID, attachment.getBizUserId())
+						.field(Bean.MODULE_KEY, attachment.getBizModule())
+						.field(Bean.DOCUMENT_KEY, attachment.getBizDocument())
+						.field(Bean.DOCUMENT_ID, attachment.getBizId())
+						.field(ATTRIBUTE_NAME, attachment.getAttributeName())
+						.endObject(); // Bean
+	
+				// Doc content
+				source.field(CONTENT, parsedContent);
 			}
 			else {
 				// File
@@ -269,8 +325,8 @@ public class ElasticContentManager extends AbstractContentManager {
 						.field(FILENAME, attachment.getFileName())
 						.field(LAST_MODIFIED, new Date())
 						.field(CONTENT_TYPE, contentType);
-				// No indexing, so we use our byte[] length
-				source.field(FILESIZE, content.length);
+				// No indexing, so we use our content size
+				source.field(FILESIZE, size);
 				source.endObject(); // File
 
 				// Meta
@@ -291,15 +347,18 @@ public class ElasticContentManager extends AbstractContentManager {
 						.field(Bean.DOCUMENT_ID, attachment.getBizId())
 						.field(ATTRIBUTE_NAME, attachment.getAttributeName())
 						.endObject(); // Bean
-	
-				// Doc as binary attachment, inlined
-				if (store && (! UtilImpl.CONTENT_FILE_STORAGE)) {
-					source.field(ATTACHMENT, new String(new Base64().encode(content)));
-				}
-				
-				// End of our document
-				source.endObject();
 			}
+
+			// Doc as binary attachment, inlined.
+			// The elastic source is a single document so the bytes are needed, 
+			// but they are Base64 encoded straight into the source without an intermediate String.
+			if (store && (! UtilImpl.CONTENT_FILE_STORAGE)) {
+				source.field(ATTACHMENT, (path == null) ? attachment.getContentBytes() : Files.readAllBytes(path));
+			}
+			
+			// End of our document
+			source.endObject();
+
 			if (UtilImpl.CONTENT_TRACE) UtilImpl.LOGGER.info("ElasticContentManager.put(): " + source.string());
 			String contentId = attachment.getContentId();
 			IndexResponse indexResponse = client.prepareIndex(ATTACHMENT_INDEX_NAME, 
@@ -314,30 +373,48 @@ public class ElasticContentManager extends AbstractContentManager {
 				StringBuilder absoluteContentStoreFolderPath = new StringBuilder(128);
 				absoluteContentStoreFolderPath.append(UtilImpl.CONTENT_DIRECTORY).append(FILE_STORE_NAME).append('/');
 
-				writeContentFiles(absoluteContentStoreFolderPath, attachment, content);
+				try (InputStream stream = openContent(attachment, path)) {
+					writeContentFiles(absoluteContentStoreFolderPath, attachment, stream);
+				}
+				if (spool != null) {
+					attachment.setContentPath(Paths.get(absoluteContentStoreFolderPath.toString(), CONTENT));
+				}
+			}
+		}
+		finally {
+			if (spool != null) {
+				Files.deleteIfExists(spool);
 			}
 		}
 	}
 
+	/**
+	 * Open a new stream over the attachment content.
+	 * 
+	 * @param attachment	The attachment.
+	 * @param path	The file holding the content or null if the content is in memory.
+	 */
+	private static InputStream openContent(AttachmentContent attachment, Path path)
+	throws IOException {
+		return (path == null) ? attachment.getContentStream() : Files.newInputStream(path);
+	}
+
 	public static void writeContentFiles(StringBuilder absoluteContentStoreFolderPath, AttachmentContent attachment, byte[] content) 
+	throws Exception {
+		writeContentFiles(absoluteContentStoreFolderPath, attachment, new ByteArrayInputStream(content));
+	}
+	
+	/**
+	 * Write the content and meta files into the balanced folder structure of the content store.
+	 * The content is copied from the stream so it is never held in memory.
+	 */
+	public static void writeContentFiles(StringBuilder absoluteContentStoreFolderPath, AttachmentContent attachment, InputStream content) 
 	throws Exception {
 		String contentId = attachment.getContentId();
 		AbstractContentManager.appendBalancedFolderPathFromContentId(contentId, absoluteContentStoreFolderPath, false);
 		File dir = new File(absoluteContentStoreFolderPath.toString());
 		dir.mkdirs();
 		
-		Map<String, Object> meta = new TreeMap<>();
-		meta.put(FILENAME, attachment.getFileName());
-		meta.put(LAST_MODIFIED, TimeUtil.formatISODate(new Date(), true));
-		meta.put(CONTENT_TYPE, attachment.getContentType());
-		meta.put(Bean.CUSTOMER_NAME, attachment.getBizCustomer());
-		meta.put(Bean.DATA_GROUP_ID, attachment.getBizDataGroupId());
-		meta.put(Bean.USER_ID, attachment.getBizUserId());
-		meta.put(Bean.MODULE_KEY, attachment.getBizModule());
-		meta.put(Bean.DOCUMENT_KEY, attachment.getBizDocument());
-		meta.put(Bean.DOCUMENT_ID, attachment.getBizId());
-		meta.put(ATTRIBUTE_NAME, attachment.getAttributeName());
-
 		File file = new File(dir, CONTENT);
 		File old = null;
 		if (file.exists()) {
@@ -347,12 +424,9 @@ public class ElasticContentManager extends AbstractContentManager {
 			}
 		}
 		try {
-			try (FileOutputStream fos = new FileOutputStream(file)) {
-				fos.write(content);
-				fos.flush();
-			}
+			Files.copy(content, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
 			try (FileWriter fw = new FileWriter(new File(dir, META_JSON))) {
-				fw.write(JSON.marshall(null, meta, null));
+				fw.write(marshallMeta(attachment));
 				fw.flush();
 			}
 		}
@@ -370,6 +444,24 @@ public class ElasticContentManager extends AbstractContentManager {
 		}
 	}
 	
+	/**
+	 * Marshall the meta.json for some content in the content store.
+	 */
+	public static String marshallMeta(AttachmentContent attachment) throws Exception {
+		Map<String, Object> meta = new TreeMap<>();
+		meta.put(FILENAME, attachment.getFileName());
+		meta.put(LAST_MODIFIED, TimeUtil.formatISODate(new Date(), true));
+		meta.put(CONTENT_TYPE, attachment.getContentType());
+		meta.put(Bean.CUSTOMER_NAME, attachment.getBizCustomer());
+		meta.put(Bean.DATA_GROUP_ID, attachment.getBizDataGroupId());
+		meta.put(Bean.USER_ID, attachment.getBizUserId());
+		meta.put(Bean.MODULE_KEY, attachment.getBizModule());
+		meta.put(Bean.DOCUMENT_KEY, attachment.getBizDocument());
+		meta.put(Bean.DOCUMENT_ID, attachment.getBizId());
+		meta.put(ATTRIBUTE_NAME, attachment.getAttributeName());
+		return JSON.marshall(null, meta, null);
+	}
+	
 	@Override
 	public AttachmentContent get(String contentId) throws Exception {
 		if (UtilImpl.CONTENT_FILE_STORAGE) {
@@ -597,8 +689,45 @@ public class ElasticContentManager extends AbstractContentManager {
 		}
 	}
 
+	@Override
+	public boolean canTruncateBeansIndexedBefore() {
+		return true;
+	}
+
+	/**
+	 * Beans are stamped with the time they were last indexed so those not touched by a reindex can be deleted by query.
+	 */
+	@Override
+	public void truncateBeans(String customerName, Date indexedBefore) throws Exception {
+		if (UtilImpl.CONTENT_TRACE) UtilImpl.LOGGER.info("ElasticContentManager.truncateBeans(" + customerName + ", " + indexedBefore + ")");
+		client.prepareDeleteByQuery()
+			.setIndices(BEAN_INDEX_NAME)
+			.setTypes(BEAN_INDEX_TYPE)
+			.setQuery(QueryBuilders.boolQuery()
+						.must(QueryBuilders.termQuery(BEAN_CUSTOMER_NAME, customerName))
+						.must(QueryBuilders.rangeQuery(LAST_MODIFIED).lt(indexedBefore))).execute().actionGet();
+
+		FlushResponse flushResponse = client.admin().indices().prepareFlush(BEAN_INDEX_NAME).setWaitIfOngoing(true).execute().actionGet();
+		if (flushResponse.getFailedShards() > 0) {
+			throw new DomainException("Could not flush the Elastic beans index to disk");
+		}
+	}
+
 	@Override
 	public SearchResults google(String search, int maxResults)
+	throws Exception {
+		return google(search, 0, maxResults);
+	}
+	
+	/**
+	 * The customer, data group and user scope of the current user is pushed into the query as a filter
+	 * so that only the requested page is fetched and highlighted and the total is the number of readable results.
+	 * Child documents are readable through their parent so they can only be filtered by customer here.
+	 * These hits are checked with {@link #canReadContent(String, String, String, String, String, String)}
+	 * which means a page may be short and the total may overstate if some of them can't be read.
+	 */
+	@Override
+	public SearchResults google(String search, int start, int maxResults)
 	throws Exception {
 		QueryBuilder qb;
 		if ((search == null) || search.trim().isEmpty()) {
@@ -613,11 +742,22 @@ public class ElasticContentManager extends AbstractContentManager {
 					.field(META_AUTHOR);
 		}
 
+		// module.document of documents that need to be checked hit by hit
+		Set<String> checkedDocuments = null;
+		User user = AbstractPersistence.get().getUser();
+		if (user instanceof UserImpl) {
+			Map<String, DocumentPermissionScope> scopes = ((UserImpl) user).getDocumentReadScopes();
+			if (scopes != null) {
+				checkedDocuments = new TreeSet<>();
+				qb = QueryBuilders.filteredQuery(qb, scopeFilter(user, scopes, checkedDocuments));
+			}
+		}
+		
 		SearchResponse searchResponse = client.prepareSearch()
 											.setIndices(ATTACHMENT_INDEX_NAME, BEAN_INDEX_NAME)
 											.setTypes(ATTACHMENT_INDEX_TYPE, BEAN_INDEX_TYPE)
-											.setSearchType(SearchType.DFS_QUERY_THEN_FETCH).setQuery(qb)
-											.setFrom(0).setSize(10000)
+											.setSearchType(SearchType.QUERY_THEN_FETCH).setQuery(qb)
+											.setFrom(start).setSize(maxResults)
 											.addHighlightedField(CONTENT)
 											.addHighlightedField(FILE_FILENAME)
 											.addHighlightedField(META_TITLE)
@@ -638,6 +778,7 @@ public class ElasticContentManager extends AbstractContentManager {
 
 		SearchResults results = new SearchResults();
 		results.setSearchTimeInSecs(Integer.toString((int) (searchResponse.getTookInMillis() / 1000)));
+		results.setTotalResults(searchResponse.getHits().getTotalHits());
 
 		List<SearchResult> hits = results.getResults();
 		for (SearchHit searchHit : searchResponse.getHits()) {
@@ -647,12 +788,15 @@ public class ElasticContentManager extends AbstractContentManager {
 			String bizDataGroupId = (String) fieldValue(searchHit, BEAN_DATA_GROUP_ID);
 			String bizUserId = (String) fieldValue(searchHit, BEAN_USER_ID);
 			String bizId = (String) fieldValue(searchHit, BEAN_DOCUMENT_ID);
-			if (canReadContent(bizCustomer,
-								bizModule,
-								bizDocument,
-								bizDataGroupId,
-								bizUserId,
-								bizId)) {
+			// filtered hits are already in scope
+			boolean filtered = (checkedDocuments != null) && 
+								(! checkedDocuments.contains(bizModule + '.' + bizDocument));
+			if (filtered || canReadContent(bizCustomer,
+											bizModule,
+											bizDocument,
+											bizDataGroupId,
+											bizUserId,
+											bizId)) {
 				SearchResult hit = new SearchResult();
 	
 				hit.setCustomerName(bizCustomer);
@@ -673,19 +817,7 @@ public class ElasticContentManager extends AbstractContentManager {
 					hit.setLastModified(TimeUtil.parseISODate(isoDate));
 				}
 				hit.setContentId(searchHit.getId());
-/*			
-				hit.setSource(searchHit.getSourceAsString());
-	
-				if (searchHit.getFields() != null) {
-					if (searchHit.getFields().get(FILE_CONTENT_TYPE) != null) {
-						hit.setContentType((String) searchHit.getFields().get(FILE_CONTENT_TYPE).getValue());
-					}
-				}
-	
-				if (searchHit.getSource() != null) {
-					hit.setTitle(ESUtil.getSingleStringValue(META_TITLE, searchHit.getSource()));
-				}
-*/
+
 				if (searchHit.getHighlightFields() != null) {
 					for (HighlightField highlightField : searchHit.getHighlightFields().values()) {
 						Text[] fragmentsBuilder = highlightField.getFragments();
@@ -698,16 +830,91 @@ public class ElasticContentManager extends AbstractContentManager {
 				}
 	
 				hits.add(hit);
-				
-				if (hits.size() >= maxResults) {
-					break;
-				}
+			}
+			else {
+				results.setTotalResults(results.getTotalResults() - 1);
 			}
 		}
 
 		return results;
 	}
 
+	/**
+	 * Create a filter that only matches content the user can read.
+	 * 
+	 * @param user	The user.
+	 * @param scopes	module.document -> read scope.
+	 * @param checkedDocuments	Filled with the module.document of child documents that can only be filtered by customer.
+	 * @return	The filter.
+	 */
+	private static FilterBuilder scopeFilter(User user, 
+												Map<String, DocumentPermissionScope> scopes,
+												Set<String> checkedDocuments) {
+		String customerName = user.getCustomerName();
+		String dataGroupId = user.getDataGroupId();
+		String userId = user.getId();
+		
+		// scope + module -> document names
+		Map<String, List<String>> groups = new TreeMap<>();
+		for (Map.Entry<String, DocumentPermissionScope> entry : scopes.entrySet()) {
+			String modoc = entry.getKey();
+			int dotIndex = modoc.indexOf('.');
+			String key = entry.getValue().name() + '.' + modoc.substring(0, dotIndex);
+			List<String> documentNames = groups.get(key);
+			if (documentNames == null) {
+				documentNames = new ArrayList<>();
+				groups.put(key, documentNames);
+			}
+			documentNames.add(modoc.substring(dotIndex + 1));
+		}
+
+		// Child documents without a permission of their own are readable through their parent
+		Customer customer = user.getCustomer();
+		for (Module module : customer.getModules()) {
+			for (String documentName : module.getDocumentRefs().keySet()) {
+				Document document = module.getDocument(customer, documentName);
+				String modoc = document.getOwningModuleName() + '.' + document.getName();
+				if ((document.getParentDocumentName() != null) &&
+						(! scopes.containsKey(modoc)) &&
+						checkedDocuments.add(modoc)) {
+					String key = DocumentPermissionScope.customer.name() + '.' + document.getOwningModuleName();
+					List<String> documentNames = groups.get(key);
+					if (documentNames == null) {
+						documentNames = new ArrayList<>();
+						groups.put(key, documentNames);
+					}
+					documentNames.add(document.getName());
+				}
+			}
+		}
+		
+		BoolFilterBuilder result = FilterBuilders.boolFilter();
+		if (groups.isEmpty()) {
+			return result.mustNot(FilterBuilders.matchAllFilter());
+		}
+		for (Map.Entry<String, List<String>> entry : groups.entrySet()) {
+			String key = entry.getKey();
+			int dotIndex = key.indexOf('.');
+			DocumentPermissionScope scope = DocumentPermissionScope.valueOf(key.substring(0, dotIndex));
+			BoolFilterBuilder group = FilterBuilders.boolFilter()
+										.must(FilterBuilders.termFilter(BEAN_MODULE_KEY, key.substring(dotIndex + 1)))
+										.must(FilterBuilders.termsFilter(BEAN_DOCUMENT_KEY, entry.getValue()));
+			if (! DocumentPermissionScope.global.equals(scope)) {
+				group.must(FilterBuilders.termFilter(BEAN_CUSTOMER_NAME, customerName));
+				if (DocumentPermissionScope.dataGroup.equals(scope) || DocumentPermissionScope.user.equals(scope)) {
+					if (dataGroupId != null) {
+						group.must(FilterBuilders.termFilter(BEAN_DATA_GROUP_ID, dataGroupId));
+					}
+					if (DocumentPermissionScope.user.equals(scope)) {
+						group.must(FilterBuilders.termFilter(BEAN_USER_ID, userId));
+					}
+				}
+			}
+			result.should(group);
+		}
+		return result;
+	}
+
 	static Object fieldValue(SearchHit hit, String fieldName) {
 		SearchHitField field = hit.field(fieldName);
 		if (field != null) {
@@ -718,7 +925,12 @@ public class ElasticContentManager extends AbstractContentManager {
 	
 	@Override
 	public ContentIterable all() throws Exception {
-		return new ElasticContentIterable(client);
+		return new ElasticContentIterable(client, null);
+	}
+	
+	@Override
+	public ContentIterable all(String afterKey) throws Exception {
+		return new ElasticContentIterable(client, afterKey);
 	}
 
 	static List<String> complete(Client client, String query) {
@@ -0,0 +1,359 @@
+package org.skyve.impl.dataaccess.sql;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+
+import javax.naming.InitialContext;
+import javax.naming.NamingException;
+import javax.sql.DataSource;
+
+import org.skyve.impl.util.UtilImpl;
+import org.skyve.persistence.DataStore;
+
+/**
+ * Provides connections for {@link org.skyve.EXT#getDataStoreConnection(DataStore)}.
+ * <p/>
+ * JNDI data sources are looked up once and cached - the container pools their connections.
+ * Data stores defined with a JDBC driver and URL get a bounded pool of physical connections here.
+ * Connections handed out are proxies - closing them rolls back any uncommitted work, puts back the
+ * auto commit, read only, transaction isolation and catalog the connection was created with and returns
+ * the physical connection to the pool.
+ * The pool always has room for the backup or restore threads plus one connection for everything else.
+ * <p/>
+ * Idle connections are validated before reuse if they have not been used for a while.
+ * Connections held longer than the leak detection threshold are logged with the stack that borrowed them.
+ */
+public final class DataStoreConnectionPool {
+	/**
+	 * Don't validate connections that were used this recently.
+	 */
+	private static final long VALIDATION_INTERVAL_MILLIS = TimeUnit.SECONDS.toMillis(30);
+	private static final int VALIDATION_TIMEOUT_SECONDS = 5;
+
+	// JNDI name -> data source
+	private static final ConcurrentHashMap<String, DataSource> DATA_SOURCES = new ConcurrentHashMap<>();
+	// driver/url/user -> pool
+	private static final ConcurrentHashMap<String, DataStoreConnectionPool> POOLS = new ConcurrentHashMap<>();
+
+	/**
+	 * A pooled physical connection.
+	 */
+	private static final class Pooled {
+		private final Connection connection;
+		// the state the connection was created with - put back when it is returned to the pool
+		private final boolean autoCommit;
+		private final boolean readOnly;
+		private final int transactionIsolation;
+		private final String catalog;
+		private long lastUsed = System.currentTimeMillis();
+		private long borrowed;
+		private Throwable borrowedBy;
+		private boolean leakReported;
+
+		private Pooled(Connection connection) throws SQLException {
+			this.connection = connection;
+			autoCommit = connection.getAutoCommit();
+			readOnly = connection.isReadOnly();
+			transactionIsolation = connection.getTransactionIsolation();
+			catalog = connection.getCatalog();
+		}
+
+		/**
+		 * Roll back any uncommitted work and put the connection back the way it was created.
+		 */
+		private void reset() throws SQLException {
+			if (! connection.getAutoCommit()) {
+				connection.rollback();
+			}
+			if (connection.getAutoCommit() != autoCommit) {
+				connection.setAutoCommit(autoCommit);
+			}
+			if (connection.isReadOnly() != readOnly) {
+				connection.setReadOnly(readOnly);
+			}
+			if (connection.getTransactionIsolation() != transactionIsolation) {
+				connection.setTransactionIsolation(transactionIsolation);
+			}
+			if ((catalog != null) && (! catalog.equals(connection.getCatalog()))) {
+				connection.setCatalog(catalog);
+			}
+			connection.clearWarnings();
+		}
+	}
+
+	private final String url;
+	private final Properties connectionProperties = new Properties();
+	private final int maxSize;
+	private final Semaphore permits;
+	private final ConcurrentLinkedDeque<Pooled> idle = new ConcurrentLinkedDeque<>();
+	private final Set<Pooled> inUse = Collections.newSetFromMap(new ConcurrentHashMap<Pooled, Boolean>());
+	private volatile boolean disposed = false;
+
+	private final LongAdder borrows = new LongAdder();
+	private final LongAdder creates = new LongAdder();
+	private final LongAdder destroys = new LongAdder();
+	private final LongAdder waitNanos = new LongAdder();
+	private final LongAdder timeouts = new LongAdder();
+	private final LongAdder validationFailures = new LongAdder();
+	private final LongAdder leaks = new LongAdder();
+
+	private DataStoreConnectionPool(DataStore dataStore) throws ReflectiveOperationException {
+		Class.forName(dataStore.getJdbcDriverClassName());
+		url = dataStore.getJdbcUrl();
+		String value = dataStore.getUserName();
+		if (value != null) {
+			connectionProperties.put("user", value);
+		}
+		value = dataStore.getPassword();
+		if (value != null) {
+			connectionProperties.put("password", value);
+		}
+		// Backups and restores use a connection per thread so leave one over for everything else
+		int jobSize = Math.max(UtilImpl.BACKUP_THREADS, UtilImpl.RESTORE_THREADS) + 1;
+		if (UtilImpl.DATA_STORE_POOL_MAX_SIZE < jobSize) {
+			UtilImpl.LOGGER.info("Pooling " + jobSize + " connections to " + url + " instead of " + 
+									UtilImpl.DATA_STORE_POOL_MAX_SIZE + " for the backup and restore threads");
+		}
+		maxSize = Math.max(UtilImpl.DATA_STORE_POOL_MAX_SIZE, jobSize);
+		permits = new Semaphore(maxSize, true);
+	}
+
+	/**
+	 * Get a connection for a data store.
+	 * The connection must be closed when finished with.
+	 */
+	public static Connection getConnection(DataStore dataStore)
+	throws SQLException, NamingException, ReflectiveOperationException {
+		String jndiDataSourceName = dataStore.getJndiDataSourceName();
+		if (jndiDataSourceName == null) {
+			return pool(dataStore).borrow();
+		}
+
+		DataSource ds = DATA_SOURCES.get(jndiDataSourceName);
+		if (ds == null) {
+			ds = (DataSource) new InitialContext().lookup(jndiDataSourceName);
+			DATA_SOURCES.put(jndiDataSourceName, ds);
+		}
+		try {
+			return ds.getConnection();
+		}
+		catch (SQLException e) {
+			// the data source may have been redeployed so look it up again next time
+			DATA_SOURCES.remove(jndiDataSourceName, ds);
+			throw e;
+		}
+	}
+
+	public static void logStats() {
+		for (DataStoreConnectionPool pool : POOLS.values()) {
+			long borrowCount = pool.borrows.sum();
+			UtilImpl.LOGGER.info(pool.url + " : in use = " + pool.inUse.size() + " : idle = " + pool.idle.size() + " : max = " + pool.maxSize);
+			UtilImpl.LOGGER.info("Borrows = " + borrowCount +
+									" : average wait (ms) = " + ((borrowCount == 0) ? 0.0 : (pool.waitNanos.sum() / borrowCount / 1000000.0)) +
+									" : timeouts = " + pool.timeouts.sum());
+			UtilImpl.LOGGER.info("Creates = " + pool.creates.sum() +
+									" : destroys = " + pool.destroys.sum() +
+									" : validation failures = " + pool.validationFailures.sum() +
+									" : leaks = " + pool.leaks.sum());
+		}
+	}
+
+	/**
+	 * Close all idle connections and forget the cached data sources.
+	 * Connections in use are closed when they are returned.
+	 */
+	public static void dispose() {
+		for (DataStoreConnectionPool pool : POOLS.values()) {
+			pool.disposed = true;
+			Pooled pooled;
+			while ((pooled = pool.idle.pollFirst()) != null) {
+				pool.destroy(pooled);
+			}
+		}
+		POOLS.clear();
+		DATA_SOURCES.clear();
+	}
+
+	private static DataStoreConnectionPool pool(DataStore dataStore) throws ReflectiveOperationException {
+		String key = new StringBuilder(128).append(dataStore.getJdbcDriverClassName()).append('|')
+												.append(dataStore.getJdbcUrl()).append('|')
+												.append(dataStore.getUserName()).toString();
+		DataStoreConnectionPool result = POOLS.get(key);
+		if (result == null) {
+			result = new DataStoreConnectionPool(dataStore);
+			DataStoreConnectionPool existing = POOLS.putIfAbsent(key, result);
+			if (existing != null) {
+				result = existing;
+			}
+		}
+		return result;
+	}
+
+	private Connection borrow() throws SQLException {
+		detectLeaks();
+
+		long start = System.nanoTime();
+		try {
+			if (! permits.tryAcquire(UtilImpl.DATA_STORE_POOL_MAX_WAIT_SECONDS, TimeUnit.SECONDS)) {
+				timeouts.increment();
+				throw new SQLException("Timed out after " + UtilImpl.DATA_STORE_POOL_MAX_WAIT_SECONDS +
+											" seconds waiting for one of the " + maxSize + " connections to " + url);
+			}
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SQLException("Interrupted waiting for a connection to " + url, e);
+		}
+		waitNanos.add(System.nanoTime() - start);
+
+		try {
+			Pooled result = idle.pollFirst();
+			while ((result != null) && (! valid(result))) {
+				validationFailures.increment();
+				destroy(result);
+				result = idle.pollFirst();
+			}
+			if (result == null) {
+				Connection connection = DriverManager.getConnection(url, connectionProperties);
+				try {
+					result = new Pooled(connection);
+				}
+				catch (SQLException e) {
+					connection.close();
+					throw e;
+				}
+				creates.increment();
+			}
+
+			result.borrowed = System.currentTimeMillis();
+			result.borrowedBy = (UtilImpl.DATA_STORE_POOL_LEAK_DETECTION_SECONDS > 0) ?
+									new Throwable("Connection to " + url + " borrowed here") :
+									null;
+			result.leakReported = false;
+			inUse.add(result);
+			borrows.increment();
+
+			return proxy(result);
+		}
+		catch (SQLException | RuntimeException e) {
+			permits.release();
+			throw e;
+		}
+	}
+
+	private void giveBack(Pooled pooled) {
+		inUse.remove(pooled);
+		try {
+			Connection connection = pooled.connection;
+			if (disposed || connection.isClosed()) {
+				destroy(pooled);
+			}
+			else {
+				pooled.reset();
+				pooled.lastUsed = System.currentTimeMillis();
+				pooled.borrowedBy = null;
+				idle.offerFirst(pooled);
+			}
+		}
+		catch (SQLException e) {
+			UtilImpl.LOGGER.warning("Discarding connection to " + url + " as it could not be reset - " + e.getLocalizedMessage());
+			destroy(pooled);
+		}
+		finally {
+			permits.release();
+		}
+	}
+
+	private boolean valid(Pooled pooled) {
+		try {
+			if ((System.currentTimeMillis() - pooled.lastUsed) < VALIDATION_INTERVAL_MILLIS) {
+				return (! pooled.connection.isClosed());
+			}
+			return pooled.connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+		}
+		catch (@SuppressWarnings("unused") SQLException e) {
+			return false;
+		}
+	}
+
+	private void destroy(Pooled pooled) {
+		destroys.increment();
+		try {
+			pooled.connection.close();
+		}
+		catch (SQLException e) {
+			if (UtilImpl.SQL_TRACE) UtilImpl.LOGGER.log(Level.INFO, "Could not close connection to " + url, e);
+		}
+	}
+
+	private void detectLeaks() {
+		int thresholdSeconds = UtilImpl.DATA_STORE_POOL_LEAK_DETECTION_SECONDS;
+		if (thresholdSeconds > 0) {
+			long threshold = System.currentTimeMillis() - TimeUnit.SECONDS.toMillis(thresholdSeconds);
+			for (Pooled pooled : inUse) {
+				if ((! pooled.leakReported) && (pooled.borrowed < threshold)) {
+					pooled.leakReported = true;
+					leaks.increment();
+					UtilImpl.LOGGER.log(Level.WARNING,
+											"Connection to " + url + " has been in use for more than " + thresholdSeconds + " seconds - possible leak",
+											pooled.borrowedBy);
+				}
+			}
+		}
+	}
+
+	private Connection proxy(final Pooled pooled) {
+		return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+													new Class<?>[] {Connection.class},
+													new InvocationHandler() {
+			private boolean closed = false;
+
+			@Override
+			public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+				String methodName = method.getName();
+				if ("close".equals(methodName)) {
+					if (! closed) {
+						closed = true;
+						giveBack(pooled);
+					}
+					return null;
+				}
+				if ("isClosed".equals(methodName)) {
+					return Boolean.valueOf(closed || pooled.connection.isClosed());
+				}
+				if ("equals".equals(methodName)) {
+					return Boolean.valueOf(proxy == args[0]);
+				}
+				if ("hashCode".equals(methodName)) {
+					return Integer.valueOf(System.identityHashCode(proxy));
+				}
+				if ("toString".equals(methodName)) {
+					return "Pooled " + pooled.connection;
+				}
+				if (closed) {
+					throw new SQLException("Connection is closed");
+				}
+				try {
+					return method.invoke(pooled.connection, args);
+				}
+				catch (InvocationTargetException e) {
+					throw e.getTargetException();
+				}
+			}
+		});
+	}
+}
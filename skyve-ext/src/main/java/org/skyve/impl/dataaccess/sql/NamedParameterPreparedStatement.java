@@ -9,10 +9,22 @@ import java.sql.SQLException;
 import java.sql.Statement;
 import java.sql.Time;
 import java.sql.Timestamp;
+import java.sql.Types;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.skyve.domain.Bean;
+import org.skyve.domain.types.Decimal;
+import org.skyve.domain.types.Enumeration;
+import org.skyve.impl.persistence.AbstractSQL;
+import org.skyve.impl.persistence.hibernate.AbstractHibernatePersistence;
+import org.skyve.impl.persistence.hibernate.dialect.SkyveDialect;
+import org.skyve.metadata.model.Attribute.AttributeType;
+
+import com.vividsolutions.jts.geom.Geometry;
 
 /**
  * This class wraps around a {@link PreparedStatement} and allows the programmer
@@ -40,15 +52,37 @@ import java.util.Map;
  * @author adam_crume
  */
 public class NamedParameterPreparedStatement implements AutoCloseable {
+	/**
+	 * Stop the cache growing indefinitely if queries are built with literals in them.
+	 */
+	private static final int MAX_PARSED_QUERIES = 1000;
+
+	/**
+	 * A query with its named parameters replaced by question marks and the indices of each name.
+	 */
+	private static final class ParsedQuery {
+		private final String query;
+		private final Map<String, int[]> indexMap;
+		
+		private ParsedQuery(String query, Map<String, int[]> indexMap) {
+			this.query = query;
+			this.indexMap = indexMap;
+		}
+	}
+	
+	/** Query text -> parsed query */
+	private static final ConcurrentHashMap<String, ParsedQuery> PARSED_QUERIES = new ConcurrentHashMap<>();
+	
 	/** The statement this object is wrapping. */
 	private final PreparedStatement statement;
 
 	/** Maps parameter names to arrays of ints which are the parameter indices. */
-	private final Map<String, int[]> indexMap = new HashMap<>();
+	private final Map<String, int[]> indexMap;
 
 	/**
 	 * Creates a NamedParameterStatement. Wraps a call to c.
 	 * {@link Connection#prepareStatement(java.lang.String) prepareStatement}.
+	 * The query is only parsed the first time it is seen.
 	 * 
 	 * @param connection
 	 *            the database connection
@@ -59,8 +93,16 @@ public class NamedParameterPreparedStatement implements AutoCloseable {
 	 */
 	public NamedParameterPreparedStatement(Connection connection, String query)
 			throws SQLException {
-		String parsedQuery = parse(query);
-		statement = connection.prepareStatement(parsedQuery);
+		ParsedQuery parsedQuery = PARSED_QUERIES.get(query);
+		if (parsedQuery == null) {
+			parsedQuery = parse(query);
+			if (PARSED_QUERIES.size() >= MAX_PARSED_QUERIES) {
+				PARSED_QUERIES.clear();
+			}
+			PARSED_QUERIES.put(query, parsedQuery);
+		}
+		indexMap = parsedQuery.indexMap;
+		statement = connection.prepareStatement(parsedQuery.query);
 	}
 
 	/**
@@ -72,7 +114,7 @@ public class NamedParameterPreparedStatement implements AutoCloseable {
 	 *            query to parse
 	 * @return the parsed query
 	 */
-	private String parse(String query) {
+	private static ParsedQuery parse(String query) {
 		Map<String, List<Integer>> tempMap = new HashMap<>();
 
 		// I was originally using regular expressions, but they didn't work well
@@ -127,6 +169,7 @@ public class NamedParameterPreparedStatement implements AutoCloseable {
 		}
 
 		// replace the lists of Integer objects with arrays of ints
+		Map<String, int[]> indexMap = new HashMap<>();
 		for (String name : tempMap.keySet()) {
 			List<Integer> list = tempMap.get(name);
 			int[] indexes = new int[list.size()];
@@ -137,7 +180,7 @@ public class NamedParameterPreparedStatement implements AutoCloseable {
 			indexMap.put(name, indexes);
 		}
 
-		return parsedQuery.toString();
+		return new ParsedQuery(parsedQuery.toString(), indexMap);
     }
 
 	/**
@@ -268,6 +311,143 @@ public class NamedParameterPreparedStatement implements AutoCloseable {
 		}
 	}
 
+	/**
+	 * Sets the current parameter values of some SQL by their attribute types.
+	 * 
+	 * @param sql	The SQL holding the parameter values and types.
+	 * @param dialectClassName	The dialect used to convert geometries. It is only loaded when a geometry is set.
+	 * @throws SQLException
+	 *             if an error occurred
+	 */
+	public void setParameters(AbstractSQL sql, String dialectClassName) throws SQLException {
+		for (String name : sql.getParameterNames()) {
+			Object value = sql.getParameter(name);
+			AttributeType type = sql.getParameterType(name);
+
+			if (AttributeType.bool.equals(type)) {
+				if (value == null) {
+					setNull(name, Types.BOOLEAN);
+				}
+				else {
+					setBoolean(name, ((Boolean) value).booleanValue());
+				}
+			}
+			else if (AttributeType.colour.equals(type) ||
+						AttributeType.content.equals(type) ||
+						AttributeType.enumeration.equals(type) ||
+						AttributeType.text.equals(type) ||
+						AttributeType.id.equals(type) ||
+						AttributeType.association.equals(type)) {
+				if (value == null) {
+					setNull(name, Types.VARCHAR);
+				}
+				else {
+					if (value instanceof Bean) {
+						setString(name, ((Bean) value).getBizId());
+					}
+					else if (value instanceof Enumeration) {
+						setString(name, ((Enumeration) value).toCode());
+					}
+					else {
+						setString(name, value.toString());
+					}
+				}
+			}
+			else if (AttributeType.markup.equals(type) ||
+						AttributeType.memo.equals(type)) {
+				if (value == null) {
+					setNull(name, Types.LONGVARCHAR);
+				}
+				else {
+					setString(name, (String) value);
+				}
+			}
+			else if (AttributeType.date.equals(type)) {
+				if (value == null) {
+					setNull(name,Types.DATE);
+				}
+				else {
+					setDate(name, new java.sql.Date(((java.util.Date) value).getTime()));
+				}
+			}
+			else if (AttributeType.dateTime.equals(type)) {
+				if (value == null) {
+					setNull(name, Types.TIMESTAMP);
+				}
+				else {
+					setTimestamp(name, new java.sql.Timestamp(((java.util.Date) value).getTime()));
+				}
+			}
+			else if (AttributeType.decimal10.equals(type) ||
+						AttributeType.decimal2.equals(type) ||
+						AttributeType.decimal5.equals(type)) {
+				if (value == null) {
+					setNull(name, Types.DECIMAL);
+				}
+				else {
+					if (value instanceof BigDecimal) {
+						setBigDecimal(name, (BigDecimal) value);
+					}
+					else if (value instanceof Decimal) {
+						setBigDecimal(name, ((Decimal) value).bigDecimalValue());
+					}
+					else {
+						setBigDecimal(name, new BigDecimal(((Number) value).toString()));
+					}
+				}
+			}
+			else if (AttributeType.geometry.equals(type)) {
+				SkyveDialect dialect = AbstractHibernatePersistence.getDialect(dialectClassName);
+				if (value == null) {
+					setNull(name, dialect.getGeometrySqlType());
+				}
+				else {
+					if (dialect.getGeometrySqlType() == Types.ARRAY) {
+						setBytes(name, (byte[]) dialect.convertToPersistedValue((Geometry) value));
+					}
+					else {
+						setObject(name, dialect.convertToPersistedValue((Geometry) value));
+					}
+				}
+			}
+			else if (AttributeType.integer.equals(type)) {
+				if (value == null) {
+					setNull(name, Types.INTEGER);
+				}
+				else {
+					setInt(name, ((Number) value).intValue());
+				}
+			}
+			else if (AttributeType.longInteger.equals(type)) {
+				if (value == null) {
+					setNull(name, Types.NUMERIC);
+				}
+				else {
+					setLong(name,  ((Number) value).longValue());
+				}
+			}
+			else if (AttributeType.time.equals(type)) {
+				if (value == null) {
+					setNull(name, Types.TIME);
+				}
+				else {
+					setTime(name, new java.sql.Time(((java.util.Date) value).getTime()));
+				}
+			}
+			else if (AttributeType.timestamp.equals(type)) {
+				if (value == null) {
+					setNull(name, Types.TIMESTAMP);
+				}
+				else {
+					setTimestamp(name, new java.sql.Timestamp(((java.util.Date) value).getTime()));
+				}
+			}
+			else {
+				setObject(name, value);
+			}
+		}
+	}
+
 	/**
 	 * Returns the underlying statement.
 	 * 
@@ -327,6 +507,16 @@ public class NamedParameterPreparedStatement implements AutoCloseable {
 		statement.close();
 	}
 
+	/**
+	 * Clears the current parameter values so the statement can be reused.
+	 * 
+	 * @throws SQLException
+	 *             if something went wrong
+	 */
+	public void clearParameters() throws SQLException {
+		statement.clearParameters();
+	}
+
 	/**
 	 * Adds the current set of parameters as a batch entry.
 	 * 
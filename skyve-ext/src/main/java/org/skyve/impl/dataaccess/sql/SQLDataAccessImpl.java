@@ -1,6 +1,9 @@
 package org.skyve.impl.dataaccess.sql;
 
 import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.skyve.CORE;
 import org.skyve.EXT;
@@ -16,7 +19,14 @@ public class SQLDataAccessImpl implements SQLDataAccess {
 	private DataStore dataStore; // to get a connection and construct SQL from
 	private SkyveDialect dialect = null; // this is only created when we come across a geometry
 
+	/**
+	 * Stop the statement cache holding too many open statements.
+	 */
+	private static final int MAX_CACHED_STATEMENTS = 50;
+
 	private Connection connection;
+	// query -> prepared statement not in use
+	private Map<String, NamedParameterPreparedStatement> statements = new HashMap<>();
 	
 	public SQLDataAccessImpl(DataStore dataStore) {
 		this.dataStore = dataStore;
@@ -30,6 +40,25 @@ public class SQLDataAccessImpl implements SQLDataAccess {
 		return connection;
 	}
 	
+	String getDialectClassName() {
+		return dataStore.getDialectClassName();
+	}
+	
+	/**
+	 * Roll back the work on the connection after a statement failed.
+	 * Any problem rolling back is added to the original failure.
+	 */
+	void rollback(Exception failure) {
+		if (connection != null) {
+			try {
+				connection.rollback();
+			}
+			catch (SQLException e) {
+				failure.addSuppressed(e);
+			}
+		}
+	}
+	
 	SkyveDialect getDialect() throws Exception {
 		if (dialect == null) {
 			dialect = AbstractHibernatePersistence.getDialect(dataStore.getDialectClassName());
@@ -38,10 +67,46 @@ public class SQLDataAccessImpl implements SQLDataAccess {
 		return dialect;
 	}
 	
+	/**
+	 * Get a prepared statement for a query, reusing one already prepared on this connection if possible.
+	 * The statement must be given back with {@link #releaseStatement(String, NamedParameterPreparedStatement)}.
+	 */
+	NamedParameterPreparedStatement takeStatement(String query) throws Exception {
+		NamedParameterPreparedStatement result = statements.remove(query);
+		if (result == null) {
+			result = new NamedParameterPreparedStatement(getConnection(), query);
+		}
+		else {
+			result.clearParameters();
+		}
+		return result;
+	}
+	
+	/**
+	 * Give back a statement for reuse.
+	 * It is closed if another statement for the query is already cached or the cache is full.
+	 */
+	void releaseStatement(String query, NamedParameterPreparedStatement statement) throws SQLException {
+		if (statements.containsKey(query) || (statements.size() >= MAX_CACHED_STATEMENTS) || connection.isClosed()) {
+			statement.close();
+		}
+		else {
+			statements.put(query, statement);
+		}
+	}
+	
 	@Override
 	public void close() throws Exception {
-		if ((connection != null) && (! connection.isClosed())) {
-			connection.close();
+		try {
+			for (NamedParameterPreparedStatement statement : statements.values()) {
+				statement.close();
+			}
+		}
+		finally {
+			statements.clear();
+			if ((connection != null) && (! connection.isClosed())) {
+				connection.close();
+			}
 		}
 	}
 	
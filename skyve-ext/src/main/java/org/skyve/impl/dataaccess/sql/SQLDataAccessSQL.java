@@ -118,9 +118,63 @@ class SQLDataAccessSQL extends AbstractSQL implements ProjectedQuery {
 		return new SQLIterable<>(null, dataAccess, this, null);
 	}
 
+	/**
+	 * Execute the DML and commit, or roll back if it fails.
+	 */
 	@Override
 	public int execute() {
-		// TODO Auto-generated method stub
-		return 0;
+		String query = toQueryString();
+		try {
+			NamedParameterPreparedStatement ps = dataAccess.takeStatement(query);
+			try {
+				bindParameters(ps);
+				int result = ps.executeUpdate();
+				dataAccess.getConnection().commit();
+				return result;
+			}
+			finally {
+				dataAccess.releaseStatement(query, ps);
+			}
+		}
+		catch (Exception e) {
+			dataAccess.rollback(e);
+			throw new DomainException("Could not execute SQL", e);
+		}
+	}
+	
+	/**
+	 * Send all the batch entries to the database in one JDBC batch and commit, or roll back if any entry fails.
+	 */
+	@Override
+	public int[] executeBatch() {
+		String query = toQueryString();
+		try {
+			NamedParameterPreparedStatement ps = dataAccess.takeStatement(query);
+			try {
+				for (int i = 0, l = getBatchSize(); i < l; i++) {
+					selectBatch(i);
+					bindParameters(ps);
+					ps.addBatch();
+				}
+				int[] result = ps.executeBatch();
+				dataAccess.getConnection().commit();
+				return result;
+			}
+			finally {
+				endBatch();
+				dataAccess.releaseStatement(query, ps);
+			}
+		}
+		catch (Exception e) {
+			dataAccess.rollback(e);
+			throw new DomainException("Could not execute SQL batch", e);
+		}
+	}
+	
+	/**
+	 * Set the current parameter values on a statement.
+	 */
+	void bindParameters(NamedParameterPreparedStatement ps) throws Exception {
+		ps.setParameters(this, dataAccess.getDialectClassName());
 	}
 }
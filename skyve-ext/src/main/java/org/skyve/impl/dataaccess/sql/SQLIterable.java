@@ -1,6 +1,5 @@
 package org.skyve.impl.dataaccess.sql;
 
-import java.math.BigDecimal;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Time;
@@ -9,13 +8,10 @@ import java.util.Date;
 import java.util.Iterator;
 
 import org.skyve.CORE;
-import org.skyve.domain.Bean;
 import org.skyve.domain.messages.DomainException;
-import org.skyve.domain.types.Decimal;
 import org.skyve.domain.types.Decimal10;
 import org.skyve.domain.types.Decimal2;
 import org.skyve.domain.types.Decimal5;
-import org.skyve.domain.types.Enumeration;
 import org.skyve.impl.bind.BindUtil;
 import org.skyve.impl.persistence.hibernate.dialect.SkyveDialect;
 import org.skyve.metadata.model.Attribute;
@@ -29,6 +25,7 @@ class SQLIterable<T> implements AutoClosingIterable<T> {
 	private Document document;
 	private SQLDataAccessImpl dataAccess;
 	private Class<?> scalarType;
+	private String query;
 	private NamedParameterPreparedStatement ps = null;
 	private ResultSet rs = null;
 	
@@ -37,133 +34,9 @@ class SQLIterable<T> implements AutoClosingIterable<T> {
 		this.dataAccess = dataAccess;
 		this.scalarType = scalarType;
 		try {
-			ps = new NamedParameterPreparedStatement(dataAccess.getConnection(), sql.toQueryString());
-			for (String name : sql.getParameterNames()) {
-				Object value = sql.getParameter(name);
-				AttributeType type = sql.getParameterType(name);
-
-				if (AttributeType.bool.equals(type)) {
-					if (value == null) {
-						ps.setNull(name, Types.BOOLEAN);
-					}
-					else {
-						ps.setBoolean(name, ((Boolean) value).booleanValue());
-					}
-				}
-				else if (AttributeType.colour.equals(type) ||
-							AttributeType.content.equals(type) ||
-							AttributeType.enumeration.equals(type) ||
-							AttributeType.text.equals(type) ||
-							AttributeType.id.equals(type) ||
-							AttributeType.association.equals(type)) {
-					if (value == null) {
-						ps.setNull(name, Types.VARCHAR);
-					}
-					else {
-						if (value instanceof Bean) {
-							ps.setString(name, ((Bean) value).getBizId());
-						}
-						else if (value instanceof Enumeration) {
-							ps.setString(name, ((Enumeration) value).toCode());
-						}
-						else {
-							ps.setString(name, (String) value);
-						}
-					}
-				}
-				else if (AttributeType.markup.equals(type) ||
-							AttributeType.memo.equals(type)) {
-					if (value == null) {
-						ps.setNull(name, Types.LONGVARCHAR);
-					}
-					else {
-						ps.setString(name, (String) value);
-					}
-				}
-				else if (AttributeType.date.equals(type)) {
-					if (value == null) {
-						ps.setNull(name,Types.DATE);
-					}
-					else {
-						ps.setDate(name, new java.sql.Date(((Date) value).getTime()));
-					}
-				}
-				else if (AttributeType.dateTime.equals(type)) {
-					if (value == null) {
-						ps.setNull(name, Types.TIMESTAMP);
-					}
-					else {
-						ps.setTimestamp(name, new java.sql.Timestamp(((Date) value).getTime()));
-					}
-				}
-				else if (AttributeType.decimal10.equals(type) ||
-							AttributeType.decimal2.equals(type) ||
-							AttributeType.decimal5.equals(type)) {
-					if (value == null) {
-						ps.setNull(name, Types.DECIMAL);
-					}
-					else {
-						if (value instanceof BigDecimal) {
-							ps.setBigDecimal(name, (BigDecimal) value);
-						}
-						else if (value instanceof Decimal) {
-							ps.setBigDecimal(name, ((Decimal) value).bigDecimalValue());
-						}
-						else {
-							ps.setBigDecimal(name, new BigDecimal(((Number) value).toString()));
-						}
-					}
-				}
-				else if (AttributeType.geometry.equals(type)) {
-					SkyveDialect dialect = dataAccess.getDialect();
-					if (value == null) {
-						ps.setNull(name, dialect.getGeometrySqlType());
-					}
-					else {
-						if (dialect.getGeometrySqlType() == Types.ARRAY) {
-							ps.setBytes(name, (byte[]) dialect.convertToPersistedValue((Geometry) value));
-						}
-						else {
-							ps.setObject(name, dialect.convertToPersistedValue((Geometry) value));
-						}
-					}
-				}
-				else if (AttributeType.integer.equals(type)) {
-					if (value == null) {
-						ps.setNull(name, Types.INTEGER);
-					}
-					else {
-						ps.setInt(name, ((Number) value).intValue());
-					}
-				}
-				else if (AttributeType.longInteger.equals(type)) {
-					if (value == null) {
-						ps.setNull(name, Types.NUMERIC);
-					}
-					else {
-						ps.setLong(name,  ((Number) value).longValue());
-					}
-				}
-				else if (AttributeType.time.equals(type)) {
-					if (value == null) {
-						ps.setNull(name, Types.TIME);
-					}
-					else {
-						ps.setTime(name, new java.sql.Time(((Date) value).getTime()));
-					}
-				}
-				else if (AttributeType.timestamp.equals(type)) {
-					if (value == null) {
-						ps.setNull(name, Types.TIMESTAMP);
-					}
-					else {
-						ps.setTimestamp(name, new java.sql.Timestamp(((Date) value).getTime()));
-					}
-				}
-				else {
-					ps.setObject(name, value);
-				}
-			}
+			query = sql.toQueryString();
+			ps = dataAccess.takeStatement(query);
+			sql.bindParameters(ps);
 			rs = ps.executeQuery();
 		}
 		catch (Exception e) {
@@ -188,7 +61,7 @@ class SQLIterable<T> implements AutoClosingIterable<T> {
 			}
 			finally {
 				if (ps != null) {
-					ps.close();
+					dataAccess.releaseStatement(query, ps);
 					ps = null;
 				}
 			}
@@ -17,6 +17,7 @@ import org.skyve.domain.Bean;
 import org.skyve.domain.types.Decimal2;
 import org.skyve.impl.generate.jasperreports.DesignSpecification.Mode;
 import org.skyve.impl.generate.jasperreports.ReportBand.BandType;
+import org.skyve.impl.jasperreports.ReportCache;
 import org.skyve.impl.jasperreports.ReportDesignParameters;
 import org.skyve.impl.tools.jasperreports.SkyveDocumentExecuterFactory;
 import org.skyve.metadata.customer.Customer;
@@ -142,7 +143,7 @@ public class JasperReportRenderer {
         }
 
         final JasperReportRenderer subReportRenderer = new JasperReportRenderer(subReportSpec);
-        return subReportRenderer.getReport();
+        return ReportCache.getReport(subReportRenderer);
     }
 
     public String renderDesign() throws Exception {
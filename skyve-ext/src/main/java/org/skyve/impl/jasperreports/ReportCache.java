@@ -0,0 +1,186 @@
+package org.skyve.impl.jasperreports;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+import org.skyve.impl.generate.jasperreports.JasperReportRenderer;
+import org.skyve.impl.metadata.repository.AbstractRepository;
+import org.skyve.impl.util.UtilImpl;
+import org.skyve.metadata.customer.Customer;
+import org.skyve.metadata.model.document.Document;
+import org.skyve.metadata.module.Module;
+
+import net.sf.jasperreports.engine.JRException;
+import net.sf.jasperreports.engine.JasperReport;
+import net.sf.jasperreports.engine.util.JRLoader;
+
+/**
+ * Caches compiled jasper reports so they are not deserialized or compiled on every run.
+ * <p/>
+ * Reports from the repository are keyed on their .jasper file name which is specific to the customer,
+ * module, document and report name, and are reloaded if the file's timestamp changes.
+ * Generated reports are keyed on a hash of the rendered JRXML so the same design is only compiled once.
+ * The uuid attributes are removed before hashing as jasper generates new ones each time a design is rendered.
+ * <p/>
+ * The least recently used report is evicted once the cache holds UtilImpl.REPORT_CACHE_SIZE reports.
+ * A cache size of 0 disables caching.
+ * The cache is cleared when the cached metadata is evicted.
+ */
+public final class ReportCache {
+	private static final class Entry {
+		private final JasperReport report;
+		private final long lastModified;
+
+		private Entry(JasperReport report, long lastModified) {
+			this.report = report;
+			this.lastModified = lastModified;
+		}
+	}
+
+	// jasper gives every dataset and element a random uuid when it is rendered
+	private static final Pattern UUID_ATTRIBUTE = Pattern.compile("\\suuid=\"[^\"]*\"");
+
+	private static final LongAdder HITS = new LongAdder();
+	private static final LongAdder MISSES = new LongAdder();
+	private static final LongAdder EVICTIONS = new LongAdder();
+
+	// key -> report in least recently used order
+	private static final Map<String, Entry> REPORTS = new LinkedHashMap<String, Entry>(128, 0.75f, true) {
+		private static final long serialVersionUID = -3478126011379744624L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+			boolean result = (size() > UtilImpl.REPORT_CACHE_SIZE);
+			if (result) {
+				EVICTIONS.increment();
+			}
+			return result;
+		}
+	};
+
+	private ReportCache() {
+		// nothing to see here
+	}
+
+	/**
+	 * Get a compiled report from a .jasper file.
+	 *
+	 * @param reportFileName	The absolute .jasper file name.
+	 * @return	The report.
+	 */
+	public static JasperReport getReport(String reportFileName) throws JRException {
+		File file = new File(reportFileName);
+		long lastModified = file.lastModified();
+
+		Entry entry = get(reportFileName);
+		if ((entry != null) && (entry.lastModified == lastModified)) {
+			HITS.increment();
+			return entry.report;
+		}
+
+		MISSES.increment();
+		JasperReport result = (JasperReport) JRLoader.loadObject(file);
+		put(reportFileName, new Entry(result, lastModified));
+		return result;
+	}
+
+	/**
+	 * Get a compiled report for a generated report design.
+	 *
+	 * @param renderer	The renderer of the design.
+	 * @return	The report.
+	 */
+	public static JasperReport getReport(JasperReportRenderer renderer) throws Exception {
+		String key = "jrxml:" + sha256(UUID_ATTRIBUTE.matcher(renderer.getJrxml()).replaceAll(""));
+
+		Entry entry = get(key);
+		if (entry != null) {
+			HITS.increment();
+			return entry.report;
+		}
+
+		MISSES.increment();
+		JasperReport result = renderer.getReport();
+		put(key, new Entry(result, 0L));
+		return result;
+	}
+
+	/**
+	 * Load reports into the cache for every customer.
+	 *
+	 * @param reports	The reports to load in the form "module.document.report".
+	 */
+	public static void preWarm(List<String> reports) {
+		AbstractRepository repository = AbstractRepository.get();
+		for (String customerName : repository.getAllCustomerNames()) {
+			Customer customer = repository.getCustomer(customerName);
+			for (String report : reports) {
+				try {
+					int firstDotIndex = report.indexOf('.');
+					int secondDotIndex = report.indexOf('.', firstDotIndex + 1);
+					if ((firstDotIndex <= 0) || (secondDotIndex <= 0)) {
+						throw new IllegalArgumentException("Report " + report + " should be of the form module.document.report");
+					}
+					Module module = customer.getModule(report.substring(0, firstDotIndex));
+					Document document = module.getDocument(customer, report.substring(firstDotIndex + 1, secondDotIndex));
+					getReport(repository.getReportFileName(customer, document, report.substring(secondDotIndex + 1)));
+				}
+				catch (Exception e) {
+					UtilImpl.LOGGER.warning("Could not pre-warm report " + report + " for customer " + customerName + " - " + e.getLocalizedMessage());
+				}
+			}
+		}
+		UtilImpl.LOGGER.info("Pre-warmed " + size() + " reports");
+	}
+
+	public static void logStats() {
+		UtilImpl.LOGGER.info("Reports cached = " + size() +
+								" : hits = " + HITS.sum() +
+								" : misses = " + MISSES.sum() +
+								" : evictions = " + EVICTIONS.sum());
+	}
+
+	/**
+	 * Remove all cached reports - called when the cached metadata is evicted.
+	 */
+	public static void clear() {
+		synchronized (REPORTS) {
+			REPORTS.clear();
+		}
+	}
+
+	private static int size() {
+		synchronized (REPORTS) {
+			return REPORTS.size();
+		}
+	}
+
+	private static Entry get(String key) {
+		synchronized (REPORTS) {
+			return REPORTS.get(key);
+		}
+	}
+
+	private static void put(String key, Entry entry) {
+		if (UtilImpl.REPORT_CACHE_SIZE > 0) {
+			synchronized (REPORTS) {
+				REPORTS.put(key, entry);
+			}
+		}
+	}
+
+	private static String sha256(String value) throws Exception {
+		byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+		StringBuilder result = new StringBuilder(digest.length * 2);
+		for (byte b : digest) {
+			result.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+		}
+		return result.toString();
+	}
+}
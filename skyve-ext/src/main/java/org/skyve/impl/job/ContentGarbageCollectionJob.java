@@ -1,15 +1,28 @@
 package org.skyve.impl.job;
 
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
 import java.util.Set;
-import java.util.TreeSet;
 import java.util.logging.Level;
 
-import org.quartz.Job;
 import org.quartz.JobExecutionContext;
 import org.quartz.JobExecutionException;
+import org.quartz.StatefulJob;
 import org.skyve.CORE;
 import org.skyve.EXT;
+import org.skyve.content.ContentIterable.ContentIterator;
 import org.skyve.content.ContentManager;
 import org.skyve.content.SearchResult;
 import org.skyve.domain.Bean;
@@ -24,87 +37,286 @@ import org.skyve.util.Util;
 
 /**
  * This job removes orphaned uploads and any textually indexed data left from delete/truncate SQL statements issued.
- * 
+ * <p/>
+ * Content is grouped by document and attribute and each group is checked against its table
+ * with one "bizId in (...)" query per UtilImpl.CONTENT_GC_BATCH_SIZE items.
+ * Orphans are removed in chunks as they are found, with a pause after each batch is checked to limit the load on the system.
+ * All pending groups are checked periodically so the content waiting to be checked stays bounded.
+ * <p/>
+ * Content is iterated in a stable key order. After each periodic check, the key of the last content processed is 
+ * checkpointed in the content directory so that an interrupted run resumes after it. 
+ * A completed run deletes the checkpoint.
+ * The job is stateful so that it does not run concurrently with itself.
+ *
  * @author sandsm01
  */
-public class ContentGarbageCollectionJob implements Job {
-	private Set<String> orphanedContentIds = new TreeSet<>();
-	
+public class ContentGarbageCollectionJob implements StatefulJob {
+	private static final String CHECKPOINT_FILE_NAME = "gc.checkpoint";
+	private static final String LAST_KEY_PROPERTY = "lastKey";
+
+	/**
+	 * All pending groups are checked and the checkpoint saved after this many batches of content are processed.
+	 */
+	private static final int BATCHES_PER_CHECK = 20;
+
+	/**
+	 * Content items in a document (and attribute for attachments) waiting to be checked.
+	 */
+	private static final class Group {
+		private final Document document;
+		private final String attributeName;
+		// bizId -> content IDs
+		private final Map<String, List<String>> contentIds = new HashMap<>();
+		private int size = 0;
+
+		private Group(Document document, String attributeName) {
+			this.document = document;
+			this.attributeName = attributeName;
+		}
+
+		private void add(String bizId, String contentId) {
+			List<String> ids = contentIds.get(bizId);
+			if (ids == null) {
+				ids = new ArrayList<>(1);
+				contentIds.put(bizId, ids);
+			}
+			ids.add(contentId);
+			size++;
+		}
+	}
+
+	private Repository r;
+	private Persistence p;
+	private ContentManager cm;
+	// customer/module/document/attribute -> group
+	private Map<String, Group> groups = new HashMap<>();
+	private List<String> orphanedContentIds = new ArrayList<>(UtilImpl.CONTENT_GC_BATCH_SIZE);
+	private long removed = 0;
+
 	@Override
 	public void execute(JobExecutionContext context)
 	throws JobExecutionException {
 		try {
-			Repository r = CORE.getRepository();
-			Persistence p = CORE.getPersistence();
+			r = CORE.getRepository();
+			p = CORE.getPersistence();
+			File checkpoint = new File(UtilImpl.CONTENT_DIRECTORY, CHECKPOINT_FILE_NAME);
+			String lastKey = loadCheckpoint(checkpoint);
+			if (lastKey != null) {
+				Util.LOGGER.info("ContentGarbageCollectionJob: Resuming after content " + lastKey);
+			}
+			long processed = 0;
 			try {
-				try (ContentManager cm = EXT.newContentManager()) {
-					for (SearchResult result : cm.all()) {
+				try (ContentManager contentManager = EXT.newContentManager()) {
+					cm = contentManager;
+					long checkSize = (long) UtilImpl.CONTENT_GC_BATCH_SIZE * BATCHES_PER_CHECK;
+					ContentIterator i = cm.all(lastKey).iterator();
+					while (i.hasNext()) {
+						SearchResult result = i.next();
+						processed++;
+
 						try { // don't stop trying to detect removed content
-							if (UtilImpl.CONTENT_TRACE) UtilImpl.LOGGER.finest("ContentGarbageCollectionJob: FOUND customer=" + result.getCustomerName() + 
-																				" : module=" + result.getModuleName() + 
-																				" : document=" + result.getDocumentName() + 
-																				" : bizId=" + result.getBizId() + 
-																				" : attribute=" + result.getAttributeName() + 
+							if (UtilImpl.CONTENT_TRACE) UtilImpl.LOGGER.finest("ContentGarbageCollectionJob: FOUND customer=" + result.getCustomerName() +
+																				" : module=" + result.getModuleName() +
+																				" : document=" + result.getDocumentName() +
+																				" : bizId=" + result.getBizId() +
+																				" : attribute=" + result.getAttributeName() +
 																				" : lastModified=" + result.getLastModified());
 							Date lastModified = result.getLastModified();
 							// only process this if its at least a day old.
 							// Besides cutting out busy work on a data set in flux, it'll make sure that anyones freshly uploaded
 							// content that hasn't been saved (not pointed to yet in the database) won't be removed.
 							if ((lastModified == null) || ((System.currentTimeMillis() - lastModified.getTime()) > 86400000)) {
-								Customer customer = r.getCustomer(result.getCustomerName());
-								Module module = customer.getModule(result.getModuleName());
-								Document document = module.getDocument(customer, result.getDocumentName());
-								
-								SQL query = null;
-								StringBuilder sql = new StringBuilder(128);
-								sql.append("select 1 from ").append(document.getPersistent().getPersistentIdentifier());
-								sql.append(" where ").append(Bean.DOCUMENT_ID).append(" = :").append(Bean.DOCUMENT_ID);
-								
-								// check if we have a record
-								String attributeName = result.getAttributeName();
-								if (attributeName != null) { // attachment
-									sql.append(" and ").append(attributeName).append(" = :").append(attributeName);
-		
-									query = p.newSQL(sql.toString());
-									query.putParameter(Bean.DOCUMENT_ID, result.getBizId(), false);
-									query.putParameter(attributeName, result.getContentId(), false);
-								}
-								else { // bean
-									query = p.newSQL(sql.toString());
-									query.putParameter(Bean.DOCUMENT_ID, result.getBizId(), false);
-								}
-								
-								if (UtilImpl.CONTENT_TRACE) UtilImpl.LOGGER.finest("ContentGarbageCollectionJob: TEST REMOVAL with " + sql.toString());
-								if (query.scalarResults(Integer.class).isEmpty()) {
-									orphanedContentIds.add(result.getContentId());
-								}
+								collect(result);
 							}
 						}
 						catch (Exception e) {
 							Util.LOGGER.warning("ContentGarbageCollectionJob retrieve problem..." + e.getLocalizedMessage());
 							if (UtilImpl.CONTENT_TRACE) Util.LOGGER.log(Level.WARNING, "ContentGarbageCollectionJob.execute() problem...", e);
 						}
-					}
-					
-					for (String contentId : orphanedContentIds) {
-						try { // don't stop trying to remove content
-							if (UtilImpl.CONTENT_TRACE) UtilImpl.LOGGER.info("ContentGarbageCollectionJob: Remove content with ID " + contentId);
-							cm.remove(contentId);
-						}
-						catch (Exception e) {
-							Util.LOGGER.warning("ContentGarbageCollectionJob remove problem..." + e.getLocalizedMessage());
-							if (UtilImpl.CONTENT_TRACE) Util.LOGGER.log(Level.WARNING, "ContentGarbageCollectionJob.execute() problem...", e);
+
+						if ((processed % checkSize) == 0) {
+							for (Group group : groups.values()) {
+								check(group);
+							}
+							groups.clear();
+							remove();
+							// everything up to and including this content has been checked
+							saveCheckpoint(checkpoint, i.getLastKey());
 						}
 					}
+
+					for (Group group : groups.values()) {
+						check(group);
+					}
+					groups.clear();
+					remove();
 				}
 			}
 			finally {
+				cm = null;
 				p.commit(true);
 			}
-			if (UtilImpl.CONTENT_TRACE) Util.LOGGER.info("Successfully performed CMS garbage collection");
+			checkpoint.delete();
+
+			if (UtilImpl.CONTENT_TRACE) Util.LOGGER.info("Successfully performed CMS garbage collection - processed " + processed +
+															" content items and removed " + removed + " orphans");
 		}
 		catch (Exception e) {
 			throw new JobExecutionException("Error encountered whilst performing CMS garbage collection", e);
 		}
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Add the content to its group and check the group if it is full.
+	 */
+	private void collect(SearchResult result) throws Exception {
+		String attributeName = result.getAttributeName();
+		String key = result.getCustomerName() + '/' + result.getModuleName() + '/' + result.getDocumentName() + '/' + attributeName;
+		Group group = groups.get(key);
+		if (group == null) {
+			Customer customer = r.getCustomer(result.getCustomerName());
+			Module module = customer.getModule(result.getModuleName());
+			Document document = module.getDocument(customer, result.getDocumentName());
+			group = new Group(document, attributeName);
+			groups.put(key, group);
+		}
+
+		group.add(result.getBizId(), result.getContentId());
+		if (group.size >= UtilImpl.CONTENT_GC_BATCH_SIZE) {
+			check(group);
+			groups.remove(key);
+			if (orphanedContentIds.size() >= UtilImpl.CONTENT_GC_BATCH_SIZE) {
+				remove();
+			}
+		}
+	}
+
+	/**
+	 * Find the content in the group that no longer has a row (or an attribute value for attachments)
+	 * in the document's table and add it to the orphans.
+	 * Each batch is throttled, whether it is full or the remainder of a group.
+	 */
+	private void check(Group group) throws InterruptedException {
+		if (group.size == 0) {
+			return;
+		}
+
+		try { // don't stop trying to detect removed content
+			String attributeName = group.attributeName;
+			StringBuilder sql = new StringBuilder(64 + (group.contentIds.size() * 8));
+			sql.append("select ").append(Bean.DOCUMENT_ID);
+			if (attributeName != null) { // attachment
+				sql.append(", ").append(attributeName);
+			}
+			sql.append(" from ").append(group.document.getPersistent().getPersistentIdentifier());
+			sql.append(" where ").append(Bean.DOCUMENT_ID).append(" in (");
+			for (int i = 0, l = group.contentIds.size(); i < l; i++) {
+				if (i > 0) {
+					sql.append(", ");
+				}
+				sql.append(":id").append(i);
+			}
+			sql.append(')');
+
+			if (UtilImpl.CONTENT_TRACE) UtilImpl.LOGGER.finest("ContentGarbageCollectionJob: TEST REMOVAL with " + sql.toString());
+			SQL query = p.newSQL(sql.toString());
+			int i = 0;
+			for (String bizId : group.contentIds.keySet()) {
+				query.putParameter("id" + i++, bizId, false);
+			}
+
+			// the content that is still referenced
+			Set<String> found = new HashSet<>();
+			if (attributeName != null) { // attachment
+				for (Object[] row : query.tupleResults()) {
+					Object contentId = row[1];
+					if (contentId != null) {
+						found.add(row[0] + "/" + contentId);
+					}
+				}
+			}
+			else { // bean
+				for (Object bizId : query.scalarResults(Object.class)) {
+					found.add(String.valueOf(bizId));
+				}
+			}
+
+			for (Map.Entry<String, List<String>> entry : group.contentIds.entrySet()) {
+				String bizId = entry.getKey();
+				for (String contentId : entry.getValue()) {
+					String key = (attributeName == null) ? bizId : bizId + "/" + contentId;
+					if (! found.contains(key)) {
+						orphanedContentIds.add(contentId);
+					}
+				}
+			}
+		}
+		catch (Exception e) {
+			Util.LOGGER.warning("ContentGarbageCollectionJob retrieve problem..." + e.getLocalizedMessage());
+			if (UtilImpl.CONTENT_TRACE) Util.LOGGER.log(Level.WARNING, "ContentGarbageCollectionJob.check() problem...", e);
+		}
+		throttle();
+	}
+
+	/**
+	 * Remove the orphans found so far.
+	 */
+	private void remove() {
+		for (String contentId : orphanedContentIds) {
+			try { // don't stop trying to remove content
+				if (UtilImpl.CONTENT_TRACE) UtilImpl.LOGGER.info("ContentGarbageCollectionJob: Remove content with ID " + contentId);
+				cm.remove(contentId);
+				removed++;
+			}
+			catch (Exception e) {
+				Util.LOGGER.warning("ContentGarbageCollectionJob remove problem..." + e.getLocalizedMessage());
+				if (UtilImpl.CONTENT_TRACE) Util.LOGGER.log(Level.WARNING, "ContentGarbageCollectionJob.execute() problem...", e);
+			}
+		}
+		orphanedContentIds.clear();
+	}
+
+	/**
+	 * Pause between batches so that garbage collection doesn't starve the application of database and content resources.
+	 */
+	private static void throttle() throws InterruptedException {
+		if (UtilImpl.CONTENT_GC_BATCH_PAUSE_MILLIS > 0) {
+			Thread.sleep(UtilImpl.CONTENT_GC_BATCH_PAUSE_MILLIS);
+		}
+	}
+
+	private static String loadCheckpoint(File checkpoint) {
+		if (checkpoint.exists()) {
+			try (InputStream is = new FileInputStream(checkpoint)) {
+				Properties properties = new Properties();
+				properties.load(is);
+				return properties.getProperty(LAST_KEY_PROPERTY);
+			}
+			catch (Exception e) {
+				Util.LOGGER.warning("ContentGarbageCollectionJob could not read checkpoint " + checkpoint + " - " + e.getLocalizedMessage());
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Write to a temp file and move it into place so a crash can't leave a half written checkpoint.
+	 */
+	private static void saveCheckpoint(File checkpoint, String lastKey) {
+		if (lastKey == null) {
+			return;
+		}
+		try {
+			Properties properties = new Properties();
+			properties.setProperty(LAST_KEY_PROPERTY, lastKey);
+			File temp = new File(checkpoint.getPath() + ".tmp");
+			try (OutputStream os = new FileOutputStream(temp)) {
+				properties.store(os, "Content garbage collection checkpoint");
+			}
+			Files.move(temp.toPath(), checkpoint.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+		catch (Exception e) {
+			Util.LOGGER.warning("ContentGarbageCollectionJob could not write checkpoint " + checkpoint + " - " + e.getLocalizedMessage());
+		}
+	}
+}
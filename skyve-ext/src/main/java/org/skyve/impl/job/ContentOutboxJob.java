@@ -0,0 +1,55 @@
+package org.skyve.impl.job;
+
+import java.sql.Connection;
+import java.util.logging.Level;
+
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.quartz.StatefulJob;
+import org.skyve.EXT;
+import org.skyve.content.ContentManager;
+import org.skyve.impl.content.AbstractContentManager;
+import org.skyve.impl.content.BeanContentOutbox;
+import org.skyve.impl.persistence.AbstractPersistence;
+import org.skyve.impl.persistence.hibernate.AbstractHibernatePersistence;
+import org.skyve.impl.util.UtilImpl;
+import org.skyve.util.Util;
+
+/**
+ * This job indexes the bean content changes written to the content outbox when indexing asynchronously.
+ * Batches are drained until the outbox is empty, each batch in its own transaction.
+ * A batch that fails is left in the outbox to be retried the next time the job fires.
+ * The job is stateful so that it does not run concurrently with itself.
+ */
+public class ContentOutboxJob implements StatefulJob {
+	@Override
+	public void execute(JobExecutionContext context)
+	throws JobExecutionException {
+		try {
+			AbstractHibernatePersistence p = (AbstractHibernatePersistence) AbstractPersistence.get();
+			try (ContentManager cm = EXT.newContentManager()) {
+				int count = UtilImpl.CONTENT_INDEX_BATCH_SIZE;
+				while (count >= UtilImpl.CONTENT_INDEX_BATCH_SIZE) {
+					p.begin();
+					try {
+						Connection connection = p.getConnection();
+						count = BeanContentOutbox.drain(connection, (AbstractContentManager) cm, UtilImpl.CONTENT_INDEX_BATCH_SIZE);
+						p.commit(false);
+					}
+					catch (Exception e) {
+						p.rollback();
+						throw e;
+					}
+				}
+			}
+			finally {
+				p.commit(true);
+			}
+		}
+		catch (Exception e) {
+			Util.LOGGER.warning("ContentOutboxJob problem..." + e.getLocalizedMessage());
+			if (UtilImpl.CONTENT_TRACE) Util.LOGGER.log(Level.WARNING, "ContentOutboxJob.execute() problem...", e);
+			throw new JobExecutionException("Error encountered whilst indexing the content outbox", e);
+		}
+	}
+}
@@ -0,0 +1,25 @@
+package org.skyve.impl.job;
+
+import org.quartz.Job;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.skyve.impl.jasperreports.ReportCache;
+import org.skyve.impl.util.UtilImpl;
+
+/**
+ * This job loads the reports configured in reports.preWarm into the report cache
+ * so the first users to run them don't wait - we don't want to block the app server deployment process.
+ */
+public class ReportPreWarmJob implements Job {
+	@Override
+	public void execute(JobExecutionContext context)
+	throws JobExecutionException {
+		try {
+			ReportCache.preWarm(UtilImpl.REPORT_PRE_WARM);
+		}
+		catch (Exception e) {
+			UtilImpl.LOGGER.info("Could not pre-warm the report cache - this is non-fatal but requires investigation");
+			e.printStackTrace();
+		}
+	}
+}
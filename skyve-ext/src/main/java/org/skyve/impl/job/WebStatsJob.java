@@ -0,0 +1,27 @@
+package org.skyve.impl.job;
+
+import java.util.logging.Level;
+
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.quartz.StatefulJob;
+import org.skyve.impl.util.WebStatsUtil;
+import org.skyve.util.Util;
+
+/**
+ * This job writes the web hits counted in memory since it last fired to admin.UserMonthlyHits.
+ * The job is stateful so that it does not run concurrently with itself.
+ */
+public class WebStatsJob implements StatefulJob {
+	@Override
+	public void execute(JobExecutionContext context)
+	throws JobExecutionException {
+		try {
+			WebStatsUtil.flushHits();
+		}
+		catch (Exception e) {
+			Util.LOGGER.log(Level.WARNING, "WebStatsJob.execute() problem...", e);
+			throw new JobExecutionException("Error encountered whilst flushing web hits", e);
+		}
+	}
+}
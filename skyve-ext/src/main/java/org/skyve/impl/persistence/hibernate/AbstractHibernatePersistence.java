@@ -52,6 +52,8 @@ import org.hibernate.jpa.event.spi.JpaIntegrator;
 import org.hibernate.query.NativeQuery;
 import org.hibernate.query.Query;
 import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.hibernate.stat.SecondLevelCacheStatistics;
+import org.hibernate.stat.Statistics;
 import org.hibernate.tool.hbm2ddl.SchemaExport;
 import org.hibernate.tool.hbm2ddl.SchemaUpdate;
 import org.hibernate.tool.schema.TargetType;
@@ -118,6 +120,11 @@ import org.skyve.util.Util;
 public abstract class AbstractHibernatePersistence extends AbstractPersistence {
 	private static final long serialVersionUID = -1813679859498468849L;
 
+	/**
+	 * The classpath resource that configures the second level cache regions.
+	 */
+	static final String SECOND_LEVEL_CACHE_CONFIGURATION = "skyve-hibernate-ehcache.xml";
+
 	private static SessionFactory sf = null;
 	private static Metadata metadata = null;
 	private static final Map<String, SkyveDialect> DIALECTS = new TreeMap<>();
@@ -142,9 +149,36 @@ public abstract class AbstractHibernatePersistence extends AbstractPersistence {
 
 	protected abstract void removeBeanContent(PersistentBean bean) throws Exception;
 	protected abstract void putBeanContent(BeanContent content) throws Exception;
+	/**
+	 * Put the content of a bean.
+	 * Override to use the bean's version, otherwise this delegates to {@link #putBeanContent(BeanContent)}.
+	 */
+	protected void putBeanContent(@SuppressWarnings("unused") PersistentBean bean, BeanContent content) throws Exception {
+		putBeanContent(content);
+	}
 	protected abstract void moveBeanContent(BeanContent content, String oldBizDataGroupId, String oldBizUserId) throws Exception;
+	/**
+	 * Move the content of a bean to its new data group or user.
+	 * Override to use the bean, otherwise this delegates to {@link #moveBeanContent(BeanContent, String, String)}.
+	 */
+	protected void moveBeanContent(@SuppressWarnings("unused") PersistentBean bean,
+									BeanContent content,
+									String oldBizDataGroupId,
+									String oldBizUserId)
+	throws Exception {
+		moveBeanContent(content, oldBizDataGroupId, oldBizUserId);
+	}
 	protected abstract void removeAttachmentContent(String contentId) throws Exception;
 	protected abstract void closeContent() throws Exception;
+	/**
+	 * Called just before the transaction is committed to make any pending content changes durable.
+	 * If this throws, the transaction is rolled back and the exception is rethrown from commit().
+	 */
+	protected abstract void commitContent();
+	/**
+	 * Called when the transaction is rolled back to forget any pending content changes.
+	 */
+	protected abstract void rollbackContent();
 	
 	@Override
 	@SuppressWarnings("unchecked")
@@ -194,13 +228,17 @@ public abstract class AbstractHibernatePersistence extends AbstractPersistence {
 		}
 		cfg.put("hibernate.dialect", UtilImpl.DATA_STORE.getDialectClassName());
 
-		// Query Caching screws up pessimistic locking
-		cfg.put("hibernate.cache.use_query_cache", "false");
-
-		// turn off second level caching (for now)
-		cfg.put("hibernate.cache.use_second_level_cache", "false");
+		// Only documents with a persistent cache attribute are cached in the second level cache.
+		// Retrieving a document for update uses a pessimistic lock which always reads the database, not the cache.
+		cfg.put("hibernate.cache.use_second_level_cache", Boolean.toString(UtilImpl.HIBERNATE_SECOND_LEVEL_CACHE));
+		// Query Caching screws up pessimistic locking, so only queries driven by cached documents 
+		// and without a lock mode are marked as cacheable - see HibernateQueryDelegate.
+		cfg.put("hibernate.cache.use_query_cache", 
+					Boolean.toString(UtilImpl.HIBERNATE_SECOND_LEVEL_CACHE && UtilImpl.HIBERNATE_QUERY_CACHE));
 		cfg.put("hibernate.cache.provider_class", "org.hibernate.cache.EhCacheProvider");
 		cfg.put("hibernate.cache.region.factory_class", "org.hibernate.cache.ehcache.EhCacheRegionFactory");
+		// Configure the regions so that ehcache's failsafe defaults (disk swapping and expiring timestamps) are not used
+		cfg.put("net.sf.ehcache.configurationResourceName", SECOND_LEVEL_CACHE_CONFIGURATION);
 		
 		// Allow more than 1 representation of the same detached entity to be merged,
 		// possibly from multiple sessions, multiple caches, or various serializations.
@@ -229,8 +267,8 @@ public abstract class AbstractHibernatePersistence extends AbstractPersistence {
 		// Will have more luck with "individually".
 		cfg.put("hibernate.hbm2ddl.jdbc_metadata_extraction_strategy", "individually");
 
-		// Keep stats on usage
-		cfg.put("hibernate.generate_statistics", "false");
+		// Keep stats on usage - only when caching for the per region cache statistics
+		cfg.put("hibernate.generate_statistics", Boolean.toString(UtilImpl.HIBERNATE_SECOND_LEVEL_CACHE));
 
 		// Log SQL to stdout
 		cfg.put("hibernate.show_sql", Boolean.toString(UtilImpl.SQL_TRACE));
@@ -262,6 +300,9 @@ public abstract class AbstractHibernatePersistence extends AbstractPersistence {
 						eventListenerRegistry.appendListeners(EventType.POST_UPDATE, listener);
 						eventListenerRegistry.appendListeners(EventType.POST_INSERT, listener);
 
+						// For list count and page boundary cache invalidation
+						eventListenerRegistry.appendListeners(EventType.POST_DELETE, listener);
+
 						// For BizLock and BizKey callbacks
 						eventListenerRegistry.appendListeners(EventType.PRE_UPDATE, listener);
 
@@ -340,6 +381,31 @@ public abstract class AbstractHibernatePersistence extends AbstractPersistence {
 		}
 	}
 
+	/**
+	 * Log the statistics of each second level cache region and the query cache.
+	 * Statistics are only gathered when the second level cache is on.
+	 */
+	public static void logCacheStats() {
+		if (UtilImpl.HIBERNATE_SECOND_LEVEL_CACHE) {
+			Statistics statistics = sf.getStatistics();
+			for (String regionName : statistics.getSecondLevelCacheRegionNames()) {
+				SecondLevelCacheStatistics region = statistics.getSecondLevelCacheStatistics(regionName);
+				if (region != null) {
+					UtilImpl.LOGGER.info("Region " + regionName + 
+											" : in memory = " + region.getElementCountInMemory() +
+											" : hits = " + region.getHitCount() +
+											" : misses = " + region.getMissCount() +
+											" : puts = " + region.getPutCount());
+				}
+			}
+			if (UtilImpl.HIBERNATE_QUERY_CACHE) {
+				UtilImpl.LOGGER.info("Query cache : hits = " + statistics.getQueryCacheHitCount() +
+										" : misses = " + statistics.getQueryCacheMissCount() +
+										" : puts = " + statistics.getQueryCachePutCount());
+			}
+		}
+	}
+
 	public static SkyveDialect getDialect(String dialectClassName) {
 		SkyveDialect dialect = DIALECTS.get(dialectClassName);
 		if (dialect == null) {
@@ -617,6 +683,7 @@ t.printStackTrace();
 				et.rollback();
 			}
 		}
+		rollbackContent();
 	}
 
 	// This code is called in finally blocks all over the place.
@@ -634,8 +701,19 @@ t.printStackTrace();
 		                // Earlier versions of Hibernate required explicit disconnection and reconnection of a Session. 
 		                // These methods are deprecated, as beginning and ending a transaction has the same effect.
 						et.rollback();
+						rollbackContent();
 					}
 					else {
+						// If the pending content changes cannot be made durable, roll back so that 
+						// the transaction is not left open and the data and content stay consistent.
+						try {
+							commitContent();
+						}
+						catch (RuntimeException e) {
+							et.rollback();
+							rollbackContent();
+							throw e;
+						}
 						// FROM THE HIBERNATE_REFERENCE DOCS Page 190
 					    // Earlier versions of Hibernate required explicit disconnection and reconnection of a Session. 
 					    // These methods are deprecated, as beginning and ending a transaction has the same effect.
@@ -668,9 +746,23 @@ t.printStackTrace();
 		}
 	}
 
+	/**
+	 * Clear the session and evict everything from the second level cache.
+	 */
 	@Override
 	public void evictAllCached() {
 		session.clear();
+		evictSecondLevelCache();
+	}
+
+	/**
+	 * Evict all documents and query results from the second level cache.
+	 * This is required after the database has been changed outside of hibernate, for example by a restore.
+	 */
+	public static void evictSecondLevelCache() {
+		if (UtilImpl.HIBERNATE_SECOND_LEVEL_CACHE && (sf != null)) {
+			sf.getCache().evictAllRegions();
+		}
 	}
 
 	@Override
@@ -1559,11 +1651,34 @@ t.printStackTrace();
 	@Override
 	public void reindex(PersistentBean beanToReindex)
 	throws Exception {
-		BeanContent content = new BeanContent(beanToReindex);
-		Map<String, String> properties = content.getProperties();
+		BeanContent content = newBeanContent(beanToReindex);
+		if (content.getProperties().isEmpty()) {
+			removeBeanContent(beanToReindex);
+		}
+		else {
+			putBeanContent(beanToReindex, content);
+		}
+	}
+
+	/**
+	 * Create the bean content for the textually indexed fields of a bean.
+	 * The bean can be a projection as long as it has the biz attributes and the textually indexed fields.
+	 * 
+	 * @param bean	The bean to index.
+	 * @return	The bean content - it has no properties if there is nothing to index.
+	 */
+	public BeanContent newBeanContent(Bean bean)
+	throws Exception {
+		BeanContent result = new BeanContent(bean.getBizCustomer(),
+												bean.getBizModule(),
+												bean.getBizDocument(),
+												bean.getBizDataGroupId(),
+												bean.getBizUserId(),
+												bean.getBizId());
+		Map<String, String> properties = result.getProperties();
 		Customer customer = user.getCustomer();
-		Module module = customer.getModule(beanToReindex.getBizModule());
-		Document document = module.getDocument(customer, beanToReindex.getBizDocument());
+		Module module = customer.getModule(bean.getBizModule());
+		Document document = module.getDocument(customer, bean.getBizDocument());
 		for (Attribute attribute : document.getAllAttributes()) {
 			if (attribute instanceof Field) {
 				Field field = (Field) attribute;
@@ -1571,7 +1686,7 @@ t.printStackTrace();
 				IndexType index = field.getIndex();
 				if (IndexType.textual.equals(index) || IndexType.both.equals(index)) {
 					String fieldName = field.getName();
-					String value = BindUtil.getDisplay(customer, beanToReindex, fieldName);
+					String value = BindUtil.getDisplay(customer, bean, fieldName);
 					if (AttributeType.markup.equals(type)) {
 						value = extractTextFromMarkup(value);
 					}
@@ -1583,12 +1698,7 @@ t.printStackTrace();
 			}
 		}
 
-		if (properties.isEmpty()) {
-			removeBeanContent(beanToReindex);
-		}
-		else {
-			putBeanContent(content);
-		}
+		return result;
 	}
 
 	public void index(AbstractPersistentBean beanToIndex,
@@ -1666,12 +1776,12 @@ t.printStackTrace();
 					((bizDataGroupId != null) && (! bizDataGroupId.equals(oldBizDataGroupId))) || // not the same
 					((bizUserId == null) && (oldBizUserId != null)) || // null to not null
 					((bizUserId != null) && (! bizUserId.equals(oldBizUserId)))) { // not the same
-				moveBeanContent(content, oldBizDataGroupId, oldBizUserId);
+				moveBeanContent(beanToIndex, content, oldBizDataGroupId, oldBizUserId);
 			}
 		}
 
 		if (! properties.isEmpty()) {
-			putBeanContent(content);
+			putBeanContent(beanToIndex, content);
 		}
 	}
 
@@ -1,19 +1,15 @@
 package org.skyve.impl.persistence.hibernate;
 
 import java.util.Iterator;
-import java.util.Map;
-import java.util.TreeMap;
 
 import org.hibernate.ScrollableResults;
-import org.skyve.domain.MapBean;
+import org.skyve.domain.ProjectedBean;
 import org.skyve.domain.messages.DomainException;
 import org.skyve.persistence.AutoClosingIterable;
 
 public class HibernateAutoClosingIterable<T> implements AutoClosingIterable<T> {
-	private String moduleName = null;
-	private String documentName = null;
 	private ScrollableResults results = null;
-	private String[] aliases = null;
+	private ProjectedBean.Layout layout = null;
 	boolean closed = false;
 	boolean first = true;
 	boolean assertSingle;
@@ -29,35 +25,24 @@ public class HibernateAutoClosingIterable<T> implements AutoClosingIterable<T> {
 											String[] aliases,
 											boolean assertSingle,
 											boolean assertMultiple) {
-		this.moduleName = moduleName;
-		this.documentName = documentName;
 		this.results = results;
-		this.aliases = aliases;
+		if (aliases != null) {
+			layout = new ProjectedBean.Layout(moduleName, documentName, aliases);
+		}
 		this.assertSingle = assertSingle;
 		this.assertMultiple = assertMultiple;
 	}
 
 	private class HibernateIterator<Z> implements Iterator<Z> {
-		@SuppressWarnings("hiding")
-		private String moduleName = null;
-
-		@SuppressWarnings("hiding")
-		private String documentName = null;
-
 		@SuppressWarnings("hiding")
 		private ScrollableResults results = null;
 
 		@SuppressWarnings("hiding")
-		private String[] aliases = null;
-
-		private HibernateIterator(String moduleName, 
-									String documentName, 
-									ScrollableResults results, 
-									String[] aliases) {
-			this.moduleName = moduleName;
-			this.documentName = documentName;
+		private ProjectedBean.Layout layout = null;
+
+		private HibernateIterator(ScrollableResults results, ProjectedBean.Layout layout) {
 			this.results = results;
-			this.aliases = aliases;
+			this.layout = layout;
 		}
 
 		// This isn't exactly right because this hasNext() implementation has the side effect of moving on a record
@@ -90,7 +75,7 @@ public class HibernateAutoClosingIterable<T> implements AutoClosingIterable<T> {
 				}
 			}
 			
-			if (moduleName == null) {
+			if (layout == null) {
 				if (tuple.length == 1) {
 					result = (Z) tuple[0];
 				}
@@ -99,15 +84,8 @@ public class HibernateAutoClosingIterable<T> implements AutoClosingIterable<T> {
 				}
 			}
 			else {
-				Map<String, Object> properties = new TreeMap<>();
-
-				int index = 0;
-				while (index < aliases.length) {
-					properties.put(aliases[index], tuple[index]);
-					index++;
-				}
-
-				result = (Z) new MapBean(moduleName, documentName, properties);
+				// Hibernate creates a new tuple for each row so the bean can use it as its values
+				result = (Z) new ProjectedBean(layout, tuple);
 			}
 
 			return result;
@@ -122,7 +100,7 @@ public class HibernateAutoClosingIterable<T> implements AutoClosingIterable<T> {
 	@Override
 	@SuppressWarnings("synthetic-access")
 	public Iterator<T> iterator() {
-		Iterator<T> i = new HibernateIterator<>(moduleName, documentName, results, aliases);
+		Iterator<T> i = new HibernateIterator<>(results, layout);
 
 		results = null; // dereference the results
 
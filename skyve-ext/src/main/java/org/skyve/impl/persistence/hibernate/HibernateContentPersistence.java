@@ -4,13 +4,19 @@ import org.skyve.EXT;
 import org.skyve.content.BeanContent;
 import org.skyve.content.ContentManager;
 import org.skyve.domain.PersistentBean;
+import org.skyve.domain.messages.DomainException;
+import org.skyve.impl.content.BeanContentOutbox;
 import org.skyve.impl.persistence.hibernate.AbstractHibernatePersistence;
+import org.skyve.impl.util.UtilImpl;
 
 public class HibernateContentPersistence extends AbstractHibernatePersistence {
 	private static final long serialVersionUID = 1433618526097088364L;
 
 	private transient ContentManager cm;
 	
+	// Bean content changes waiting to be written to the outbox on commit when indexing asynchronously
+	private transient BeanContentOutbox outbox;
+	
 	@Override
 	protected void closeContent() throws Exception {
 		if (cm != null) {
@@ -18,8 +24,50 @@ public class HibernateContentPersistence extends AbstractHibernatePersistence {
 		}
 	}
 
+	/**
+	 * Write any pending bean content changes to the outbox in this transaction.
+	 * Any failure propagates so that the transaction is rolled back - the index is never 
+	 * changed for a transaction that may not commit.
+	 */
+	@Override
+	protected void commitContent() {
+		if (! UtilImpl.CONTENT_ASYNC_INDEXING) {
+			return;
+		}
+		
+		// Flush now so that the listeners have queued all the content changes
+		flush();
+		if ((outbox == null) || outbox.isEmpty()) {
+			return;
+		}
+		
+		if (getUser() == null) {
+			throw new IllegalStateException("No user to write the content outbox");
+		}
+		try {
+			outbox.write(getConnection(), getUser());
+		}
+		catch (Exception e) {
+			throw new DomainException("Cannot write the content outbox", e);
+		}
+	}
+	
+	@Override
+	protected void rollbackContent() {
+		if (outbox != null) {
+			outbox.clear();
+		}
+	}
+	
 	@Override
 	protected void removeBeanContent(PersistentBean bean) throws Exception {
+		if (UtilImpl.CONTENT_ASYNC_INDEXING) {
+			if (outbox == null) {
+				outbox = new BeanContentOutbox();
+			}
+			outbox.remove(new BeanContent(bean));
+			return;
+		}
 		if (cm == null) {
 			cm = EXT.newContentManager();
 		}
@@ -34,6 +82,38 @@ public class HibernateContentPersistence extends AbstractHibernatePersistence {
 		cm.put(content);
 	}
 
+	@Override
+	protected void putBeanContent(PersistentBean bean, BeanContent content) throws Exception {
+		if (UtilImpl.CONTENT_ASYNC_INDEXING) {
+			if (outbox == null) {
+				outbox = new BeanContentOutbox();
+			}
+			Integer bizVersion = bean.getBizVersion();
+			outbox.put(content, (bizVersion == null) ? 0 : bizVersion.intValue());
+			return;
+		}
+		putBeanContent(content);
+	}
+
+	/**
+	 * When indexing asynchronously the move goes through the outbox with the bean's other changes so that
+	 * it is applied in version order - a put applied later can't restore the old data group or user.
+	 * The content already has the new data group and user, so all of the bean's indexed properties are added
+	 * to it to be put at the bean's version.
+	 */
+	@Override
+	protected void moveBeanContent(PersistentBean bean,
+									BeanContent content,
+									String oldBizDataGroupId,
+									String oldBizUserId)
+	throws Exception {
+		if (UtilImpl.CONTENT_ASYNC_INDEXING) {
+			content.getProperties().putAll(newBeanContent(bean).getProperties());
+			return;
+		}
+		moveBeanContent(content, oldBizDataGroupId, oldBizUserId);
+	}
+
 	@Override
 	protected void moveBeanContent(BeanContent content,
 									String oldBizDataGroupId,
@@ -1,12 +1,18 @@
 package org.skyve.impl.persistence.hibernate;
 
+import java.io.Serializable;
 import java.util.Date;
 
 import org.apache.deltaspike.core.api.provider.BeanProvider;
 import org.hibernate.HibernateException;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
 import org.hibernate.collection.spi.PersistentCollection;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.spi.EventSource;
 import org.hibernate.event.spi.InitializeCollectionEvent;
 import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
 import org.hibernate.event.spi.PostInsertEvent;
 import org.hibernate.event.spi.PostInsertEventListener;
 import org.hibernate.event.spi.PostUpdateEvent;
@@ -22,6 +28,7 @@ import org.skyve.impl.bind.BindUtil;
 import org.skyve.impl.domain.AbstractPersistentBean;
 import org.skyve.impl.metadata.model.document.CollectionImpl;
 import org.skyve.impl.persistence.AbstractPersistence;
+import org.skyve.impl.persistence.PagedQueryCache;
 import org.skyve.metadata.customer.Customer;
 import org.skyve.metadata.model.Attribute;
 import org.skyve.metadata.model.document.Collection;
@@ -30,6 +37,7 @@ import org.skyve.metadata.module.Module;
 
 public class HibernateListener implements PostUpdateEventListener,
 											PostInsertEventListener,
+											PostDeleteEventListener,
 											PreUpdateEventListener,
 											InitializeCollectionEventListener {
 	private static final long serialVersionUID = -2075261951031625148L;
@@ -73,6 +81,7 @@ public class HibernateListener implements PostUpdateEventListener,
 		Object[] state = event.getState();
 
 		BeanProvider.injectFields(eventBean);
+		documentChangedAfterCompletion(event.getSession(), eventBean);
 
 		try {
 			persistence.index(eventBean, propertyNames, propertyTypes, null, state);
@@ -97,6 +106,9 @@ public class HibernateListener implements PostUpdateEventListener,
 		Object[] oldState = event.getOldState();
 		Object[] state = event.getState();
 
+		documentChangedAfterCompletion(event.getSession(), eventBean);
+		evictAfterCompletion(event.getSession(), ep, event.getId());
+
 		try {
 			// Cant stop now, after all its only the indexing that is screwed
 			persistence.index(eventBean, propertyNames, propertyTypes, oldState, state);
@@ -106,6 +118,58 @@ public class HibernateListener implements PostUpdateEventListener,
 		}
 	}
 
+	/**
+	 * Invalidate any cached list counts, page boundaries and second level cache entries.
+	 */
+	@Override
+	public void onPostDelete(PostDeleteEvent event) {
+		AbstractPersistentBean eventBean = (AbstractPersistentBean) event.getEntity();
+		documentChangedAfterCompletion(event.getSession(), eventBean);
+		evictAfterCompletion(event.getSession(), event.getPersister(), event.getId());
+	}
+
+	/**
+	 * Bump the document's paged query cache generation once the transaction has completed.
+	 * Bumping before the commit would let another request cache the old counts and page boundaries
+	 * against the new generation before the change is visible to it.
+	 */
+	private static void documentChangedAfterCompletion(EventSource session, AbstractPersistentBean bean) {
+		final String moduleName = bean.getBizModule();
+		final String documentName = bean.getBizDocument();
+		session.getActionQueue().registerProcess(new AfterTransactionCompletionProcess() {
+			@Override
+			public void doAfterTransactionCompletion(boolean success,
+														@SuppressWarnings("hiding") SharedSessionContractImplementor session) {
+				if (success) {
+					PagedQueryCache.documentChanged(moduleName, documentName);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Evict a cached document from the second level cache once the transaction has completed.
+	 * This makes sure that the next read of a changed document comes from the database.
+	 * The eviction only happens in this JVM's cache. Other nodes do not see it and keep their cached copy
+	 * until it expires, so the second level cache is for single node deployments only.
+	 * Evicting before completion would remove the soft lock hibernate holds on the entry while it is being changed.
+	 * Eviction happens after a rollback too as it is cheap and always safe.
+	 */
+	private static void evictAfterCompletion(EventSource session,
+												EntityPersister persister,
+												final Serializable id) {
+		if (persister.hasCache()) {
+			final String entityName = persister.getEntityName();
+			session.getActionQueue().registerProcess(new AfterTransactionCompletionProcess() {
+				@Override
+				public void doAfterTransactionCompletion(boolean success,
+															@SuppressWarnings("hiding") SharedSessionContractImplementor session) {
+					session.getFactory().getCache().evictEntity(entityName, id);
+				}
+			});
+		}
+	}
+
 	/**
 	 * Sort any collections which have compound bindings in the ordering element.
 	 */
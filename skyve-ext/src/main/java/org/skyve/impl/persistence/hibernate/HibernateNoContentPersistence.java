@@ -12,6 +12,16 @@ public class HibernateNoContentPersistence extends AbstractHibernatePersistence
 		// no-op
 	}
 
+	@Override
+	protected void commitContent() {
+		// no-op
+	}
+
+	@Override
+	protected void rollbackContent() {
+		// no-op
+	}
+
 	@Override
 	protected void removeBeanContent(PersistentBean bean) throws Exception {
 		// no-op
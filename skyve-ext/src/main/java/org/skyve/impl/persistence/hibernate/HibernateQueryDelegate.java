@@ -3,23 +3,25 @@ package org.skyve.impl.persistence.hibernate;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
-import java.util.Map;
-import java.util.TreeMap;
 
 import org.hibernate.ScrollMode;
 import org.hibernate.ScrollableResults;
 import org.hibernate.Session;
 import org.hibernate.query.Query;
-import org.skyve.domain.MapBean;
+import org.skyve.domain.ProjectedBean;
 import org.skyve.domain.messages.DomainException;
 import org.skyve.impl.bind.BindUtil;
 import org.skyve.impl.persistence.AbstractQuery;
 import org.skyve.impl.util.UtilImpl;
+import org.skyve.metadata.customer.Customer;
+import org.skyve.metadata.model.Persistent;
+import org.skyve.metadata.model.document.Document;
 import org.skyve.persistence.AutoClosingIterable;
 
 import com.vividsolutions.jts.geom.Geometry;
 
 class HibernateQueryDelegate {
+	private AbstractHibernatePersistence persistence;
 	private Session session;
 	private int firstResult = Integer.MIN_VALUE;
 	private int maxResults = Integer.MIN_VALUE;
@@ -27,6 +29,7 @@ class HibernateQueryDelegate {
 	private String drivingDocumentName;
 	
 	HibernateQueryDelegate(AbstractHibernatePersistence persistence) {
+		this.persistence = persistence;
 		this.session = persistence.getSession();
 	}
 	
@@ -49,6 +52,9 @@ class HibernateQueryDelegate {
 		
 
 		Query<T> result = session.createQuery(queryString);
+		if (isCacheable()) {
+			result.setCacheable(true);
+		}
 		if (firstResult >= 0) {
 			result.setFirstResult(firstResult);
 		}
@@ -75,6 +81,23 @@ class HibernateQueryDelegate {
 		return result;
 	}
 	
+	/**
+	 * Only queries driven by a cached document go in the query cache.
+	 * These queries never take a lock so pessimistic locking is not affected.
+	 */
+	private boolean isCacheable() {
+		if (UtilImpl.HIBERNATE_SECOND_LEVEL_CACHE && 
+				UtilImpl.HIBERNATE_QUERY_CACHE && 
+				(drivingModuleName != null) && 
+				(drivingDocumentName != null)) {
+			Customer customer = persistence.getUser().getCustomer();
+			Document document = customer.getModule(drivingModuleName).getDocument(customer, drivingDocumentName);
+			Persistent persistent = document.getPersistent();
+			return ((persistent != null) && (persistent.getCache() != null));
+		}
+		return false;
+	}
+
 	@SuppressWarnings("unchecked")
 	<T> List<T> list(Query<T> query, boolean asIs, boolean assertSingle, boolean assertMultiple) {
 		try {
@@ -97,25 +120,11 @@ class HibernateQueryDelegate {
 			List<?> results = query.list();
 			List<T> beans = new ArrayList<>(results.size());
 
+			// One layout is shared by all the rows
+			ProjectedBean.Layout layout = new ProjectedBean.Layout(drivingModuleName, drivingDocumentName, aliases);
 			for (Object result : results) {
-				Map<String, Object> properties = new TreeMap<>();
-
-				if (result instanceof Object[]) {
-					Object[] resultArray = (Object[]) result;
-
-					int index = 0;
-					while (index < aliases.length) {
-						properties.put(aliases[index], resultArray[index]);
-						index++;
-					}
-				}
-				else {
-					properties.put(aliases[0], result);
-				}
-
-				beans.add((T) new MapBean(drivingModuleName, 
-											drivingDocumentName, 
-											properties));
+				Object[] values = (result instanceof Object[]) ? (Object[]) result : new Object[] {result};
+				beans.add((T) new ProjectedBean(layout, values));
 			}
 
 			return beans;
@@ -1,5 +1,7 @@
 package org.skyve.impl.persistence.hibernate;
 
+import java.sql.Connection;
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
@@ -7,6 +9,7 @@ import java.util.List;
 
 import org.hibernate.query.NativeQuery;
 import org.hibernate.Session;
+import org.hibernate.jdbc.ReturningWork;
 import org.hibernate.type.BigDecimalType;
 import org.hibernate.type.BooleanType;
 import org.hibernate.type.DateType;
@@ -24,8 +27,10 @@ import org.skyve.domain.types.Enumeration;
 import org.skyve.domain.types.OptimisticLock;
 import org.skyve.domain.types.TimeOnly;
 import org.skyve.domain.types.Timestamp;
+import org.skyve.impl.dataaccess.sql.NamedParameterPreparedStatement;
 import org.skyve.impl.persistence.AbstractSQL;
 import org.skyve.impl.persistence.hibernate.dialect.SkyveDialect;
+import org.skyve.impl.util.UtilImpl;
 import org.skyve.metadata.model.Attribute.AttributeType;
 import org.skyve.metadata.model.document.Document;
 import org.skyve.persistence.AutoClosingIterable;
@@ -150,6 +155,48 @@ class HibernateSQL extends AbstractSQL {
 		}
 	}
 	
+	/**
+	 * Send all the batch entries to the database in one JDBC batch on the session's connection.
+	 * The session is flushed first and the second level cache evicted after, as a native DML query would.
+	 */
+	@Override
+	@SuppressWarnings("resource")
+	public int[] executeBatch() {
+		try {
+			Session session = persistence.getSession();
+			session.flush();
+			int[] result = session.doReturningWork(new ReturningWork<int[]>() {
+				@Override
+				public int[] execute(Connection connection) throws SQLException {
+					return executeBatch(connection);
+				}
+			});
+			AbstractHibernatePersistence.evictSecondLevelCache();
+			return result;
+		}
+		catch (Throwable t) {
+			throw new DomainException(t);
+		}
+		finally {
+			endBatch();
+		}
+	}
+	
+	int[] executeBatch(Connection connection) throws SQLException {
+		try (NamedParameterPreparedStatement ps = new NamedParameterPreparedStatement(connection, toQueryString())) {
+			String dialectClassName = (UtilImpl.DATA_STORE == null) ? null : UtilImpl.DATA_STORE.getDialectClassName();
+			for (int i = 0, l = getBatchSize(); i < l; i++) {
+				selectBatch(i);
+				ps.setParameters(this, dialectClassName);
+				ps.addBatch();
+			}
+			return ps.executeBatch();
+		}
+		finally {
+			endBatch();
+		}
+	}
+	
 	@SuppressWarnings("resource")
 	private <T> NativeQuery<T> createQueryFromSQL() throws Exception {
 		Session session = persistence.getSession();
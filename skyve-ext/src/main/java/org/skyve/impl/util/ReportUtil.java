@@ -1,6 +1,5 @@
 package org.skyve.impl.util;
 
-import java.io.File;
 import java.io.OutputStream;
 import java.sql.Connection;
 import java.util.ArrayList;
@@ -10,6 +9,7 @@ import java.util.Map;
 import net.sf.jasperreports.engine.*;
 import org.skyve.EXT;
 import org.skyve.domain.Bean;
+import org.skyve.impl.jasperreports.ReportCache;
 import org.skyve.impl.jasperreports.SkyveDataSource;
 import org.skyve.impl.metadata.repository.AbstractRepository;
 import org.skyve.impl.persistence.AbstractPersistence;
@@ -37,9 +37,14 @@ import net.sf.jasperreports.engine.export.oasis.JROdtExporter;
 import net.sf.jasperreports.engine.export.ooxml.JRDocxExporter;
 import net.sf.jasperreports.engine.export.ooxml.JRPptxExporter;
 import net.sf.jasperreports.engine.export.ooxml.JRXlsxExporter;
-import net.sf.jasperreports.engine.util.JRLoader;
+import net.sf.jasperreports.engine.fill.JRAbstractLRUVirtualizer;
+import net.sf.jasperreports.engine.fill.JRSwapFileVirtualizer;
+import net.sf.jasperreports.engine.util.JRSwapFile;
 
 public final class ReportUtil {
+	private static final int SWAP_BLOCK_SIZE = 4096;
+	private static final int SWAP_MIN_GROW_COUNT = 100;
+
 	private ReportUtil() {
 		// disallow instantiation
 	}
@@ -77,7 +82,7 @@ public final class ReportUtil {
 		final Customer customer = user.getCustomer();
 		final String reportFileName = preProcess(customer, document, reportName, parameters);
 
-        final JasperReport jasperReport = (JasperReport) JRLoader.loadObject(new File(reportFileName));
+        final JasperReport jasperReport = ReportCache.getReport(reportFileName);
 
 		return runReport(jasperReport, user, document, parameters, bean, format, out);
 	}
@@ -93,7 +98,7 @@ public final class ReportUtil {
 		final Customer customer = user.getCustomer();
 		final String reportFileName = preProcess(customer, document, reportName, parameters);
 
-		final JasperReport jasperReport = (JasperReport) JRLoader.loadObject(new File(reportFileName));
+		final JasperReport jasperReport = ReportCache.getReport(reportFileName);
 
 		return runReport(jasperReport, user, document, parameters, listModel, format, out);
 	}
@@ -153,12 +158,37 @@ public final class ReportUtil {
 		}
 
 		UtilImpl.LOGGER.info("PUMP REPORT");
+		// The caller owns any virtualizer and cleans it up once it is done with the returned JasperPrint
+		Object virtualizer = parameters.get(JRParameter.REPORT_VIRTUALIZER);
+		if (virtualizer instanceof JRAbstractLRUVirtualizer) {
+			((JRAbstractLRUVirtualizer) virtualizer).setReadOnly(true);
+		}
 		runReport(result, format, out);
 		UtilImpl.LOGGER.info("PUMPED REPORT");
 
 		return result;
 	}
 
+	/**
+	 * Create a virtualizer that swaps filled report pages to a temp file once more than
+	 * UtilImpl.REPORT_VIRTUALIZER_MAX_PAGES pages are in memory.
+	 * Put it in the report parameters as JRParameter.REPORT_VIRTUALIZER before the fill.
+	 * The virtualizer must be cleaned up once the report is exported, after which the JasperPrint's pages are gone.
+	 * 
+	 * @param format	The format the report will be exported to.
+	 * @return	The virtualizer or null if virtualization is switched off or the format
+	 * 			needs the JasperPrint after export (html and xhtml serve their images from it).
+	 */
+	public static JRSwapFileVirtualizer newVirtualizer(ReportFormat format) {
+		if ((UtilImpl.REPORT_VIRTUALIZER_MAX_PAGES <= 0) || 
+				ReportFormat.html.equals(format) ||
+				ReportFormat.xhtml.equals(format)) {
+			return null;
+		}
+		JRSwapFile swapFile = new JRSwapFile(System.getProperty("java.io.tmpdir"), SWAP_BLOCK_SIZE, SWAP_MIN_GROW_COUNT);
+		return new JRSwapFileVirtualizer(UtilImpl.REPORT_VIRTUALIZER_MAX_PAGES, swapFile, true);
+	}
+
 	@SuppressWarnings("resource")
 	private static JasperPrint fillSqlReport(JasperReport jasperReport, Map<String, Object> parameters, ReportFormat format, OutputStream out) throws JRException {
 		JasperPrint result;
@@ -188,7 +218,7 @@ public final class ReportUtil {
 		final List<JasperPrint> result = new ArrayList<>();
 		for (ReportParameters reportParameter : reportParameters) {
 			final String reportFileName = preProcess(customer, reportParameter);
-			final JasperReport jasperReport = (JasperReport) JRLoader.loadObject(new File(reportFileName));
+			final JasperReport jasperReport = ReportCache.getReport(reportFileName);
 			final String queryLanguage = jasperReport.getQuery().getLanguage();
 
 
@@ -1,22 +1,30 @@
 package org.skyve.impl.util;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
 
-import org.skyve.domain.Bean;
-import org.skyve.domain.PersistentBean;
 import org.skyve.domain.types.DateTime;
 import org.skyve.domain.types.OptimisticLock;
 import org.skyve.impl.bind.BindUtil;
 import org.skyve.impl.domain.AbstractPersistentBean;
+import org.skyve.impl.metadata.repository.AbstractRepository;
 import org.skyve.impl.persistence.AbstractPersistence;
+import org.skyve.impl.persistence.hibernate.AbstractHibernatePersistence;
 import org.skyve.impl.util.ThreadSafeFactory;
 import org.skyve.metadata.customer.Customer;
 import org.skyve.metadata.model.document.Document;
 import org.skyve.metadata.module.Module;
 import org.skyve.metadata.user.User;
-import org.skyve.persistence.SQL;
 
 public class WebStatsUtil {
 	private static final String YEAR_FORMAT = "yyyy";
@@ -41,70 +49,204 @@ public class WebStatsUtil {
 // NO COMMIT
 	}
 	
-	// this is called from the BizHubFilter - create and destroy a special persistence for this as
-	// the actual persistence used for this thread is set in the servlets or the faces bean and 
-	// could be different from the default created here for the thread - think webContext and conversations!!
-	// If it was not closed {commit(true)} then it could create a resource leak
-	public static synchronized void recordHit(User user)
+	/**
+	 * The hits for a user in a month.
+	 */
+	private static final class Hits {
+		private final String customerName;
+		private final String userName;
+		private final String userId;
+		private final Integer year;
+		private final Integer month;
+		private final LongAdder count = new LongAdder();
+		// the count flushed when these hits were retired - only used by flushHits()
+		private long flushed = 0L;
+		
+		private Hits(String customerName, String userName, String userId, Integer year, Integer month) {
+			this.customerName = customerName;
+			this.userName = userName;
+			this.userId = userId;
+			this.year = year;
+			this.month = month;
+		}
+	}
+	
+	// customer/user/year/month -> hits not yet flushed
+	private static final ConcurrentHashMap<String, Hits> HITS = new ConcurrentHashMap<>();
+	// hits swapped out of HITS by the last flush - a hit recorded while it was swapped out is counted by the next flush
+	private static List<Hits> retired = new ArrayList<>();
+	
+	// this is called from the SkyveFilter on every request so it only counts the hit in memory.
+	// The hits are written to the database by flushHits() which is called periodically and on shutdown.
+	public static void recordHit(User user) {
+		Date now = new Date();
+		Integer month = new Integer(ThreadSafeFactory.getDateFormat(MONTH_FORMAT).format(now));
+		Integer year = new Integer(ThreadSafeFactory.getDateFormat(YEAR_FORMAT).format(now));
+		String customerName = user.getCustomerName();
+		String userName = user.getName();
+		String userId = user.getId();
+
+		HITS.computeIfAbsent(hitKey(customerName, userName, year, month), new Function<String, Hits>() {
+			@Override
+			public Hits apply(String key) {
+				return new Hits(customerName, userName, userId, year, month);
+			}
+		}).count.increment();
+	}
+	
+	/**
+	 * Add the hits recorded since the last flush to admin.UserMonthlyHits.
+	 * The counts for each customer are updated in one batch and any users without a row for the month are inserted in another.
+	 * Create and destroy a special persistence for this as it is called from a job and at shutdown.
+	 */
+	public static synchronized void flushHits()
 	throws Exception {
-		AbstractPersistence persistence = AbstractPersistence.get();
-		persistence.setUser(user); // user has not been set as the servlet for this filter have not fired yet
-		persistence.begin();
+		// hit key -> hits and count to flush
+		Map<String, Hits> flushHits = new TreeMap<>();
+		Map<String, Long> flushCounts = new TreeMap<>();
+
+		// Count any hits recorded against the hits retired by the last flush after they were swapped out
+		for (Hits hits : retired) {
+			long late = hits.count.sum() - hits.flushed;
+			if (late > 0L) {
+				hits.flushed += late;
+				addHits(flushHits, flushCounts, hits, late);
+			}
+		}
+
+		// Swap in fresh hits so that hits recorded from now on are counted separately from the count flushed.
+		List<Hits> retiring = new ArrayList<>(HITS.size());
+		for (Entry<String, Hits> entry : HITS.entrySet()) {
+			String key = entry.getKey();
+			Hits hits = entry.getValue();
+			if (hits.count.sum() == 0L) { // no hits since the last flush so stop tracking this user for now
+				if (HITS.remove(key, hits)) {
+					retiring.add(hits);
+				}
+			}
+			else if (HITS.replace(key, hits, new Hits(hits.customerName, hits.userName, hits.userId, hits.year, hits.month))) {
+				long count = hits.count.sum();
+				hits.flushed = count;
+				retiring.add(hits);
+				addHits(flushHits, flushCounts, hits, count);
+			}
+		}
+		retired = retiring;
 
+		// customer name -> hits to flush
+		Map<String, List<Hits>> flush = new TreeMap<>();
+		// counts to flush in the same order as the hits
+		Map<String, List<Long>> counts = new TreeMap<>();
+		for (Entry<String, Hits> entry : flushHits.entrySet()) {
+			Hits hits = entry.getValue();
+			List<Hits> customerHits = flush.get(hits.customerName);
+			if (customerHits == null) {
+				customerHits = new ArrayList<>();
+				flush.put(hits.customerName, customerHits);
+				counts.put(hits.customerName, new ArrayList<>());
+			}
+			customerHits.add(hits);
+			counts.get(hits.customerName).add(flushCounts.get(entry.getKey()));
+		}
+		if (flush.isEmpty()) {
+			return;
+		}
+		
+		AbstractRepository repository = AbstractRepository.get();
+		AbstractHibernatePersistence persistence = (AbstractHibernatePersistence) AbstractPersistence.get();
+		persistence.begin();
 		try {
-			Customer customer = user.getCustomer();
-			Module admin = customer.getModule(WEB_STATS_MODULE_NAME);
-			String ADM_UserMonthlyHits = admin.getDocument(customer, "UserMonthlyHits").getPersistent().getPersistentIdentifier();
+			Connection connection = persistence.getConnection();
+			for (String customerName : flush.keySet()) {
+				List<Hits> customerHits = flush.get(customerName);
+				List<Long> customerCounts = counts.get(customerName);
 
-			Date now = new Date();
-			Integer month = new Integer(ThreadSafeFactory.getDateFormat(MONTH_FORMAT).format(now));
-			Integer year = new Integer(ThreadSafeFactory.getDateFormat(YEAR_FORMAT).format(now));
-			
-			StringBuilder query = new StringBuilder(128);
-			query.append("select bizId from ").append(ADM_UserMonthlyHits);
-			query.append(" where month = :month ");
-			query.append("and year = :year ");
-			query.append("and userName = :userName ");
-			query.append("and bizCustomer = :customer");
-			SQL sql = persistence.newSQL(query.toString());
-			sql.putParameter("month", month);
-			sql.putParameter("year", year);
-			sql.putParameter("userName", user.getName(), false);
-			sql.putParameter("customer", user.getCustomer().getName(), false);
-			List<String> results = sql.scalarResults(String.class);
-			if (results.isEmpty()) {
+				Customer customer = repository.getCustomer(customerName);
+				Module admin = customer.getModule(WEB_STATS_MODULE_NAME);
+				String ADM_UserMonthlyHits = admin.getDocument(customer, "UserMonthlyHits").getPersistent().getPersistentIdentifier();
+
+				StringBuilder query = new StringBuilder(128);
+				query.append("update ").append(ADM_UserMonthlyHits);
+				query.append(" set numberOfHits = numberOfHits + ? ");
+				query.append("where month = ? ");
+				query.append("and year = ? ");
+				query.append("and userName = ? ");
+				query.append("and bizCustomer = ?");
+				int[] updated = null;
+				try (PreparedStatement ps = connection.prepareStatement(query.toString())) {
+					for (int j = 0, l = customerHits.size(); j < l; j++) {
+						Hits hits = customerHits.get(j);
+						ps.setInt(1, customerCounts.get(j).intValue());
+						ps.setInt(2, hits.month.intValue());
+						ps.setInt(3, hits.year.intValue());
+						ps.setString(4, hits.userName);
+						ps.setString(5, customerName);
+						ps.addBatch();
+					}
+					updated = ps.executeBatch();
+				}
+				
 				query.setLength(0);
 				query.append("insert into ").append(ADM_UserMonthlyHits);
 				query.append(" (bizId, bizVersion, bizCustomer, bizLock, bizUserId, userName, year, month, numberOfHits, bizKey) values ");
-				query.append("(:bizId, 0, :bizCustomer, :bizLock, :bizUserId, :userName, :year, :month, 1, :bizKey)");
-				sql = persistence.newSQL(query.toString());
-				sql.putParameter(Bean.DOCUMENT_ID, UUID.randomUUID().toString(), false);
-				sql.putParameter(Bean.CUSTOMER_NAME, user.getCustomer().getName(), false);
-				sql.putParameter(PersistentBean.LOCK_NAME, new OptimisticLock(user.getName(), now).toString(), false);
-				sql.putParameter(Bean.USER_ID, user.getId(), false);
-				sql.putParameter("userName", user.getName(), false);
-				sql.putParameter("year", year);
-				sql.putParameter("month", month);
-				sql.putParameter("bizKey", "bizKey", false);
-				
-				sql.execute();
-			}
-			else {
-				query.setLength(0);
-				query.append("update ").append(ADM_UserMonthlyHits);
-				query.append(" set numberOfHits = numberOfHits + 1 ");
-				query.append("where bizId = :bizId");
-				sql = persistence.newSQL(query.toString());
-				sql.putParameter(Bean.DOCUMENT_ID, results.get(0), false);
-				sql.execute();
+				query.append("(?, 0, ?, ?, ?, ?, ?, ?, ?, ?)");
+				boolean inserts = false;
+				try (PreparedStatement ps = connection.prepareStatement(query.toString())) {
+					Date now = new Date();
+					for (int j = 0, l = customerHits.size(); j < l; j++) {
+						if (updated[j] == 0) { // no row for this user and month yet
+							Hits hits = customerHits.get(j);
+							ps.setString(1, UUID.randomUUID().toString());
+							ps.setString(2, customerName);
+							ps.setString(3, new OptimisticLock(hits.userName, now).toString());
+							ps.setString(4, hits.userId);
+							ps.setString(5, hits.userName);
+							ps.setInt(6, hits.year.intValue());
+							ps.setInt(7, hits.month.intValue());
+							ps.setInt(8, customerCounts.get(j).intValue());
+							ps.setString(9, "bizKey");
+							ps.addBatch();
+							inserts = true;
+						}
+					}
+					if (inserts) {
+						ps.executeBatch();
+					}
+				}
 			}
 		}
 		catch (Exception e) {
 			persistence.rollback();
+			// put the counts back so they are flushed next time
+			for (String customerName : flush.keySet()) {
+				List<Hits> customerHits = flush.get(customerName);
+				List<Long> customerCounts = counts.get(customerName);
+				for (int j = 0, l = customerHits.size(); j < l; j++) {
+					Hits hits = customerHits.get(j);
+					HITS.computeIfAbsent(hitKey(hits.customerName, hits.userName, hits.year, hits.month), new Function<String, Hits>() {
+						@Override
+						public Hits apply(String key) {
+							return new Hits(hits.customerName, hits.userName, hits.userId, hits.year, hits.month);
+						}
+					}).count.add(customerCounts.get(j).longValue());
+				}
+			}
 			throw e;
 		}
 		finally {
 			persistence.commit(true);
 		}
 	}
+	
+	private static void addHits(Map<String, Hits> flushHits, Map<String, Long> flushCounts, Hits hits, long count) {
+		String key = hitKey(hits.customerName, hits.userName, hits.year, hits.month);
+		flushHits.putIfAbsent(key, hits);
+		Long existing = flushCounts.get(key);
+		flushCounts.put(key, Long.valueOf((existing == null) ? count : existing.longValue() + count));
+	}
+
+	private static String hitKey(String customerName, String userName, Integer year, Integer month) {
+		return new StringBuilder(128).append(customerName).append('/').append(userName).append('/')
+										.append(year).append('/').append(month).toString();
+	}
 }
@@ -0,0 +1,154 @@
+package org.skyve.impl.web;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.OutputStream;
+import java.io.StreamCorruptedException;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Java serialization with a compact class encoding for conversations.
+ * <p/>
+ * Standard serialization writes a full descriptor for every class in the object graph - the class name,
+ * serialVersionUID and the name and type of every serializable field, for the class and each of its super classes.
+ * A web context references many domain, hibernate and skyve classes so these descriptors are a large part of
+ * each serialized conversation.
+ * This serializer writes each class as a small number that indexes a registry of class names instead.
+ * The class's local descriptor is used when reading.
+ * <p/>
+ * The registry is per JVM so the serialized form can only be read by the JVM that wrote it,
+ * which is all the conversation store needs.
+ */
+public final class CompactSerializer {
+	// class name -> registry number
+	private static final ConcurrentHashMap<String, Integer> CLASS_NUMBERS = new ConcurrentHashMap<>(256);
+	// registry number -> class name
+	// This is replaced, never changed, when a class is registered so it can be read without a lock
+	private static volatile String[] classNames = new String[0];
+
+	private CompactSerializer() {
+		// nothing to see here
+	}
+
+	public static void serialize(Object object, OutputStream out) throws IOException {
+		try (ObjectOutputStream oos = new CompactObjectOutputStream(out)) {
+			oos.writeObject(object);
+		}
+	}
+
+	public static byte[] serialize(Object object, int sizeHint) throws IOException {
+		ByteArrayOutputStream baos = new ByteArrayOutputStream(sizeHint);
+		serialize(object, baos);
+		return baos.toByteArray();
+	}
+
+	public static Object deserialize(InputStream in) throws IOException, ClassNotFoundException {
+		try (ObjectInputStream ois = new CompactObjectInputStream(in)) {
+			return ois.readObject();
+		}
+	}
+
+	public static Object deserialize(byte[] bytes) throws IOException, ClassNotFoundException {
+		return deserialize(new ByteArrayInputStream(bytes));
+	}
+
+	private static int classNumber(String className) {
+		Integer result = CLASS_NUMBERS.get(className);
+		if (result == null) {
+			// Registration is rare - each class is registered once per JVM
+			synchronized (CLASS_NUMBERS) {
+				result = CLASS_NUMBERS.get(className);
+				if (result == null) {
+					String[] names = classNames;
+					result = Integer.valueOf(names.length);
+					names = Arrays.copyOf(names, names.length + 1);
+					names[names.length - 1] = className;
+					// publish the name before the number so any stream that holds the number can read the name
+					classNames = names;
+					CLASS_NUMBERS.put(className, result);
+				}
+			}
+		}
+		return result.intValue();
+	}
+
+	private static String className(int classNumber) throws StreamCorruptedException {
+		String[] names = classNames;
+		if ((classNumber < 0) || (classNumber >= names.length)) {
+			throw new StreamCorruptedException("Class number " + classNumber + " is not registered");
+		}
+		return names[classNumber];
+	}
+
+	private static final class CompactObjectOutputStream extends ObjectOutputStream {
+		private CompactObjectOutputStream(OutputStream out) throws IOException {
+			super(out);
+		}
+
+		@Override
+		protected void writeClassDescriptor(ObjectStreamClass desc) throws IOException {
+			// unsigned variable length int - 1 byte for the first 128 classes, 2 bytes for the next 16256
+			int value = classNumber(desc.getName());
+			while ((value & ~0x7F) != 0) {
+				write((value & 0x7F) | 0x80);
+				value >>>= 7;
+			}
+			write(value);
+		}
+	}
+
+	private static final class CompactObjectInputStream extends ObjectInputStream {
+		private CompactObjectInputStream(InputStream in) throws IOException {
+			super(in);
+		}
+
+		@Override
+		protected ObjectStreamClass readClassDescriptor() throws IOException, ClassNotFoundException {
+			int value = 0;
+			int shift = 0;
+			int b;
+			do {
+				b = read();
+				if (b < 0) {
+					throw new StreamCorruptedException("Unexpected end of stream reading a class number");
+				}
+				value |= (b & 0x7F) << shift;
+				shift += 7;
+			}
+			while ((b & 0x80) != 0);
+
+			ObjectStreamClass result = ObjectStreamClass.lookupAny(loadClass(className(value)));
+			if (result == null) {
+				throw new StreamCorruptedException("No descriptor for class number " + value);
+			}
+			return result;
+		}
+
+		@Override
+		protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+			return loadClass(desc.getName());
+		}
+
+		/**
+		 * Use the context class loader first as the domain classes may not be visible to this class's loader.
+		 */
+		private static Class<?> loadClass(String className) throws ClassNotFoundException {
+			ClassLoader loader = Thread.currentThread().getContextClassLoader();
+			if (loader != null) {
+				try {
+					return Class.forName(className, false, loader);
+				}
+				catch (@SuppressWarnings("unused") ClassNotFoundException e) {
+					// try this class's loader below
+				}
+			}
+			return Class.forName(className, false, CompactSerializer.class.getClassLoader());
+		}
+	}
+}
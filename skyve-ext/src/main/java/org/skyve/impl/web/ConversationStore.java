@@ -0,0 +1,34 @@
+package org.skyve.impl.web;
+
+/**
+ * Stores conversations (web contexts) between requests.
+ * <p/>
+ * Implementations are created once at startup with a public no-arg constructor and must be thread-safe.
+ * Each request that uses a conversation gets its own copy through {@link #get(String)}
+ * so a failed request does not corrupt the last conversation state {@link #put(AbstractWebContext)} stored.
+ * Set the implementation with the "factories.conversationStoreClass" setting.
+ */
+public interface ConversationStore {
+	/**
+	 * Store the current state of a conversation under its key.
+	 */
+	public void put(AbstractWebContext webContext) throws Exception;
+
+	/**
+	 * Get a copy of the conversation stored under the given key.
+	 * 
+	 * @param conversationKey	The conversation key.
+	 * @return	The conversation or null if it has ended or was evicted.
+	 */
+	public AbstractWebContext get(String conversationKey) throws Exception;
+
+	/**
+	 * Log the number of conversations held and any other metrics.
+	 */
+	public void logStats();
+
+	/**
+	 * Release any resources when the application is stopped.
+	 */
+	public void dispose();
+}
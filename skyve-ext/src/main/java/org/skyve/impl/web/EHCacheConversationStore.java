@@ -0,0 +1,122 @@
+package org.skyve.impl.web;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.skyve.impl.util.UtilImpl;
+
+import net.sf.ehcache.Cache;
+import net.sf.ehcache.CacheManager;
+import net.sf.ehcache.Element;
+import net.sf.ehcache.statistics.StatisticsGateway;
+
+/**
+ * The default conversation store.
+ * <p/>
+ * Conversations are serialized into an EHCache cache that holds {@link UtilImpl#MAX_CONVERSATIONS_IN_MEMORY} 
+ * conversations in memory and overflows the rest to disk.
+ * Conversations are serialized with {@link CompactSerializer} which writes each class as a number instead of 
+ * its full descriptor.
+ * The serialization buffer is sized from the recent conversation sizes so large conversations are not copied 
+ * over and over as the buffer grows.
+ * Serialization and deserialization counts, sizes and times are kept for {@link #logStats()},
+ * along with the hits and size of the in-memory and disk overflow tiers.
+ * <p/>
+ * This store does not encode beans from their document metadata, keep only the beans that changed between requests
+ * or hand out a live (hot) copy of the conversation.
+ * A conversation is a whole {@link AbstractWebContext} including its persistence and hibernate session,
+ * which cannot be rebuilt from document metadata, and each snapshot replaces the last so there is no older
+ * state to take a delta against.
+ * A live copy is not safe as each request commits and closes the conversation persistence after caching it
+ * and a failed request must get the last good snapshot back.
+ * The disk tier is EHCache's own; an off-heap tier needs a commercial EHCache licence so it is not offered.
+ */
+public class EHCacheConversationStore implements ConversationStore {
+	private static final String CONVERSATIONS_CACHE_NAME = "conversations";
+	private static final int MINIMUM_BUFFER_SIZE = 512;
+
+	private final LongAdder puts = new LongAdder();
+	private final LongAdder bytesPut = new LongAdder();
+	private final LongAdder serializeNanos = new LongAdder();
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder deserializeNanos = new LongAdder();
+	// A moving average of the serialized conversation size
+	private final AtomicInteger averageSize = new AtomicInteger(MINIMUM_BUFFER_SIZE);
+
+	public EHCacheConversationStore() {
+		CacheManager singletonManager = CacheManager.getInstance();
+		Cache conversations = new Cache(CONVERSATIONS_CACHE_NAME, 
+											UtilImpl.MAX_CONVERSATIONS_IN_MEMORY, 
+											true, 
+											false, 
+											0, 
+											UtilImpl.CONVERSATION_EVICTION_TIME_MINUTES * 60);
+		singletonManager.addCache(conversations);
+	}
+
+	private static Cache getConversations() {
+		return CacheManager.getInstance().getCache(CONVERSATIONS_CACHE_NAME);
+	}
+
+	@Override
+	public void put(AbstractWebContext webContext) throws Exception {
+		long start = System.nanoTime();
+		int average = averageSize.get();
+		byte[] bytes = CompactSerializer.serialize(webContext, Math.max(MINIMUM_BUFFER_SIZE, average + (average >> 2)));
+		serializeNanos.add(System.nanoTime() - start);
+		puts.increment();
+		bytesPut.add(bytes.length);
+		averageSize.set(average - (average >> 3) + (bytes.length >> 3));
+
+		// Note that EHCache puts are thread-safe
+		getConversations().put(new Element(webContext.getKey(), bytes));
+	}
+
+	@Override
+	public AbstractWebContext get(String conversationKey) throws Exception {
+		Element element = getConversations().get(conversationKey);
+		if (element == null) {
+			misses.increment();
+			return null;
+		}
+
+		long start = System.nanoTime();
+		AbstractWebContext result = (AbstractWebContext) CompactSerializer.deserialize((byte[]) element.getObjectValue());
+		deserializeNanos.add(System.nanoTime() - start);
+		hits.increment();
+		return result;
+	}
+
+	@Override
+	public void logStats() {
+		Cache conversations = getConversations();
+		UtilImpl.LOGGER.info("Count = " + conversations.getSize());
+		StatisticsGateway statistics = conversations.getStatistics();
+		if (statistics != null) {
+			UtilImpl.LOGGER.info("Count in memory = " + statistics.getLocalHeapSize() + 
+									" : hits = " + statistics.localHeapHitCount());
+			UtilImpl.LOGGER.info("Count on disk = " + statistics.getLocalDiskSize() + 
+									" : hits = " + statistics.localDiskHitCount() +
+									" : size (MB) = " + (statistics.getLocalDiskSizeInBytes() / 1048576.0));
+			// NB - This method takes a long time for large object graphs, so don't use it on prod systems.
+			//UtilImpl.LOGGER.info("In-Memory (MB) = " + (statistics.getLocalHeapSizeInBytes() / 1048576.0));
+		}
+		long putCount = puts.sum();
+		if (putCount > 0) {
+			UtilImpl.LOGGER.info("Puts = " + putCount + 
+									" : average size (KB) = " + (bytesPut.sum() / putCount / 1024.0) +
+									" : average serialize (ms) = " + (serializeNanos.sum() / putCount / 1000000.0));
+		}
+		long hitCount = hits.sum();
+		UtilImpl.LOGGER.info("Hits = " + hitCount + " : misses = " + misses.sum());
+		if (hitCount > 0) {
+			UtilImpl.LOGGER.info("Average deserialize (ms) = " + (deserializeNanos.sum() / hitCount / 1000000.0));
+		}
+	}
+
+	@Override
+	public void dispose() {
+		CacheManager.getInstance().shutdown();
+	}
+}
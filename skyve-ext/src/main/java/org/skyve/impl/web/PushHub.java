@@ -0,0 +1,234 @@
+package org.skyve.impl.web;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+import javax.websocket.CloseReason;
+import javax.websocket.CloseReason.CloseCodes;
+import javax.websocket.SendHandler;
+import javax.websocket.SendResult;
+import javax.websocket.Session;
+
+import org.skyve.impl.util.UtilImpl;
+import org.skyve.util.PushMessage;
+
+/**
+ * Delivers push messages to the connected web socket sessions.
+ * <p/>
+ * Sessions are indexed by the user id they were opened for so that a message for some users
+ * only visits those users' sessions. Sessions opened without a user (public pages) receive every message.
+ * Each message is marshalled once by the caller and the same text is sent to every session asynchronously.
+ * <p/>
+ * A session can only have one asynchronous send in flight, so each session has an outbox that sends its
+ * messages one after the other.
+ * A session that can't keep up is closed (the client reconnects) rather than letting unsent messages buffer up on the server.
+ */
+public final class PushHub {
+	/**
+	 * The session user property that holds the user id.
+	 */
+	private static final String USER_PROPERTY_NAME = "user";
+
+	/**
+	 * The maximum number of messages waiting in a session's outbox before it is considered too slow.
+	 */
+	private static final int MAX_PENDING_SENDS = 32;
+
+	// user id -> sessions
+	private static final ConcurrentHashMap<String, Set<Session>> USER_SESSIONS = new ConcurrentHashMap<>();
+	// sessions with no user
+	private static final Set<Session> ANONYMOUS_SESSIONS = Collections.newSetFromMap(new ConcurrentHashMap<Session, Boolean>());
+	// session -> messages waiting to be sent
+	private static final ConcurrentHashMap<Session, Outbox> OUTBOXES = new ConcurrentHashMap<>();
+
+	/**
+	 * The messages waiting to be sent to a session.
+	 * The next message is sent when the previous send completes.
+	 */
+	private static final class Outbox implements SendHandler {
+		private final Session session;
+		private final ConcurrentLinkedQueue<String> messages = new ConcurrentLinkedQueue<>();
+		// the number of messages queued or in flight
+		private final AtomicInteger pending = new AtomicInteger();
+		private final AtomicBoolean sending = new AtomicBoolean();
+
+		private Outbox(Session session) {
+			this.session = session;
+		}
+
+		/**
+		 * Queue a message to send.
+		 * 
+		 * @return	false if the outbox is full.
+		 */
+		private boolean offer(String text) {
+			if (pending.incrementAndGet() > MAX_PENDING_SENDS) {
+				pending.decrementAndGet();
+				return false;
+			}
+			messages.add(text);
+			sendNext();
+			return true;
+		}
+
+		/**
+		 * Send the next message unless a send is already in flight.
+		 */
+		private void sendNext() {
+			while ((! messages.isEmpty()) && sending.compareAndSet(false, true)) {
+				String text = messages.poll();
+				if (text == null) { // taken by another thread's send
+					sending.set(false);
+					continue;
+				}
+				try {
+					session.getAsyncRemote().sendText(text, this);
+					return;
+				}
+				catch (Exception e) {
+					pending.decrementAndGet();
+					sending.set(false);
+					if (session.isOpen()) {
+						UtilImpl.LOGGER.warning("Push to user " + userId(session) + " failed - " + e);
+					}
+					else if (UtilImpl.COMMAND_TRACE) { // the session was closed under us
+						UtilImpl.LOGGER.info("Push to user " + userId(session) + " failed - " + e);
+					}
+				}
+			}
+		}
+
+		@Override
+		public void onResult(SendResult result) {
+			pending.decrementAndGet();
+			if ((! result.isOK()) && UtilImpl.COMMAND_TRACE) {
+				UtilImpl.LOGGER.info("Push to user " + userId(session) + " failed - " + result.getException());
+			}
+			sending.set(false);
+			sendNext();
+		}
+	}
+
+	private PushHub() {
+		// nothing to see here
+	}
+
+	/**
+	 * Register an opened session.
+	 */
+	@SuppressWarnings("deprecation")
+	public static void register(final Session session) {
+		OUTBOXES.put(session, new Outbox(session));
+		String userId = userId(session);
+		if (userId == null) {
+			ANONYMOUS_SESSIONS.add(session);
+		}
+		else {
+			// add atomically so that a concurrent unregister can't remove the set this session is added to
+			USER_SESSIONS.compute(userId, new BiFunction<String, Set<Session>, Set<Session>>() {
+				@Override
+				public Set<Session> apply(String key, Set<Session> sessions) {
+					Set<Session> result = sessions;
+					if (result == null) {
+						result = Collections.newSetFromMap(new ConcurrentHashMap<Session, Boolean>());
+					}
+					result.add(session);
+					return result;
+				}
+			});
+		}
+		PushMessage.SESSIONS.add(session);
+	}
+
+	/**
+	 * Unregister a closed session.
+	 */
+	@SuppressWarnings("deprecation")
+	public static void unregister(final Session session) {
+		OUTBOXES.remove(session);
+		String userId = userId(session);
+		if (userId == null) {
+			ANONYMOUS_SESSIONS.remove(session);
+		}
+		else {
+			// remove the user's set atomically when this was the last session
+			USER_SESSIONS.computeIfPresent(userId, new BiFunction<String, Set<Session>, Set<Session>>() {
+				@Override
+				public Set<Session> apply(String key, Set<Session> sessions) {
+					sessions.remove(session);
+					return sessions.isEmpty() ? null : sessions;
+				}
+			});
+		}
+		PushMessage.SESSIONS.remove(session);
+	}
+
+	/**
+	 * Send some marshalled text to the sessions of some users, or to every session.
+	 *
+	 * @param userIds	The users to send to - an empty set broadcasts to all sessions.
+	 * @param text	The text to send.
+	 */
+	public static void push(Set<String> userIds, String text) {
+		if (userIds.isEmpty()) {
+			for (Set<Session> sessions : USER_SESSIONS.values()) {
+				send(sessions, text);
+			}
+		}
+		else {
+			for (String userId : userIds) {
+				Set<Session> sessions = USER_SESSIONS.get(userId);
+				if (sessions != null) {
+					send(sessions, text);
+				}
+			}
+		}
+		send(ANONYMOUS_SESSIONS, text);
+	}
+
+	/**
+	 * The number of sessions registered.
+	 */
+	public static int size() {
+		return OUTBOXES.size();
+	}
+
+	private static void send(Set<Session> sessions, String text) {
+		for (Session session : sessions) {
+			send(session, text);
+		}
+	}
+
+	private static void send(Session session, String text) {
+		if (! session.isOpen()) {
+			unregister(session);
+			return;
+		}
+
+		Outbox outbox = OUTBOXES.get(session);
+		if (outbox == null) { // unregistered concurrently
+			return;
+		}
+		if (! outbox.offer(text)) {
+			UtilImpl.LOGGER.warning("Closing WebSocket connection for user " + userId(session) + " as it has " +
+										MAX_PENDING_SENDS + " push messages waiting to be sent");
+			unregister(session);
+			try {
+				session.close(new CloseReason(CloseCodes.TRY_AGAIN_LATER, "Too many push messages pending"));
+			}
+			catch (Exception e) {
+				UtilImpl.LOGGER.warning("Could not close WebSocket connection - " + e.getLocalizedMessage());
+			}
+		}
+	}
+
+	private static String userId(Session session) {
+		Object result = session.getUserProperties().get(USER_PROPERTY_NAME);
+		return (result == null) ? null : result.toString();
+	}
+}
@@ -1,10 +1,14 @@
 package org.skyve.impl.web;
 
-import java.util.Map;
-import java.util.TreeMap;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 import javax.servlet.http.HttpServletRequest;
 
+import org.skyve.impl.util.UtilImpl;
+
 import eu.bitwalker.useragentutils.DeviceType;
 import eu.bitwalker.useragentutils.OperatingSystem;
 
@@ -15,19 +19,32 @@ public class UserAgent {
 	private UserAgent() {
 		// nothing to see here
 	}
-	
-	private static Map<String, UserAgentType> typeCache = new TreeMap<>();
+
+	/**
+	 * Stop the cache growing indefinitely with random user agent strings from bots.
+	 */
+	private static final int MAX_CACHED_TYPES = 2000;
+
+	/**
+	 * User agent strings are truncated to this length before parsing - device detection tokens are near the start.
+	 */
+	private static final int MAX_AGENT_LENGTH = 512;
+
+	// normalised user agent -> type
+	private static final ConcurrentHashMap<String, UserAgentType> TYPE_CACHE = new ConcurrentHashMap<>();
+
+	private static final LongAdder HITS = new LongAdder();
+	private static final LongAdder MISSES = new LongAdder();
+	private static final LongAdder EVICTIONS = new LongAdder();
 
 	public static UserAgentType getType(HttpServletRequest request) {
-		String agentString = request.getHeader("User-Agent");
-		if (agentString == null) {
-			agentString = "";
-		}
+		String agentString = normalise(request.getHeader("User-Agent"));
 
-		UserAgentType result = typeCache.get(agentString);
+		UserAgentType result = TYPE_CACHE.get(agentString);
 		if (result == null) {
+			MISSES.increment();
 			result = UserAgentType.other;
-			
+
 			eu.bitwalker.useragentutils.UserAgent agent = eu.bitwalker.useragentutils.UserAgent.parseUserAgentString(agentString);
 			if (agent != null) {
 				OperatingSystem os = agent.getOperatingSystem();
@@ -52,9 +69,65 @@ public class UserAgent {
 				}
 			}
 
-			typeCache.put(agentString, result);
+			if (TYPE_CACHE.size() >= MAX_CACHED_TYPES) {
+				evict();
+			}
+			TYPE_CACHE.put(agentString, result);
 		}
-		
+		else {
+			HITS.increment();
+		}
+
 		return result;
 	}
+
+	public static void logStats() {
+		UtilImpl.LOGGER.info("User agent types cached = " + TYPE_CACHE.size() +
+								" : hits = " + HITS.sum() +
+								" : misses = " + MISSES.sum() +
+								" : evictions = " + EVICTIONS.sum());
+	}
+
+	/**
+	 * Lower case, trim, collapse white space and truncate the user agent string
+	 * so that agents that differ only in these ways share a cache entry.
+	 * User agent parsing is case insensitive so this doesn't change the type detected.
+	 */
+	static String normalise(String agentString) {
+		if (agentString == null) {
+			return "";
+		}
+
+		int length = Math.min(agentString.length(), MAX_AGENT_LENGTH);
+		StringBuilder result = new StringBuilder(length);
+		boolean whitespace = false;
+		for (int i = 0; i < length; i++) {
+			char c = agentString.charAt(i);
+			if (Character.isWhitespace(c)) {
+				whitespace = true;
+			}
+			else {
+				if (whitespace && (result.length() > 0)) {
+					result.append(' ');
+				}
+				whitespace = false;
+				result.append(c);
+			}
+		}
+		return result.toString().toLowerCase(Locale.ENGLISH);
+	}
+
+	/**
+	 * Remove about a quarter of the cached types to make room.
+	 * ConcurrentHashMap iteration order is effectively random so this doesn't favour any agents.
+	 */
+	private static void evict() {
+		int count = MAX_CACHED_TYPES / 4;
+		Iterator<String> i = TYPE_CACHE.keySet().iterator();
+		while (i.hasNext() && (count-- > 0)) {
+			i.next();
+			i.remove();
+			EVICTIONS.increment();
+		}
+	}
 }
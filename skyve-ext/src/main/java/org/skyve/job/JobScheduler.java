@@ -25,7 +25,10 @@ import org.skyve.impl.bind.BindUtil;
 import org.skyve.impl.job.AbstractSkyveJob;
 import org.skyve.impl.job.ContentGarbageCollectionJob;
 import org.skyve.impl.job.ContentInitJob;
+import org.skyve.impl.job.ContentOutboxJob;
+import org.skyve.impl.job.ReportPreWarmJob;
 import org.skyve.impl.job.SkyveTriggerListener;
+import org.skyve.impl.job.WebStatsJob;
 import org.skyve.impl.metadata.repository.AbstractRepository;
 import org.skyve.impl.persistence.AbstractPersistence;
 import org.skyve.impl.util.SQLMetaDataUtil;
@@ -42,6 +45,8 @@ import org.skyve.web.BackgroundTask;
 public class JobScheduler {
 	private static Scheduler JOB_SCHEDULER = null;
 	private static final SkyveTriggerListener SKYVE_TRIGGER_LISTENER = new SkyveTriggerListener();
+	private static final long CONTENT_OUTBOX_INTERVAL_MILLIS = 5000L;
+	private static final long WEB_STATS_INTERVAL_MILLIS = 60000L;
 
 	public static void init() {
 		SchedulerFactory sf = new StdSchedulerFactory();
@@ -110,6 +115,17 @@ public class JobScheduler {
 												Scheduler.DEFAULT_GROUP);
 		JOB_SCHEDULER.scheduleJob(detail, trigger);
 
+		// load the configured reports into the report cache in a 1 shot immediate job
+		if ((UtilImpl.REPORT_PRE_WARM != null) && (! UtilImpl.REPORT_PRE_WARM.isEmpty()) && (UtilImpl.REPORT_CACHE_SIZE > 0)) {
+			detail = new JobDetail("Report Pre-warm",
+									Scheduler.DEFAULT_GROUP,
+									ReportPreWarmJob.class);
+			detail.setDurability(false);
+			trigger = new SimpleTrigger("Report Pre-warm Trigger",
+											Scheduler.DEFAULT_GROUP);
+			JOB_SCHEDULER.scheduleJob(detail, trigger);
+		}
+
 		// Do CMS garbage collection as schedule in the CRON expression in the application properties file
 		detail = new JobDetail("CMS Garbage Collection",
 								Scheduler.DEFAULT_GROUP,
@@ -129,6 +145,52 @@ public class JobScheduler {
 		catch (SchedulerException e) {
 			Util.LOGGER.severe("CMS Garbage Collection Job was not scheduled because - " + e.getLocalizedMessage());
 		}
+
+		// Index the content outbox every few seconds when indexing asynchronously
+		if (UtilImpl.CONTENT_ASYNC_INDEXING) {
+			detail = new JobDetail("CMS Outbox",
+									Scheduler.DEFAULT_GROUP,
+									ContentOutboxJob.class);
+			detail.setDurability(true);
+			trigger = new SimpleTrigger("CMS Outbox Trigger",
+											Scheduler.DEFAULT_GROUP,
+											"CMS Outbox",
+											Scheduler.DEFAULT_GROUP,
+											new Date(),
+											null,
+											SimpleTrigger.REPEAT_INDEFINITELY,
+											CONTENT_OUTBOX_INTERVAL_MILLIS);
+			trigger.setMisfireInstruction(SimpleTrigger.MISFIRE_INSTRUCTION_RESCHEDULE_NEXT_WITH_REMAINING_COUNT);
+			try {
+				JOB_SCHEDULER.scheduleJob(detail, trigger);
+				Util.LOGGER.info("CMS Outbox Job scheduled every " + CONTENT_OUTBOX_INTERVAL_MILLIS + "ms");
+			}
+			catch (SchedulerException e) {
+				Util.LOGGER.severe("CMS Outbox Job was not scheduled because - " + e.getLocalizedMessage());
+			}
+		}
+
+		// Write the web hits counted in memory every minute
+		detail = new JobDetail("Web Stats",
+								Scheduler.DEFAULT_GROUP,
+								WebStatsJob.class);
+		detail.setDurability(true);
+		trigger = new SimpleTrigger("Web Stats Trigger",
+										Scheduler.DEFAULT_GROUP,
+										"Web Stats",
+										Scheduler.DEFAULT_GROUP,
+										new Date(new Date().getTime() + WEB_STATS_INTERVAL_MILLIS),
+										null,
+										SimpleTrigger.REPEAT_INDEFINITELY,
+										WEB_STATS_INTERVAL_MILLIS);
+		trigger.setMisfireInstruction(SimpleTrigger.MISFIRE_INSTRUCTION_RESCHEDULE_NEXT_WITH_REMAINING_COUNT);
+		try {
+			JOB_SCHEDULER.scheduleJob(detail, trigger);
+			Util.LOGGER.info("Web Stats Job scheduled every " + WEB_STATS_INTERVAL_MILLIS + "ms");
+		}
+		catch (SchedulerException e) {
+			Util.LOGGER.severe("Web Stats Job was not scheduled because - " + e.getLocalizedMessage());
+		}
 	}
 
 	/**
@@ -21,6 +21,12 @@ public class PushMessage {
 	private static final String ITEM_METHOD = "method";
 	private static final String ITEM_ARGUMENT = "argument";
 	
+	/**
+	 * The connected web socket sessions.
+	 * @deprecated	Sessions are registered with {@link org.skyve.impl.web.PushHub} which indexes them by user.
+	 * 				This is maintained for compatibility only.
+	 */
+	@Deprecated
 	public static final ConcurrentLinkedQueue<Session> SESSIONS = new ConcurrentLinkedQueue<>();
 
 	private Set<String> userIds = new TreeSet<>();
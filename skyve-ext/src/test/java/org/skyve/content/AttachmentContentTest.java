@@ -0,0 +1,80 @@
+package org.skyve.content;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Test;
+import org.skyve.util.FileUtil;
+
+public class AttachmentContentTest {
+	private static final byte[] BYTES = "content".getBytes(StandardCharsets.UTF_8);
+
+	@Test
+	@SuppressWarnings("static-method")
+	public void testStreamedContentCanBeReadAgainOnceRepointed() throws Exception {
+		// setup the content from a stream and consume it as a content manager would
+		AttachmentContent content = new AttachmentContent("bizhub", "admin", "Contact", null, "user", "id", "image", "content.txt", MimeType.plain, new ByteArrayInputStream(BYTES));
+		Path path = Files.createTempFile("content", null);
+		try {
+			try (InputStream stream = content.getContentStream()) {
+				Files.write(path, FileUtil.getFileBytes(stream));
+			}
+
+			// perform the method under test
+			content.setContentPath(path);
+
+			// verify the result
+			assertThat(Long.valueOf(content.getContentSize()), is(Long.valueOf(BYTES.length)));
+			try (InputStream stream = content.getContentStream()) {
+				assertThat(FileUtil.getFileBytes(stream), is(BYTES));
+			}
+			assertThat(content.getContentBytes(), is(BYTES));
+		}
+		finally {
+			Files.delete(path);
+		}
+	}
+
+	@Test
+	@SuppressWarnings("static-method")
+	public void testStreamedContentBytesCanBeReadAgain() throws Exception {
+		// setup the content from a stream
+		AttachmentContent content = new AttachmentContent("bizhub", "admin", "Contact", null, "user", "id", "image", "content.txt", MimeType.plain, new ByteArrayInputStream(BYTES));
+
+		// perform the method under test
+		byte[] result = content.getContentBytes();
+
+		// verify the result
+		assertThat(result, is(BYTES));
+		try (InputStream stream = content.getContentStream()) {
+			assertThat(FileUtil.getFileBytes(stream), is(BYTES));
+		}
+	}
+
+	@Test
+	@SuppressWarnings("static-method")
+	public void testPathConstructorIsFileBacked() throws Exception {
+		// setup
+		Path path = Files.createTempFile("content", null);
+		try {
+			Files.write(path, BYTES);
+
+			// perform the method under test
+			AttachmentContent content = new AttachmentContent("bizhub", "admin", "Contact", null, "user", "id", "image", "content.txt", MimeType.plain, path);
+
+			// verify the result
+			assertThat(content.getContentPath(), is(path));
+			assertThat(content.getContentType(), is(MimeType.plain.toString()));
+			assertThat(content.getContentBytes(), is(BYTES));
+		}
+		finally {
+			Files.delete(path);
+		}
+	}
+}
@@ -0,0 +1,114 @@
+package org.skyve.impl.dataaccess.sql;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.skyve.domain.messages.DomainException;
+import org.skyve.persistence.DataStore;
+import org.skyve.persistence.SQL;
+
+public class SQLDataAccessSQLTest {
+	private static final String URL = "jdbc:h2:mem:SQLDataAccessSQLTest;DB_CLOSE_DELAY=-1";
+	private static final String INSERT = "insert into ADM_Test (bizId, name) values (:bizId, :name)";
+
+	private SQLDataAccessImpl dataAccess;
+
+	@Before
+	public void before() throws Exception {
+		try (Connection c = DriverManager.getConnection(URL)) {
+			try (Statement s = c.createStatement()) {
+				s.execute("create table ADM_Test (bizId varchar(36) primary key, name varchar(100))");
+			}
+		}
+		dataAccess = new SQLDataAccessImpl(new DataStore("org.h2.Driver", URL, null));
+	}
+
+	@After
+	public void after() throws Exception {
+		dataAccess.close();
+		try (Connection c = DriverManager.getConnection(URL)) {
+			try (Statement s = c.createStatement()) {
+				s.execute("drop table ADM_Test");
+			}
+		}
+	}
+
+	@Test
+	public void testExecuteBatchCommits() throws Exception {
+		// setup the batch
+		SQL sql = dataAccess.newSQL(INSERT);
+		for (int i = 0; i < 3; i++) {
+			sql.putParameter("bizId", "id" + i, false).putParameter("name", "name" + i, false).addBatch();
+		}
+
+		// perform the method under test
+		int[] result = sql.executeBatch();
+
+		// verify the result
+		assertThat(Integer.valueOf(result.length), is(Integer.valueOf(3)));
+		assertThat(Integer.valueOf(count()), is(Integer.valueOf(3)));
+	}
+
+	@Test
+	public void testFailedBatchIsRolledBack() throws Exception {
+		// setup a batch where the last entry fails on the primary key
+		SQL sql = dataAccess.newSQL(INSERT);
+		sql.putParameter("bizId", "id0", false).putParameter("name", "name0", false).addBatch();
+		sql.putParameter("bizId", "id1", false).putParameter("name", "name1", false).addBatch();
+		sql.putParameter("bizId", "id0", false).putParameter("name", "duplicate", false).addBatch();
+
+		// perform the method under test
+		try {
+			sql.executeBatch();
+			fail("The duplicate key should fail the batch");
+		}
+		catch (@SuppressWarnings("unused") DomainException e) {
+			// expected
+		}
+
+		// verify the result - the next statement's commit must not commit the failed batch entries
+		dataAccess.newSQL(INSERT).putParameter("bizId", "id2", false).putParameter("name", "name2", false).execute();
+		assertThat(Integer.valueOf(count()), is(Integer.valueOf(1)));
+	}
+
+	@Test
+	public void testFailedExecuteIsRolledBack() throws Exception {
+		// setup uncommitted work on the data access connection, then a statement that fails
+		try (Statement s = dataAccess.getConnection().createStatement()) {
+			s.executeUpdate("insert into ADM_Test (bizId, name) values ('id0', 'name0')");
+		}
+		SQL sql = dataAccess.newSQL(INSERT).putParameter("bizId", "id0", false).putParameter("name", "duplicate", false);
+
+		// perform the method under test
+		try {
+			sql.execute();
+			fail("The duplicate key should fail the statement");
+		}
+		catch (@SuppressWarnings("unused") DomainException e) {
+			// expected
+		}
+
+		// verify the result
+		dataAccess.getConnection().commit();
+		assertThat(Integer.valueOf(count()), is(Integer.valueOf(0)));
+	}
+
+	private static int count() throws Exception {
+		try (Connection c = DriverManager.getConnection(URL)) {
+			try (Statement s = c.createStatement()) {
+				try (java.sql.ResultSet rs = s.executeQuery("select count(*) from ADM_Test")) {
+					rs.next();
+					return rs.getInt(1);
+				}
+			}
+		}
+	}
+}
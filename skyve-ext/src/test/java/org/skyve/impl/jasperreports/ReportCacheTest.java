@@ -0,0 +1,83 @@
+package org.skyve.impl.jasperreports;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.util.UUID;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.skyve.impl.generate.jasperreports.JasperReportRenderer;
+
+import net.sf.jasperreports.engine.JRExpressionCollector;
+import net.sf.jasperreports.engine.JasperReport;
+import net.sf.jasperreports.engine.design.JasperDesign;
+
+public class ReportCacheTest {
+	/**
+	 * Renders the same design with new uuids each time, like jasper does, and counts the compiles.
+	 */
+	private static final class TestRenderer extends JasperReportRenderer {
+		private final String name;
+		private int compiles = 0;
+
+		private TestRenderer(String name) {
+			super(new ReportDesignParameters());
+			this.name = name;
+		}
+
+		@Override
+		public String getJrxml() throws Exception {
+			return "<jasperReport name=\"" + name + "\" uuid=\"" + UUID.randomUUID() + "\">" +
+					"<field name=\"bizKey\" class=\"java.lang.String\"/>" +
+					"<textField><reportElement x=\"0\" y=\"0\" width=\"100\" height=\"20\" uuid=\"" + UUID.randomUUID() + "\"/></textField>" +
+					"</jasperReport>";
+		}
+
+		@Override
+		public JasperReport getReport() throws Exception {
+			compiles++;
+			JasperDesign design = new JasperDesign();
+			design.setName(name);
+			return new JasperReport(design, null, null, JRExpressionCollector.collector(null, design), null);
+		}
+	}
+
+	@Before
+	@SuppressWarnings("static-method")
+	public void before() {
+		ReportCache.clear();
+	}
+
+	@Test
+	@SuppressWarnings({ "static-method", "boxing" })
+	public void testSameDesignCompiledOnce() throws Exception {
+		// setup the test data
+		TestRenderer renderer = new TestRenderer("design");
+
+		// perform the method under test
+		JasperReport result1 = ReportCache.getReport(renderer);
+		JasperReport result2 = ReportCache.getReport(renderer);
+
+		// verify the result
+		assertThat(renderer.compiles, is(1));
+		assertThat(result2, is(sameInstance(result1)));
+	}
+
+	@Test
+	@SuppressWarnings({ "static-method", "boxing" })
+	public void testDifferentDesignsCompiledSeparately() throws Exception {
+		// setup the test data
+		TestRenderer renderer1 = new TestRenderer("design1");
+		TestRenderer renderer2 = new TestRenderer("design2");
+
+		// perform the method under test
+		ReportCache.getReport(renderer1);
+		ReportCache.getReport(renderer2);
+
+		// verify the result
+		assertThat(renderer1.compiles, is(1));
+		assertThat(renderer2.compiles, is(1));
+	}
+}
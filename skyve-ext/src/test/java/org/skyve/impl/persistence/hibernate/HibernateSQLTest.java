@@ -0,0 +1,78 @@
+package org.skyve.impl.persistence.hibernate;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.skyve.domain.types.DateOnly;
+
+public class HibernateSQLTest {
+	private static final String URL = "jdbc:h2:mem:HibernateSQLTest;DB_CLOSE_DELAY=-1";
+
+	private Connection connection;
+
+	@Before
+	public void before() throws Exception {
+		connection = DriverManager.getConnection(URL);
+		connection.setAutoCommit(false);
+		try (Statement s = connection.createStatement()) {
+			s.execute("create table ADM_Test (bizId varchar(36) primary key, name varchar(100), amount integer, created date)");
+		}
+	}
+
+	@After
+	public void after() throws Exception {
+		try (Statement s = connection.createStatement()) {
+			s.execute("drop table ADM_Test");
+		}
+		connection.close();
+	}
+
+	@Test
+	public void testExecuteBatchSendsOneJDBCBatch() throws Exception {
+		// setup the batch
+		HibernateSQL sql = new HibernateSQL("insert into ADM_Test (bizId, name, amount, created) values (:bizId, :name, :amount, :created)", null);
+		for (int i = 0; i < 3; i++) {
+			sql.putParameter("bizId", "id" + i, false);
+			sql.putParameter("name", "name" + i, false);
+			sql.putParameter("amount", Integer.valueOf(i));
+			sql.putParameter("created", new DateOnly());
+			sql.addBatch();
+		}
+
+		// perform the method under test
+		int[] result = sql.executeBatch(connection);
+
+		// verify the result
+		assertThat(Integer.valueOf(result.length), is(Integer.valueOf(3)));
+		try (Statement s = connection.createStatement()) {
+			try (ResultSet rs = s.executeQuery("select count(*), sum(amount) from ADM_Test where created is not null")) {
+				rs.next();
+				assertThat(Integer.valueOf(rs.getInt(1)), is(Integer.valueOf(3)));
+				assertThat(Integer.valueOf(rs.getInt(2)), is(Integer.valueOf(3)));
+			}
+		}
+	}
+
+	@Test
+	public void testExecuteBatchClearsTheBatch() throws Exception {
+		// setup the batch
+		HibernateSQL sql = new HibernateSQL("update ADM_Test set name = :name where bizId = :bizId", null);
+		sql.putParameter("bizId", "id0", false).putParameter("name", "name0", false).addBatch();
+		sql.executeBatch(connection);
+
+		// perform the method under test
+		int[] result = sql.executeBatch(connection);
+
+		// verify the result
+		assertThat(Integer.valueOf(result.length), is(Integer.valueOf(0)));
+		assertThat(sql.getParameter("bizId"), is((Object) "id0"));
+	}
+}
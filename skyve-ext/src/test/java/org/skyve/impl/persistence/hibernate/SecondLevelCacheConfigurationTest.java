@@ -0,0 +1,64 @@
+package org.skyve.impl.persistence.hibernate;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.Assert.assertThat;
+
+import java.net.URL;
+
+import org.hibernate.cache.spi.UpdateTimestampsCache;
+import org.junit.Test;
+
+import net.sf.ehcache.CacheManager;
+import net.sf.ehcache.Ehcache;
+import net.sf.ehcache.config.CacheConfiguration;
+import net.sf.ehcache.config.Configuration;
+import net.sf.ehcache.config.ConfigurationFactory;
+import net.sf.ehcache.config.PersistenceConfiguration.Strategy;
+
+public class SecondLevelCacheConfigurationTest {
+	@Test
+	@SuppressWarnings("static-method")
+	public void testRegionsAreInMemoryOnly() {
+		// perform the method under test
+		Configuration configuration = parse();
+
+		// verify the result
+		CacheConfiguration defaultCache = configuration.getDefaultCacheConfiguration();
+		assertThat(defaultCache.getPersistenceConfiguration().getStrategy(), is(Strategy.NONE));
+		assertThat(Boolean.valueOf(defaultCache.isEternal()), is(Boolean.FALSE));
+		CacheConfiguration timestamps = configuration.getCacheConfigurations().get(UpdateTimestampsCache.REGION_NAME);
+		assertThat(timestamps, is(notNullValue()));
+		assertThat(Boolean.valueOf(timestamps.isEternal()), is(Boolean.TRUE));
+		assertThat(timestamps.getPersistenceConfiguration().getStrategy(), is(Strategy.NONE));
+	}
+
+	@Test
+	@SuppressWarnings("static-method")
+	public void testRegionsUseTheDefaultCache() {
+		// setup the conversation store's cache manager as the regions must not clash with it
+		CacheManager singletonManager = CacheManager.getInstance();
+		CacheManager manager = new CacheManager(parse());
+		try {
+			// perform the method under test
+			manager.addCache("adminContact");
+
+			// verify the result
+			Ehcache region = manager.getEhcache("adminContact");
+			assertThat(region, is(notNullValue()));
+			CacheConfiguration regionConfiguration = region.getCacheConfiguration();
+			assertThat(Long.valueOf(regionConfiguration.getTimeToLiveSeconds()), is(Long.valueOf(600L)));
+			assertThat(regionConfiguration.getPersistenceConfiguration().getStrategy(), is(Strategy.NONE));
+		}
+		finally {
+			manager.shutdown();
+			singletonManager.shutdown();
+		}
+	}
+
+	private static Configuration parse() {
+		URL url = Thread.currentThread().getContextClassLoader().getResource(AbstractHibernatePersistence.SECOND_LEVEL_CACHE_CONFIGURATION);
+		assertThat(url, is(notNullValue()));
+		return ConfigurationFactory.parseConfiguration(url);
+	}
+}
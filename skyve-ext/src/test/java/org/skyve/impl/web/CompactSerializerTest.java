@@ -0,0 +1,111 @@
+package org.skyve.impl.web;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+public class CompactSerializerTest {
+	private static final class Row implements Serializable {
+		private static final long serialVersionUID = 1L;
+
+		private String name;
+		private BigDecimal amount;
+		private Date date;
+		private Map<String, Object> values = new HashMap<>();
+
+		private Row(int i) {
+			name = "row" + i;
+			amount = BigDecimal.valueOf(i);
+			date = new Date(i * 1000L);
+			values.put("index", Integer.valueOf(i));
+		}
+	}
+
+	@Test
+	@SuppressWarnings("static-method")
+	public void testRoundTrip() throws Exception {
+		// setup the test data
+		List<Row> rows = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			rows.add(new Row(i));
+		}
+
+		// perform the method under test
+		@SuppressWarnings("unchecked")
+		List<Row> result = (List<Row>) CompactSerializer.deserialize(CompactSerializer.serialize(rows, 512));
+
+		// verify the result
+		assertThat(Integer.valueOf(result.size()), is(Integer.valueOf(10)));
+		for (int i = 0; i < 10; i++) {
+			Row row = result.get(i);
+			assertThat(row.name, is("row" + i));
+			assertThat(row.amount, is(BigDecimal.valueOf(i)));
+			assertThat(row.date, is(new Date(i * 1000L)));
+			assertThat(row.values.get("index"), is((Object) Integer.valueOf(i)));
+		}
+	}
+
+	@Test
+	@SuppressWarnings("static-method")
+	public void testSmallerThanJavaSerialization() throws Exception {
+		// setup the test data
+		Row row = new Row(1);
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		try (ObjectOutputStream oos = new ObjectOutputStream(baos)) {
+			oos.writeObject(row);
+		}
+
+		// perform the method under test
+		byte[] result = CompactSerializer.serialize(row, 512);
+
+		// verify the result
+		assertThat(Integer.valueOf(result.length), lessThan(Integer.valueOf(baos.size() / 2)));
+	}
+
+	@Test
+	@SuppressWarnings("static-method")
+	public void testConcurrentRoundTrips() throws Exception {
+		// setup the tasks that register and read classes at the same time
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<Object>> results = new ArrayList<>();
+			for (int i = 0; i < 64; i++) {
+				final int index = i;
+				results.add(executor.submit(new Callable<Object>() {
+					@Override
+					public Object call() throws Exception {
+						Object[] graph = new Object[] {new Row(index), new TreeMap<>(), new LinkedList<>(), new StringBuilder("row")};
+						return CompactSerializer.deserialize(CompactSerializer.serialize(graph, 512));
+					}
+				}));
+			}
+
+			// verify the result
+			for (int i = 0; i < 64; i++) {
+				Object[] result = (Object[]) results.get(i).get();
+				assertThat(((Row) result[0]).name, is("row" + i));
+			}
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
+}
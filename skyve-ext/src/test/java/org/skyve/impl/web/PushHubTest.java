@@ -0,0 +1,124 @@
+package org.skyve.impl.web;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.websocket.RemoteEndpoint;
+import javax.websocket.SendHandler;
+import javax.websocket.SendResult;
+import javax.websocket.Session;
+
+import org.junit.Test;
+
+public class PushHubTest {
+	/**
+	 * A session whose async remote allows one send in flight, as Tomcat's does.
+	 */
+	private static final class MockSession implements InvocationHandler {
+		private final Map<String, Object> userProperties = new HashMap<>();
+		private final List<String> sent = new ArrayList<>();
+		private SendHandler inFlight;
+		private final Session session = (Session) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {Session.class}, this);
+		private final RemoteEndpoint.Async remote = (RemoteEndpoint.Async) Proxy.newProxyInstance(getClass().getClassLoader(), 
+																										new Class<?>[] {RemoteEndpoint.Async.class},
+																										new InvocationHandler() {
+			@Override
+			@SuppressWarnings("synthetic-access")
+			public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+				if ("sendText".equals(method.getName())) {
+					if (inFlight != null) {
+						throw new IllegalStateException("The remote endpoint was in state [TEXT_FULL_WRITING]");
+					}
+					sent.add((String) args[0]);
+					inFlight = (SendHandler) args[1];
+					return null;
+				}
+				throw new UnsupportedOperationException(method.getName());
+			}
+		});
+
+		private MockSession(String userId) {
+			userProperties.put("user", userId);
+		}
+
+		@Override
+		@SuppressWarnings("synthetic-access")
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			switch (method.getName()) {
+				case "isOpen":
+					return Boolean.TRUE;
+				case "getUserProperties":
+					return userProperties;
+				case "getAsyncRemote":
+					return remote;
+				case "hashCode":
+					return Integer.valueOf(System.identityHashCode(proxy));
+				case "equals":
+					return Boolean.valueOf(proxy == args[0]);
+				default:
+					throw new UnsupportedOperationException(method.getName());
+			}
+		}
+
+		private void complete() {
+			SendHandler handler = inFlight;
+			inFlight = null;
+			handler.onResult(new SendResult());
+		}
+	}
+
+	@Test
+	@SuppressWarnings({"static-method", "synthetic-access"})
+	public void testSendsAreSerializedPerSession() {
+		// setup a registered session
+		MockSession mock = new MockSession("user1");
+		PushHub.register(mock.session);
+		try {
+			// perform the method under test
+			PushHub.push(Collections.singleton("user1"), "one");
+			PushHub.push(Collections.singleton("user1"), "two");
+			PushHub.push(Collections.emptySet(), "three");
+
+			// verify only one send is in flight and the rest follow in order as each completes
+			assertThat(mock.sent, contains("one"));
+			mock.complete();
+			assertThat(mock.sent, contains("one", "two"));
+			mock.complete();
+			mock.complete();
+			assertThat(mock.sent, contains("one", "two", "three"));
+		}
+		finally {
+			PushHub.unregister(mock.session);
+		}
+	}
+
+	@Test
+	@SuppressWarnings({"static-method", "synthetic-access"})
+	public void testUnregisterLastSessionStopsSends() {
+		// setup 2 sessions for the same user
+		MockSession first = new MockSession("user2");
+		MockSession second = new MockSession("user2");
+		PushHub.register(first.session);
+		PushHub.register(second.session);
+
+		// perform the method under test
+		PushHub.unregister(first.session);
+		PushHub.unregister(second.session);
+		PushHub.push(Collections.singleton("user2"), "message");
+
+		// verify the result
+		assertThat(Integer.valueOf(first.sent.size()), is(Integer.valueOf(0)));
+		assertThat(Integer.valueOf(second.sent.size()), is(Integer.valueOf(0)));
+		assertThat(Integer.valueOf(PushHub.size()), is(Integer.valueOf(0)));
+	}
+}
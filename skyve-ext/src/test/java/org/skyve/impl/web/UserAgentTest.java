@@ -0,0 +1,47 @@
+package org.skyve.impl.web;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+public class UserAgentTest {
+
+	@Test
+	@SuppressWarnings("static-method")
+	public void testNormaliseNull() throws Exception {
+		assertThat(UserAgent.normalise(null), is(""));
+	}
+
+	@Test
+	@SuppressWarnings("static-method")
+	public void testNormaliseCaseAndWhitespace() throws Exception {
+		// setup the test data
+		final String s1 = "Mozilla/5.0 (Windows NT 10.0; Win64; x64)",
+				s2 = "  mozilla/5.0  (windows nt 10.0;\tWin64;   x64) ";
+
+		// perform the method under test
+		final String result1 = UserAgent.normalise(s1);
+		final String result2 = UserAgent.normalise(s2);
+
+		// verify the result
+		assertThat(result1, is("mozilla/5.0 (windows nt 10.0; win64; x64)"));
+		assertThat(result2, is(result1));
+	}
+
+	@Test
+	@SuppressWarnings({ "static-method", "boxing" })
+	public void testNormaliseTruncates() throws Exception {
+		// setup the test data
+		StringBuilder agent = new StringBuilder(2048);
+		for (int i = 0; i < 1024; i++) {
+			agent.append('a');
+		}
+
+		// perform the method under test
+		final String result = UserAgent.normalise(agent.toString());
+
+		// verify the result
+		assertThat(result.length(), is(512));
+	}
+}
@@ -1,6 +1,5 @@
 package org.skyve.impl.web;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.security.Principal;
@@ -23,6 +22,7 @@ import org.skyve.impl.generate.jasperreports.DesignSpecification;
 import org.skyve.impl.generate.jasperreports.JasperReportRenderer;
 import org.skyve.impl.generate.jasperreports.ReportDesignGenerator;
 import org.skyve.impl.generate.jasperreports.ReportDesignGeneratorFactory;
+import org.skyve.impl.jasperreports.ReportCache;
 import org.skyve.impl.jasperreports.ReportDesignParameters;
 import org.skyve.impl.jasperreports.ReportDesignParameters.ColumnAlignment;
 import org.skyve.impl.jasperreports.ReportDesignParameters.ReportColumn;
@@ -49,10 +49,12 @@ import org.skyve.util.JSON;
 import org.skyve.util.Util;
 
 import net.sf.jasperreports.engine.JRDataSource;
+import net.sf.jasperreports.engine.JRParameter;
 import net.sf.jasperreports.engine.JasperFillManager;
 import net.sf.jasperreports.engine.JasperPrint;
 import net.sf.jasperreports.engine.JasperReport;
 import net.sf.jasperreports.engine.design.JRValidationException;
+import net.sf.jasperreports.engine.fill.JRSwapFileVirtualizer;
 import net.sf.jasperreports.j2ee.servlets.BaseHttpServlet;
 
 public class ReportServlet extends HttpServlet {
@@ -140,11 +142,14 @@ public class ReportServlet extends HttpServlet {
         	AbstractWebContext webContext = ConversationUtil.getCachedConversation(contextKey, request, response);
 			Bean bean = WebUtil.getConversationBeanFromRequest(webContext, request);
 
-	        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+			if (generatedReport) {
+				reportName = String.format("%s - %s", moduleName, documentName);
+			}
+			// Set the headers first so the report can be exported straight to the response
+			setResponseHeaders(format, reportName, response);
+
 			final JasperPrint jasperPrint;
 	        if (generatedReport) {
-	            reportName = String.format("%s - %s", moduleName, documentName);
-
 	        	final DesignSpecification designSpecification = new DesignSpecification();
 				designSpecification.setName("EditView");
 	        	designSpecification.setModuleName(moduleName);
@@ -161,13 +166,13 @@ public class ReportServlet extends HttpServlet {
 
 				final Map<String, Object> parameters = getParameters(request);
 				parameters.put(JasperReportRenderer.DESIGN_SPEC_PARAMETER_NAME, designSpecification);
-				jasperPrint = ReportUtil.runReport(reportRenderer.getReport(),
+				jasperPrint = ReportUtil.runReport(ReportCache.getReport(reportRenderer),
 						user,
 						document,
 						parameters,
 						bean,
 						format,
-						baos);
+						out);
 			} else {
 				final String isList = request.getParameter(AbstractWebContext.IS_LIST);
 				if (isList != null && Boolean.parseBoolean(isList)) {
@@ -175,13 +180,27 @@ public class ReportServlet extends HttpServlet {
 					final String modelName = request.getParameter(AbstractWebContext.MODEL_NAME);
 					final String documentOrQueryOrModelName = modelName != null ? modelName : queryName != null ? queryName : documentName;
 					final ListModel<Bean> listModel = getDocumentQueryListModel(module, documentOrQueryOrModelName);
-					jasperPrint = ReportUtil.runReport(user,
-							document,
-							reportName,
-							getParameters(request),
-							listModel,
-							format,
-							baos);
+					final Map<String, Object> parameters = getParameters(request);
+					// Large lists are virtualized so the filled pages don't all have to fit in memory
+					final JRSwapFileVirtualizer virtualizer = ReportUtil.newVirtualizer(format);
+					if (virtualizer != null) {
+						parameters.put(JRParameter.REPORT_VIRTUALIZER, virtualizer);
+					}
+					try {
+						jasperPrint = ReportUtil.runReport(user,
+								document,
+								reportName,
+								parameters,
+								listModel,
+								format,
+								out);
+					}
+					finally {
+						// A virtualized print is only needed for the export (html and xhtml are not virtualized)
+						if (virtualizer != null) {
+							virtualizer.cleanup();
+						}
+					}
 				} else {
 					// Manually load the bean if an id is specified but there is no appropriate bean to load from
 					// the conversation.
@@ -196,15 +215,19 @@ public class ReportServlet extends HttpServlet {
 							getParameters(request),
 							bean,
 							format,
-							baos);
+							out);
 				}
 			}
 
-			pumpOutReportFormat(baos.toByteArray(), jasperPrint, format, reportName, request.getSession(), response);
+			setJasperPrintInSession(jasperPrint, format, request.getSession());
 		}
 		catch (Exception e) {
 			System.err.println("Problem generating the report - " + e.toString());
 			e.printStackTrace();
+			// The report headers are set before the fill so drop them unless some of the report has been sent
+			if (! response.isCommitted()) {
+				response.reset();
+			}
 		}
 	}
 
@@ -228,13 +251,9 @@ public class ReportServlet extends HttpServlet {
     	return params;
 	}
 	
-	private static void pumpOutReportFormat(byte[] bytes, 
-												JasperPrint jasperPrint,
-												ReportFormat format,
-												String fileNameNoSuffix,
-												HttpSession session,
-												HttpServletResponse response)
-	throws IOException {
+	private static void setResponseHeaders(ReportFormat format,
+											String fileNameNoSuffix,
+											HttpServletResponse response) {
 		response.setCharacterEncoding(Util.UTF8);
 
 		StringBuilder sb = new StringBuilder(64);
@@ -251,15 +270,11 @@ public class ReportServlet extends HttpServlet {
 			response.setContentType(MimeType.html.toString());
 			sb.append("inline; filename=\"").append(fileNameNoSuffix).append(".html\"");
 			response.setHeader("Content-Disposition", sb.toString());
-// TODO maybe I should UUEncode this thing to the client
-			session.setAttribute(BaseHttpServlet.DEFAULT_JASPER_PRINT_SESSION_ATTRIBUTE, jasperPrint);
 			break;
 		case xhtml:
 			response.setContentType(MimeType.html.toString());
 			sb.append("inline; filename=\"").append(fileNameNoSuffix).append(".xhtml\"");
 			response.setHeader("Content-Disposition", sb.toString());
-// TODO maybe I should UUEncode this thing to the client
-			session.setAttribute(BaseHttpServlet.DEFAULT_JASPER_PRINT_SESSION_ATTRIBUTE, jasperPrint);
 			break;
 		case pdf:
 			response.setContentType(MimeType.pdf.toString());
@@ -310,19 +325,23 @@ public class ReportServlet extends HttpServlet {
 			throw new IllegalStateException("Report format " + format + " not catered for.");
 		}
 
-		response.setContentLength(bytes.length);
-		
 		// NEED TO KEEP THIS FOR IE TO SHOW PDFs ACTIVE-X temp files required
 		response.setHeader("Cache-Control", "cache");
         response.setHeader("Pragma", "cache");
         response.addDateHeader("Expires", System.currentTimeMillis() + (60000)); // 1 minute
-        
-		try (ServletOutputStream outputStream = response.getOutputStream()) {
-			outputStream.write(bytes);
-			outputStream.flush();
+	}
+
+	/**
+	 * HTML reports serve their images from the JasperPrint in the session.
+	 */
+	private static void setJasperPrintInSession(JasperPrint jasperPrint, ReportFormat format, HttpSession session) {
+		if (ReportFormat.html.equals(format) || ReportFormat.xhtml.equals(format)) {
+// TODO maybe I should UUEncode this thing to the client
+			session.setAttribute(BaseHttpServlet.DEFAULT_JASPER_PRINT_SESSION_ATTRIBUTE, jasperPrint);
 		}
 	}
 
+
 	private static void doExport(HttpServletRequest request, HttpServletResponse response)
 	throws IOException {
 		try (ServletOutputStream out = response.getOutputStream()) {
@@ -409,6 +428,9 @@ public class ReportServlet extends HttpServlet {
 				}
 
 				JasperPrint jasperPrint = null;
+				ReportFormat format = ReportFormat.valueOf((String) values.get("reportFormat"));
+				// Large lists are virtualized so the filled pages don't all have to fit in memory
+				JRSwapFileVirtualizer virtualizer = ReportUtil.newVirtualizer(format);
 				
 				try (AutoClosingIterable<Bean> iterable = model.iterate()) {
 					JRDataSource dataSource = new SkyveDataSource(user, iterable.iterator());
@@ -455,7 +477,7 @@ public class ReportServlet extends HttpServlet {
 					}
 
 					final JasperReportRenderer reportRenderer = new JasperReportRenderer(designParams);
-					JasperReport jasperReport = reportRenderer.getReport();
+					JasperReport jasperReport = ReportCache.getReport(reportRenderer);
 		
 					Map<String, Object> params = new TreeMap<>();
 					StringBuilder sb = new StringBuilder(256);
@@ -463,34 +485,46 @@ public class ReportServlet extends HttpServlet {
 					sb.append(customer.getName()).append('/').append(repository.RESOURCES_NAMESPACE);
 					params.put("RESOURCE_DIR", sb.toString());
 					params.put("TITLE", model.getDescription());
+					if (virtualizer != null) {
+						params.put(JRParameter.REPORT_VIRTUALIZER, virtualizer);
+					}
 					
 					jasperPrint = JasperFillManager.fillReport(jasperReport,
 																params, 
 																dataSource);
+
+					// Export straight to the response
+					setResponseHeaders(format, (String) values.get("fileNameNoSuffix"), response);
+					if (virtualizer != null) {
+						virtualizer.setReadOnly(true);
+					}
+					ReportUtil.runReport(jasperPrint, format, out);
+					setJasperPrintInSession(jasperPrint, format, request.getSession());
+				}
+				finally {
+					if (virtualizer != null) {
+						virtualizer.cleanup();
+					}
 				}
-			
-				ByteArrayOutputStream baos = new ByteArrayOutputStream();
-				ReportFormat format = ReportFormat.valueOf((String) values.get("reportFormat"));
-				ReportUtil.runReport(jasperPrint, format, baos);
-				
-				pumpOutReportFormat(baos.toByteArray(),
-										jasperPrint, 
-										format,
-										(String) values.get("fileNameNoSuffix"),
-										request.getSession(),
-										response);
 			}
 			catch (Exception e) {
 				System.err.println("Problem generating the report - " + e.toString());
 				e.printStackTrace();
-				out.print("<html><head/><body><h3>");
-				if (e instanceof JRValidationException) {
-					out.print(e.getLocalizedMessage());
-				}
-				else {
-					out.print("An error occured whilst processing your report.");
+				// Can't write the error page if some of the report has already been sent
+				if (! response.isCommitted()) {
+					// drop any report headers and partly exported report
+					response.reset();
+					response.setContentType(MimeType.html.toString());
+					response.setCharacterEncoding(Util.UTF8);
+					out.print("<html><head/><body><h3>");
+					if (e instanceof JRValidationException) {
+						out.print(e.getLocalizedMessage());
+					}
+					else {
+						out.print("An error occured whilst processing your report.");
+					}
+					out.print("</body></html>");
 				}
-				out.print("</body></html>");
 			}
 			finally {
 				persistence.commit(true);
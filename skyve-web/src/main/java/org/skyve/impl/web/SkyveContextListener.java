@@ -4,6 +4,7 @@ import static java.lang.Boolean.TRUE;
 
 import java.io.File;
 import java.io.FileInputStream;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.TreeMap;
@@ -22,6 +23,7 @@ import org.skyve.CORE;
 import org.skyve.EXT;
 import org.skyve.impl.content.AbstractContentManager;
 import org.skyve.impl.content.elastic.ElasticContentManager;
+import org.skyve.impl.dataaccess.sql.DataStoreConnectionPool;
 import org.skyve.impl.metadata.repository.AbstractRepository;
 import org.skyve.impl.metadata.repository.LocalSecureRepository;
 import org.skyve.impl.metadata.user.SuperUser;
@@ -29,6 +31,7 @@ import org.skyve.impl.persistence.AbstractPersistence;
 import org.skyve.impl.persistence.hibernate.HibernateContentPersistence;
 import org.skyve.impl.util.UtilImpl;
 import org.skyve.impl.util.VariableExpander;
+import org.skyve.impl.util.WebStatsUtil;
 import org.skyve.impl.web.faces.SkyveSocketEndpoint;
 import org.skyve.job.JobScheduler;
 import org.skyve.persistence.DataStore;
@@ -94,8 +97,24 @@ public class SkyveContextListener implements ServletContextListener {
 		UtilImpl.CONTENT_DIRECTORY = cleanupDirectory(UtilImpl.CONTENT_DIRECTORY);
 		testWritableDirectory("content.directory", UtilImpl.CONTENT_DIRECTORY);
 		UtilImpl.CONTENT_GC_CRON = getString("content", "gcCron", content, true);
+		Number gcBatchSize = (Number) get("content", "gcBatchSize", content, false);
+		if (gcBatchSize != null) {
+			UtilImpl.CONTENT_GC_BATCH_SIZE = gcBatchSize.intValue();
+		}
+		Number gcBatchPauseMillis = (Number) get("content", "gcBatchPauseMillis", content, false);
+		if (gcBatchPauseMillis != null) {
+			UtilImpl.CONTENT_GC_BATCH_PAUSE_MILLIS = gcBatchPauseMillis.longValue();
+		}
 		UtilImpl.CONTENT_SERVER_ARGS = getString("content", "serverArgs", content, false);
 		UtilImpl.CONTENT_FILE_STORAGE = getBoolean("content", "fileStorage", content);
+		Boolean asyncIndexing = (Boolean) get("content", "asyncIndexing", content, false);
+		if (asyncIndexing != null) {
+			UtilImpl.CONTENT_ASYNC_INDEXING = asyncIndexing.booleanValue();
+		}
+		Number indexBatchSize = (Number) get("content", "indexBatchSize", content, false);
+		if (indexBatchSize != null) {
+			UtilImpl.CONTENT_INDEX_BATCH_SIZE = indexBatchSize.intValue();
+		}
 
 		// Thumb nail settings
 		Map<String, Object> thumbnail = getObject(null, "thumbnail", properties, false);
@@ -122,6 +141,30 @@ public class SkyveContextListener implements ServletContextListener {
 		UtilImpl.MAX_CONVERSATIONS_IN_MEMORY = getInt("conversations", "maxInMemory", conversations);
 		UtilImpl.CONVERSATION_EVICTION_TIME_MINUTES = getInt("conversations", "evictionTimeMinutes", conversations);
 
+		// List paging settings
+		Map<String, Object> lists = getObject(null, "lists", properties, false);
+		if (lists != null) {
+			UtilImpl.LIST_KEYSET_PAGINATION = getBoolean("lists", "keysetPagination", lists);
+			UtilImpl.LIST_COUNT_CACHE_TIME_TO_LIVE_SECONDS = getInt("lists", "countCacheTimeToLiveSeconds", lists);
+			UtilImpl.LIST_ESTIMATED_COUNT = getBoolean("lists", "estimatedCount", lists);
+			UtilImpl.LIST_PARALLEL_FILTER_THRESHOLD = getInt("lists", "parallelFilterThreshold", lists);
+		}
+
+		Map<String, Object> reports = getObject(null, "reports", properties, false);
+		if (reports != null) {
+			UtilImpl.REPORT_CACHE_SIZE = getInt("reports", "cacheSize", reports);
+			UtilImpl.REPORT_VIRTUALIZER_MAX_PAGES = getInt("reports", "virtualizerMaxPages", reports);
+			@SuppressWarnings("unchecked")
+			List<String> preWarm = (List<String>) get("reports", "preWarm", reports, false);
+			UtilImpl.REPORT_PRE_WARM = preWarm;
+		}
+
+		Map<String, Object> maps = getObject(null, "maps", properties, false);
+		if (maps != null) {
+			UtilImpl.MAP_TILE_CACHE_SIZE = getInt("maps", "tileCacheSize", maps);
+			UtilImpl.MAP_TILE_CACHE_TIME_TO_LIVE_SECONDS = getInt("maps", "tileCacheTimeToLiveSeconds", maps);
+		}
+
 		Map<String, Object> dataStores = getObject(null, "dataStores", properties, true);
 		// for each datastore defined
 		for (String dataStoreName : dataStores.keySet()) {
@@ -143,6 +186,33 @@ public class SkyveContextListener implements ServletContextListener {
 			}
 		}
 
+		Map<String, Object> dataStorePool = getObject(null, "dataStorePool", properties, false);
+		if (dataStorePool != null) {
+			UtilImpl.DATA_STORE_POOL_MAX_SIZE = getInt("dataStorePool", "maxSize", dataStorePool);
+			UtilImpl.DATA_STORE_POOL_MAX_WAIT_SECONDS = getInt("dataStorePool", "maxWaitSeconds", dataStorePool);
+			UtilImpl.DATA_STORE_POOL_LEAK_DETECTION_SECONDS = getInt("dataStorePool", "leakDetectionSeconds", dataStorePool);
+		}
+
+		Map<String, Object> backup = getObject(null, "backup", properties, false);
+		if (backup != null) {
+			UtilImpl.BACKUP_THREADS = getInt("backup", "threads", backup);
+			UtilImpl.BACKUP_FETCH_SIZE = getInt("backup", "fetchSize", backup);
+		}
+
+		Map<String, Object> restore = getObject(null, "restore", properties, false);
+		if (restore != null) {
+			UtilImpl.RESTORE_THREADS = getInt("restore", "threads", restore);
+			UtilImpl.RESTORE_BATCH_SIZE = getInt("restore", "batchSize", restore);
+			UtilImpl.RESTORE_COMMIT_INTERVAL = getInt("restore", "commitInterval", restore);
+			UtilImpl.RESTORE_CONTENT_THREADS = getInt("restore", "contentThreads", restore);
+		}
+
+		Map<String, Object> reindex = getObject(null, "reindex", properties, false);
+		if (reindex != null) {
+			UtilImpl.REINDEX_THREADS = getInt("reindex", "threads", reindex);
+			UtilImpl.REINDEX_BULK_SIZE = getInt("reindex", "bulkSize", reindex);
+		}
+
 		Map<String, Object> hibernate = getObject(null, "hibernate", properties, true);
 		UtilImpl.DATA_STORE = UtilImpl.DATA_STORES.get(getString("hibernate", "dataStore", hibernate, true));
 		if (UtilImpl.DATA_STORE == null) {
@@ -152,6 +222,14 @@ public class SkyveContextListener implements ServletContextListener {
 		UtilImpl.CATALOG = getString("hibernate", "catalog", hibernate, false);
 		UtilImpl.SCHEMA = getString("hibernate", "schema", hibernate, false);
 		UtilImpl.PRETTY_SQL_OUTPUT = getBoolean("hibernate", "prettySql", hibernate);
+		Boolean secondLevelCache = (Boolean) get("hibernate", "secondLevelCache", hibernate, false);
+		if (secondLevelCache != null) {
+			UtilImpl.HIBERNATE_SECOND_LEVEL_CACHE = secondLevelCache.booleanValue();
+		}
+		Boolean queryCache = (Boolean) get("hibernate", "queryCache", hibernate, false);
+		if (queryCache != null) {
+			UtilImpl.HIBERNATE_QUERY_CACHE = queryCache.booleanValue();
+		}
 
 		Map<String, Object> factories = getObject(null, "factories", properties, true);
 
@@ -202,6 +280,7 @@ public class SkyveContextListener implements ServletContextListener {
 				throw new IllegalStateException("Could not find factories.contentManagerClass " + UtilImpl.SKYVE_CONTENT_MANAGER_CLASS, e);
 			}
 		}
+		UtilImpl.SKYVE_CONVERSATION_STORE_CLASS = getString("factories", "conversationStoreClass", factories, false);
 		
 		Map<String, Object> smtp = getObject(null, "smtp", properties, true);
 		UtilImpl.SMTP = getString("smtp", "server", smtp, true);
@@ -352,6 +431,15 @@ public class SkyveContextListener implements ServletContextListener {
 		JobScheduler.dispose();
 		ConversationUtil.destroyConversationsCache();
 		
+		// write any web hits not yet flushed by the job
+		try {
+			WebStatsUtil.flushHits();
+		}
+		catch (Exception e) {
+			UtilImpl.LOGGER.info("Could not flush the web hits - some hits will not be recorded");
+			e.printStackTrace();
+		}
+		
 		@SuppressWarnings("resource")
 		AbstractContentManager cm = (AbstractContentManager) EXT.newContentManager();
 		try {
@@ -362,6 +450,8 @@ public class SkyveContextListener implements ServletContextListener {
 			UtilImpl.LOGGER.info("Could not close or dispose of the content manager - this is probably OK although resources may be left hanging or locked");
 			e.printStackTrace();
 		}
+		
+		DataStoreConnectionPool.dispose();
 	}
 
 	/**
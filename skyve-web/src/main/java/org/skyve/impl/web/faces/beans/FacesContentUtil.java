@@ -7,6 +7,7 @@ import org.skyve.CORE;
 import org.skyve.EXT;
 import org.skyve.content.AttachmentContent;
 import org.skyve.content.ContentManager;
+import org.skyve.content.MimeType;
 import org.skyve.domain.Bean;
 import org.skyve.impl.bind.BindUtil;
 import org.skyve.impl.metadata.model.document.field.Content;
@@ -53,7 +54,8 @@ public class FacesContentUtil {
 															contentOwner.getBizId(), 
 															contentAttributeName, 
 															fileName, 
-															file.getContents());
+															(MimeType) null,
+															file.getInputstream());
 		try (ContentManager cm = EXT.newContentManager()) {
 			// Determine if we should index the content or not
 			boolean index = true; // default
@@ -12,10 +12,15 @@ import javax.servlet.ServletRequest;
 import javax.servlet.ServletResponse;
 import javax.servlet.http.HttpServletRequest;
 
+import org.skyve.impl.dataaccess.sql.DataStoreConnectionPool;
+import org.skyve.impl.jasperreports.ReportCache;
 import org.skyve.impl.metadata.user.UserImpl;
+import org.skyve.impl.persistence.hibernate.AbstractHibernatePersistence;
 import org.skyve.impl.util.UtilImpl;
 import org.skyve.impl.util.WebStatsUtil;
 import org.skyve.impl.web.ConversationUtil;
+import org.skyve.impl.web.UserAgent;
+import org.skyve.impl.web.service.MapTileCache;
 import org.skyve.web.WebContext;
 
 public class SkyveFilter implements Filter {
@@ -85,6 +90,18 @@ public class SkyveFilter implements Filter {
 			}
 			UtilImpl.LOGGER.info("************************** CACHE *****************************");
 			ConversationUtil.logConversationsStats();
+			UtilImpl.LOGGER.info("************************** DATA STORES ***********************");
+			DataStoreConnectionPool.logStats();
+			UtilImpl.LOGGER.info("************************** USER AGENTS ***********************");
+			UserAgent.logStats();
+			UtilImpl.LOGGER.info("************************** REPORTS ***************************");
+			ReportCache.logStats();
+			UtilImpl.LOGGER.info("************************** MAP TILES *************************");
+			MapTileCache.logStats();
+			if (UtilImpl.HIBERNATE_SECOND_LEVEL_CACHE) {
+				UtilImpl.LOGGER.info("************************** SECOND LEVEL CACHE ****************");
+				AbstractHibernatePersistence.logCacheStats();
+			}
 		}
 
 		UserImpl user = (UserImpl) ((HttpServletRequest) request).getSession().getAttribute(WebContext.USER_SESSION_ATTRIBUTE_NAME);
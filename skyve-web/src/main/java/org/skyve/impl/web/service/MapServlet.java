@@ -3,6 +3,10 @@ package org.skyve.impl.web.service;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServlet;
@@ -14,6 +18,7 @@ import org.skyve.content.MimeType;
 import org.skyve.domain.Bean;
 import org.skyve.domain.messages.SessionEndedException;
 import org.skyve.impl.persistence.AbstractPersistence;
+import org.skyve.impl.persistence.PagedQueryCache;
 import org.skyve.impl.web.AbstractWebContext;
 import org.skyve.impl.web.ConversationUtil;
 import org.skyve.impl.web.WebUtil;
@@ -25,7 +30,9 @@ import org.skyve.metadata.repository.Repository;
 import org.skyve.metadata.user.User;
 import org.skyve.metadata.view.model.map.DefaultCollectionMapModel;
 import org.skyve.metadata.view.model.map.DefaultQueryMapModel;
+import org.skyve.metadata.view.model.map.MapItem;
 import org.skyve.metadata.view.model.map.MapModel;
+import org.skyve.metadata.view.model.map.MapResult;
 import org.skyve.util.JSON;
 import org.skyve.util.Util;
 
@@ -50,12 +57,27 @@ import com.vividsolutions.jts.geom.Envelope;
  * 		parameters
  * 			webContext
  * 			modelName
+ * 
+ * All modes take the optional parameters
+ * 			bounds - the map viewport as "minLng,minLat,maxLng,maxLat" (defaults to the whole world)
+ * 			zoom - the map zoom level - geometries are simplified and points clustered for this zoom level
+ * 
+ * In query mode with a zoom level, the viewport is fetched as map tiles that are cached (see MapTileCache).
  */
 // TODO This should support continue conversation
 public class MapServlet extends HttpServlet {
 	private static final long serialVersionUID = 1L;
 	
 	private static final String GEOMETRY_BINDING_NAME = "_geo";
+	private static final String BOUNDS_NAME = "_b";
+	private static final String ZOOM_NAME = "_z";
+
+	private static final int MAX_ZOOM = 22;
+
+	/**
+	 * A viewport covering more tiles than this is queried as a whole without caching.
+	 */
+	private static final int MAX_TILES = 64;
 	
 	@Override
 	protected void doGet(HttpServletRequest request, HttpServletResponse response)
@@ -131,8 +153,60 @@ public class MapServlet extends HttpServlet {
 		}
 		DefaultQueryMapModel<Bean> model = new DefaultQueryMapModel<>(query);
 		model.setGeometryBinding(geometryBinding);
-		// TODO get the envelope from the map
-		return JSON.marshall(customer, model.getResult(new Envelope(-180, 180, -90, 90)), null);
+
+		Envelope mapExtents = getMapExtents(request);
+		Integer zoom = getZoom(request);
+		if (zoom == null) {
+			return JSON.marshall(customer, model.getResult(mapExtents), null);
+		}
+
+		MapSimplifier simplifier = new MapSimplifier(zoom.intValue());
+		double tileDegrees = simplifier.getTileDegrees();
+		int columns = (int) Math.round(360.0 / tileDegrees);
+		int rows = Math.max(1, (int) Math.ceil(180.0 / tileDegrees));
+		int minColumn = tile(mapExtents.getMinX() + 180.0, tileDegrees, columns);
+		int maxColumn = tile(mapExtents.getMaxX() + 180.0, tileDegrees, columns);
+		int minRow = tile(mapExtents.getMinY() + 90.0, tileDegrees, rows);
+		int maxRow = tile(mapExtents.getMaxY() + 90.0, tileDegrees, rows);
+		if (((maxColumn - minColumn + 1) * (maxRow - minRow + 1)) > MAX_TILES) {
+			List<MapItem> items = simplifier.simplify(model.getResult(mapExtents).getItems());
+			return JSON.marshall(customer, new MapResult(items, null), null);
+		}
+
+		String documentModuleName = query.getDocumentModule(customer).getName();
+		String documentName = query.getDocumentName();
+		StringBuilder scope = new StringBuilder(128);
+		scope.append(user.getCustomerName()).append('|');
+		scope.append(user.getDataGroupId()).append('|');
+		scope.append(user.getId()).append('|');
+		scope.append(moduleName).append('.').append(queryName).append('|');
+		scope.append(geometryBinding).append('|');
+		scope.append(zoom).append('/');
+
+		// bizId -> item as items spanning tiles are in each tile
+		Map<String, MapItem> items = new LinkedHashMap<>(256);
+		for (int column = minColumn; column <= maxColumn; column++) {
+			for (int row = minRow; row <= maxRow; row++) {
+				String key = new StringBuilder(scope.length() + 16).append(scope).append(column).append('/').append(row).toString();
+				List<MapItem> tileItems = MapTileCache.get(key, documentModuleName, documentName);
+				if (tileItems == null) {
+					long generation = PagedQueryCache.getGeneration(documentModuleName, documentName);
+					Envelope tileExtents = new Envelope(column * tileDegrees - 180.0,
+															(column + 1) * tileDegrees - 180.0,
+															row * tileDegrees - 90.0,
+															Math.min(90.0, (row + 1) * tileDegrees - 90.0));
+					tileItems = simplifier.simplify(model.getResult(tileExtents).getItems());
+					MapTileCache.put(key, tileItems, generation);
+				}
+				for (MapItem item : tileItems) {
+					if (! items.containsKey(item.getBizId())) {
+						items.put(item.getBizId(), item);
+					}
+				}
+			}
+		}
+
+		return JSON.marshall(customer, new MapResult(new ArrayList<>(items.values()), null), null);
 	}
 	
 	private static String processCollection(HttpServletRequest request, HttpServletResponse response)
@@ -147,8 +221,7 @@ public class MapServlet extends HttpServlet {
 		DefaultCollectionMapModel<Bean> model = new DefaultCollectionMapModel<>(collectionBinding);
 		model.setGeometryBinding(geometryBinding);
 		model.setBean(bean);
-		// TODO get the envelope from the map
-		return JSON.marshall(customer, model.getResult(new Envelope(-180, 180, -90, 90)), null);
+		return marshall(customer, model.getResult(getMapExtents(request)), getZoom(request));
 	}
 
 	private static String processModel(HttpServletRequest request, HttpServletResponse response)
@@ -163,7 +236,69 @@ public class MapServlet extends HttpServlet {
 		Repository repository = CORE.getRepository();
 		MapModel<Bean> model = repository.getMapModel(customer, document, request.getParameter(AbstractWebContext.MODEL_NAME), true);
 		model.setBean(bean);
-		// TODO get the envelope from the map
-		return JSON.marshall(customer, model.getResult(new Envelope(-180, 180, -90, 90)), null);
+		return marshall(customer, model.getResult(getMapExtents(request)), getZoom(request));
+	}
+
+	/**
+	 * Marshall a map result, simplifying it if a zoom level was given.
+	 */
+	private static String marshall(Customer customer, MapResult result, Integer zoom) {
+		MapResult marshalled = result;
+		if ((zoom != null) && (result.getItems() != null)) {
+			// Don't change the model's result as a model can hold on to its items
+			marshalled = new MapResult(new MapSimplifier(zoom.intValue()).simplify(result.getItems()), result.getMapExtents());
+		}
+		return JSON.marshall(customer, marshalled, null);
+	}
+
+	/**
+	 * @return	The map viewport from the bounds parameter or the whole world if not given.
+	 * 			A viewport that crosses the antimeridian covers all longitudes.
+	 */
+	private static Envelope getMapExtents(HttpServletRequest request) {
+		String bounds = request.getParameter(BOUNDS_NAME);
+		if (bounds != null) {
+			String[] values = bounds.split(",");
+			if (values.length == 4) {
+				try {
+					double minX = Double.parseDouble(values[0]);
+					double minY = Double.parseDouble(values[1]);
+					double maxX = Double.parseDouble(values[2]);
+					double maxY = Double.parseDouble(values[3]);
+					if (minX > maxX) {
+						minX = -180.0;
+						maxX = 180.0;
+					}
+					return new Envelope(Math.max(-180.0, minX), Math.min(180.0, maxX), Math.max(-90.0, minY), Math.min(90.0, maxY));
+				}
+				catch (@SuppressWarnings("unused") NumberFormatException e) {
+					Util.LOGGER.warning("MapServlet: Ignoring malformed bounds " + bounds);
+				}
+			}
+		}
+		return new Envelope(-180, 180, -90, 90);
+	}
+
+	/**
+	 * @return	The zoom level parameter or null if not given.
+	 */
+	private static Integer getZoom(HttpServletRequest request) {
+		String zoom = request.getParameter(ZOOM_NAME);
+		if (zoom != null) {
+			try {
+				return Integer.valueOf(Math.max(0, Math.min(MAX_ZOOM, Integer.parseInt(zoom))));
+			}
+			catch (@SuppressWarnings("unused") NumberFormatException e) {
+				Util.LOGGER.warning("MapServlet: Ignoring malformed zoom " + zoom);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @return	The index of the tile containing an offset in degrees, clamped to the tiles available.
+	 */
+	private static int tile(double degrees, double tileDegrees, int tiles) {
+		return Math.max(0, Math.min(tiles - 1, (int) Math.floor(degrees / tileDegrees)));
 	}
 }
@@ -0,0 +1,173 @@
+package org.skyve.impl.web.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.skyve.metadata.view.model.map.MapFeature;
+import org.skyve.metadata.view.model.map.MapItem;
+
+import com.vividsolutions.jts.geom.Coordinate;
+import com.vividsolutions.jts.geom.Geometry;
+import com.vividsolutions.jts.geom.GeometryFactory;
+import com.vividsolutions.jts.geom.Point;
+import com.vividsolutions.jts.geom.PrecisionModel;
+import com.vividsolutions.jts.precision.GeometryPrecisionReducer;
+import com.vividsolutions.jts.simplify.TopologyPreservingSimplifier;
+
+/**
+ * Generalises map items for display at a zoom level.
+ * <p/>
+ * Lines and polygons are simplified to a tolerance of a pixel at the zoom level, and all coordinates are rounded
+ * to the number of decimal places that can be seen so less WKT is sent to the browser.
+ * Items that are a single point are clustered on a grid of CLUSTER_CELL_PIXELS square cells.
+ * The grid is aligned to the map tiles so a tile always holds whole cells.
+ */
+final class MapSimplifier {
+	/**
+	 * The size of a map tile in pixels - as for google maps.
+	 */
+	static final int TILE_PIXELS = 256;
+
+	/**
+	 * The size of a cluster cell in pixels - must divide TILE_PIXELS.
+	 */
+	private static final int CLUSTER_CELL_PIXELS = 32;
+
+	private static final GeometryFactory FACTORY = new GeometryFactory();
+
+	private final int zoom;
+	private final double degreesPerPixel;
+	private final GeometryPrecisionReducer reducer;
+
+	MapSimplifier(int zoom) {
+		this.zoom = zoom;
+		degreesPerPixel = 360.0 / (TILE_PIXELS * Math.pow(2, zoom));
+		// the smallest power of 10 decimal places that resolves a pixel
+		double scale = Math.pow(10, Math.max(0, Math.ceil(-Math.log10(degreesPerPixel))));
+		reducer = new GeometryPrecisionReducer(new PrecisionModel(scale));
+		reducer.setPointwise(true);
+		reducer.setChangePrecisionModel(true);
+	}
+
+	/**
+	 * @return	The size of a map tile in degrees at this zoom level.
+	 */
+	double getTileDegrees() {
+		return degreesPerPixel * TILE_PIXELS;
+	}
+
+	/**
+	 * Simplify the items' geometries and cluster the single point items.
+	 *
+	 * @param items	The items to simplify - these are not changed as they may be held by the map model.
+	 * @return	Simplified copies of the items with the clustered points replaced by cluster items.
+	 */
+	List<MapItem> simplify(List<MapItem> items) {
+		List<MapItem> result = new ArrayList<>(items.size());
+		// cell key -> points in the cell
+		Map<String, List<MapItem>> cells = new HashMap<>();
+		double cellDegrees = degreesPerPixel * CLUSTER_CELL_PIXELS;
+
+		for (MapItem item : items) {
+			List<MapFeature> features = item.getFeatures();
+			Geometry point = (features.size() == 1) ? features.get(0).getGeometry() : null;
+			if (point instanceof Point) {
+				Coordinate c = point.getCoordinate();
+				String key = (long) Math.floor((c.x + 180.0) / cellDegrees) + "_" + (long) Math.floor((c.y + 90.0) / cellDegrees);
+				List<MapItem> cell = cells.get(key);
+				if (cell == null) {
+					cell = new ArrayList<>(4);
+					cells.put(key, cell);
+				}
+				cell.add(item);
+			}
+			else {
+				MapItem copy = copy(item);
+				for (MapFeature feature : features) {
+					Geometry geometry = feature.getGeometry();
+					if (geometry != null) {
+						if (! (geometry instanceof Point)) {
+							geometry = TopologyPreservingSimplifier.simplify(geometry, degreesPerPixel);
+						}
+						geometry = reducer.reduce(geometry);
+					}
+					copy.getFeatures().add(copy(feature, geometry));
+				}
+				result.add(copy);
+			}
+		}
+
+		for (Map.Entry<String, List<MapItem>> entry : cells.entrySet()) {
+			List<MapItem> cell = entry.getValue();
+			if (cell.size() == 1) {
+				MapItem item = cell.get(0);
+				MapFeature feature = item.getFeatures().get(0);
+				MapItem copy = copy(item);
+				copy.getFeatures().add(copy(feature, reducer.reduce(feature.getGeometry())));
+				result.add(copy);
+			}
+			else {
+				result.add(cluster(entry.getKey(), cell));
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * Replace the items in a cell with a single item at their centre.
+	 * The cluster item's bizId is unique for the cell and zoom level so the map can track it like any other item.
+	 */
+	private MapItem cluster(String cellKey, List<MapItem> cell) {
+		double x = 0.0, y = 0.0;
+		for (MapItem item : cell) {
+			Coordinate c = item.getFeatures().get(0).getGeometry().getCoordinate();
+			x += c.x;
+			y += c.y;
+		}
+		int count = cell.size();
+		MapItem first = cell.get(0);
+
+		MapItem result = new MapItem();
+		result.setBizId("cluster_" + zoom + "_" + cellKey);
+		result.setModuleName(first.getModuleName());
+		result.setDocumentName(first.getDocumentName());
+		result.setInfoMarkup(count + " items - zoom in to see them");
+		MapFeature feature = new MapFeature();
+		feature.setGeometry(reducer.reduce(FACTORY.createPoint(new Coordinate(x / count, y / count))));
+		feature.setZoomable(false);
+		result.getFeatures().add(feature);
+		return result;
+	}
+
+	/**
+	 * @return	A copy of the item without its features.
+	 */
+	private static MapItem copy(MapItem item) {
+		MapItem result = new MapItem();
+		result.setBizId(item.getBizId());
+		result.setModuleName(item.getModuleName());
+		result.setDocumentName(item.getDocumentName());
+		result.setInfoMarkup(item.getInfoMarkup());
+		result.setFromTimestamp(item.getFromTimestamp());
+		result.setToTimestamp(item.getToTimestamp());
+		return result;
+	}
+
+	/**
+	 * @return	A copy of the feature with the given geometry.
+	 */
+	private static MapFeature copy(MapFeature feature, Geometry geometry) {
+		return new MapFeature(geometry,
+								feature.isZoomable(),
+								feature.isEditable(),
+								feature.getStrokeColour(),
+								feature.getFillColour(),
+								feature.getFillOpacity(),
+								feature.getIconDynamicImageName(),
+								feature.getIconAnchorX(),
+								feature.getIconAnchorY());
+	}
+}
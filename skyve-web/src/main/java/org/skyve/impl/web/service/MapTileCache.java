@@ -0,0 +1,99 @@
+package org.skyve.impl.web.service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.skyve.impl.persistence.PagedQueryCache;
+import org.skyve.impl.util.UtilImpl;
+import org.skyve.metadata.view.model.map.MapItem;
+
+/**
+ * Caches the simplified map items of query map tiles so that panning and zooming back and forth is cheap.
+ * <p/>
+ * Tiles are keyed on the user's scope, the query, the geometry binding, the zoom level and the tile coordinates.
+ * Entries are stamped with the generation of the query's driving document (see {@link PagedQueryCache})
+ * and are stale as soon as the document changes or after UtilImpl.MAP_TILE_CACHE_TIME_TO_LIVE_SECONDS.
+ * <p/>
+ * The least recently used tile is evicted once the cache holds UtilImpl.MAP_TILE_CACHE_SIZE tiles.
+ * A cache size of 0 disables caching.
+ * The cached items are shared by responses so they must not be changed once cached.
+ */
+public final class MapTileCache {
+	private static final class Entry {
+		private final List<MapItem> items;
+		private final long generation;
+		private final long created = System.currentTimeMillis();
+
+		private Entry(List<MapItem> items, long generation) {
+			this.items = items;
+			this.generation = generation;
+		}
+	}
+
+	private static final LongAdder HITS = new LongAdder();
+	private static final LongAdder MISSES = new LongAdder();
+	private static final LongAdder EVICTIONS = new LongAdder();
+
+	// key -> tile in least recently used order
+	private static final Map<String, Entry> TILES = new LinkedHashMap<String, Entry>(128, 0.75f, true) {
+		private static final long serialVersionUID = 2370594612437391573L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+			boolean result = (size() > UtilImpl.MAP_TILE_CACHE_SIZE);
+			if (result) {
+				EVICTIONS.increment();
+			}
+			return result;
+		}
+	};
+
+	private MapTileCache() {
+		// nothing to see here
+	}
+
+	/**
+	 * @return	The cached items of the tile or null if not cached or stale.
+	 */
+	public static List<MapItem> get(String key, String moduleName, String documentName) {
+		Entry entry;
+		synchronized (TILES) {
+			entry = TILES.get(key);
+		}
+		if ((entry != null) &&
+				((System.currentTimeMillis() - entry.created) <= TimeUnit.SECONDS.toMillis(UtilImpl.MAP_TILE_CACHE_TIME_TO_LIVE_SECONDS)) &&
+				(entry.generation == PagedQueryCache.getGeneration(moduleName, documentName))) {
+			HITS.increment();
+			return entry.items;
+		}
+		MISSES.increment();
+		return null;
+	}
+
+	/**
+	 * Cache the items of a tile.
+	 *
+	 * @param generation	The generation of the driving document from before the items were queried.
+	 */
+	public static void put(String key, List<MapItem> items, long generation) {
+		if (UtilImpl.MAP_TILE_CACHE_SIZE > 0) {
+			synchronized (TILES) {
+				TILES.put(key, new Entry(items, generation));
+			}
+		}
+	}
+
+	public static void logStats() {
+		int size;
+		synchronized (TILES) {
+			size = TILES.size();
+		}
+		UtilImpl.LOGGER.info("Map tiles cached = " + size +
+								" : hits = " + HITS.sum() +
+								" : misses = " + MISSES.sum() +
+								" : evictions = " + EVICTIONS.sum());
+	}
+}
@@ -1,6 +1,11 @@
 package org.skyve.impl.web.service.rest;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.util.List;
+import java.util.Set;
 
 import javax.enterprise.context.RequestScoped;
 import javax.servlet.http.HttpServletRequest;
@@ -16,6 +21,7 @@ import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.StreamingOutput;
 
 import org.apache.commons.codec.binary.Base64;
 import org.elasticsearch.common.Preconditions;
@@ -126,11 +132,11 @@ public class RestService {
 	@GET
 	@Path("/json/{module}/{document}")
 	@Produces(MediaType.APPLICATION_JSON)
-	public String retrieveJSON(@PathParam("module") String module, 
-								@PathParam("document") String document,
-								@QueryParam("start") int start,
-								@QueryParam("end") int end) {
-		String result = null;
+	public StreamingOutput retrieveJSON(@PathParam("module") String module, 
+											@PathParam("document") String document,
+											@QueryParam("start") int start,
+											@QueryParam("end") int end) {
+		StreamingOutput result = null;
 		
 		Persistence p = null;
 		try {
@@ -153,7 +159,7 @@ public class RestService {
 	    	for (Bean bean : beans) {
 	    		Util.populateFully(bean);
 	    	}
-			result = JSON.marshall(CORE.getUser().getCustomer(), beans, null);
+			result = streamJSON(p, CORE.getUser().getCustomer(), beans, null);
 		}
 		catch (Throwable t) {
 			t.printStackTrace();
@@ -290,11 +296,11 @@ public class RestService {
 	@GET
 	@Path("/json/query/{module}/{documentOrQuery}")
 	@Produces(MediaType.APPLICATION_JSON)
-	public String query(@PathParam("module") String module,
-							@PathParam("documentOrQuery") String documentOrQuery,
-							@QueryParam("start") int start,
-							@QueryParam("end") int end) {
-		String result = null;
+	public StreamingOutput query(@PathParam("module") String module,
+									@PathParam("documentOrQuery") String documentOrQuery,
+									@QueryParam("start") int start,
+									@QueryParam("end") int end) {
+		StreamingOutput result = null;
 		
 		Persistence p = null;
 		try {
@@ -325,7 +331,7 @@ public class RestService {
 			}
 	        
 	        List<Bean> beans = qm.fetch().getRows();
-	        result = JSON.marshall(c, beans, qm.getProjections());
+	        result = streamJSON(p, c, beans, qm.getProjections());
 		}
 		catch (Throwable t) {
 			t.printStackTrace();
@@ -444,4 +450,33 @@ public class RestService {
 
 		return null;
 	}
+
+	/**
+	 * Stream the JSON for a page of results to the response rather than building it all in memory.
+	 * The JSON is written after the resource method returns, so errors are handled here.
+	 * If nothing has been sent yet, the error is reported in the usual way by AbstractRestFilter.error().
+	 * Otherwise the exception is rethrown so the container aborts the response and the client sees it fail.
+	 */
+	private StreamingOutput streamJSON(final Persistence persistence,
+										final Customer customer,
+										final Object beanOrBeans, 
+										final Set<String> propertyNames) {
+		final HttpServletResponse streamResponse = response;
+		return new StreamingOutput() {
+			@Override
+			public void write(OutputStream output) throws IOException {
+				try {
+					Writer writer = new OutputStreamWriter(output, Util.UTF8);
+					JSON.marshall(customer, beanOrBeans, propertyNames, writer);
+				}
+				catch (Exception e) {
+					e.printStackTrace();
+					if (streamResponse.isCommitted()) {
+						throw (e instanceof IOException) ? (IOException) e : new IOException(e);
+					}
+					AbstractRestFilter.error(persistence, streamResponse, e.getLocalizedMessage());
+				}
+			}
+		};
+	}
 }
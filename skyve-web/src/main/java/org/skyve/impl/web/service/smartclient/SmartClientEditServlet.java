@@ -668,8 +668,6 @@ public class SmartClientEditServlet extends HttpServlet {
     		}
     	}
 		try {
-			StringBuilder message = new StringBuilder(256);
-	    	message.append("{\"response\":{\"status\":0,\"startRow\":0,\"endRow\":0,\"totalRows\":1,\"data\":[");
 			ViewJSONManipulator manipulator = new ViewJSONManipulator(user, 
 																		processModule, 
 																		processDocument, 
@@ -685,10 +683,12 @@ public class SmartClientEditServlet extends HttpServlet {
 			manipulator.visit();
 
 			webContext.setCurrentBean((formBinding == null) ? processBean : ((contextBean == null) ? processBean : contextBean));
-			message.append(manipulator.toJSON(webContext, null));
-			message.append("]}}");
-			// append in one atomic operation so that if an error is thrown, the response isn't half-sent
-			pw.append(message);
+			// toJSON() builds the whole response before writing it so that if an error is thrown, nothing has been sent
+			manipulator.toJSON(webContext, 
+								null,
+								"{\"response\":{\"status\":0,\"startRow\":0,\"endRow\":0,\"totalRows\":1,\"data\":[",
+								"]}}",
+								pw);
 		}
 		finally {
 			// lastly put the conversation in the cache, after the response is sent
@@ -1005,7 +1005,6 @@ public class SmartClientEditServlet extends HttpServlet {
 											String redirectUrl,
 											PrintWriter pw) 
 	throws Exception  {
-		StringBuilder result = new StringBuilder(256);
 		// Need to make a new JSON manipulator here to visit the view for the response
 		// as conditions may have changed since applying changes to the bean
 		ViewJSONManipulator manipulator = new ViewJSONManipulator(user, 
@@ -1018,12 +1017,8 @@ public class SmartClientEditServlet extends HttpServlet {
 																	false);
 		manipulator.visit();
 		try {
-			result.append("{\"response\":{\"status\":0,\"data\":");
-			result.append(manipulator.toJSON(webContext, redirectUrl));
-			result.append("}}");
-
-			// append in one atomic operation so that if an error is thrown, the response isn't half-sent
-			pw.append(result);
+			// toJSON() builds the whole response before writing it so that if an error is thrown, nothing has been sent
+			manipulator.toJSON(webContext, redirectUrl, "{\"response\":{\"status\":0,\"data\":", "}}", pw);
 		}
 		finally {
 			// lastly put the conversation in the cache, after the response is sent
@@ -336,7 +336,16 @@ public class SmartClientListServlet extends HttpServlet {
 		    		persistence.rollback();
 		    	}
 	
-		    	SmartClientEditServlet.produceErrorResponse(t, operation, false, pw);
+		    	// A fetch streams its rows so part of the response may already have been sent.
+		    	// If so, leave the JSON unterminated so the client fails to parse it and reports a transport error, 
+		    	// rather than tacking an error response onto the end of the partial response.
+		    	if (response.isCommitted()) {
+		    		UtilImpl.LOGGER.severe("SmartClientList - response partially sent before the error so the JSON is left unterminated");
+		    	}
+		    	else {
+		    		response.resetBuffer();
+		    		SmartClientEditServlet.produceErrorResponse(t, operation, false, pw);
+		    	}
 			}
 		    finally {
 		    	if (persistence != null) {
@@ -399,9 +408,10 @@ public class SmartClientListServlet extends HttpServlet {
 		message.append(",\"totalRows\":");
 		message.append(totalRows);
 		message.append(",\"data\":");
-		message.append(JSON.marshall(customer, beans, projections));
-		message.append("}}");
 		pw.append(message);
+		// stream the rows straight to the response rather than building the page in memory
+		JSON.marshall(customer, beans, projections, pw);
+		pw.append("}}");
     }
     
 	private static void addFilterCriteriaToQuery(Module module,
@@ -1,5 +1,6 @@
 package org.skyve.impl.web.service.smartclient;
 
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -301,8 +302,28 @@ class ViewJSONManipulator extends ViewVisitor {
 		this.forApply = forApply;
 	}
 	
-	String toJSON(AbstractWebContext webContextToReference,
-					String redirectUrl) // to redirect the browser location when the response is processed
+	/**
+	 * Write the JSON to the writer, wrapped in the given prefix and suffix.
+	 * The whole response is built in memory before anything is written so that if an error is thrown, 
+	 * nothing has been sent and the error response can be written instead.
+	 * Edit responses are for a single bean so buffering them is cheap.
+	 */
+	void toJSON(AbstractWebContext webContextToReference,
+					String redirectUrl, // to redirect the browser location when the response is processed
+					String prefix,
+					String suffix,
+					Writer writer)
+	throws Exception {
+		Map<String, Object> structure = toJSONStructure(webContextToReference, redirectUrl);
+		String json = JSON.marshall(user.getCustomer(), structure, null);
+		StringBuilder response = new StringBuilder(prefix.length() + json.length() + suffix.length());
+		response.append(prefix).append(json).append(suffix);
+		// append in one atomic operation
+		writer.append(response);
+	}
+
+	private Map<String, Object> toJSONStructure(AbstractWebContext webContextToReference,
+													String redirectUrl)
 	throws Exception {
 		Map<String, Object> result = new TreeMap<>();
 
@@ -344,7 +365,7 @@ class ViewJSONManipulator extends ViewVisitor {
 			result.put(binding, comparisons.get(binding));
 		}
 		
-		return JSON.marshall(user.getCustomer(), result, null);
+		return result;
 	}
 	
 	private void constructJSONObjectFromBinding(ViewBindings bindings,
@@ -0,0 +1,110 @@
+package org.skyve.impl.web.service;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.skyve.metadata.view.model.map.MapFeature;
+import org.skyve.metadata.view.model.map.MapItem;
+
+import com.vividsolutions.jts.geom.Geometry;
+import com.vividsolutions.jts.io.WKTReader;
+
+public class MapSimplifierTest {
+	@Test
+	@SuppressWarnings("static-method")
+	public void testNearbyPointsAreClustered() throws Exception {
+		// setup the test data
+		List<MapItem> items = new ArrayList<>();
+		items.add(item("1", "POINT (133.5 -26.0)"));
+		items.add(item("2", "POINT (133.5001 -26.0001)"));
+		items.add(item("3", "POINT (10.0 50.0)"));
+
+		// perform the method under test
+		List<MapItem> result = new MapSimplifier(4).simplify(items);
+
+		// verify the results
+		assertThat(Integer.valueOf(result.size()), is(Integer.valueOf(2)));
+		int clusters = 0;
+		for (MapItem item : result) {
+			if (item.getBizId().startsWith("cluster_")) {
+				clusters++;
+				assertThat(Boolean.valueOf(item.getFeatures().get(0).isZoomable()), is(Boolean.FALSE));
+			}
+		}
+		assertThat(Integer.valueOf(clusters), is(Integer.valueOf(1)));
+	}
+
+	@Test
+	@SuppressWarnings("static-method")
+	public void testPointsAreNotClusteredWhenZoomedIn() throws Exception {
+		// setup the test data
+		List<MapItem> items = new ArrayList<>();
+		items.add(item("1", "POINT (133.5 -26.0)"));
+		items.add(item("2", "POINT (133.51 -26.01)"));
+
+		// perform the method under test
+		List<MapItem> result = new MapSimplifier(18).simplify(items);
+
+		// verify the results
+		assertThat(Integer.valueOf(result.size()), is(Integer.valueOf(2)));
+	}
+
+	@Test
+	@SuppressWarnings("static-method")
+	public void testPolygonsAreSimplified() throws Exception {
+		// setup the test data - a square with lots of vertices along one side
+		StringBuilder wkt = new StringBuilder("POLYGON ((0 0");
+		for (int i = 1; i < 100; i++) {
+			wkt.append(", ").append(i / 100.0).append(" 0.000001");
+		}
+		wkt.append(", 1 0, 1 1, 0 1, 0 0))");
+		List<MapItem> items = new ArrayList<>();
+		items.add(item("1", wkt.toString()));
+
+		// perform the method under test
+		List<MapItem> result = new MapSimplifier(2).simplify(items);
+
+		// verify the results
+		Geometry geometry = result.get(0).getFeatures().get(0).getGeometry();
+		assertThat(Integer.valueOf(geometry.getNumPoints()), is(lessThan(Integer.valueOf(10))));
+	}
+
+	@Test
+	@SuppressWarnings("static-method")
+	public void testItemsAreNotChanged() throws Exception {
+		// setup the test data
+		String wkt = "LINESTRING (0.123456789 0.123456789, 0.5 0.000001, 1 0)";
+		List<MapItem> items = new ArrayList<>();
+		items.add(item("1", wkt));
+		items.add(item("2", "POINT (10.123456789 50.123456789)"));
+		Geometry line = items.get(0).getFeatures().get(0).getGeometry();
+		Geometry point = items.get(1).getFeatures().get(0).getGeometry();
+
+		// perform the method under test
+		List<MapItem> result = new MapSimplifier(2).simplify(items);
+
+		// verify the results
+		assertThat(Integer.valueOf(result.size()), is(Integer.valueOf(2)));
+		assertThat(items.get(0).getFeatures().get(0).getGeometry(), is(sameInstance(line)));
+		assertThat(line.toText(), is(new WKTReader().read(wkt).toText()));
+		assertThat(items.get(1).getFeatures().get(0).getGeometry(), is(sameInstance(point)));
+		for (MapItem item : result) {
+			assertThat(Boolean.valueOf(items.contains(item)), is(Boolean.FALSE));
+		}
+	}
+
+	private static MapItem item(String bizId, String wkt) throws Exception {
+		MapItem result = new MapItem();
+		result.setBizId(bizId);
+		MapFeature feature = new MapFeature();
+		feature.setGeometry(new WKTReader().read(wkt));
+		result.getFeatures().add(feature);
+		return result;
+	}
+}